@@ -0,0 +1,286 @@
+package com.autorization.autorization.audit.adapter.in.aop;
+
+import com.autorization.autorization.shared.annotation.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.AnnotationIntrospector;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.cfg.MapperConfig;
+import tools.jackson.databind.introspect.Annotated;
+import tools.jackson.databind.introspect.AnnotatedClass;
+import tools.jackson.databind.introspect.NopAnnotationIntrospector;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.ser.PropertyWriter;
+import tools.jackson.databind.ser.std.SimpleBeanPropertyFilter;
+import tools.jackson.databind.ser.std.SimpleFilterProvider;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializa los argumentos de un método auditado según la política de su {@link AuditLog}.
+ *
+ * - Se capturan como un objeto JSON con el nombre de cada parámetro; los de infraestructura (request/response,
+ *   BindingResult, Principal, streams) se omiten.
+ * - {@code fields} limita las propiedades capturadas y {@code redact} (más {@code audit.capture.redact}) oculta
+ *   su valor; ambos por nombre, sin distinguir mayúsculas, a cualquier profundidad.
+ * - La salida se corta en {@code maxBytes}: la serialización se aborta al superarlo, así que un body enorme
+ *   cuesta lo mismo que uno del tamaño del límite.
+ * - El plan de cada método (nombres y un writer por tipo de parámetro con su filtro) se calcula una sola vez.
+ *
+ * Usa una copia del {@link JsonMapper} de Spring (mismos módulos y formatos) que aplica el filtro de captura a todos los beans.
+ */
+@Component
+@Slf4j
+public class AuditArgumentCapturer {
+
+    static final String REDACTED = "***";
+    static final String TRUNCATED = "...[truncado]";
+    static final int MAX_ERROR_CHARS = 512;
+
+    private static final String FILTER_ID = "audit-capture";
+    private static final List<Class<?>> SKIPPED_TYPES = List.of(ServletRequest.class, ServletResponse.class,
+            Errors.class, Principal.class, InputStreamSource.class, InputStream.class, Reader.class);
+
+    private final JsonMapper captureMapper;
+    private final int defaultMaxBytes;
+    private final Set<String> globalRedact;
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Method, CapturePlan> plans = new ConcurrentHashMap<>();
+
+    private final Timer captureTimer;
+    private final DistributionSummary capturedBytes;
+    private final Counter truncated;
+
+    public AuditArgumentCapturer(JsonMapper jsonMapper,
+                                 @Value("${audit.capture.max-bytes:2048}") int defaultMaxBytes,
+                                 @Value("${audit.capture.redact:password}") String[] redact,
+                                 MeterRegistry meterRegistry) {
+        JsonMapper.Builder builder = jsonMapper.rebuild();
+        builder.annotationIntrospector(AnnotationIntrospector.pair(new CaptureFilterIntrospector(), builder.annotationIntrospector()));
+        this.captureMapper = builder.build();
+        this.defaultMaxBytes = defaultMaxBytes;
+        this.globalRedact = caseInsensitive(redact);
+        this.captureTimer = Timer.builder("audit.capture")
+                .description("Tiempo de serializar los argumentos de una llamada auditada")
+                .register(meterRegistry);
+        this.capturedBytes = DistributionSummary.builder("audit.capture.bytes")
+                .description("Tamaño de los argumentos capturados por llamada auditada")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.truncated = Counter.builder("audit.capture.truncated")
+                .description("Capturas de argumentos cortadas por superar el tamaño máximo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detalle del evento de auditoría: los argumentos capturados y, si la llamada falló, el error.
+     */
+    public String capture(Method method, AuditLog policy, Object[] args, String errorDetails) {
+        long started = System.nanoTime();
+        CapturePlan plan = plans.computeIfAbsent(method, m -> plan(m, policy));
+        BoundedWriter out = new BoundedWriter(plan.maxBytes());
+        try {
+            writeArguments(plan, args, out);
+        } catch (Exception e) {
+            // Jackson puede envolver el corte del writer: lo que cuenta es si se alcanzó el límite
+            if (!out.limitReached()) {
+                log.warn("No se pudieron serializar los argumentos auditados de {}: {}", method.getName(), e.getMessage());
+                out = new BoundedWriter(0);
+            }
+        }
+        boolean cut = out.limitReached();
+        if (cut) {
+            truncated.increment();
+        }
+        capturedBytes.record(out.bytes());
+        String details = out.isEmpty() ? "{}" : cut ? out + TRUNCATED : out.toString();
+        if (errorDetails != null) {
+            details += " | Error: " + (errorDetails.length() > MAX_ERROR_CHARS
+                    ? errorDetails.substring(0, MAX_ERROR_CHARS) + TRUNCATED : errorDetails);
+        }
+        captureTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return details;
+    }
+
+    private void writeArguments(CapturePlan plan, Object[] args, Writer out) {
+        if (plan.maxBytes() == 0 || args == null || args.length == 0) {
+            return;
+        }
+        JsonGenerator generator = captureMapper.createGenerator(out);
+        generator.writeStartObject();
+        for (int i = 0; i < args.length && i < plan.writers().length; i++) {
+            if (plan.writers()[i] != null) {
+                generator.writeName(plan.names()[i]);
+                plan.writers()[i].writeValue(generator, args[i]);
+            }
+        }
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private CapturePlan plan(Method method, AuditLog policy) {
+        Set<String> redact = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        redact.addAll(globalRedact);
+        redact.addAll(List.of(policy.redact()));
+        ObjectWriter base = captureMapper.writer().with(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, new CaptureFilter(caseInsensitive(policy.fields()), redact)));
+
+        Class<?>[] types = method.getParameterTypes();
+        String[] discovered = parameterNames.getParameterNames(method);
+        String[] names = new String[types.length];
+        ObjectWriter[] writers = new ObjectWriter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = discovered != null ? discovered[i] : "arg" + i;
+            Class<?> type = types[i];
+            if (SKIPPED_TYPES.stream().noneMatch(skipped -> skipped.isAssignableFrom(type))) {
+                // writer con el serializador del tipo ya resuelto
+                writers[i] = type.isPrimitive() || type == Object.class ? base : base.forType(type);
+            }
+        }
+        int maxBytes = policy.maxBytes() >= 0 ? policy.maxBytes() : defaultMaxBytes;
+        return new CapturePlan(names, writers, maxBytes);
+    }
+
+    private static Set<String> caseInsensitive(String[] names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : names) {
+            if (!name.isBlank()) {
+                set.add(name.trim());
+            }
+        }
+        return set;
+    }
+
+    private record CapturePlan(String[] names, ObjectWriter[] writers, int maxBytes) {
+    }
+
+    /**
+     * Aplica el filtro de captura a todos los beans, no solo a los anotados con {@code @JsonFilter}.
+     */
+    private static final class CaptureFilterIntrospector extends NopAnnotationIntrospector {
+        @Override
+        public Object findFilterId(MapperConfig<?> config, Annotated annotated) {
+            return annotated instanceof AnnotatedClass ? FILTER_ID : null;
+        }
+    }
+
+    private static final class CaptureFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> fields;
+        private final Set<String> redact;
+
+        CaptureFilter(Set<String> fields, Set<String> redact) {
+            this.fields = fields;
+            this.redact = redact;
+        }
+
+        @Override
+        public void serializeAsProperty(Object pojo, JsonGenerator generator, SerializationContext context,
+                                        PropertyWriter writer) throws Exception {
+            String name = writer.getName();
+            if (!fields.isEmpty() && !fields.contains(name)) {
+                return;
+            }
+            if (redact.contains(name)) {
+                generator.writeName(name);
+                generator.writeString(REDACTED);
+                return;
+            }
+            writer.serializeAsProperty(pojo, generator, context);
+        }
+    }
+
+    /**
+     * Writer que cuenta bytes UTF-8 y, al llegar al límite, corta la serialización con una excepción sin stack trace.
+     */
+    static final class BoundedWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int maxBytes;
+        private int bytes;
+        private boolean limitReached;
+
+        BoundedWriter(int maxBytes) {
+            this.maxBytes = maxBytes;
+            this.buffer = new StringBuilder(Math.min(maxBytes, 256));
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                put(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                put(text.charAt(i));
+            }
+        }
+
+        private void put(char c) {
+            int size = c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            if (limitReached || bytes + size > maxBytes) {
+                limitReached = true;
+                throw new LimitReachedException();
+            }
+            bytes += size;
+            buffer.append(c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        int bytes() {
+            return bytes;
+        }
+
+        boolean limitReached() {
+            return limitReached;
+        }
+
+        boolean isEmpty() {
+            return buffer.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    private static final class LimitReachedException extends RuntimeException {
+        LimitReachedException() {
+            super("Límite de captura alcanzado", null, false, false);
+        }
+    }
+}
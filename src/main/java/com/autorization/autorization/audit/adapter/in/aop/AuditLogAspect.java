@@ -1,9 +1,8 @@
 package com.autorization.autorization.audit.adapter.in.aop;
 
-import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
 import com.autorization.autorization.audit.domain.port.in.AuditUseCasePort;
 import com.autorization.autorization.shared.annotation.AuditLog;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,15 +10,19 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.scheduling.annotation.Async;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.time.LocalDateTime;
+import java.lang.reflect.Method;
 
+/**
+ * Captura en el hilo del request solo lo que no se puede leer después (usuario autenticado, cabeceras de origen,
+ * argumentos e instante); la serialización, la IP y la fecha se resuelven en el escritor de auditoría.
+ */
 @Aspect
 @Component
 @RequiredArgsConstructor
@@ -27,89 +30,47 @@ import java.time.LocalDateTime;
 public class AuditLogAspect {
 
     private final AuditUseCasePort auditUseCasePort;
-    ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditArgumentCapturer argumentCapturer;
 
     @AfterReturning(pointcut = "@annotation(auditLog)", returning = "result")
     public void logActivitySuccess(JoinPoint joinPoint, AuditLog auditLog, Object result) {
-        saveLog(joinPoint, auditLog, "SUCCESS", null);
+        record(((MethodSignature) joinPoint.getSignature()).getMethod(), auditLog, joinPoint.getArgs(), "SUCCESS", null);
     }
 
     @AfterThrowing(pointcut = "@annotation(auditLog)", throwing = "exception")
     public void logActivityFailure(JoinPoint joinPoint, AuditLog auditLog, Exception exception) {
-        saveLog(joinPoint, auditLog, "FAILURE", exception.getMessage());
+        record(((MethodSignature) joinPoint.getSignature()).getMethod(), auditLog, joinPoint.getArgs(), "FAILURE", exception);
     }
 
-    @Async
-    public void saveLog(JoinPoint joinPoint, AuditLog auditLog, String status, String errorDetails) {
+    void record(Method method, AuditLog auditLog, Object[] args, String status, Exception exception) {
         try {
-            String userId = getCurrentUser();
-            String details = getMethodArgs(joinPoint);
-            String ipAddress = getClientIp();
-
-            if (errorDetails != null) {
-                details += " | Error: " + errorDetails;
-            }
-
-            ActivityLogDomain log = ActivityLogDomain.builder()
-                    .userId(userId)
-                    .module(auditLog.module())
-                    .action(auditLog.action())
-                    .details(details)
-                    .ipAddress(ipAddress)
-                    .status(status)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            auditUseCasePort.logActivity(log);
-
+            auditUseCasePort.logActivity(new AuditEvent(
+                    auditLog.module(),
+                    auditLog.action(),
+                    status,
+                    System.nanoTime(),
+                    getCurrentUser(),
+                    getClientAddress(),
+                    () -> argumentCapturer.capture(method, auditLog, args, exception != null ? exception.getMessage() : null)));
         } catch (Exception e) {
             log.error("Error saving audit log", e);
         }
     }
 
-    private String getCurrentUser() {
+    private Authentication getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            return authentication.getName();
-        }
-        return "ANONYMOUS";
-    }
-
-    private String getMethodArgs(JoinPoint joinPoint) {
-        try {
-            Object[] args = joinPoint.getArgs();
-            if (args != null && args.length > 0) {
-                // Filter out non-serializable objects if necessary, for now just try to
-                // serialize the first arg which is usually the request body
-                return objectMapper.writeValueAsString(args[0]);
-            }
-        } catch (Exception e) {
-            log.warn("Could not serialize method arguments", e);
-        }
-        return "{}";
+        return authentication != null && authentication.isAuthenticated() ? authentication : null;
     }
 
-    private String getClientIp() {
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
-                    .getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                String ip = request.getHeader("X-Forwarded-For");
-                if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-                    ip = request.getHeader("Proxy-Client-IP");
-                }
-                if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-                    ip = request.getHeader("WL-Proxy-Client-IP");
-                }
-                if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-                    ip = request.getRemoteAddr();
-                }
-                return ip;
-            }
-        } catch (Exception e) {
-            log.warn("Could not get client IP", e);
+    private AuditEvent.ClientAddress getClientAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return new AuditEvent.ClientAddress(
+                    request.getHeader("X-Forwarded-For"),
+                    request.getHeader("Proxy-Client-IP"),
+                    request.getHeader("WL-Proxy-Client-IP"),
+                    request.getRemoteAddr());
         }
-        return "UNKNOWN";
+        return null;
     }
 }
@@ -1,7 +1,9 @@
 package com.autorization.autorization.audit.adapter.in.web.controller.rest;
 
+import com.autorization.autorization.audit.application.export.AuditExportFormat;
 import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
 import com.autorization.autorization.audit.domain.port.in.AuditUseCasePort;
+import com.autorization.autorization.shared.application.dto.CursorResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import com.autorization.autorization.shared.domain.exception.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,9 +17,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -49,4 +55,53 @@ public class AuditController {
         PaginatedResponse<ActivityLogDomain> response = auditUseCasePort.retrieveLogs(module, date, pageable);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "Recorrer logs de actividad por cursor",
+            description = "Paginación keyset sobre (timestamp, id): sin OFFSET ni conteo total. Para la siguiente página, "
+                    + "enviar el nextCursor recibido. approximateCount=true añade una estimación del total.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de logs"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorResponse<ActivityLogDomain>> scrollLogs(
+            @RequestParam(required = false) String module,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean approximateCount) {
+        CursorResponse<ActivityLogDomain> response = auditUseCasePort.scrollLogs(
+                module, date, cursor, size, sortDir.equalsIgnoreCase("asc"), approximateCount);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Exportar logs de actividad",
+            description = "Descarga en streaming (NDJSON o CSV, opcionalmente gzip) de los días from..to, ambos incluidos. "
+                    + "Las filas se leen con un cursor y se escriben según llegan: la memoria no crece con el tamaño.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Fichero con los logs"),
+            @ApiResponse(responseCode = "403", description = "No autorizado", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @RequestParam(required = false) String module,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        AuditExportFormat exportFormat = format.equalsIgnoreCase("csv") ? AuditExportFormat.CSV : AuditExportFormat.NDJSON;
+        LocalDate first = from != null ? from : LocalDate.now();
+        LocalDate last = to != null ? to : first;
+        String filename = "audit-logs-" + first + "_" + last + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = out -> auditUseCasePort.exportLogs(module, first, last, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
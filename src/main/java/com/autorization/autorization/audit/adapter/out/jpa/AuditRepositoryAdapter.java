@@ -4,20 +4,54 @@ import com.autorization.autorization.audit.adapter.out.jpa.entity.ActivityLog;
 import com.autorization.autorization.audit.adapter.out.jpa.mapper.AuditMapper;
 import com.autorization.autorization.audit.adapter.out.jpa.repository.AuditLogJPARepository;
 import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditCursor;
 import com.autorization.autorization.audit.domain.port.out.AuditRepositoryPort;
+import com.autorization.autorization.shared.domain.exception.PersistenceException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class AuditRepositoryAdapter implements AuditRepositoryPort {
 
+    // ON CONFLICT: reenviar un lote del spool tras un reinicio no duplica eventos
+    private static final String INSERT_SQL = "INSERT INTO activity_logs "
+            + "(id, user_id, module, action, details, ip_address, status, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT DO NOTHING";
+
+    // la primera fila del plan en JSON es el nodo raíz: sus filas estimadas son las de toda la consulta
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    // la primera página parte de un cursor ficticio justo fuera del rango: el mismo índice y la misma consulta
+    private static final UUID ANY_ID = new UUID(0, 0);
+
     private final AuditLogJPARepository repository;
     private final AuditMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.export.fetch-size:1000}")
+    private int exportFetchSize;
 
     @Override
     public void save(ActivityLogDomain activityLog) {
@@ -25,14 +59,132 @@ public class AuditRepositoryAdapter implements AuditRepositoryPort {
         repository.save(entity);
     }
 
+    /**
+     * Inserta el lote con un único batch JDBC, sin pasar por el contexto de persistencia de JPA.
+     * Los eventos cuyo id ya existe se ignoran.
+     */
+    @Override
+    public void saveAll(List<ActivityLogDomain> activityLogs) {
+        if (activityLogs.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, activityLogs, activityLogs.size(), (statement, activityLog) -> {
+                statement.setObject(1, activityLog.getId() != null ? activityLog.getId() : UUID.randomUUID());
+                statement.setString(2, activityLog.getUserId());
+                statement.setString(3, activityLog.getModule());
+                statement.setString(4, activityLog.getAction());
+                statement.setString(5, activityLog.getDetails());
+                statement.setString(6, activityLog.getIpAddress());
+                statement.setString(7, activityLog.getStatus());
+                statement.setTimestamp(8, Timestamp.valueOf(activityLog.getTimestamp() != null
+                        ? activityLog.getTimestamp() : LocalDateTime.now()));
+            });
+        } catch (Exception e) {
+            log.error("Error al insertar lote de {} eventos de auditoría: {}", activityLogs.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al insertar lote de eventos de auditoría", e);
+        }
+    }
+
     @Override
     public Page<ActivityLogDomain> findLogs(String module, LocalDateTime start, LocalDateTime end, Pageable pageable) {
         Page<ActivityLog> entityPage;
         if (module != null && !module.isEmpty()) {
-            entityPage = repository.findAllByModuleAndTimestampBetween(module, start, end, pageable);
+            entityPage = repository.findAllByModuleInRange(module, start, end, pageable);
         } else {
-            entityPage = repository.findAllByTimestampBetween(start, end, pageable);
+            entityPage = repository.findAllInRange(start, end, pageable);
         }
         return entityPage.map(mapper::toDomain);
     }
+
+    @Override
+    public Slice<ActivityLogDomain> findLogsAfter(String module, LocalDateTime start, LocalDateTime end,
+                                                  AuditCursor after, boolean ascending, int size) {
+        LocalDateTime afterTimestamp;
+        UUID afterId;
+        if (after != null) {
+            afterTimestamp = after.timestamp();
+            afterId = after.id();
+        } else {
+            // (end, *) deja pasar todo lo anterior a end; (start - 1µs, *) todo desde start (precisión de PostgreSQL)
+            afterTimestamp = ascending ? start.minusNanos(1_000) : end;
+            afterId = ANY_ID;
+        }
+        Pageable pageable = PageRequest.of(0, size);
+        boolean byModule = module != null && !module.isEmpty();
+        Slice<ActivityLog> slice;
+        if (byModule) {
+            slice = ascending
+                    ? repository.findByModuleInRangeAfter(module, start, end, afterTimestamp, afterId, pageable)
+                    : repository.findByModuleInRangeBefore(module, start, end, afterTimestamp, afterId, pageable);
+        } else {
+            slice = ascending
+                    ? repository.findInRangeAfter(start, end, afterTimestamp, afterId, pageable)
+                    : repository.findInRangeBefore(start, end, afterTimestamp, afterId, pageable);
+        }
+        return slice.map(mapper::toDomain);
+    }
+
+    /**
+     * Estimación con {@code EXPLAIN}: no lee filas, solo las estadísticas de las particiones afectadas.
+     */
+    @Override
+    public OptionalLong estimateLogs(String module, LocalDateTime start, LocalDateTime end) {
+        boolean byModule = module != null && !module.isEmpty();
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM activity_logs WHERE timestamp >= ? AND timestamp < ?"
+                + (byModule ? " AND module = ?" : "");
+        Object[] args = byModule
+                ? new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end), module}
+                : new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end)};
+        try {
+            String plan = jdbcTemplate.query(sql, rs -> rs.next() ? rs.getString(1) : null, args);
+            Matcher matcher = plan != null ? PLAN_ROWS.matcher(plan) : null;
+            return matcher != null && matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+        } catch (DataAccessException e) {
+            log.debug("No se pudo estimar el número de eventos de auditoría: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Lee con un cursor de servidor: en PostgreSQL el fetch size solo se respeta dentro de una transacción,
+     * así que en memoria nunca hay más de {@code audit.export.fetch-size} filas. No pasa por JPA.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamLogs(String module, LocalDateTime start, LocalDateTime end, Consumer<ActivityLogDomain> consumer) {
+        boolean byModule = module != null && !module.isEmpty();
+        String sql = "SELECT id, user_id, module, action, details, ip_address, status, timestamp FROM activity_logs"
+                + " WHERE timestamp >= ? AND timestamp < ?" + (byModule ? " AND module = ?" : "")
+                + " ORDER BY timestamp, id";
+        long[] count = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(exportFetchSize);
+                statement.setTimestamp(1, Timestamp.valueOf(start));
+                statement.setTimestamp(2, Timestamp.valueOf(end));
+                if (byModule) {
+                    statement.setString(3, module);
+                }
+                return statement;
+            }, resultSet -> {
+                consumer.accept(ActivityLogDomain.builder()
+                        .id(resultSet.getObject(1, UUID.class))
+                        .userId(resultSet.getString(2))
+                        .module(resultSet.getString(3))
+                        .action(resultSet.getString(4))
+                        .details(resultSet.getString(5))
+                        .ipAddress(resultSet.getString(6))
+                        .status(resultSet.getString(7))
+                        .timestamp(resultSet.getTimestamp(8).toLocalDateTime())
+                        .build());
+                count[0]++;
+            });
+        } catch (DataAccessException e) {
+            log.error("Error al recorrer eventos de auditoría tras {} filas: {}", count[0], e.getMessage(), e);
+            throw new PersistenceException("Error al recorrer eventos de auditoría", e);
+        }
+        return count[0];
+    }
 }
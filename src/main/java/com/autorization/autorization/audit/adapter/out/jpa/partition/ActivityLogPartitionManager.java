@@ -0,0 +1,294 @@
+package com.autorization.autorization.audit.adapter.out.jpa.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Particionado por rango de {@code activity_logs} sobre {@code timestamp} (solo PostgreSQL).
+ *
+ * - Al arrancar, antes de que Hibernate valide el esquema, crea la tabla particionada; si ya existe como tabla
+ *   normal, la renombra a {@code activity_logs_legacy} y la adjunta como partición de todo lo anterior al límite
+ *   de partición siguiente a su evento más reciente (como pronto, hoy). Las particiones nuevas empiezan ahí.
+ * - Mantiene creadas la partición actual y las {@code audit.partitions.premake} siguientes, más una partición
+ *   DEFAULT para que un evento fuera de rango no se pierda. Si la DEFAULT ya tiene eventos del rango de una
+ *   partición nueva, se mueven a ella al crearla.
+ * - Retención: las particiones que terminan antes de hoy menos {@code audit.partitions.retention-days} se borran
+ *   ({@code DROP}) o se desadjuntan para archivarlas ({@code DETACH}).
+ *
+ * Una consulta de un día con {@code timestamp >= inicio AND timestamp < fin} solo lee su partición.
+ * Con varias instancias, un advisory lock serializa el mantenimiento.
+ */
+@Component
+@Slf4j
+public class ActivityLogPartitionManager {
+
+    public enum RetentionAction { DROP, DETACH }
+
+    static final String TABLE = "activity_logs";
+    private static final String LEGACY_TABLE = TABLE + "_legacy";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String MOVED_ROWS = TABLE + "_moved";
+    private static final long LOCK_KEY = 0x61756469746c6f67L;
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final PartitionInterval interval;
+    private final int premake;
+    private final int retentionDays;
+    private final RetentionAction retentionAction;
+    private final Clock clock;
+
+    @Autowired
+    public ActivityLogPartitionManager(DataSource dataSource,
+                                       @Value("${audit.partitions.enabled:true}") boolean enabled,
+                                       @Value("${audit.partitions.interval:DAY}") PartitionInterval interval,
+                                       @Value("${audit.partitions.premake:7}") int premake,
+                                       @Value("${audit.partitions.retention-days:90}") int retentionDays,
+                                       @Value("${audit.partitions.retention-action:DROP}") RetentionAction retentionAction) {
+        this(dataSource, enabled && isPostgreSql(dataSource), interval, premake, retentionDays, retentionAction, Clock.systemDefaultZone());
+    }
+
+    ActivityLogPartitionManager(DataSource dataSource, boolean enabled, PartitionInterval interval, int premake,
+                                int retentionDays, RetentionAction retentionAction, Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // el JpaTransactionManager aún no existe: esto corre antes de crear el EntityManagerFactory
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.enabled = enabled;
+        this.interval = interval;
+        this.premake = premake;
+        this.retentionDays = retentionDays;
+        this.retentionAction = retentionAction;
+        this.clock = clock;
+        initialize();
+    }
+
+    @Scheduled(fixedDelayString = "${audit.partitions.maintenance-ms:3600000}", initialDelayString = "${audit.partitions.maintenance-ms:3600000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                createPartitions(interval.start(today()));
+            });
+            applyRetention();
+        } catch (Exception e) {
+            log.error("Error en el mantenimiento de particiones de {}: {}", TABLE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Particiones cuyo fin es anterior al corte de retención.
+     */
+    List<String> expiredPartitions(List<PartitionBound> partitions) {
+        List<String> expired = new ArrayList<>();
+        if (retentionDays <= 0) {
+            return expired;
+        }
+        LocalDateTime cutoff = today().minusDays(retentionDays).atStartOfDay();
+        for (PartitionBound partition : partitions) {
+            partition.upperBound()
+                    .filter(upper -> !upper.isAfter(cutoff))
+                    .ifPresent(upper -> expired.add(partition.name()));
+        }
+        return expired;
+    }
+
+    private void initialize() {
+        if (!enabled) {
+            log.info("Particionado de {} deshabilitado (requiere PostgreSQL y audit.partitions.enabled=true)", TABLE);
+            return;
+        }
+        LocalDate first = interval.start(today());
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            String kind = relationKind(TABLE);
+            if (kind == null) {
+                createPartitionedTable();
+            } else if ("r".equals(kind)) {
+                migrateLegacyTable(first);
+            }
+            // (…, timestamp, id): sirven tanto al rango del día como al keyset de la paginación por cursor
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_activity_logs_module_timestamp");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_activity_logs_timestamp");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_activity_logs_module_timestamp_id ON " + TABLE + " (module, timestamp, id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_activity_logs_timestamp_id ON " + TABLE + " (timestamp, id)");
+            createPartitions(first);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+        });
+        log.info("{} particionada por {} desde {} ({} particiones futuras, retención {} días, {})",
+                TABLE, interval, first, premake, retentionDays, retentionAction);
+    }
+
+    private void createPartitionedTable() {
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " ("
+                + "id uuid NOT NULL, "
+                + "user_id varchar(255), "
+                + "module varchar(255) NOT NULL, "
+                + "action varchar(255) NOT NULL, "
+                + "details text, "
+                + "ip_address varchar(255), "
+                + "status varchar(255) NOT NULL, "
+                + "timestamp timestamp(6) NOT NULL, "
+                // la clave de partición tiene que formar parte de la clave primaria
+                + "CONSTRAINT pk_activity_logs PRIMARY KEY (id, timestamp)"
+                + ") PARTITION BY RANGE (timestamp)");
+    }
+
+    /**
+     * Fin (exclusivo) de la partición legacy: el límite de partición siguiente al evento más reciente de la tabla
+     * sin particionar, y como pronto el inicio de la partición actual.
+     */
+    LocalDate legacyUpperBound(LocalDate first) {
+        LocalDateTime newest = jdbcTemplate.queryForObject("SELECT max(timestamp) FROM " + TABLE, LocalDateTime.class);
+        if (newest == null) {
+            return first;
+        }
+        LocalDate bound = interval.next(interval.start(newest.toLocalDate()));
+        return bound.isAfter(first) ? bound : first;
+    }
+
+    private void migrateLegacyTable(LocalDate first) {
+        LocalDate bound = legacyUpperBound(first);
+        log.warn("{} existe sin particionar: se adjunta como {} con los eventos anteriores a {}", TABLE, LEGACY_TABLE, bound);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        // su clave primaria (id) choca con la de la tabla particionada (id, timestamp), que se crea al adjuntarla
+        for (String constraint : jdbcTemplate.queryForList("SELECT conname FROM pg_constraint "
+                + "WHERE conrelid = ?::regclass AND contype = 'p'", String.class, LEGACY_TABLE)) {
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " DROP CONSTRAINT " + constraint);
+        }
+        createPartitionedTable();
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_TABLE
+                + " FOR VALUES FROM (MINVALUE) TO ('" + bound + "')");
+    }
+
+    private void createPartitions(LocalDate first) {
+        LocalDate start = firstUncovered(first);
+        for (int i = 0; i <= premake; i++) {
+            LocalDate end = interval.next(start);
+            String partition = interval.partitionName(TABLE, start);
+            if (relationKind(partition) == null) {
+                createPartition(partition, start, end);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Primer inicio de partición a partir de {@code first} que no cubre ya la partición legacy.
+     */
+    private LocalDate firstUncovered(LocalDate first) {
+        List<LocalDateTime> legacyEnd = jdbcTemplate.query(
+                "SELECT pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = ?::regclass AND c.relname = ?",
+                (rs, rowNum) -> PartitionBound.parse(LEGACY_TABLE, rs.getString(1)).upperBound().orElse(null),
+                TABLE, LEGACY_TABLE);
+        if (legacyEnd.isEmpty() || legacyEnd.get(0) == null || !legacyEnd.get(0).isAfter(first.atStartOfDay())) {
+            return first;
+        }
+        LocalDate start = interval.start(legacyEnd.get(0).toLocalDate());
+        return start.atStartOfDay().isBefore(legacyEnd.get(0)) ? interval.next(start) : start;
+    }
+
+    private void createPartition(String partition, LocalDate start, LocalDate end) {
+        String range = "timestamp >= '" + start + "' AND timestamp < '" + end + "'";
+        // PostgreSQL no crea la partición si la DEFAULT ya tiene filas de su rango: se apartan y se reinsertan después
+        boolean inDefault = relationKind(DEFAULT_PARTITION) != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE " + range + ")", Boolean.class));
+        if (inDefault) {
+            jdbcTemplate.execute("CREATE TEMP TABLE IF NOT EXISTS " + MOVED_ROWS + " (LIKE " + TABLE + ") ON COMMIT DROP");
+            jdbcTemplate.execute("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range + " RETURNING *) "
+                    + "INSERT INTO " + MOVED_ROWS + " SELECT * FROM moved");
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition
+                + " PARTITION OF " + TABLE + " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+        if (inDefault) {
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + MOVED_ROWS + " RETURNING *) "
+                    + "INSERT INTO " + TABLE + " SELECT * FROM moved");
+            log.warn("{} eventos de {} movidos a la nueva partición {}", moved, DEFAULT_PARTITION, partition);
+        }
+    }
+
+    private void applyRetention() {
+        List<PartitionBound> partitions = jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                (rs, rowNum) -> PartitionBound.parse(rs.getString(1), rs.getString(2)),
+                TABLE);
+        for (String partition : expiredPartitions(partitions)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                if (retentionAction == RetentionAction.DETACH) {
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                } else {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                }
+            });
+            log.info("Partición {} fuera de retención: {}", partition, retentionAction);
+        }
+    }
+
+    private String relationKind(String table) {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE c.relname = ? AND n.nspname = current_schema()", String.class, table);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private void lock() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null, LOCK_KEY);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("No se pudo determinar la base de datos para particionar {}: {}", TABLE, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Partición y su límite superior, leído de {@code pg_get_expr(relpartbound)}; vacío para DEFAULT o MAXVALUE.
+     */
+    record PartitionBound(String name, Optional<LocalDateTime> upperBound) {
+
+        static PartitionBound parse(String name, String bound) {
+            Matcher matcher = UPPER_BOUND.matcher(bound != null ? bound : "");
+            if (!matcher.find()) {
+                return new PartitionBound(name, Optional.empty());
+            }
+            String value = matcher.group(1).trim().replace(' ', 'T');
+            return new PartitionBound(name, Optional.of(value.length() == 10
+                    ? LocalDate.parse(value).atStartOfDay()
+                    : LocalDateTime.parse(value)));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.autorization.autorization.audit.adapter.out.jpa.partition;
+
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * El particionado tiene que crear {@code activity_logs} antes de que {@code ddl-auto} la cree como tabla normal.
+ */
+@Configuration
+public class ActivityLogPartitioningConfig {
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor activityLogPartitioningDependsOn() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ActivityLogPartitionManager.class);
+    }
+}
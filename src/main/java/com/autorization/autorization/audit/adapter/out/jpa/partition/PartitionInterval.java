@@ -0,0 +1,49 @@
+package com.autorization.autorization.audit.adapter.out.jpa.partition;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Granularidad de las particiones de {@code activity_logs}: una por día o una por mes.
+ */
+public enum PartitionInterval {
+
+    DAY(DateTimeFormatter.ofPattern("yyyyMMdd")) {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+    MONTH(DateTimeFormatter.ofPattern("yyyyMM")) {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    private final DateTimeFormatter suffix;
+
+    PartitionInterval(DateTimeFormatter suffix) {
+        this.suffix = suffix;
+    }
+
+    /** Inicio (inclusive) de la partición que contiene la fecha. */
+    public abstract LocalDate start(LocalDate date);
+
+    /** Inicio de la partición siguiente, que es también el fin (exclusivo) de esta. */
+    public abstract LocalDate next(LocalDate start);
+
+    public String partitionName(String table, LocalDate start) {
+        return table + "_p" + suffix.format(start);
+    }
+}
@@ -4,7 +4,10 @@ import com.autorization.autorization.audit.adapter.out.jpa.entity.ActivityLog;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -14,8 +17,35 @@ import java.util.UUID;
 public interface AuditLogJPARepository extends JpaRepository<ActivityLog, UUID> {
     Page<ActivityLog> findAllByModule(String module, Pageable pageable);
 
-    Page<ActivityLog> findAllByTimestampBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<ActivityLog> findAllByModuleAndTimestampBetween(String module, LocalDateTime start, LocalDateTime end,
+    // rangos semiabiertos [start, end): un día exacto solo toca su partición
+    @Query("SELECT a FROM ActivityLog a WHERE a.timestamp >= :start AND a.timestamp < :end")
+    Page<ActivityLog> findAllInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
             Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a WHERE a.module = :module AND a.timestamp >= :start AND a.timestamp < :end")
+    Page<ActivityLog> findAllByModuleInRange(@Param("module") String module, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, Pageable pageable);
+
+    // keyset: (timestamp, id) como row value para que el índice (…, timestamp, id) acote el recorrido, sin OFFSET
+    @Query("SELECT a FROM ActivityLog a WHERE a.timestamp >= :start AND a.timestamp < :end"
+            + " AND (a.timestamp, a.id) < (:afterTimestamp, :afterId) ORDER BY a.timestamp DESC, a.id DESC")
+    Slice<ActivityLog> findInRangeBefore(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+            @Param("afterTimestamp") LocalDateTime afterTimestamp, @Param("afterId") UUID afterId, Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a WHERE a.timestamp >= :start AND a.timestamp < :end"
+            + " AND (a.timestamp, a.id) > (:afterTimestamp, :afterId) ORDER BY a.timestamp ASC, a.id ASC")
+    Slice<ActivityLog> findInRangeAfter(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+            @Param("afterTimestamp") LocalDateTime afterTimestamp, @Param("afterId") UUID afterId, Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a WHERE a.module = :module AND a.timestamp >= :start AND a.timestamp < :end"
+            + " AND (a.timestamp, a.id) < (:afterTimestamp, :afterId) ORDER BY a.timestamp DESC, a.id DESC")
+    Slice<ActivityLog> findByModuleInRangeBefore(@Param("module") String module, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, @Param("afterTimestamp") LocalDateTime afterTimestamp,
+            @Param("afterId") UUID afterId, Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a WHERE a.module = :module AND a.timestamp >= :start AND a.timestamp < :end"
+            + " AND (a.timestamp, a.id) > (:afterTimestamp, :afterId) ORDER BY a.timestamp ASC, a.id ASC")
+    Slice<ActivityLog> findByModuleInRangeAfter(@Param("module") String module, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end, @Param("afterTimestamp") LocalDateTime afterTimestamp,
+            @Param("afterId") UUID afterId, Pageable pageable);
 }
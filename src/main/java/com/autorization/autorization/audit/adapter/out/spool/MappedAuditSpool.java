@@ -0,0 +1,294 @@
+package com.autorization.autorization.audit.adapter.out.spool;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Spool de auditoría en disco: segmentos de tamaño fijo mapeados en memoria y un fichero de checkpoint.
+ *
+ * - Cada registro es {@code [longitud][crc32c][evento]}; un segmento recién creado está a ceros, así que una
+ *   longitud 0 marca el final de lo escrito. Al escribir, la longitud se pone la última.
+ * - Lo escrito en el mapeo sobrevive a una caída del proceso (queda en la caché de páginas del sistema);
+ *   con {@code audit.spool.fsync=true} se fuerza además a disco en cada lote, para sobrevivir a un corte de luz.
+ * - El checkpoint ({@code segmento, offset}) se reescribe de forma atómica al confirmar cada lote y los
+ *   segmentos anteriores a él se borran.
+ * - Al arrancar se retoma la lectura desde el checkpoint y la escritura tras el último registro válido del
+ *   último segmento; un registro a medias (crc incorrecto) se descarta.
+ * - Todas las operaciones se serializan con el monitor del spool: {@code append} puede llegar a la vez del hilo
+ *   escritor y de los requests (política CALLER_RUNS).
+ */
+@Component
+@Slf4j
+public class MappedAuditSpool implements AuditSpoolPort {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final boolean fsync;
+    private final NavigableSet<Long> segments = new TreeSet<>();
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+
+    private long readSegment;
+    private int readOffset;
+    private MappedByteBuffer readBuffer;
+    private long readBufferSegment = -1;
+
+    private long checkpointSegment;
+    private int checkpointOffset;
+
+    public MappedAuditSpool(@Value("${audit.spool.dir:spool/audit}") String directory,
+                            @Value("${audit.spool.segment-size-bytes:16777216}") int segmentSize,
+                            @Value("${audit.spool.max-bytes:1073741824}") long maxBytes,
+                            @Value("${audit.spool.fsync:false}") boolean fsync,
+                            MeterRegistry meterRegistry) {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(2, maxBytes / segmentSize);
+        this.fsync = fsync;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el spool de auditoría en " + this.directory.toAbsolutePath(), e);
+        }
+        Gauge.builder("audit.spool.segments", this, MappedAuditSpool::segmentCount)
+                .description("Segmentos del spool de auditoría pendientes de enviar")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized int append(List<ActivityLogDomain> events) {
+        int appended = 0;
+        try {
+            for (ActivityLogDomain event : events) {
+                if (event.getId() == null) {
+                    // el id se fija aquí para que reenviar el evento tras un reinicio sea idempotente
+                    event.setId(UUID.randomUUID());
+                }
+                if (event.getTimestamp() == null) {
+                    event.setTimestamp(LocalDateTime.now());
+                }
+                byte[] payload = SpoolRecordCodec.encode(event);
+                int recordSize = HEADER_BYTES + payload.length;
+                if (recordSize > segmentSize) {
+                    log.warn("Evento de auditoría de {} bytes descartado: no cabe en un segmento del spool", recordSize);
+                    continue;
+                }
+                if (writeBuffer.remaining() < recordSize && !roll()) {
+                    break;
+                }
+                int position = writeBuffer.position();
+                writeBuffer.put(position + HEADER_BYTES, payload);
+                writeBuffer.putInt(position + 4, crc(payload));
+                writeBuffer.putInt(position, payload.length);
+                writeBuffer.position(position + recordSize);
+                appended++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error escribiendo en el spool de auditoría", e);
+        } finally {
+            if (fsync && appended > 0) {
+                writeBuffer.force();
+            }
+        }
+        return appended;
+    }
+
+    @Override
+    public synchronized SpoolBatch poll(int maxEvents) {
+        List<ActivityLogDomain> events = new ArrayList<>();
+        try {
+            while (events.size() < maxEvents) {
+                MappedByteBuffer buffer = readBuffer();
+                int limit = readSegment == writeSegment ? writeBuffer.position() : segmentSize;
+                int length = readOffset + HEADER_BYTES <= limit ? buffer.getInt(readOffset) : 0;
+                if (length <= 0 || (long) readOffset + HEADER_BYTES + length > limit
+                        || !validCrc(buffer, readOffset + HEADER_BYTES, length, buffer.getInt(readOffset + 4))) {
+                    if (readSegment == writeSegment) {
+                        break;
+                    }
+                    // fin del segmento (o registro a medias tras una caída): seguir con el siguiente
+                    readSegment = segments.higher(readSegment);
+                    readOffset = 0;
+                    continue;
+                }
+                events.add(SpoolRecordCodec.decode(buffer.slice(readOffset + HEADER_BYTES, length)));
+                readOffset += HEADER_BYTES + length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el spool de auditoría", e);
+        }
+        return new SpoolBatch(events, readSegment, readOffset);
+    }
+
+    @Override
+    public synchronized void commit(SpoolBatch batch) {
+        checkpointSegment = batch.segment();
+        checkpointOffset = batch.offset();
+        try {
+            writeCheckpoint();
+            while (!segments.isEmpty() && segments.first() < checkpointSegment) {
+                Files.deleteIfExists(segmentPath(segments.pollFirst()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error guardando el checkpoint del spool de auditoría", e);
+        }
+    }
+
+    @Override
+    public synchronized void rewind() {
+        readSegment = checkpointSegment;
+        readOffset = checkpointOffset;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        writeBuffer.force();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .forEach(segments::add);
+        }
+        if (segments.isEmpty()) {
+            segments.add(0L);
+        }
+
+        readCheckpoint();
+        if (!segments.contains(checkpointSegment)) {
+            checkpointSegment = segments.first();
+            checkpointOffset = 0;
+        }
+        while (segments.first() < checkpointSegment) {
+            Files.deleteIfExists(segmentPath(segments.pollFirst()));
+        }
+
+        writeSegment = segments.last();
+        writeBuffer = map(writeSegment);
+        writeBuffer.position(endOfRecords(writeBuffer));
+        rewind();
+        log.info("Spool de auditoría en {}: {} segmentos, checkpoint {}:{}",
+                directory.toAbsolutePath(), segments.size(), checkpointSegment, checkpointOffset);
+    }
+
+    private boolean roll() throws IOException {
+        if (segments.size() >= maxSegments) {
+            return false;
+        }
+        writeBuffer.force();
+        writeSegment++;
+        writeBuffer = map(writeSegment);
+        segments.add(writeSegment);
+        return true;
+    }
+
+    private MappedByteBuffer readBuffer() throws IOException {
+        if (readSegment == writeSegment) {
+            return writeBuffer;
+        }
+        if (readBufferSegment != readSegment) {
+            readBuffer = map(readSegment);
+            readBufferSegment = readSegment;
+        }
+        return readBuffer;
+    }
+
+    private int endOfRecords(MappedByteBuffer buffer) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || (long) offset + HEADER_BYTES + length > segmentSize
+                    || !validCrc(buffer, offset + HEADER_BYTES, length, buffer.getInt(offset + 4))) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            checkpointSegment = segments.first();
+            checkpointOffset = 0;
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        checkpointSegment = buffer.getLong();
+        checkpointOffset = buffer.getInt();
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12).putLong(checkpointSegment).putInt(checkpointOffset).flip();
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%020d", segment) + SEGMENT_SUFFIX);
+    }
+
+    private static boolean validCrc(ByteBuffer buffer, int offset, int length, int expected) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue() == expected;
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,77 @@
+package com.autorization.autorization.audit.adapter.out.spool;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Formato binario de un evento de auditoría en el spool:
+ * id (16 bytes), timestamp (segundos + nanos) y los campos de texto como longitud UTF-8 (-1 = null) + bytes.
+ */
+final class SpoolRecordCodec {
+
+    private static final int FIXED_BYTES = 16 + 8 + 4;
+    private static final int NULL_LENGTH = -1;
+
+    private SpoolRecordCodec() {
+    }
+
+    static byte[] encode(ActivityLogDomain event) {
+        byte[][] texts = {
+                utf8(event.getUserId()), utf8(event.getModule()), utf8(event.getAction()),
+                utf8(event.getDetails()), utf8(event.getIpAddress()), utf8(event.getStatus())
+        };
+        int size = FIXED_BYTES;
+        for (byte[] text : texts) {
+            size += 4 + (text != null ? text.length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(event.getId().getMostSignificantBits());
+        buffer.putLong(event.getId().getLeastSignificantBits());
+        LocalDateTime timestamp = event.getTimestamp();
+        buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(timestamp.getNano());
+        for (byte[] text : texts) {
+            if (text == null) {
+                buffer.putInt(NULL_LENGTH);
+            } else {
+                buffer.putInt(text.length);
+                buffer.put(text);
+            }
+        }
+        return buffer.array();
+    }
+
+    static ActivityLogDomain decode(ByteBuffer buffer) {
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        return ActivityLogDomain.builder()
+                .id(id)
+                .timestamp(timestamp)
+                .userId(text(buffer))
+                .module(text(buffer))
+                .action(text(buffer))
+                .details(text(buffer))
+                .ipAddress(text(buffer))
+                .status(text(buffer))
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String text(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
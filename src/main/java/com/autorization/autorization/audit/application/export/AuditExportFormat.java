@@ -0,0 +1,83 @@
+package com.autorization.autorization.audit.application.export;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Formatos de exportación de auditoría. Cada evento se escribe en cuanto llega, sin acumular nada en memoria.
+ */
+public enum AuditExportFormat {
+
+    /** Un objeto JSON por línea, con la misma forma que en la API. */
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public RecordWriter open(Writer out, JsonMapper jsonMapper) {
+            ObjectWriter writer = jsonMapper.writerFor(ActivityLogDomain.class);
+            return event -> {
+                out.write(writer.writeValueAsString(event));
+                out.write('\n');
+            };
+        }
+    },
+
+    /** CSV RFC 4180 con cabecera. */
+    CSV("text/csv", "csv") {
+        private static final String[] HEADER = {"id", "timestamp", "user_id", "module", "action", "status", "ip_address", "details"};
+
+        @Override
+        public RecordWriter open(Writer out, JsonMapper jsonMapper) throws IOException {
+            writeRow(out, (Object[]) HEADER);
+            return event -> writeRow(out, event.getId(), event.getTimestamp(), event.getUserId(), event.getModule(),
+                    event.getAction(), event.getStatus(), event.getIpAddress(), event.getDetails());
+        }
+
+        private void writeRow(Writer out, Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    out.write(escape(values[i].toString()));
+                }
+            }
+            out.write("\r\n");
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    AuditExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Prepara la escritura sobre {@code out} (en CSV escribe ya la cabecera).
+     */
+    public abstract RecordWriter open(Writer out, JsonMapper jsonMapper) throws IOException;
+
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    public interface RecordWriter {
+        void write(ActivityLogDomain event) throws IOException;
+    }
+}
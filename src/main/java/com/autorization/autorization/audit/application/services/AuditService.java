@@ -1,28 +1,51 @@
 package com.autorization.autorization.audit.application.services;
 
+import com.autorization.autorization.audit.application.export.AuditExportFormat;
+import com.autorization.autorization.audit.application.writer.AuditLogWriter;
 import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditCursor;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
 import com.autorization.autorization.audit.domain.port.in.AuditUseCasePort;
 import com.autorization.autorization.audit.domain.port.out.AuditRepositoryPort;
+import com.autorization.autorization.shared.application.dto.CursorResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuditService implements AuditUseCasePort {
 
+    static final int MAX_SCROLL_SIZE = 1000;
+    private static final int EXPORT_BUFFER_BYTES = 64 * 1024;
+
     private final AuditRepositoryPort auditRepositoryPort;
+    private final AuditLogWriter auditLogWriter;
+    private final JsonMapper jsonMapper;
 
     @Override
-    @Async
-    public void logActivity(ActivityLogDomain activityLog) {
-        auditRepositoryPort.save(activityLog);
+    public void logActivity(AuditEvent event) {
+        // pasa por el spool local y se inserta en lote, fuera de la transacción del request
+        auditLogWriter.enqueue(event);
     }
 
     @Override
@@ -31,7 +54,7 @@ public class AuditService implements AuditUseCasePort {
             date = LocalDate.now();
         }
         LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(23, 59, 59);
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
 
         Page<ActivityLogDomain> page = auditRepositoryPort.findLogs(module, start, end, pageable);
 
@@ -43,4 +66,67 @@ public class AuditService implements AuditUseCasePort {
                 page.getTotalPages(),
                 page.isLast());
     }
+
+    @Override
+    public CursorResponse<ActivityLogDomain> scrollLogs(String module, LocalDate date, String cursor, int size,
+                                                        boolean ascending, boolean approximateCount) {
+        if (date == null) {
+            date = LocalDate.now();
+        }
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        AuditCursor after = cursor != null && !cursor.isBlank() ? AuditCursor.decode(cursor) : null;
+        boolean direction = after != null ? after.ascending() : ascending;
+        int limit = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+
+        Slice<ActivityLogDomain> slice = auditRepositoryPort.findLogsAfter(module, start, end, after, direction, limit);
+
+        List<ActivityLogDomain> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? AuditCursor.after(content.getLast(), direction).encode()
+                : null;
+        Long approximateTotal = null;
+        if (approximateCount) {
+            OptionalLong estimate = auditRepositoryPort.estimateLogs(module, start, end);
+            approximateTotal = estimate.isPresent() ? estimate.getAsLong() : null;
+        }
+        return new CursorResponse<>(content, limit, nextCursor, nextCursor != null, approximateTotal);
+    }
+
+    @Override
+    public long exportLogs(String module, LocalDate from, LocalDate to, AuditExportFormat format, boolean gzip,
+                           OutputStream out) throws IOException {
+        if (from == null) {
+            from = LocalDate.now();
+        }
+        if (to == null) {
+            to = from;
+        }
+        long started = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_BYTES) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : out,
+                StandardCharsets.UTF_8), EXPORT_BUFFER_BYTES);
+        AuditExportFormat.RecordWriter records = format.open(writer, jsonMapper);
+
+        long exported;
+        try {
+            exported = auditRepositoryPort.streamLogs(module, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), event -> {
+                try {
+                    records.write(event);
+                } catch (IOException e) {
+                    // el cliente cortó la descarga: se aborta la lectura y se libera la conexión
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exportados {} eventos de auditoría ({}{}, {}..{}, módulo {}) en {} ms", exported, format,
+                gzip ? "+gzip" : "", from, to, module, (System.nanoTime() - started) / 1_000_000);
+        return exported;
+    }
 }
@@ -0,0 +1,115 @@
+package com.autorization.autorization.audit.application.writer;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.audit.domain.model.AuditEvent.ClientAddress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Completa en el hilo escritor los eventos capturados por el aspecto: usuario, IP del cliente, fecha y detalle.
+ *
+ * La fecha se obtiene del instante monotónico de captura con un único ancla reloj/{@code nanoTime} por lote,
+ * así que respeta el orden de captura aunque el evento se procese cientos de milisegundos después.
+ */
+@Component
+@Slf4j
+public class AuditEventEnricher {
+
+    static final String ANONYMOUS = "ANONYMOUS";
+    static final String UNKNOWN = "UNKNOWN";
+
+    /** Longitud máxima de una IPv6 en texto. */
+    private static final int MAX_IP_CHARS = 45;
+
+    private final Clock clock;
+
+    public AuditEventEnricher() {
+        this(Clock.systemDefaultZone());
+    }
+
+    AuditEventEnricher(Clock clock) {
+        this.clock = clock;
+    }
+
+    public List<ActivityLogDomain> enrich(List<AuditEvent> events) {
+        Instant anchor = clock.instant();
+        long anchorNanos = System.nanoTime();
+        List<ActivityLogDomain> logs = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            logs.add(ActivityLogDomain.builder()
+                    .userId(event.principal() != null ? event.principal().getName() : ANONYMOUS)
+                    .module(event.module())
+                    .action(event.action())
+                    .details(details(event))
+                    .ipAddress(clientIp(event.client()))
+                    .status(event.status())
+                    .timestamp(LocalDateTime.ofInstant(anchor.minusNanos(anchorNanos - event.capturedAtNanos()), clock.getZone()))
+                    .build());
+        }
+        return logs;
+    }
+
+    private static String details(AuditEvent event) {
+        try {
+            return event.details() != null ? event.details().get() : null;
+        } catch (RuntimeException e) {
+            log.warn("No se pudo generar el detalle del evento de auditoría {}: {}", event.action(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Primera dirección válida entre X-Forwarded-For (su primer salto), Proxy-Client-IP, WL-Proxy-Client-IP y la
+     * dirección remota, sin corchetes ni puerto.
+     */
+    static String clientIp(ClientAddress client) {
+        if (client == null) {
+            return UNKNOWN;
+        }
+        String ip = normalize(firstHop(client.forwardedFor()));
+        if (ip == null) {
+            ip = normalize(client.proxyClientIp());
+        }
+        if (ip == null) {
+            ip = normalize(client.wlProxyClientIp());
+        }
+        if (ip == null) {
+            ip = normalize(client.remoteAddr());
+        }
+        return ip != null ? ip : UNKNOWN;
+    }
+
+    private static String firstHop(String forwardedFor) {
+        if (forwardedFor == null) {
+            return null;
+        }
+        int comma = forwardedFor.indexOf(',');
+        return comma < 0 ? forwardedFor : forwardedFor.substring(0, comma);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String ip = value.trim();
+        if (ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            return null;
+        }
+        if (ip.startsWith("[")) {
+            // [IPv6] o [IPv6]:puerto
+            int end = ip.indexOf(']');
+            ip = end > 0 ? ip.substring(1, end) : ip.substring(1);
+        } else if (ip.indexOf(':') > 0 && ip.indexOf(':') == ip.lastIndexOf(':')) {
+            // IPv4:puerto
+            ip = ip.substring(0, ip.indexOf(':'));
+        }
+        return ip.length() > MAX_IP_CHARS ? ip.substring(0, MAX_IP_CHARS) : ip;
+    }
+}
@@ -0,0 +1,201 @@
+package com.autorization.autorization.audit.application.writer;
+
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritura de auditoría desacoplada del request.
+ *
+ * El aspecto deja cada evento capturado en un {@link MpscRingBuffer} acotado y un único hilo escritor lo vacía,
+ * lo completa con {@link AuditEventEnricher} y lo añade al spool local ({@link AuditSpoolPort}) en lotes de
+ * {@code audit.writer.batch-size} eventos o cada {@code audit.writer.flush-interval-ms}, lo que ocurra antes;
+ * {@link AuditSpoolShipper} lo lleva después a base de datos. Con el buffer lleno se aplica {@code audit.writer.overflow-policy}:
+ *
+ * - DROP: se descarta el evento (contador {@code audit.events.dropped}).
+ * - BLOCK: el productor espera hasta {@code audit.writer.block-timeout-ms}; si sigue lleno, se descarta.
+ * - CALLER_RUNS: el propio hilo del request completa el evento y lo escribe en el spool. El evento llega al spool
+ *   antes que los que siguen en el buffer, así que el spool deja de estar en orden de captura.
+ *
+ * Al cerrar la aplicación se vacía el buffer en el spool (hasta {@code audit.writer.shutdown-timeout-ms}).
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    public enum OverflowPolicy { DROP, BLOCK, CALLER_RUNS }
+
+    private final AuditSpoolPort auditSpoolPort;
+    private final AuditEventEnricher enricher;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutMs;
+    private final Counter spooled;
+    private final Counter failed;
+    private final Counter droppedOverflow;
+    private final Counter droppedShutdown;
+    private final Counter droppedSpoolFull;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    public AuditLogWriter(AuditSpoolPort auditSpoolPort,
+                          AuditEventEnricher enricher,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.writer.capacity:8192}") int capacity,
+                          @Value("${audit.writer.batch-size:200}") int batchSize,
+                          @Value("${audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${audit.writer.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${audit.writer.block-timeout-ms:50}") long blockTimeoutMs,
+                          @Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.auditSpoolPort = auditSpoolPort;
+        this.enricher = enricher;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        this.spooled = Counter.builder("audit.events.spooled")
+                .description("Eventos de auditoría guardados en el spool")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit.events.failed")
+                .description("Eventos de auditoría perdidos por error al escribir en el spool")
+                .register(meterRegistry);
+        this.droppedOverflow = Counter.builder("audit.events.dropped")
+                .description("Eventos de auditoría descartados")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+        this.droppedShutdown = Counter.builder("audit.events.dropped")
+                .description("Eventos de auditoría descartados")
+                .tag("reason", "shutdown")
+                .register(meterRegistry);
+        this.droppedSpoolFull = Counter.builder("audit.events.dropped")
+                .description("Eventos de auditoría descartados")
+                .tag("reason", "spool_full")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, MpscRingBuffer::size)
+                .description("Eventos de auditoría pendientes de escribir")
+                .register(meterRegistry);
+
+        this.writerThread = new Thread(this::run, "audit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        log.info("Escritor de auditoría: buffer {}, lotes de {} o cada {} ms, desbordamiento {}",
+                buffer.capacity(), batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    /**
+     * Encola el evento; nunca lanza excepción al hilo del request.
+     */
+    public void enqueue(AuditEvent event) {
+        if (!running) {
+            droppedShutdown.increment();
+            return;
+        }
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return;
+        }
+        LockSupport.unpark(writerThread);
+        switch (overflowPolicy) {
+            case DROP -> droppedOverflow.increment();
+            case BLOCK -> offerWithin(event);
+            case CALLER_RUNS -> write(List.of(event));
+        }
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("El escritor de auditoría no terminó en {} ms; quedan {} eventos sin escribir", shutdownTimeoutMs, buffer.size());
+        }
+    }
+
+    private void offerWithin(AuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        droppedOverflow.increment();
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running) {
+            buffer.drain(batch::add, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            if (deadline == 0) {
+                deadline = now + flushIntervalNanos;
+            }
+            if (batch.size() >= batchSize || now >= deadline) {
+                flush(batch);
+                deadline = 0;
+            } else {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+        }
+        // cierre ordenado: escribe lo que queda en el buffer
+        do {
+            flush(batch);
+        } while (buffer.drain(batch::add, batchSize) > 0);
+        log.info("Escritor de auditoría detenido");
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        if (!batch.isEmpty()) {
+            write(List.copyOf(batch));
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> events) {
+        try {
+            int appended = auditSpoolPort.append(enricher.enrich(events));
+            spooled.increment(appended);
+            if (appended < events.size()) {
+                droppedSpoolFull.increment(events.size() - appended);
+                log.warn("Spool de auditoría lleno: {} eventos descartados", events.size() - appended);
+            }
+        } catch (RuntimeException e) {
+            failed.increment(events.size());
+            log.error("Error escribiendo un lote de {} eventos de auditoría en el spool", events.size(), e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.autorization.autorization.audit.application.writer;
+
+import com.autorization.autorization.audit.domain.port.out.AuditRepositoryPort;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort.SpoolBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lleva los eventos del spool de auditoría a {@code activity_logs} en lotes de {@code audit.spool.ship-batch-size}.
+ *
+ * El checkpoint solo avanza cuando el lote está insertado. Si la base de datos falla, el lote se vuelve a leer
+ * en el siguiente intento con espera exponencial (hasta {@code audit.spool.retry-max-ms}); mientras tanto los
+ * eventos siguen acumulándose en disco y la captura no se bloquea.
+ *
+ * Se ejecuta en su propio hilo ({@code audit-shipper}, cada {@code audit.spool.ship-interval-ms}) y no en el
+ * scheduler de Spring: una base de datos lenta o caída no retrasa la recarga de revocaciones, la rotación de
+ * claves ni el mantenimiento de particiones.
+ */
+@Component
+@Slf4j
+public class AuditSpoolShipper {
+
+    /** Lotes por ejecución, para que con un spool muy atrasado el hilo siga atendiendo la parada. */
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final AuditSpoolPort auditSpoolPort;
+    private final AuditRepositoryPort auditRepositoryPort;
+    private final int batchSize;
+    private final long retryInitialMs;
+    private final long retryMaxMs;
+    private final long shipIntervalNanos;
+    private final Counter shipped;
+    private final Counter failures;
+
+    private long retryDelayMs;
+    private long nextAttemptNanos;
+    private Thread shipperThread;
+    private volatile boolean running;
+
+    public AuditSpoolShipper(AuditSpoolPort auditSpoolPort,
+                             AuditRepositoryPort auditRepositoryPort,
+                             MeterRegistry meterRegistry,
+                             @Value("${audit.spool.ship-interval-ms:200}") long shipIntervalMs,
+                             @Value("${audit.spool.ship-batch-size:500}") int batchSize,
+                             @Value("${audit.spool.retry-initial-ms:1000}") long retryInitialMs,
+                             @Value("${audit.spool.retry-max-ms:60000}") long retryMaxMs) {
+        this.auditSpoolPort = auditSpoolPort;
+        this.auditRepositoryPort = auditRepositoryPort;
+        this.batchSize = batchSize;
+        this.retryInitialMs = retryInitialMs;
+        this.retryMaxMs = retryMaxMs;
+        this.shipIntervalNanos = TimeUnit.MILLISECONDS.toNanos(shipIntervalMs);
+        this.shipped = Counter.builder("audit.events.shipped")
+                .description("Eventos de auditoría insertados en base de datos desde el spool")
+                .register(meterRegistry);
+        this.failures = Counter.builder("audit.spool.ship.failures")
+                .description("Intentos fallidos de insertar un lote del spool de auditoría")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        shipperThread = new Thread(this::run, "audit-shipper");
+        shipperThread.setDaemon(true);
+        shipperThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(shipperThread);
+        try {
+            // lo que no llegue a enviarse sigue en el spool y se envía en el siguiente arranque
+            shipperThread.join(TimeUnit.NANOSECONDS.toMillis(shipIntervalNanos) + 5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            ship();
+            LockSupport.parkNanos(this, shipIntervalNanos);
+        }
+        log.info("Envío de auditoría a base de datos detenido");
+    }
+
+    public synchronized void ship() {
+        if (System.nanoTime() < nextAttemptNanos) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                SpoolBatch batch = auditSpoolPort.poll(batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                auditRepositoryPort.saveAll(batch.events());
+                auditSpoolPort.commit(batch);
+                shipped.increment(batch.events().size());
+                if (batch.events().size() < batchSize) {
+                    break;
+                }
+            }
+            if (retryDelayMs > 0) {
+                log.info("Envío de auditoría a base de datos restablecido");
+                retryDelayMs = 0;
+            }
+        } catch (RuntimeException e) {
+            auditSpoolPort.rewind();
+            failures.increment();
+            retryDelayMs = retryDelayMs == 0 ? retryInitialMs : Math.min(retryDelayMs * 2, retryMaxMs);
+            nextAttemptNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMs);
+            log.warn("No se pudo enviar la auditoría a base de datos, reintento en {} ms: {}", retryDelayMs, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.autorization.autorization.audit.application.writer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Buffer circular acotado para varios productores y un único consumidor (MPSC), sin locks.
+ *
+ * Cada celda lleva un número de secuencia que indica si está libre para el productor de la vuelta actual
+ * o lista para el consumidor; los productores compiten con un CAS sobre la cola y el consumidor avanza
+ * la cabeza sin sincronización porque es el único que la modifica. La capacidad se redondea a potencia de dos.
+ */
+class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("La capacidad del buffer debe ser al menos 2: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Encola sin bloquear; devuelve false si el buffer está lleno. Seguro para varios hilos.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // publica la celda para el consumidor después de escribir el elemento
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // la celda aún no la liberó el consumidor: buffer lleno
+                return false;
+            }
+            // otro productor tomó la posición: reintentar con la cola actual
+        }
+    }
+
+    /**
+     * Extrae hasta {@code max} elementos en orden de llegada. Solo debe llamarlo el hilo consumidor.
+     */
+    int drain(Consumer<E> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E element = elements.get(index);
+            elements.lazySet(index, null);
+            // libera la celda para el productor de la siguiente vuelta
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.autorization.autorization.audit.domain.model;
+
+import com.autorization.autorization.shared.domain.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición en el listado de auditoría: el último evento devuelto, identificado por {@code (timestamp, id)},
+ * y el sentido del recorrido.
+ *
+ * Viaja al cliente como token opaco (Base64 URL) para poder cambiar su formato sin romper a nadie.
+ */
+public record AuditCursor(LocalDateTime timestamp, UUID id, boolean ascending) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    public static AuditCursor after(ActivityLogDomain last, boolean ascending) {
+        return new AuditCursor(last.getTimestamp(), last.getId(), ascending);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, ascending ? "a" : "d", timestamp.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AuditCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0]) || !parts[1].matches("[ad]")) {
+                throw new InvalidCursorException("Cursor de paginación inválido");
+            }
+            return new AuditCursor(LocalDateTime.parse(parts[2]), UUID.fromString(parts[3]), "a".equals(parts[1]));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Cursor de paginación inválido", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.autorization.autorization.audit.domain.model;
+
+import java.security.Principal;
+import java.util.function.Supplier;
+
+/**
+ * Evento de auditoría tal como se captura en el hilo del request: referencias y el instante de {@link System#nanoTime()}.
+ *
+ * El escritor de auditoría lo convierte en {@link ActivityLogDomain} fuera del request (usuario, IP, fecha y detalle).
+ * {@code details} se evalúa entonces, así que solo debe leer objetos que no cambien tras la llamada auditada.
+ *
+ * @param principal usuario autenticado o {@code null} si es anónimo
+ * @param client    cabeceras de origen del request o {@code null} si no hay request
+ */
+public record AuditEvent(String module,
+                         String action,
+                         String status,
+                         long capturedAtNanos,
+                         Principal principal,
+                         ClientAddress client,
+                         Supplier<String> details) {
+
+    /**
+     * Valores en bruto de las cabeceras que identifican al cliente, en orden de preferencia.
+     */
+    public record ClientAddress(String forwardedFor, String proxyClientIp, String wlProxyClientIp, String remoteAddr) {
+    }
+}
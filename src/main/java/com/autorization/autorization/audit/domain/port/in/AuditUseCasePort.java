@@ -1,13 +1,35 @@
 package com.autorization.autorization.audit.domain.port.in;
 
+import com.autorization.autorization.audit.application.export.AuditExportFormat;
 import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.shared.application.dto.CursorResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 public interface AuditUseCasePort {
-    void logActivity(ActivityLogDomain activityLog);
+    /**
+     * Registra un evento capturado; se completa y se guarda fuera del hilo que llama.
+     */
+    void logActivity(AuditEvent event);
 
     PaginatedResponse<ActivityLogDomain> retrieveLogs(String module, LocalDate date, Pageable pageable);
+
+    /**
+     * Listado por cursor (keyset) sobre {@code (timestamp, id)}: cada página cuesta lo mismo sea cual sea su posición.
+     * Con {@code cursor} manda el sentido guardado en él; {@code ascending} solo aplica a la primera página.
+     */
+    CursorResponse<ActivityLogDomain> scrollLogs(String module, LocalDate date, String cursor, int size,
+                                                 boolean ascending, boolean approximateCount);
+
+    /**
+     * Escribe en {@code out} los eventos de los días {@code from}..{@code to} (ambos incluidos) según se leen,
+     * opcionalmente comprimidos con gzip. No cierra {@code out}. Devuelve cuántos eventos se exportaron.
+     */
+    long exportLogs(String module, LocalDate from, LocalDate to, AuditExportFormat format, boolean gzip,
+                    OutputStream out) throws IOException;
 }
@@ -1,13 +1,43 @@
 package com.autorization.autorization.audit.domain.port.out;
 
 import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 public interface AuditRepositoryPort {
     void save(ActivityLogDomain activityLog);
 
+    void saveAll(List<ActivityLogDomain> activityLogs);
+
+    /**
+     * Eventos con {@code start <= timestamp < end}.
+     */
     Page<ActivityLogDomain> findLogs(String module, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    /**
+     * Hasta {@code size} eventos con {@code start <= timestamp < end}, ordenados por {@code (timestamp, id)} en el
+     * sentido del cursor y posteriores a él; sin cursor, desde el principio en el sentido indicado.
+     * No cuenta el total.
+     */
+    Slice<ActivityLogDomain> findLogsAfter(String module, LocalDateTime start, LocalDateTime end,
+                                           AuditCursor after, boolean ascending, int size);
+
+    /**
+     * Número aproximado de eventos con {@code start <= timestamp < end} según las estadísticas del planificador;
+     * vacío si la base de datos no permite estimarlo.
+     */
+    OptionalLong estimateLogs(String module, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Recorre los eventos con {@code start <= timestamp < end} en orden {@code (timestamp, id)} con un cursor JDBC,
+     * entregándolos de uno en uno a {@code consumer}. Devuelve cuántos se entregaron.
+     */
+    long streamLogs(String module, LocalDateTime start, LocalDateTime end, Consumer<ActivityLogDomain> consumer);
 }
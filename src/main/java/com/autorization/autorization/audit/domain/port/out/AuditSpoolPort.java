@@ -0,0 +1,45 @@
+package com.autorization.autorization.audit.domain.port.out;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+
+import java.util.List;
+
+/**
+ * Cola local y persistente de eventos de auditoría pendientes de insertar en base de datos.
+ *
+ * {@link #append} admite varios productores a la vez (el hilo escritor y, con la política CALLER_RUNS, los
+ * hilos de los requests) y tiene que ser seguro entre hilos; cada llamada se guarda sin intercalarse con otra.
+ * Un único consumidor lee con {@link #poll} desde el último checkpoint; {@link #commit} avanza el checkpoint
+ * cuando el lote ya está en base de datos. Tras un reinicio se vuelve a leer desde el checkpoint, así que un
+ * lote puede entregarse más de una vez.
+ */
+public interface AuditSpoolPort {
+
+    /**
+     * Añade los eventos al spool en orden y devuelve cuántos se guardaron; los restantes no caben.
+     * Puede llamarse desde varios hilos a la vez.
+     */
+    int append(List<ActivityLogDomain> events);
+
+    /**
+     * Lee hasta {@code maxEvents} eventos a partir de la última posición leída, sin avanzar el checkpoint.
+     */
+    SpoolBatch poll(int maxEvents);
+
+    /**
+     * Marca como entregados los eventos hasta el final del lote y libera los segmentos ya consumidos.
+     */
+    void commit(SpoolBatch batch);
+
+    /**
+     * Vuelve a leer desde el checkpoint (tras un fallo al entregar un lote leído).
+     */
+    void rewind();
+
+    record SpoolBatch(List<ActivityLogDomain> events, long segment, int offset) {
+
+        public boolean isEmpty() {
+            return events.isEmpty();
+        }
+    }
+}
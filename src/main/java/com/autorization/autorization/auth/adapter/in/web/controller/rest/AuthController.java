@@ -1,9 +1,12 @@
 package com.autorization.autorization.auth.adapter.in.web.controller.rest;
 
 import com.autorization.autorization.auth.adapter.in.web.request.LoginRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.RefreshTokenRequest;
 import com.autorization.autorization.auth.application.dto.out.AuthResponse;
 import com.autorization.autorization.auth.application.services.AuthService;
+import com.autorization.autorization.security.util.TokenFormat;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponse;
@@ -25,7 +29,7 @@ public class AuthController {
     private final AuthService authService;
 
     @Operation(summary = "Iniciar sesión",
-            description = "Valida credenciales y retorna un JWT con los claims de email, roles y permisos.")
+            description = "Valida credenciales y retorna un JWT con los claims de email, roles y permisos, junto con un refresh token opaco.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login exitoso",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
@@ -33,9 +37,41 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse res = authService.login(request);
+    public ResponseEntity<AuthResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            @Parameter(description = "Formato del token: FULL (roles y permisos completos, para consumidores externos) o COMPACT (ids de roles y hash de permisos). Por defecto el configurado en jwt.format")
+            @RequestParam(name = "format", required = false) TokenFormat format) {
+        AuthResponse res = format == null ? authService.login(request) : authService.login(request, format);
+        return ResponseEntity.status(HttpStatus.OK).body(res);
+    }
+
+    @Operation(summary = "Renovar token",
+            description = "Canjea un refresh token por un JWT nuevo y un nuevo refresh token. El token presentado queda consumido; reutilizarlo revoca todos los tokens de la sesión.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Refresh exitoso",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado, reutilizado o cuenta inactiva",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request,
+            @Parameter(description = "Formato del token: FULL o COMPACT. Por defecto el configurado en jwt.format")
+            @RequestParam(name = "format", required = false) TokenFormat format) {
+        AuthResponse res = format == null ? authService.refresh(request) : authService.refresh(request, format);
         return ResponseEntity.status(HttpStatus.OK).body(res);
     }
-}
 
+    @Operation(summary = "Cerrar sesión",
+            description = "Revoca el access token enviado en el header Authorization y, si se incluye, la sesión del refresh token.")
+    @ApiResponse(responseCode = "204", description = "Sesión cerrada")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7).trim() : null;
+        authService.logout(accessToken, request == null ? null : request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+}
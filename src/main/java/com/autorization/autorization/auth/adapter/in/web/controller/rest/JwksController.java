@@ -0,0 +1,34 @@
+package com.autorization.autorization.auth.adapter.in.web.controller.rest;
+
+import com.autorization.autorization.security.key.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publica las claves públicas de firma de los JWT para que otros servicios los verifiquen localmente.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Autenticación", description = "Servicios de inicio de sesión y generación de tokens JWT")
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Operation(summary = "Claves públicas (JWKS)",
+            description = "Claves vigentes para verificar los JWT: la activa y las que siguen en ventana de rotación. "
+                    + "Si llega un token con un kid desconocido, volver a consultar este endpoint.")
+    @GetMapping(value = "/.well-known/jwks.json", produces = "application/jwk-set+json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyRing.jwks());
+    }
+}
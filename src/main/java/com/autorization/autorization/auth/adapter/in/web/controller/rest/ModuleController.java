@@ -12,15 +12,17 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -101,14 +103,14 @@ public class ModuleController {
                                 .orElse(ResponseEntity.notFound().build());
         }
 
-        @Operation(summary = "Listar todos los módulos")
+        @Operation(summary = "Listar todos los módulos", description = "Array JSON escrito según se lee de la base de datos con un cursor, sin cargar el listado en memoria.")
         @ApiResponses({
-                        @ApiResponse(responseCode = "200", description = "Listado devuelto")
+                        @ApiResponse(responseCode = "200", description = "Listado devuelto en streaming", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ModuleResponse.class))))
         })
         @GetMapping
-        public ResponseEntity<List<ModuleResponse>> findAll() {
-                List<ModuleResponse> list = moduleUseCasePort.findAll();
-                return ResponseEntity.ok(list);
+        public ResponseEntity<StreamingResponseBody> findAll() {
+                StreamingResponseBody body = moduleUseCasePort::streamAll;
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
         }
 
         @Operation(summary = "Buscar módulos (paginado)", description = "Buscar módulos por nombre (parcial). Parámetros de paginación: page = índice de página (0-based), size = elementos por página.")
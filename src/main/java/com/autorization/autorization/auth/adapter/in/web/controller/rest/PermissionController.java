@@ -9,6 +9,7 @@ import com.autorization.autorization.shared.domain.exception.ErrorResponse;
 import com.autorization.autorization.shared.annotation.AuditLog;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,11 +17,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -98,15 +100,15 @@ public class PermissionController {
         return opt.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    @Operation(summary = "Listar todos los permisos registrados")
+    @Operation(summary = "Listar todos los permisos registrados", description = "Array JSON escrito según se lee de la base de datos con un cursor, sin cargar el listado en memoria.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Listado devuelto"),
+            @ApiResponse(responseCode = "200", description = "Listado devuelto en streaming", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = PermissionResponse.class)))),
             @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<List<PermissionResponse>> findAll() {
-        List<PermissionResponse> list = permissionUseCasePort.findAll();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<StreamingResponseBody> findAll() {
+        StreamingResponseBody body = permissionUseCasePort::streamAll;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(summary = "Búsqueda paginada de permisos", description = "Filtra permisos por coincidencia parcial en el nombre.")
@@ -1,14 +1,18 @@
 package com.autorization.autorization.auth.adapter.in.web.controller.rest;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateRoleRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.RolePermissionsRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateRoleRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
+import com.autorization.autorization.auth.application.dto.out.RoleSummaryResponse;
 import com.autorization.autorization.auth.domain.port.in.RoleUseCasePort;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import com.autorization.autorization.shared.domain.exception.ErrorResponse;
 import com.autorization.autorization.shared.annotation.AuditLog;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,10 +20,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 import jakarta.validation.Valid;
 
@@ -88,14 +93,15 @@ public class RoleController {
         return roleUseCasePort.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Listar todos los roles", description = "Array JSON escrito según se lee de la base de datos con un cursor; los roles van sin permisos (ver GET /api/roles/{id}).")
     @GetMapping
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Listado devuelto"),
+            @ApiResponse(responseCode = "200", description = "Listado devuelto en streaming (sin permisos)", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RoleSummaryResponse.class)))),
             @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<RoleResponse>> findAll() {
-        List<RoleResponse> list = roleUseCasePort.findAll();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<StreamingResponseBody> findAll() {
+        StreamingResponseBody body = roleUseCasePort::streamAll;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(summary = "Asignar permiso a un rol", description = "Vincula un permiso existente al rol especificado.")
@@ -123,6 +129,28 @@ public class RoleController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Añadir permisos a varios roles", description = "Añade cada permiso a cada rol con una sola sentencia; las asignaciones existentes y los ids inexistentes se ignoran")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Permisos añadidos", content = @Content(schema = @Schema(implementation = BulkAssignmentResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @AuditLog(module = "ROLES", action = "ASIGNAR_PERMISOS")
+    @PostMapping("/permissions/add")
+    public ResponseEntity<BulkAssignmentResponse> addPermissions(@Valid @RequestBody RolePermissionsRequest request) {
+        return ResponseEntity.ok(roleUseCasePort.addPermissions(request.roleIds(), request.permissionIds()));
+    }
+
+    @Operation(summary = "Quitar permisos a varios roles", description = "Quita cada permiso a cada rol con una sola sentencia")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Permisos quitados", content = @Content(schema = @Schema(implementation = BulkAssignmentResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @AuditLog(module = "ROLES", action = "REMOVER_PERMISOS")
+    @PostMapping("/permissions/remove")
+    public ResponseEntity<BulkAssignmentResponse> removePermissions(@Valid @RequestBody RolePermissionsRequest request) {
+        return ResponseEntity.ok(roleUseCasePort.removePermissions(request.roleIds(), request.permissionIds()));
+    }
+
     @Operation(summary = "Búsqueda paginada de roles")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Resultados"),
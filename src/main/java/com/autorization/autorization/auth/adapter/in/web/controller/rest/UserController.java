@@ -2,7 +2,15 @@ package com.autorization.autorization.auth.adapter.in.web.controller.rest;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.UserIdsRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.UserRolesRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
+import com.autorization.autorization.auth.application.dto.out.BulkStatusResponse;
+import com.autorization.autorization.auth.application.dto.out.UserImportResponse;
 import com.autorization.autorization.auth.application.dto.out.UserResponse;
+import com.autorization.autorization.auth.application.dto.out.UserSummaryResponse;
+import com.autorization.autorization.auth.application.importer.UserImportFormat;
+import com.autorization.autorization.auth.domain.port.in.UserImportUseCasePort;
 import com.autorization.autorization.auth.domain.port.in.UserUseCasePort;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import com.autorization.autorization.shared.domain.model.Status;
@@ -13,16 +21,20 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
 import java.util.UUID;
 
 /**
@@ -40,6 +52,7 @@ import java.util.UUID;
 public class UserController {
 
         private final UserUseCasePort userUseCasePort;
+        private final UserImportUseCasePort userImportUseCasePort;
 
         @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
         @Operation(summary = "Crear usuario")
@@ -48,13 +61,27 @@ public class UserController {
                         @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                         @ApiResponse(responseCode = "409", description = "Conflicto: usuario ya existe", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
         })
-        @AuditLog(module = "USUARIOS", action = "CREAR_USUARIO")
+        @AuditLog(module = "USUARIOS", action = "CREAR_USUARIO", fields = {"name", "lastName", "secondName", "email"})
         @PostMapping
         public ResponseEntity<UserResponse> create(@Valid @RequestBody CreateUserRequest request) {
                 UserResponse created = userUseCasePort.create(request);
                 return ResponseEntity.status(HttpStatus.CREATED).body(created);
         }
 
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        @Operation(summary = "Importar usuarios", description = "NDJSON (un usuario por línea) o CSV con cabecera name,lastName,secondName,email,password. Se lee y valida en streaming y se inserta por bloques; la respuesta incluye el resultado de cada línea y el throughput")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Importación procesada", content = @Content(schema = @Schema(implementation = UserImportResponse.class))),
+                        @ApiResponse(responseCode = "415", description = "Formato no soportado", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @AuditLog(module = "USUARIOS", action = "IMPORTAR_USUARIOS")
+        @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+        public ResponseEntity<UserImportResponse> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                        InputStream body) {
+                UserImportResponse response = userImportUseCasePort.importUsers(body, UserImportFormat.fromContentType(contentType));
+                return ResponseEntity.ok(response);
+        }
+
         @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
         @Operation(summary = "Actualizar usuario")
         @ApiResponses({
@@ -62,7 +89,7 @@ public class UserController {
                         @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                         @ApiResponse(responseCode = "404", description = "Usuario no encontrado", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
         })
-        @AuditLog(module = "USUARIOS", action = "ACTUALIZAR_USUARIO")
+        @AuditLog(module = "USUARIOS", action = "ACTUALIZAR_USUARIO", fields = {"name", "lastName", "secondName", "email"})
         @PutMapping("/{id}")
         public ResponseEntity<UserResponse> update(@PathVariable UUID id,
                         @Valid @RequestBody UpdateUserRequest request) {
@@ -96,6 +123,30 @@ public class UserController {
                 return ResponseEntity.noContent().build();
         }
 
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        @Operation(summary = "Desactivar varios usuarios", description = "Un único UPDATE para todo el lote (máximo 1000 ids); los ids inexistentes se ignoran")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Usuarios desactivados", content = @Content(schema = @Schema(implementation = BulkStatusResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @AuditLog(module = "USUARIOS", action = "DESACTIVAR_USUARIOS")
+        @PatchMapping("/deactivate")
+        public ResponseEntity<BulkStatusResponse> deactivateAll(@Valid @RequestBody UserIdsRequest request) {
+                return ResponseEntity.ok(userUseCasePort.deactivateAll(request.ids()));
+        }
+
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        @Operation(summary = "Activar varios usuarios", description = "Un único UPDATE para todo el lote (máximo 1000 ids); los ids inexistentes se ignoran")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Usuarios activados", content = @Content(schema = @Schema(implementation = BulkStatusResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @AuditLog(module = "USUARIOS", action = "ACTIVAR_USUARIOS")
+        @PatchMapping("/activate")
+        public ResponseEntity<BulkStatusResponse> activateAll(@Valid @RequestBody UserIdsRequest request) {
+                return ResponseEntity.ok(userUseCasePort.activateAll(request.ids()));
+        }
+
         @PreAuthorize("hasAuthority('READ_PRIVILEGES') or hasRole('ADMIN')")
         @Operation(summary = "Obtener usuario por id")
         @ApiResponses({
@@ -110,14 +161,14 @@ public class UserController {
         }
 
         @PreAuthorize("hasAuthority('READ_PRIVILEGES') or hasRole('ADMIN')")
-        @Operation(summary = "Listar todos los usuarios")
+        @Operation(summary = "Listar todos los usuarios", description = "Array JSON escrito según se lee de la base de datos con un cursor, sin cargar el listado en memoria; los usuarios van sin roles (ver GET /api/users/{id}).")
         @ApiResponses({
-                        @ApiResponse(responseCode = "200", description = "Listado devuelto")
+                        @ApiResponse(responseCode = "200", description = "Listado devuelto en streaming (sin roles)", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserSummaryResponse.class))))
         })
         @GetMapping
-        public ResponseEntity<List<UserResponse>> findAll() {
-                List<UserResponse> list = userUseCasePort.findAll();
-                return ResponseEntity.ok(list);
+        public ResponseEntity<StreamingResponseBody> findAll() {
+                StreamingResponseBody body = userUseCasePort::streamAll;
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
         }
 
         @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
@@ -146,6 +197,30 @@ public class UserController {
                 return ResponseEntity.noContent().build();
         }
 
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        @Operation(summary = "Asignar roles a varios usuarios", description = "Asigna cada rol a cada usuario con una sola sentencia; las asignaciones existentes y los ids inexistentes se ignoran")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Roles asignados", content = @Content(schema = @Schema(implementation = BulkAssignmentResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @AuditLog(module = "USUARIOS", action = "ASIGNAR_ROLES")
+        @PostMapping("/roles/assign")
+        public ResponseEntity<BulkAssignmentResponse> assignRoles(@Valid @RequestBody UserRolesRequest request) {
+                return ResponseEntity.ok(userUseCasePort.assignRoles(request.userIds(), request.roleIds()));
+        }
+
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        @Operation(summary = "Revocar roles a varios usuarios", description = "Quita cada rol a cada usuario con una sola sentencia")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Roles revocados", content = @Content(schema = @Schema(implementation = BulkAssignmentResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Solicitud inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @AuditLog(module = "USUARIOS", action = "REVOCAR_ROLES")
+        @PostMapping("/roles/revoke")
+        public ResponseEntity<BulkAssignmentResponse> revokeRoles(@Valid @RequestBody UserRolesRequest request) {
+                return ResponseEntity.ok(userUseCasePort.revokeRoles(request.userIds(), request.roleIds()));
+        }
+
         @PreAuthorize("hasAuthority('READ_PRIVILEGES') or hasRole('ADMIN')")
         @Operation(summary = "Buscar usuarios (paginado)", description = "Buscar usuarios por email (parcial) y/o status. Parámetros de paginación: page = índice de página (0-based), size = elementos por página.")
         @ApiResponses({
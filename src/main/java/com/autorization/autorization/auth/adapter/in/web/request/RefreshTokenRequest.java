@@ -0,0 +1,11 @@
+package com.autorization.autorization.auth.adapter.in.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+
+        @Schema(description = "Refresh token opaco recibido en el login o en el último refresh")
+        @NotBlank(message = "El refresh token es obligatorio")
+        String refreshToken
+) {}
@@ -0,0 +1,22 @@
+package com.autorization.autorization.auth.adapter.in.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record RolePermissionsRequest(
+
+        @Schema(description = "Roles a los que se aplica cada uno de los permisos")
+        @NotEmpty(message = "Debe indicar al menos un rol")
+        @Size(max = 100, message = "No se pueden procesar más de 100 roles por petición")
+        List<@NotNull UUID> roleIds,
+
+        @Schema(description = "Permisos que se añaden o quitan a todos los roles")
+        @NotEmpty(message = "Debe indicar al menos un permiso")
+        @Size(max = 500, message = "No se pueden procesar más de 500 permisos por petición")
+        List<@NotNull UUID> permissionIds
+) {}
@@ -0,0 +1,17 @@
+package com.autorization.autorization.auth.adapter.in.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UserIdsRequest(
+
+        @Schema(description = "Ids de los usuarios; se procesan en una sola sentencia")
+        @NotEmpty(message = "Debe indicar al menos un usuario")
+        @Size(max = 1000, message = "No se pueden procesar más de 1000 usuarios por petición")
+        List<@NotNull UUID> ids
+) {}
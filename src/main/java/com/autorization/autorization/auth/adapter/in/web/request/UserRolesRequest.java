@@ -0,0 +1,22 @@
+package com.autorization.autorization.auth.adapter.in.web.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UserRolesRequest(
+
+        @Schema(description = "Usuarios a los que se aplica cada uno de los roles")
+        @NotEmpty(message = "Debe indicar al menos un usuario")
+        @Size(max = 1000, message = "No se pueden procesar más de 1000 usuarios por petición")
+        List<@NotNull UUID> userIds,
+
+        @Schema(description = "Roles que se asignan o revocan a todos los usuarios")
+        @NotEmpty(message = "Debe indicar al menos un rol")
+        @Size(max = 50, message = "No se pueden procesar más de 50 roles por petición")
+        List<@NotNull UUID> roleIds
+) {}
@@ -0,0 +1,36 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * Recorrido de una consulta con un cursor de servidor. En PostgreSQL el fetch size solo se respeta dentro de
+ * una transacción: quien llama debe estar en una ({@code @Transactional(readOnly = true)}) para que en memoria no
+ * haya más de {@code fetchSize} filas a la vez.
+ */
+final class JdbcCursor {
+
+    private JdbcCursor() {
+    }
+
+    /**
+     * Entrega cada fila de {@code sql} a {@code consumer} según llega y devuelve cuántas se entregaron.
+     */
+    static <T> long forEach(JdbcTemplate jdbcTemplate, String sql, int fetchSize, RowMapper<T> rowMapper,
+                            Consumer<T> consumer) {
+        long[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, resultSet -> {
+            consumer.accept(rowMapper.mapRow(resultSet, (int) count[0]));
+            count[0]++;
+        });
+        return count[0];
+    }
+}
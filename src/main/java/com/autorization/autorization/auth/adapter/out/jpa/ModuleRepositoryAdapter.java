@@ -8,45 +8,59 @@ import com.autorization.autorization.auth.domain.model.module.ModuleDomain;
 import com.autorization.autorization.auth.domain.model.module.vo.ModuleId;
 import com.autorization.autorization.auth.domain.port.out.ModuleRepositoryPort;
 import com.autorization.autorization.shared.domain.model.Status;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ModuleRepositoryAdapter implements ModuleRepositoryPort {
 
+    private static final String STREAM_SQL = "SELECT module_id, name, path, icon, status FROM modules ORDER BY name";
+
     private final ModuleRepository moduleRepository;
+    private final EntityManager entityManager;
+    private final AuditorAware<String> auditorAware;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.stream.fetch-size:500}")
+    private int streamFetchSize;
 
+    /**
+     * Guarda el módulo en la unidad de trabajo actual: si ya está cargado en la transacción se modifica la entidad
+     * gestionada (UPDATE solo si algo cambia); si es nuevo se inserta con {@code persist}.
+     */
     @Override
+    @Transactional
     public ModuleDomain save(ModuleDomain domain) {
         try {
-            Optional<Module> existingEntity = moduleRepository.findById(domain.getModuleId().id());
-
-            Module entityToSave;
-
-            if (existingEntity.isPresent()) {
-                // ES UNA ACTUALIZACIÓN
-                entityToSave = existingEntity.get();
-                // 2. Solo actualizamos los campos que pueden cambiar (Negocio)
-                // No tocamos los campos de Maintenance, JPA los respeta
-                entityToSave.setName(domain.getName().name());
-                entityToSave.setPath(domain.getPath().url());
-                entityToSave.setIcon(domain.getIcon().icon());
-            } else {
+            Module entity = entityManager.find(Module.class, domain.getModuleId().id());
+
+            if (entity == null) {
                 // ES UNA CREACIÓN NUEVA
-                entityToSave = ModuleJPAMapper.fromDomain(domain);
+                entityManager.persist(ModuleJPAMapper.fromDomain(domain));
+                return domain;
             }
 
-            var saved = moduleRepository.save(entityToSave);
-            return ModuleJPAMapper.toDomain(saved);
+            // ES UNA ACTUALIZACIÓN: solo los campos de negocio; los de Maintenance los gestiona JPA
+            entity.setName(domain.getName().name());
+            entity.setPath(domain.getPath().url());
+            entity.setIcon(domain.getIcon().icon());
+            return domain;
 
         } catch (Exception e) {
             log.error("Error al persistir módulo: {}", e.getMessage(), e);
@@ -64,13 +78,26 @@ public class ModuleRepositoryAdapter implements ModuleRepositoryPort {
         }
     }
 
+    /**
+     * Solo las columnas de modules, sin JPA ni permisos.
+     */
     @Override
-    public List<ModuleDomain> findAll() {
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<ModuleDomain> consumer) {
         try {
-            return moduleRepository.findAll().stream().map(ModuleJPAMapper::toDomain).collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error al obtener todos los módulos: {}", e.getMessage(), e);
-            throw new PersistenceException("Error al obtener todos los módulos", e);
+            return JdbcCursor.forEach(jdbcTemplate, STREAM_SQL, streamFetchSize, (rs, row) -> {
+                Module module = Module.builder()
+                        .moduleId(rs.getObject("module_id", UUID.class))
+                        .name(rs.getString("name"))
+                        .path(rs.getString("path"))
+                        .icon(rs.getString("icon"))
+                        .status(rs.getString("status") == null ? null : Status.valueOf(rs.getString("status")))
+                        .build();
+                return ModuleJPAMapper.toDomain(module);
+            }, consumer);
+        } catch (DataAccessException e) {
+            log.error("Error al recorrer los módulos: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al recorrer los módulos", e);
         }
     }
 
@@ -85,13 +112,11 @@ public class ModuleRepositoryAdapter implements ModuleRepositoryPort {
     }
 
     @Override
-    public void updateEnabled(ModuleId id, boolean enabled) {
+    @Transactional
+    public int updateEnabled(ModuleId id, boolean enabled) {
         try {
-            var maybe = moduleRepository.findById(id.id());
-            maybe.ifPresent((Module m) -> {
-                m.setStatus(enabled ? Status.ACTIVO : Status.INACTIVO);
-                moduleRepository.save(m);
-            });
+            return moduleRepository.updateStatus(id.id(), enabled ? Status.ACTIVO : Status.INACTIVO,
+                    LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
         } catch (Exception e) {
             log.error("Error al actualizar estado del módulo {}: {}", id, e.getMessage(), e);
             throw new PersistenceException("Error al actualizar estado del módulo", e);
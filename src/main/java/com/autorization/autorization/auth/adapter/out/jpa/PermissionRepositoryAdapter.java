@@ -1,5 +1,6 @@
 package com.autorization.autorization.auth.adapter.out.jpa;
 
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Module;
 import com.autorization.autorization.auth.adapter.out.jpa.entity.Permission;
 import com.autorization.autorization.auth.adapter.out.jpa.mapper.PermissionJPAMapper;
 import com.autorization.autorization.auth.adapter.out.jpa.repository.ModuleRepository;
@@ -12,13 +13,19 @@ import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPo
 import com.autorization.autorization.shared.domain.model.Status;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -26,8 +33,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PermissionRepositoryAdapter implements PermissionRepositoryPort {
 
+    private static final String STREAM_SQL = "SELECT permission_id, permission_name, description, module_id, status "
+            + "FROM permissions ORDER BY permission_name";
+
     private final PermissionRepository permissionRepository;
     private final ModuleRepository moduleRepository;
+    private final AuditorAware<String> auditorAware;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.stream.fetch-size:500}")
+    private int streamFetchSize;
 
     @Override
     @Transactional
@@ -88,6 +103,30 @@ public class PermissionRepositoryAdapter implements PermissionRepositoryPort {
         }
     }
 
+    /**
+     * Solo las columnas de permissions; el módulo se entrega con su id, sin JOIN.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<PermissionDomain> consumer) {
+        try {
+            return JdbcCursor.forEach(jdbcTemplate, STREAM_SQL, streamFetchSize, (rs, row) -> {
+                UUID moduleId = rs.getObject("module_id", UUID.class);
+                Permission permission = Permission.builder()
+                        .permissionId(rs.getObject("permission_id", UUID.class))
+                        .name(rs.getString("permission_name"))
+                        .description(rs.getString("description"))
+                        .module(moduleId == null ? null : Module.builder().moduleId(moduleId).build())
+                        .status(rs.getString("status") == null ? null : Status.valueOf(rs.getString("status")))
+                        .build();
+                return PermissionJPAMapper.toDomain(permission);
+            }, consumer);
+        } catch (DataAccessException e) {
+            log.error("Error al recorrer los permisos: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al recorrer los permisos", e);
+        }
+    }
+
     @Override
     public void deleteById(PermissionId id) {
         try {
@@ -99,13 +138,11 @@ public class PermissionRepositoryAdapter implements PermissionRepositoryPort {
     }
 
     @Override
-    public void updateEnabled(PermissionId id, boolean enabled) {
+    @Transactional
+    public int updateEnabled(PermissionId id, boolean enabled) {
         try {
-            var maybe = permissionRepository.findById(id.id());
-            maybe.ifPresent(p -> {
-                p.setStatus(enabled ? Status.ACTIVO : Status.INACTIVO);
-                permissionRepository.save(p);
-            });
+            return permissionRepository.updateStatus(id.id(), enabled ? Status.ACTIVO : Status.INACTIVO,
+                    LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
         } catch (Exception e) {
             log.error("Error al actualizar estado del permiso {}: {}", id, e.getMessage(), e);
             throw new PersistenceException("Error al actualizar estado del permiso", e);
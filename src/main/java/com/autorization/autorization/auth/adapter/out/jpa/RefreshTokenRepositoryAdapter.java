@@ -0,0 +1,78 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.mapper.RefreshTokenJPAMapper;
+import com.autorization.autorization.auth.adapter.out.jpa.repository.RefreshTokenRepository;
+import com.autorization.autorization.auth.domain.model.token.RefreshTokenDomain;
+import com.autorization.autorization.auth.domain.port.out.RefreshTokenRepositoryPort;
+import com.autorization.autorization.shared.domain.exception.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public RefreshTokenDomain save(RefreshTokenDomain token) {
+        try {
+            var saved = refreshTokenRepository.save(RefreshTokenJPAMapper.fromDomain(token));
+            return RefreshTokenJPAMapper.toDomain(saved);
+        } catch (Exception e) {
+            log.error("Error al persistir refresh token: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al persistir refresh token", e);
+        }
+    }
+
+    @Override
+    public Optional<RefreshTokenDomain> findByTokenHash(String tokenHash) {
+        try {
+            return refreshTokenRepository.findByTokenHash(tokenHash).map(RefreshTokenJPAMapper::toDomain);
+        } catch (Exception e) {
+            log.error("Error al buscar refresh token: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al buscar refresh token", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean markUsed(UUID id, UUID replacedBy, Instant usedAt) {
+        try {
+            return refreshTokenRepository.markUsed(id, replacedBy, usedAt) == 1;
+        } catch (Exception e) {
+            log.error("Error al marcar como usado el refresh token {}: {}", id, e.getMessage(), e);
+            throw new PersistenceException("Error al marcar como usado el refresh token", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int revokeFamily(UUID familyId, Instant revokedAt) {
+        try {
+            return refreshTokenRepository.revokeFamily(familyId, revokedAt);
+        } catch (Exception e) {
+            log.error("Error al revocar la familia de refresh tokens {}: {}", familyId, e.getMessage(), e);
+            throw new PersistenceException("Error al revocar la familia de refresh tokens", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpiredBefore(Instant instant) {
+        try {
+            return refreshTokenRepository.deleteExpiredBefore(instant);
+        } catch (Exception e) {
+            log.error("Error al purgar refresh tokens expirados: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al purgar refresh tokens expirados", e);
+        }
+    }
+}
@@ -5,19 +5,33 @@ import com.autorization.autorization.auth.adapter.out.jpa.mapper.RoleJPAMapper;
 import com.autorization.autorization.shared.domain.exception.PersistenceException;
 import com.autorization.autorization.auth.adapter.out.jpa.repository.PermissionRepository;
 import com.autorization.autorization.auth.adapter.out.jpa.repository.RoleRepository;
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
 import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.RoleSummaryView;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
 import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
 import com.autorization.autorization.shared.domain.model.Status;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -25,41 +39,56 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RoleRepositoryAdapter implements RoleRepositoryPort {
 
+    private static final String STREAM_SQL = "SELECT role_id, name, description, status FROM roles ORDER BY name";
+
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final EntityManager entityManager;
+    private final AuditorAware<String> auditorAware;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.stream.fetch-size:500}")
+    private int streamFetchSize;
 
+    /**
+     * Guarda el rol en la unidad de trabajo actual: igual que {@link UserRepositoryAdapter#save}, reutiliza la entidad
+     * ya cargada en la transacción, deja que Hibernate calcule el UPDATE y sincroniza role_permissions fila a fila.
+     */
     @Override
     @Transactional
     public RoleDomain save(RoleDomain domain) {
         try {
-            Optional<Role> existing = roleRepository.findById(domain.getRoleId().id());
-            Role entity;
-            if (existing.isPresent()) {
-                entity = existing.get();
-                entity.setName(domain.getName().value());
-                entity.setDescription(domain.getDescription() == null ? null : domain.getDescription().description());
-                entity.setStatus(domain.getStatus());
-
-                if (domain.getPermissions() != null) {
-                    var perms = domain.getPermissions().stream()
-                            .map(p -> permissionRepository.getReferenceById(p.getPermissionId().id()))
-                            .collect(Collectors.toSet());
-
-                    entity.getPermissions().clear();
-                    entity.getPermissions().addAll(perms);
-                }
-            } else {
+            Role entity = entityManager.find(Role.class, domain.getRoleId().id());
+            if (entity == null) {
                 entity = RoleJPAMapper.fromDomain(domain);
+                entity.setPermissions(new HashSet<>());
+                syncPermissions(entity, domain.getPermissions());
+                entityManager.persist(entity);
+                return domain;
             }
 
-            var saved = roleRepository.save(entity);
-            return RoleJPAMapper.toDomain(saved);
+            entity.setName(domain.getName().value());
+            entity.setDescription(domain.getDescription() == null ? null : domain.getDescription().description());
+            entity.setStatus(domain.getStatus());
+            syncPermissions(entity, domain.getPermissions());
+            return domain;
         } catch (Exception e) {
             log.error("Error al persistir rol: {}", e.getMessage(), e);
             throw new PersistenceException("Error al persistir rol", e);
         }
     }
 
+    // modifica la colección gestionada en lugar de sustituirla, para que Hibernate no borre y reinserte todas las filas
+    private void syncPermissions(Role entity, Set<PermissionDomain> permissions) {
+        if (permissions == null) {
+            return;
+        }
+        Set<UUID> wanted = permissions.stream().map(p -> p.getPermissionId().id()).collect(Collectors.toSet());
+        entity.getPermissions().removeIf(permission -> !wanted.contains(permission.getPermissionId()));
+        entity.getPermissions().forEach(permission -> wanted.remove(permission.getPermissionId()));
+        wanted.forEach(id -> entity.getPermissions().add(permissionRepository.getReferenceById(id)));
+    }
+
     @Override
     public Optional<RoleDomain> findById(RoleId id) {
         try {
@@ -90,6 +119,24 @@ public class RoleRepositoryAdapter implements RoleRepositoryPort {
         }
     }
 
+    /**
+     * Solo las columnas de roles, sin JPA ni permisos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<RoleSummaryView> consumer) {
+        try {
+            return JdbcCursor.forEach(jdbcTemplate, STREAM_SQL, streamFetchSize, (rs, row) -> new RoleSummaryView(
+                    rs.getObject("role_id", UUID.class),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getString("status") == null ? null : Status.valueOf(rs.getString("status"))), consumer);
+        } catch (DataAccessException e) {
+            log.error("Error al recorrer los roles: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al recorrer los roles", e);
+        }
+    }
+
     @Override
     public boolean existsById(RoleId id) {
         try {
@@ -111,19 +158,47 @@ public class RoleRepositoryAdapter implements RoleRepositoryPort {
     }
 
     @Override
-    public void updateEnabled(RoleId id, boolean enabled) {
+    @Transactional
+    public int updateEnabled(RoleId id, boolean enabled) {
         try {
-            var maybe = roleRepository.findById(id.id());
-            maybe.ifPresent(r -> {
-                r.setStatus(enabled ? Status.ACTIVO : Status.INACTIVO);
-                roleRepository.save(r);
-            });
+            return roleRepository.updateStatus(id.id(), enabled ? Status.ACTIVO : Status.INACTIVO,
+                    LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
         } catch (Exception e) {
             log.error("Error al actualizar estado del rol {}: {}", id, e.getMessage(), e);
             throw new PersistenceException("Error al actualizar estado del rol", e);
         }
     }
 
+    @Override
+    @Transactional
+    public int addPermissions(Collection<RoleId> roleIds, Collection<PermissionId> permissionIds) {
+        if (roleIds.isEmpty() || permissionIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return roleRepository.addPermissions(roleIds.stream().map(RoleId::id).distinct().toList(),
+                    permissionIds.stream().map(PermissionId::id).distinct().toList());
+        } catch (Exception e) {
+            log.error("Error al añadir {} permisos a {} roles: {}", permissionIds.size(), roleIds.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al añadir permisos a los roles", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int removePermissions(Collection<RoleId> roleIds, Collection<PermissionId> permissionIds) {
+        if (roleIds.isEmpty() || permissionIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return roleRepository.removePermissions(roleIds.stream().map(RoleId::id).distinct().toList(),
+                    permissionIds.stream().map(PermissionId::id).distinct().toList());
+        } catch (Exception e) {
+            log.error("Error al quitar {} permisos a {} roles: {}", permissionIds.size(), roleIds.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al quitar permisos a los roles", e);
+        }
+    }
+
     @Override
     public Page<RoleDomain> searchByName(String name, Pageable pageable) {
         try {
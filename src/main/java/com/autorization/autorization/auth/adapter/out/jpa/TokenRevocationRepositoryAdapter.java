@@ -0,0 +1,121 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.RevokedToken;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.UserTokenCutoff;
+import com.autorization.autorization.auth.adapter.out.jpa.repository.RevokedTokenRepository;
+import com.autorization.autorization.auth.adapter.out.jpa.repository.UserTokenCutoffRepository;
+import com.autorization.autorization.auth.domain.model.token.RevokedTokenDomain;
+import com.autorization.autorization.auth.domain.model.token.UserTokenCutoffDomain;
+import com.autorization.autorization.auth.domain.port.out.TokenRevocationRepositoryPort;
+import com.autorization.autorization.shared.domain.exception.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRepositoryAdapter implements TokenRevocationRepositoryPort {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenCutoffRepository userTokenCutoffRepository;
+
+    @Override
+    @Transactional
+    public void saveRevokedToken(RevokedTokenDomain token) {
+        try {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(token.tokenId())
+                    .userId(token.userId())
+                    .expiresAt(token.expiresAt())
+                    .revokedAt(token.revokedAt())
+                    .build());
+        } catch (Exception e) {
+            log.error("Error al persistir token revocado {}: {}", token.tokenId(), e.getMessage(), e);
+            throw new PersistenceException("Error al persistir token revocado", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void saveUserCutoff(UserTokenCutoffDomain cutoff) {
+        try {
+            // una fila por usuario: el corte más reciente reemplaza al anterior
+            UserTokenCutoff entity = userTokenCutoffRepository.findById(cutoff.userId())
+                    .orElseGet(() -> UserTokenCutoff.builder().userId(cutoff.userId()).build());
+            entity.setNotBefore(cutoff.notBefore());
+            userTokenCutoffRepository.save(entity);
+        } catch (Exception e) {
+            log.error("Error al persistir corte de tokens del usuario {}: {}", cutoff.userId(), e.getMessage(), e);
+            throw new PersistenceException("Error al persistir corte de tokens del usuario", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void saveUserCutoffs(Collection<UUID> userIds, Instant notBefore) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            // reemplaza los cortes anteriores: un DELETE y un INSERT ... SELECT para todo el lote
+            userTokenCutoffRepository.deleteByUserIds(userIds);
+            userTokenCutoffRepository.insertForUsers(userIds, notBefore);
+        } catch (Exception e) {
+            log.error("Error al persistir cortes de tokens de {} usuarios: {}", userIds.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al persistir cortes de tokens de usuarios", e);
+        }
+    }
+
+    @Override
+    public List<RevokedTokenDomain> findRevokedTokensExpiringAfter(Instant instant) {
+        try {
+            return revokedTokenRepository.findByExpiresAtAfter(instant).stream()
+                    .map(t -> new RevokedTokenDomain(t.getTokenId(), t.getUserId(), t.getExpiresAt(), t.getRevokedAt()))
+                    .toList();
+        } catch (Exception e) {
+            log.error("Error al obtener tokens revocados: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al obtener tokens revocados", e);
+        }
+    }
+
+    @Override
+    public List<UserTokenCutoffDomain> findUserCutoffsAfter(Instant instant) {
+        try {
+            return userTokenCutoffRepository.findByNotBeforeAfter(instant).stream()
+                    .map(c -> new UserTokenCutoffDomain(c.getUserId(), c.getNotBefore()))
+                    .toList();
+        } catch (Exception e) {
+            log.error("Error al obtener cortes de tokens por usuario: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al obtener cortes de tokens por usuario", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteRevokedTokensExpiredBefore(Instant instant) {
+        try {
+            return revokedTokenRepository.deleteExpiredBefore(instant);
+        } catch (Exception e) {
+            log.error("Error al purgar tokens revocados: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al purgar tokens revocados", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteUserCutoffsBefore(Instant instant) {
+        try {
+            return userTokenCutoffRepository.deleteBefore(instant);
+        } catch (Exception e) {
+            log.error("Error al purgar cortes de tokens por usuario: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al purgar cortes de tokens por usuario", e);
+        }
+    }
+}
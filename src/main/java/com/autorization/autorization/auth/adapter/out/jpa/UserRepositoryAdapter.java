@@ -1,24 +1,46 @@
 package com.autorization.autorization.auth.adapter.out.jpa;
 
 import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.adapter.out.jpa.projection.UserAuthRow;
 import com.autorization.autorization.auth.adapter.out.jpa.mapper.UserJPAMapper;
 import com.autorization.autorization.auth.adapter.out.jpa.repository.RoleRepository;
 import com.autorization.autorization.auth.adapter.out.jpa.repository.UserRepository;
 import com.autorization.autorization.shared.domain.exception.PersistenceException;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.user.UserAuthView;
 import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.UserSummaryView;
+import com.autorization.autorization.auth.domain.model.user.vo.AccountStatus;
 import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
 import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.model.user.vo.UserNames;
 import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
 import com.autorization.autorization.shared.domain.model.Status;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -26,47 +48,64 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserRepositoryAdapter implements UserRepositoryPort {
 
+    // ON CONFLICT: un email registrado por otra petición tras la comprobación previa no rompe el lote
+    private static final String INSERT_SQL = "INSERT INTO users (user_id, name, last_name, second_name, email, password, "
+            + "is_enabled, account_non_expired, account_non_locked, credentials_non_expired, created_at, usu_reg, status) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String STREAM_SQL = "SELECT user_id, name, last_name, second_name, email, is_enabled, "
+            + "account_non_expired, account_non_locked, credentials_non_expired, status FROM users ORDER BY email";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final EntityManager entityManager;
+    private final AuditorAware<String> auditorAware;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.stream.fetch-size:500}")
+    private int streamFetchSize;
 
+    /**
+     * Guarda el usuario en la unidad de trabajo actual.
+     *
+     * Si el servicio ya lo cargó en esta transacción, {@code find} lo devuelve del contexto de persistencia sin SQL y
+     * solo se copian los valores: Hibernate emite un UPDATE con lo que haya cambiado (o ninguno) y sincroniza
+     * user_roles fila a fila. Un usuario nuevo se inserta con {@code persist}, sin el SELECT previo de {@code merge}.
+     * Devuelve el mismo dominio, que ya refleja lo guardado, para no volver a recorrer el grafo de roles.
+     */
     @Override
     @Transactional
     public UserDomain save(UserDomain domain) {
         try {
-            Optional<User> existingUser = userRepository.findById(domain.getUserId().id());
-            User entityToSave;
-
-            if (existingUser.isPresent()) {
-                entityToSave = existingUser.get();
-                entityToSave.setName(domain.getNames().name());
-                entityToSave.setLastName(domain.getNames().lastName());
-                entityToSave.setSecondName(domain.getNames().secondName());
-                entityToSave.setEmail(domain.getEmail() == null ? null : domain.getEmail().value());
-
-                if (domain.getPassword() != null && domain.getPassword().value() != null) {
-                    entityToSave.setPassword(domain.getPassword().value());
-                }
-
-                if (domain.getStatus() != null) {
-                    entityToSave.setEnabled(domain.getStatus().isEnabled());
-                    entityToSave.setAccountNonExpired(domain.getStatus().accountNonExpired());
-                    entityToSave.setAccountNonLocked(domain.getStatus().accountNonLocked());
-                    entityToSave.setCredentialsNonExpired(domain.getStatus().credentialsNonExpired());
-                    entityToSave.setStatus(domain.getStatus().status());
-                }
-            } else {
-                entityToSave = UserJPAMapper.fromDomain(domain);
+            User entity = entityManager.find(User.class, domain.getUserId().id());
+
+            if (entity == null) {
+                entity = UserJPAMapper.fromDomain(domain);
+                entity.setRoles(new HashSet<>());
+                syncRoles(entity, domain.getRoles());
+                entityManager.persist(entity);
+                return domain;
             }
 
-            if (domain.getRoles() != null) {
-                var roles = domain.getRoles().stream()
-                        .map(r -> roleRepository.getReferenceById(r.getRoleId().id()))
-                        .collect(Collectors.toSet());
-                entityToSave.setRoles(roles);
+            entity.setName(domain.getNames().name());
+            entity.setLastName(domain.getNames().lastName());
+            entity.setSecondName(domain.getNames().secondName());
+            entity.setEmail(domain.getEmail() == null ? null : domain.getEmail().value());
+
+            if (domain.getPassword() != null && domain.getPassword().value() != null) {
+                entity.setPassword(domain.getPassword().value());
+            }
+
+            if (domain.getStatus() != null) {
+                entity.setEnabled(domain.getStatus().isEnabled());
+                entity.setAccountNonExpired(domain.getStatus().accountNonExpired());
+                entity.setAccountNonLocked(domain.getStatus().accountNonLocked());
+                entity.setCredentialsNonExpired(domain.getStatus().credentialsNonExpired());
+                entity.setStatus(domain.getStatus().status());
             }
 
-            var saved = userRepository.save(entityToSave);
-            return UserJPAMapper.toDomain(saved);
+            syncRoles(entity, domain.getRoles());
+            return domain;
 
         } catch (Exception e) {
             log.error("Error al persistir usuario: {}", e.getMessage(), e);
@@ -74,6 +113,17 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
         }
     }
 
+    // modifica la colección gestionada en lugar de sustituirla, para que Hibernate no borre y reinserte todas las filas
+    private void syncRoles(User entity, Set<RoleDomain> roles) {
+        if (roles == null) {
+            return;
+        }
+        Set<UUID> wanted = roles.stream().map(r -> r.getRoleId().id()).collect(Collectors.toSet());
+        entity.getRoles().removeIf(role -> !wanted.contains(role.getRoleId()));
+        entity.getRoles().forEach(role -> wanted.remove(role.getRoleId()));
+        wanted.forEach(id -> entity.getRoles().add(roleRepository.getReferenceById(id)));
+    }
+
     @Override
     public Optional<UserDomain> findById(UserId id) {
         try {
@@ -94,13 +144,24 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
         }
     }
 
+    /**
+     * Solo las columnas de users, sin JPA ni roles: la memoria depende de {@code auth.stream.fetch-size}, no del
+     * número de usuarios.
+     */
     @Override
-    public List<UserDomain> findAll() {
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<UserSummaryView> consumer) {
         try {
-            return userRepository.findAll().stream().map(UserJPAMapper::toDomain).collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error al obtener todos los usuarios: {}", e.getMessage(), e);
-            throw new PersistenceException("Error al obtener todos los usuarios", e);
+            return JdbcCursor.forEach(jdbcTemplate, STREAM_SQL, streamFetchSize, (rs, row) -> new UserSummaryView(
+                    rs.getObject("user_id", UUID.class),
+                    new UserNames(rs.getString("name"), rs.getString("last_name"), rs.getString("second_name")),
+                    rs.getString("email"),
+                    new AccountStatus(rs.getBoolean("is_enabled"), rs.getBoolean("account_non_expired"),
+                            rs.getBoolean("account_non_locked"), rs.getBoolean("credentials_non_expired"),
+                            rs.getString("status") == null ? null : Status.valueOf(rs.getString("status")))), consumer);
+        } catch (DataAccessException e) {
+            log.error("Error al recorrer los usuarios: {}", e.getMessage(), e);
+            throw new PersistenceException("Error al recorrer los usuarios", e);
         }
     }
 
@@ -115,19 +176,135 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     }
 
     @Override
-    public void updateEnabled(UserId id, boolean enabled) {
+    @Transactional
+    public int updateEnabled(UserId id, boolean enabled) {
         try {
-            var maybe = userRepository.findById(id.id());
-            maybe.ifPresent(u -> {
-                u.setStatus(enabled ? Status.ACTIVO : Status.INACTIVO);
-                userRepository.save(u);
-            });
+            return userRepository.updateEnabled(List.of(id.id()), enabled, enabled ? Status.ACTIVO : Status.INACTIVO,
+                    LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
         } catch (Exception e) {
             log.error("Error al actualizar estado del usuario {}: {}", id, e.getMessage(), e);
             throw new PersistenceException("Error al actualizar estado del usuario", e);
         }
     }
 
+    @Override
+    @Transactional
+    public int updateEnabled(Collection<UserId> ids, boolean enabled) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<UUID> userIds = ids.stream().map(UserId::id).distinct().toList();
+            return userRepository.updateEnabled(userIds, enabled, enabled ? Status.ACTIVO : Status.INACTIVO,
+                    LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
+        } catch (Exception e) {
+            log.error("Error al actualizar estado de {} usuarios: {}", ids.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al actualizar estado de los usuarios", e);
+        }
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            return userRepository.findExistingEmails(emails);
+        } catch (Exception e) {
+            log.error("Error al comprobar {} emails existentes: {}", emails.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al comprobar emails existentes", e);
+        }
+    }
+
+    @Override
+    public List<UserId> findExistingIds(Collection<UserId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return userRepository.findExistingIds(ids.stream().map(UserId::id).distinct().toList()).stream()
+                    .map(UserId::new)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Error al comprobar {} usuarios existentes: {}", ids.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al comprobar usuarios existentes", e);
+        }
+    }
+
+    /**
+     * Inserta el lote con un único batch JDBC, sin pasar por el contexto de persistencia de JPA
+     * (con {@code reWriteBatchedInserts} el driver de PostgreSQL lo envía como INSERT multi-fila), y consulta
+     * después qué ids quedaron guardados.
+     */
+    @Override
+    @Transactional
+    public boolean[] insertAll(List<UserDomain> users) {
+        boolean[] inserted = new boolean[users.size()];
+        if (users.isEmpty()) {
+            return inserted;
+        }
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            String auditor = auditorAware.getCurrentAuditor().orElse("system");
+            jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (statement, user) -> {
+                statement.setObject(1, user.getUserId().id());
+                statement.setString(2, user.getNames().name());
+                statement.setString(3, user.getNames().lastName());
+                statement.setString(4, user.getNames().secondName());
+                statement.setString(5, user.getEmail().value());
+                statement.setString(6, user.getPassword() != null ? user.getPassword().value() : null);
+                statement.setBoolean(7, user.getStatus().isEnabled());
+                statement.setBoolean(8, user.getStatus().accountNonExpired());
+                statement.setBoolean(9, user.getStatus().accountNonLocked());
+                statement.setBoolean(10, user.getStatus().credentialsNonExpired());
+                statement.setTimestamp(11, now);
+                statement.setString(12, auditor);
+                statement.setString(13, user.getStatus().status().name());
+            });
+            // con reWriteBatchedInserts el driver devuelve SUCCESS_NO_INFO para cada fila, también para las que
+            // ON CONFLICT DO NOTHING descartó: se insertaron las que ahora existen con su id (generado, nunca repetido)
+            Set<UUID> stored = new HashSet<>(userRepository.findExistingIds(
+                    users.stream().map(user -> user.getUserId().id()).toList()));
+            for (int i = 0; i < users.size(); i++) {
+                inserted[i] = stored.contains(users.get(i).getUserId().id());
+            }
+            return inserted;
+        } catch (Exception e) {
+            log.error("Error al insertar lote de {} usuarios: {}", users.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al insertar lote de usuarios", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int assignRoles(Collection<UserId> userIds, Collection<RoleId> roleIds) {
+        if (userIds.isEmpty() || roleIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return userRepository.assignRoles(userIds.stream().map(UserId::id).distinct().toList(),
+                    roleIds.stream().map(RoleId::id).distinct().toList());
+        } catch (Exception e) {
+            log.error("Error al asignar {} roles a {} usuarios: {}", roleIds.size(), userIds.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al asignar roles a los usuarios", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int revokeRoles(Collection<UserId> userIds, Collection<RoleId> roleIds) {
+        if (userIds.isEmpty() || roleIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return userRepository.revokeRoles(userIds.stream().map(UserId::id).distinct().toList(),
+                    roleIds.stream().map(RoleId::id).distinct().toList());
+        } catch (Exception e) {
+            log.error("Error al revocar {} roles a {} usuarios: {}", roleIds.size(), userIds.size(), e.getMessage(), e);
+            throw new PersistenceException("Error al revocar roles a los usuarios", e);
+        }
+    }
+
     @Override
     public Page<UserDomain> searchByUsernameOrUserId(String email, Status status, Pageable pageable) {
         try {
@@ -153,4 +330,54 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
             throw new PersistenceException("Error al buscar usuarios", e);
         }
     }
+
+    @Override
+    public Optional<UserAuthView> findAuthViewByEmail(UserEmail email) {
+        try {
+            return toAuthView(userRepository.findAuthRowsByEmail(email.value()));
+        } catch (Exception e) {
+            log.error("Error al cargar datos de autenticación por email {}: {}", email, e.getMessage(), e);
+            throw new PersistenceException("Error al cargar datos de autenticación del usuario", e);
+        }
+    }
+
+    @Override
+    public Optional<UserAuthView> findAuthViewById(UserId id) {
+        try {
+            return toAuthView(userRepository.findAuthRowsById(id.id()));
+        } catch (Exception e) {
+            log.error("Error al cargar datos de autenticación por id {}: {}", id, e.getMessage(), e);
+            throw new PersistenceException("Error al cargar datos de autenticación del usuario", e);
+        }
+    }
+
+    // agrupa las filas rol x permiso de la consulta en la vista del usuario
+    private static Optional<UserAuthView> toAuthView(List<UserAuthRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        UserAuthRow first = rows.get(0);
+        Map<UUID, String> roleNames = new LinkedHashMap<>();
+        Map<UUID, List<String>> rolePermissions = new LinkedHashMap<>();
+        for (UserAuthRow row : rows) {
+            if (row.roleId() == null) {
+                continue;
+            }
+            roleNames.putIfAbsent(row.roleId(), row.roleName());
+            List<String> permissions = rolePermissions.computeIfAbsent(row.roleId(), k -> new ArrayList<>());
+            if (row.permissionName() != null) {
+                permissions.add(row.permissionName());
+            }
+        }
+        List<UserAuthView.RoleGrant> roles = roleNames.entrySet().stream()
+                .map(e -> new UserAuthView.RoleGrant(e.getKey(), e.getValue(), rolePermissions.get(e.getKey())))
+                .toList();
+        return Optional.of(new UserAuthView(
+                new UserId(first.userId()),
+                first.email() == null ? null : new UserEmail(first.email()),
+                first.password(),
+                first.enabled(),
+                first.status() == null ? Status.ACTIVO : first.status(),
+                roles));
+    }
 }
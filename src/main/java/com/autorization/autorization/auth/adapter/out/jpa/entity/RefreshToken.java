@@ -0,0 +1,50 @@
+package com.autorization.autorization.auth.adapter.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "ux_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "ix_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "ix_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    // SHA-256 en hexadecimal del token entregado al cliente
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "issued_at", nullable = false, columnDefinition = "timestamp with time zone")
+    private Instant issuedAt;
+
+    @Column(name = "expires_at", nullable = false, columnDefinition = "timestamp with time zone")
+    private Instant expiresAt;
+
+    @Column(name = "used_at", columnDefinition = "timestamp with time zone")
+    private Instant usedAt;
+
+    @Column(name = "replaced_by")
+    private UUID replacedBy;
+
+    @Column(name = "revoked_at", columnDefinition = "timestamp with time zone")
+    private Instant revokedAt;
+}
@@ -0,0 +1,34 @@
+package com.autorization.autorization.auth.adapter.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "ix_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    // claim jti del access token
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "expires_at", nullable = false, columnDefinition = "timestamp with time zone")
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false, columnDefinition = "timestamp with time zone")
+    private Instant revokedAt;
+}
@@ -0,0 +1,28 @@
+package com.autorization.autorization.auth.adapter.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "user_token_cutoffs", indexes = {
+        @Index(name = "ix_user_token_cutoffs_not_before", columnList = "not_before")
+})
+public class UserTokenCutoff {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    // los tokens con iat anterior a este instante quedan revocados
+    @Column(name = "not_before", nullable = false, columnDefinition = "timestamp with time zone")
+    private Instant notBefore;
+}
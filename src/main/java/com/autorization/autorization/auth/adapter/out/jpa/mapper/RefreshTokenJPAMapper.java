@@ -0,0 +1,36 @@
+package com.autorization.autorization.auth.adapter.out.jpa.mapper;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.RefreshToken;
+import com.autorization.autorization.auth.domain.model.token.RefreshTokenDomain;
+
+public class RefreshTokenJPAMapper {
+    public static RefreshTokenDomain toDomain(RefreshToken entity) {
+        if (entity == null) return null;
+        return RefreshTokenDomain.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .familyId(entity.getFamilyId())
+                .tokenHash(entity.getTokenHash())
+                .issuedAt(entity.getIssuedAt())
+                .expiresAt(entity.getExpiresAt())
+                .usedAt(entity.getUsedAt())
+                .replacedBy(entity.getReplacedBy())
+                .revokedAt(entity.getRevokedAt())
+                .build();
+    }
+
+    public static RefreshToken fromDomain(RefreshTokenDomain domain) {
+        if (domain == null) return null;
+        return RefreshToken.builder()
+                .id(domain.getId())
+                .userId(domain.getUserId())
+                .familyId(domain.getFamilyId())
+                .tokenHash(domain.getTokenHash())
+                .issuedAt(domain.getIssuedAt())
+                .expiresAt(domain.getExpiresAt())
+                .usedAt(domain.getUsedAt())
+                .replacedBy(domain.getReplacedBy())
+                .revokedAt(domain.getRevokedAt())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.autorization.autorization.auth.adapter.out.jpa.projection;
+
+import com.autorization.autorization.shared.domain.model.Status;
+
+import java.util.UUID;
+
+/**
+ * Fila plana de la consulta de autenticación: una por cada par rol/permiso del usuario
+ * (con {@code roleId}/{@code permissionName} a null si no tiene roles o el rol no tiene permisos).
+ */
+public record UserAuthRow(
+        UUID userId,
+        String email,
+        String password,
+        boolean enabled,
+        Status status,
+        UUID roleId,
+        String roleName,
+        String permissionName
+) {}
@@ -1,12 +1,15 @@
 package com.autorization.autorization.auth.adapter.out.jpa.repository;
 
 import com.autorization.autorization.auth.adapter.out.jpa.entity.Module;
+import com.autorization.autorization.shared.domain.model.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +23,9 @@ public interface ModuleRepository extends JpaRepository<Module, UUID> {
     WHERE (:name IS NULL OR LOWER(m.name) LIKE LOWER(CONCAT('%', :name, '%')))
     """)
     Page<Module> searchByName(String name, Pageable pageable);
+
+    // cambio de estado en una sola sentencia, rellenando las columnas de auditoría que pondría el listener
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Module m SET m.status = :status, m.updatedAt = :updatedAt, m.usuMod = :usuMod WHERE m.moduleId = :moduleId")
+    int updateStatus(UUID moduleId, Status status, LocalDateTime updatedAt, String usuMod);
 }
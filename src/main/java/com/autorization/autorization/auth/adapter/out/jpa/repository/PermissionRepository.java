@@ -5,9 +5,11 @@ import com.autorization.autorization.shared.domain.model.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,4 +26,9 @@ public interface PermissionRepository extends JpaRepository<Permission, UUID> {
     Page<Permission> searchByName(String name, Pageable pageable);
 
     Integer countByStatus(Status status);
+
+    // cambio de estado en una sola sentencia, rellenando las columnas de auditoría que pondría el listener
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Permission p SET p.status = :status, p.updatedAt = :updatedAt, p.usuMod = :usuMod WHERE p.permissionId = :permissionId")
+    int updateStatus(UUID permissionId, Status status, LocalDateTime updatedAt, String usuMod);
 }
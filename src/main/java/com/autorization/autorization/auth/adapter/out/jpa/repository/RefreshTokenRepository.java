@@ -0,0 +1,31 @@
+package com.autorization.autorization.auth.adapter.out.jpa.repository;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("""
+    UPDATE RefreshToken t SET t.usedAt = :usedAt, t.replacedBy = :replacedBy
+    WHERE t.id = :id AND t.usedAt IS NULL AND t.revokedAt IS NULL
+    """)
+    int markUsed(UUID id, UUID replacedBy, Instant usedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :revokedAt WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(UUID familyId, Instant revokedAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :instant")
+    int deleteExpiredBefore(Instant instant);
+}
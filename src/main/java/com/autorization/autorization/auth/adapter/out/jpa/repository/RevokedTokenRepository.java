@@ -0,0 +1,19 @@
+package com.autorization.autorization.auth.adapter.out.jpa.repository;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByExpiresAtAfter(Instant instant);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :instant")
+    int deleteExpiredBefore(Instant instant);
+}
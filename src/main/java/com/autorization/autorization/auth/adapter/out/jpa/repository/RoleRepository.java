@@ -6,9 +6,12 @@ import com.autorization.autorization.shared.domain.model.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,4 +28,23 @@ public interface RoleRepository extends JpaRepository<Role,UUID> {
     """)
     Page<Role> searchByName(String name, Pageable pageable);
     Integer countByStatus(Status status);
+
+    // cambio de estado en una sola sentencia, rellenando las columnas de auditoría que pondría el listener
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Role r SET r.status = :status, r.updatedAt = :updatedAt, r.usuMod = :usuMod WHERE r.roleId = :roleId")
+    int updateStatus(UUID roleId, Status status, LocalDateTime updatedAt, String usuMod);
+
+    // asignación masiva: cada combinación rol-permiso existente en una sola sentencia; las ya asignadas se ignoran
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    INSERT INTO role_permissions (role_id, permission_id)
+    SELECT r.role_id, p.permission_id FROM roles r CROSS JOIN permissions p
+    WHERE r.role_id IN (:roleIds) AND p.permission_id IN (:permissionIds)
+    ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int addPermissions(Collection<UUID> roleIds, Collection<UUID> permissionIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM role_permissions WHERE role_id IN (:roleIds) AND permission_id IN (:permissionIds)", nativeQuery = true)
+    int removePermissions(Collection<UUID> roleIds, Collection<UUID> permissionIds);
 }
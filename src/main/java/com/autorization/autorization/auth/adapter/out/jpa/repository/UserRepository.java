@@ -1,14 +1,20 @@
 package com.autorization.autorization.auth.adapter.out.jpa.repository;
 
 import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.adapter.out.jpa.projection.UserAuthRow;
 import com.autorization.autorization.shared.domain.model.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -28,4 +34,49 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     );
 
     Integer countByStatus(Status status);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<UUID> findExistingIds(Collection<UUID> userIds);
+
+    // activación/desactivación de uno o muchos usuarios en una sola sentencia, con las columnas de auditoría
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE User u SET u.isEnabled = :enabled, u.status = :status, u.updatedAt = :updatedAt, u.usuMod = :usuMod
+    WHERE u.userId IN :userIds
+    """)
+    int updateEnabled(Collection<UUID> userIds, boolean enabled, Status status, LocalDateTime updatedAt, String usuMod);
+
+    // asignación masiva: cada combinación usuario-rol existente en una sola sentencia; las ya asignadas se ignoran
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    INSERT INTO user_roles (user_id, role_id)
+    SELECT u.user_id, r.role_id FROM users u CROSS JOIN roles r
+    WHERE u.user_id IN (:userIds) AND r.role_id IN (:roleIds)
+    ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int assignRoles(Collection<UUID> userIds, Collection<UUID> roleIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN (:userIds) AND role_id IN (:roleIds)", nativeQuery = true)
+    int revokeRoles(Collection<UUID> userIds, Collection<UUID> roleIds);
+
+    // autenticación: usuario, roles y nombres de permisos en un único round trip, sin hidratar entidades
+    @Query("""
+    SELECT new com.autorization.autorization.auth.adapter.out.jpa.projection.UserAuthRow(
+        u.userId, u.email, u.password, u.isEnabled, u.status, r.roleId, r.name, p.name)
+    FROM User u LEFT JOIN u.roles r LEFT JOIN r.permissions p
+    WHERE u.email = :email
+    """)
+    List<UserAuthRow> findAuthRowsByEmail(String email);
+
+    @Query("""
+    SELECT new com.autorization.autorization.auth.adapter.out.jpa.projection.UserAuthRow(
+        u.userId, u.email, u.password, u.isEnabled, u.status, r.roleId, r.name, p.name)
+    FROM User u LEFT JOIN u.roles r LEFT JOIN r.permissions p
+    WHERE u.userId = :userId
+    """)
+    List<UserAuthRow> findAuthRowsById(UUID userId);
 }
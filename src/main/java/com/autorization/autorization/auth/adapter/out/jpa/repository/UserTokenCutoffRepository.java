@@ -0,0 +1,33 @@
+package com.autorization.autorization.auth.adapter.out.jpa.repository;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.UserTokenCutoff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserTokenCutoffRepository extends JpaRepository<UserTokenCutoff, UUID> {
+    List<UserTokenCutoff> findByNotBeforeAfter(Instant instant);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenCutoff c WHERE c.notBefore < :instant")
+    int deleteBefore(Instant instant);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenCutoff c WHERE c.userId IN :userIds")
+    int deleteByUserIds(Collection<UUID> userIds);
+
+    // un corte por cada usuario existente en una sola sentencia, sea cual sea el número de usuarios
+    @Modifying
+    @Query("""
+    INSERT INTO UserTokenCutoff (userId, notBefore)
+    SELECT u.userId, :notBefore FROM User u WHERE u.userId IN :userIds
+    """)
+    int insertForUsers(Collection<UUID> userIds, Instant notBefore);
+}
@@ -1,4 +1,8 @@
 package com.autorization.autorization.auth.application.dto.out;
 
-public record AuthResponse(String token) {}
+public record AuthResponse(String token, String refreshToken) {
 
+    public AuthResponse(String token) {
+        this(token, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.autorization.autorization.auth.application.dto.out;
+
+/**
+ * @param requested combinaciones distintas solicitadas
+ * @param changed   filas insertadas o borradas; las que faltan ya estaban (o no estaban) asignadas o tienen ids que no existen
+ */
+public record BulkAssignmentResponse(int requested, int changed) {
+}
@@ -0,0 +1,8 @@
+package com.autorization.autorization.auth.application.dto.out;
+
+/**
+ * @param requested ids distintos recibidos
+ * @param updated   usuarios actualizados; la diferencia corresponde a ids que no existen
+ */
+public record BulkStatusResponse(int requested, int updated) {
+}
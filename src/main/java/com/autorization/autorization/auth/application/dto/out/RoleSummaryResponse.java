@@ -0,0 +1,13 @@
+package com.autorization.autorization.auth.application.dto.out;
+
+import java.util.UUID;
+
+/**
+ * Rol en el listado completo: como {@link RoleResponse} pero sin permisos.
+ */
+public record RoleSummaryResponse(
+        UUID id,
+        String name,
+        String description,
+        String status
+) {}
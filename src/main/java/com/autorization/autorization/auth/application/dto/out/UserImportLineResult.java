@@ -0,0 +1,19 @@
+package com.autorization.autorization.auth.application.dto.out;
+
+import java.util.UUID;
+
+/**
+ * Resultado de una línea del fichero de importación.
+ *
+ * @param line    número de línea en el fichero
+ * @param userId  id del usuario creado; null si no se creó
+ * @param message motivo cuando la línea no se importó
+ */
+public record UserImportLineResult(int line, String email, Result result, UUID userId, String message) {
+
+    public enum Result {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
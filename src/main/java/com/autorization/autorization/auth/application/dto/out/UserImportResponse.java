@@ -0,0 +1,16 @@
+package com.autorization.autorization.auth.application.dto.out;
+
+import java.util.List;
+
+/**
+ * @param usersPerSecond usuarios creados por segundo de importación (lectura, validación, hash e inserción)
+ * @param lines          resultado de cada línea con contenido, en el orden del fichero
+ */
+public record UserImportResponse(int total,
+                                 int created,
+                                 int duplicated,
+                                 int invalid,
+                                 long elapsedMs,
+                                 double usersPerSecond,
+                                 List<UserImportLineResult> lines) {
+}
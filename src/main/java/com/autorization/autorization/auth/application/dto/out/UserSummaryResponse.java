@@ -0,0 +1,17 @@
+package com.autorization.autorization.auth.application.dto.out;
+
+import java.util.UUID;
+
+/**
+ * Usuario en el listado completo: como {@link UserResponse} pero sin roles.
+ */
+public record UserSummaryResponse(
+        UUID id,
+        String names,
+        String email,
+        boolean isEnabled,
+        boolean accountNonExpired,
+        boolean accountNonLocked,
+        boolean credentialsNonExpired,
+        String status
+) {}
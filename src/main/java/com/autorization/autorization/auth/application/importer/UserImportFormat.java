@@ -0,0 +1,172 @@
+package com.autorization.autorization.auth.application.importer;
+
+import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formatos de importación de usuarios. Las líneas se leen de una en una según llegan, sin cargar el fichero en memoria;
+ * una línea mal formada se devuelve con su error y no interrumpe la lectura del resto.
+ */
+public enum UserImportFormat {
+
+    /** Un objeto JSON por línea con las propiedades de {@link CreateUserRequest}. */
+    NDJSON("application/x-ndjson") {
+        @Override
+        public RecordReader open(BufferedReader in, JsonMapper jsonMapper) {
+            ObjectReader reader = jsonMapper.readerFor(CreateUserRequest.class);
+            int[] lineNumber = {0};
+            return () -> {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    lineNumber[0]++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        return ImportLine.of(lineNumber[0], reader.readValue(line));
+                    } catch (JacksonException e) {
+                        return ImportLine.error(lineNumber[0], "JSON inválido: " + e.getOriginalMessage());
+                    }
+                }
+                return null;
+            };
+        }
+    },
+
+    /** CSV RFC 4180 con cabecera (name, lastName, secondName, email, password en cualquier orden), sin saltos de línea en los valores. */
+    CSV("text/csv") {
+        private static final String[] COLUMNS = {"name", "lastname", "secondname", "email", "password"};
+
+        @Override
+        public RecordReader open(BufferedReader in, JsonMapper jsonMapper) throws IOException {
+            String header = in.readLine();
+            int[] positions = new int[COLUMNS.length];
+            String headerError = header == null ? null : mapHeader(parseRow(header), positions);
+            int[] lineNumber = {1};
+            boolean[] failed = {header == null};
+            return () -> {
+                if (failed[0]) {
+                    return null;
+                }
+                if (headerError != null) {
+                    failed[0] = true;
+                    return ImportLine.error(1, headerError);
+                }
+                String line;
+                while ((line = in.readLine()) != null) {
+                    lineNumber[0]++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    List<String> values = parseRow(line);
+                    return ImportLine.of(lineNumber[0], new CreateUserRequest(value(values, positions[0]),
+                            value(values, positions[1]), value(values, positions[2]), value(values, positions[3]),
+                            value(values, positions[4])));
+                }
+                return null;
+            };
+        }
+
+        private String mapHeader(List<String> header, int[] positions) {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                positions[i] = -1;
+                for (int j = 0; j < header.size(); j++) {
+                    if (header.get(j).trim().toLowerCase(Locale.ROOT).equals(COLUMNS[i])) {
+                        positions[i] = j;
+                    }
+                }
+                // secondName es opcional
+                if (positions[i] < 0 && i != 2) {
+                    return "Cabecera CSV sin la columna obligatoria " + COLUMNS[i];
+                }
+            }
+            return null;
+        }
+
+        private String value(List<String> values, int position) {
+            if (position < 0 || position >= values.size() || values.get(position).isEmpty()) {
+                return null;
+            }
+            return values.get(position);
+        }
+    };
+
+    private final String contentType;
+
+    UserImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static UserImportFormat fromContentType(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(CSV.contentType) ? CSV : NDJSON;
+    }
+
+    /**
+     * Prepara la lectura de {@code in} (en CSV lee ya la cabecera).
+     */
+    public abstract RecordReader open(BufferedReader in, JsonMapper jsonMapper) throws IOException;
+
+    static List<String> parseRow(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Línea del fichero: la petición leída o el error que impidió leerla.
+     *
+     * @param line número de línea en el fichero, empezando en 1 (en CSV la 1 es la cabecera)
+     */
+    public record ImportLine(int line, CreateUserRequest request, String error) {
+
+        static ImportLine of(int line, CreateUserRequest request) {
+            return new ImportLine(line, request, null);
+        }
+
+        static ImportLine error(int line, String error) {
+            return new ImportLine(line, null, error);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordReader {
+        /**
+         * Siguiente línea con contenido o {@code null} al final del fichero.
+         */
+        ImportLine next() throws IOException;
+    }
+}
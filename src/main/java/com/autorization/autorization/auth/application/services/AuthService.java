@@ -1,17 +1,26 @@
 package com.autorization.autorization.auth.application.services;
 
 import com.autorization.autorization.auth.adapter.in.web.request.LoginRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.RefreshTokenRequest;
 import com.autorization.autorization.auth.application.dto.out.AuthResponse;
 import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.model.user.vo.UserPassword;
 import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
+import com.autorization.autorization.security.password.LoginPasswordHasher;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.util.JwtUtil;
+import com.autorization.autorization.security.util.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import com.autorization.autorization.security.util.TokenFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,52 +28,116 @@ public class AuthService {
 
     private final JwtUtil jwtUtil;
     private final UserRepositoryPort userRepositoryPort;
-    private final PasswordEncoder passwordEncoder;
+    // hash en un pool acotado: una avalancha de logins no ocupa los hilos de Tomcat
+    private final LoginPasswordHasher passwordHasher;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthResponse login(LoginRequest request) {
+        return login(request, null);
+    }
+
+    /**
+     * @param format formato del token; {@code null} usa el configurado en {@code jwt.format}
+     */
+    public AuthResponse login(LoginRequest request, TokenFormat format) {
         String email = request.email() == null ? "" : request.email().trim().toLowerCase();
         log.debug("Intento de inicio de sesión para email={}", email);
-        var userOpt = userRepositoryPort.findByEmail(new UserEmail(email));
+        // vista de autenticación: usuario, roles y permisos en una sola consulta
+        var userOpt = userRepositoryPort.findAuthViewByEmail(new UserEmail(email));
         if (userOpt.isEmpty()) {
             log.warn("Inicio de sesión fallido: usuario no encontrado para email={}", email);
             throw new BadCredentialsException("Credenciales erróneas");
         }
 
         var user = userOpt.get();
-        var stored = user.getPassword() == null ? null : user.getPassword().value();
+        var stored = user.password();
         if (stored == null) {
             log.warn("Inicio de sesión fallido: el usuario {} no tiene contraseña almacenada", email);
             throw new BadCredentialsException("Credenciales erróneas");
         }
 
-        boolean matches = passwordEncoder.matches(request.password(), stored);
+        boolean matches = passwordHasher.matches(request.password(), stored);
         log.debug("¿Coincide la contraseña para {}? {}", email, matches);
-        if (!matches) {
-            // posible caso de migración: la contraseña almacenada está en texto plano
-            boolean storedLooksLikeBcrypt = stored.startsWith("$2a$") || stored.startsWith("$2b$") || stored.startsWith("$2y$");
-            if (!storedLooksLikeBcrypt && stored.equals(request.password())) {
-                // re-hash y persistir
-                String rehashed = passwordEncoder.encode(stored);
-                log.info("Migrando contraseña en texto plano a bcrypt para user={}", email);
-                user.changePassword(new com.autorization.autorization.auth.domain.model.user.vo.UserPassword(rehashed));
-                userRepositoryPort.save(user);
-                matches = true;
-            }
-        }
-
         if (!matches) {
             log.warn("Inicio de sesión fallido: contraseña incorrecta para email={}", email);
             throw new BadCredentialsException("Credenciales erróneas");
         }
 
+        // hash con otro algoritmo, coste menor que la política actual, formato sin {id} o texto plano
+        if (passwordHasher.upgradeEncoding(stored)) {
+            rehash(user.userId(), request.password(), email);
+        }
+
         // comprobar estado de la cuenta
-        if (user.getStatus() != null && !user.getStatus().isEnabled()) {
+        if (!user.enabled()) {
             log.warn("Inicio de sesión fallido: cuenta deshabilitada para email={}", email);
             throw new DisabledException("Cuenta deshabilitada");
         }
 
-        String token = jwtUtil.generateToken(user);
+        String token = format == null ? jwtUtil.generateToken(user) : jwtUtil.generateToken(user, format);
+        String refreshToken = refreshTokenService.issue(user.userId());
         log.info("Inicio de sesión exitoso para email={}", email);
-        return new AuthResponse(token);
+        return new AuthResponse(token, refreshToken);
+    }
+
+    private void rehash(UserId userId, String rawPassword, String email) {
+        try {
+            String rehashed = passwordHasher.encode(rawPassword);
+            // la vista es de solo lectura: el agregado completo se carga solo cuando hay que re-hashear
+            userRepositoryPort.findById(userId).ifPresent(domain -> {
+                domain.changePassword(new UserPassword(rehashed));
+                userRepositoryPort.save(domain);
+            });
+            log.info("Contraseña re-hasheada con la política actual para user={}", email);
+        } catch (Exception e) {
+            // el login no falla por esto: se reintenta en el siguiente
+            log.warn("No se pudo re-hashear la contraseña de {}: {}", email, e.getMessage());
+        }
+    }
+
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        return refresh(request, null);
+    }
+
+    /**
+     * Canjea un refresh token por un JWT nuevo y el siguiente refresh token de la familia.
+     * No vuelve a comprobar la contraseña: el refresh token se valida con una búsqueda por su hash.
+     *
+     * @param format formato del token; {@code null} usa el configurado en {@code jwt.format}
+     */
+    public AuthResponse refresh(RefreshTokenRequest request, TokenFormat format) {
+        var rotation = refreshTokenService.rotate(request.refreshToken());
+
+        var user = userRepositoryPort.findAuthViewById(rotation.userId()).orElse(null);
+        if (user == null || !user.enabled()) {
+            // la cuenta ya no puede obtener tokens: se corta la familia recién rotada
+            refreshTokenService.revokeFamily(rotation.familyId());
+            log.warn("Refresh rechazado: usuario {} inexistente o deshabilitado", rotation.userId().id());
+            throw new DisabledException("Cuenta deshabilitada");
+        }
+
+        String token = format == null ? jwtUtil.generateToken(user) : jwtUtil.generateToken(user, format);
+        log.debug("Refresh exitoso para user={}", rotation.userId().id());
+        return new AuthResponse(token, rotation.refreshToken());
+    }
+
+    /**
+     * Cierra la sesión: revoca el access token por su {@code jti} y la familia del refresh token, si se envía.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null && !accessToken.isBlank()) {
+            try {
+                VerifiedToken token = jwtUtil.verify(accessToken);
+                if (token.tokenId() != null) {
+                    UUID userId = token.userId() == null ? null : UUID.fromString(token.userId());
+                    tokenRevocationService.revokeToken(token.tokenId(), userId, token.expiresAt());
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // un token inválido o expirado ya no da acceso: no hay nada que revocar
+                log.debug("Logout con access token no válido: {}", e.getMessage());
+            }
+        }
+        refreshTokenService.revoke(refreshToken);
     }
 }
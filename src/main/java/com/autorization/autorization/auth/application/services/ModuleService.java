@@ -10,12 +10,17 @@ import com.autorization.autorization.auth.domain.model.module.vo.ModuleId;
 import com.autorization.autorization.auth.domain.port.in.ModuleUseCasePort;
 import com.autorization.autorization.auth.domain.port.out.ModuleRepositoryPort;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
+import com.autorization.autorization.shared.application.stream.JsonArrayWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,6 +39,7 @@ import java.util.stream.Collectors;
 public class ModuleService implements ModuleUseCasePort {
 
     private final ModuleRepositoryPort moduleRepositoryPort;
+    private final JsonMapper jsonMapper;
 
     /**
      * Crear un nuevo módulo.
@@ -61,6 +67,7 @@ public class ModuleService implements ModuleUseCasePort {
      * @throws ModuleNotFoundException si no existe el módulo
      */
     @Override
+    @Transactional
     public ModuleResponse update(UUID id, UpdateModuleRequest request) {
         ModuleId mid = new ModuleId(id);
         ModuleDomain existing = moduleRepositoryPort.findById(mid)
@@ -81,10 +88,9 @@ public class ModuleService implements ModuleUseCasePort {
     @Override
     public void deactivate(UUID id) {
         ModuleId mid = new ModuleId(id);
-        moduleRepositoryPort.findById(mid)
-                .orElseThrow(() -> new ModuleNotFoundException("Modulo no encontrado"));
-
-        moduleRepositoryPort.updateEnabled(mid, false);
+        if (moduleRepositoryPort.updateEnabled(mid, false) == 0) {
+            throw new ModuleNotFoundException("Modulo no encontrado");
+        }
     }
 
     /**
@@ -96,10 +102,9 @@ public class ModuleService implements ModuleUseCasePort {
     @Override
     public void activate(UUID id) {
         ModuleId mid = new ModuleId(id);
-        moduleRepositoryPort.findById(mid)
-                .orElseThrow(() -> new ModuleNotFoundException("Modulo no encontrado"));
-
-        moduleRepositoryPort.updateEnabled(mid, true);
+        if (moduleRepositoryPort.updateEnabled(mid, true) == 0) {
+            throw new ModuleNotFoundException("Modulo no encontrado");
+        }
     }
 
     /**
@@ -115,13 +120,12 @@ public class ModuleService implements ModuleUseCasePort {
     }
 
     /**
-     * Listar todos los módulos.
-     *
-     * @return lista de ModuleResponse
+     * Listar todos los módulos en streaming: leídos con un cursor y escritos según llegan.
      */
     @Override
-    public List<ModuleResponse> findAll() {
-        return moduleRepositoryPort.findAll().stream().map(ModuleMapper::toResponse).collect(Collectors.toList());
+    public long streamAll(OutputStream out) throws IOException {
+        return JsonArrayWriter.<ModuleResponse>write(out, jsonMapper,
+                writer -> moduleRepositoryPort.streamAll(module -> writer.accept(ModuleMapper.toResponse(module))));
     }
 
     /**
@@ -4,6 +4,7 @@ import com.autorization.autorization.auth.adapter.in.web.request.CreatePermissio
 import com.autorization.autorization.auth.adapter.in.web.request.UpdatePermissionRequest;
 import com.autorization.autorization.auth.application.dto.out.PermissionResponse;
 import com.autorization.autorization.auth.application.services.mapper.PermissionMapper;
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
 import com.autorization.autorization.auth.domain.exception.PermissionAlreadyExistsException;
 import com.autorization.autorization.auth.domain.exception.PermissionNotFoundException;
 import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
@@ -12,12 +13,17 @@ import com.autorization.autorization.auth.domain.model.permission.vo.PermissionN
 import com.autorization.autorization.auth.domain.port.in.PermissionUseCasePort;
 import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPort;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
+import com.autorization.autorization.shared.application.stream.JsonArrayWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +41,8 @@ import java.util.stream.Collectors;
 public class PermissionService implements PermissionUseCasePort {
 
     private final PermissionRepositoryPort permissionRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonMapper jsonMapper;
 
     @Override
     public PermissionResponse create(CreatePermissionRequest request) {
@@ -47,6 +55,7 @@ public class PermissionService implements PermissionUseCasePort {
             }
         }
         PermissionDomain saved = permissionRepositoryPort.save(domain);
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("PermissionService"));
         return PermissionMapper.toResponse(saved);
     }
 
@@ -59,25 +68,26 @@ public class PermissionService implements PermissionUseCasePort {
         PermissionMapper.applyUpdate(existing, request);
 
         PermissionDomain saved = permissionRepositoryPort.save(existing);
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("PermissionService"));
         return PermissionMapper.toResponse(saved);
     }
 
     @Override
     public void deactivate(UUID id) {
         PermissionId pid = new PermissionId(id);
-        permissionRepositoryPort.findById(pid)
-                .orElseThrow(() -> new PermissionNotFoundException("Permiso no encontrado"));
-
-        permissionRepositoryPort.updateEnabled(pid, false);
+        if (permissionRepositoryPort.updateEnabled(pid, false) == 0) {
+            throw new PermissionNotFoundException("Permiso no encontrado");
+        }
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("PermissionService"));
     }
 
     @Override
     public void activate(UUID id) {
         PermissionId pid = new PermissionId(id);
-        permissionRepositoryPort.findById(pid)
-                .orElseThrow(() -> new PermissionNotFoundException("Permiso no encontrado"));
-
-        permissionRepositoryPort.updateEnabled(pid, true);
+        if (permissionRepositoryPort.updateEnabled(pid, true) == 0) {
+            throw new PermissionNotFoundException("Permiso no encontrado");
+        }
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("PermissionService"));
     }
 
     @Override
@@ -86,9 +96,13 @@ public class PermissionService implements PermissionUseCasePort {
         return permissionRepositoryPort.findById(pid).map(PermissionMapper::toResponse);
     }
 
+    /**
+     * Listar todos los permisos en streaming: leídos con un cursor y escritos según llegan.
+     */
     @Override
-    public List<PermissionResponse> findAll() {
-        return permissionRepositoryPort.findAll().stream().map(PermissionMapper::toResponse).collect(Collectors.toList());
+    public long streamAll(OutputStream out) throws IOException {
+        return JsonArrayWriter.<PermissionResponse>write(out, jsonMapper,
+                writer -> permissionRepositoryPort.streamAll(permission -> writer.accept(PermissionMapper.toResponse(permission))));
     }
 
     @Override
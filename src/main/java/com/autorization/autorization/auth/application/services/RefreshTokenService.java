@@ -0,0 +1,152 @@
+package com.autorization.autorization.auth.application.services;
+
+import com.autorization.autorization.auth.domain.model.token.RefreshTokenDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.port.out.RefreshTokenRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emisión y rotación de refresh tokens opacos.
+ *
+ * El token son 32 bytes aleatorios; en base de datos solo se guarda su SHA-256, que al tener entropía
+ * completa no necesita un hash lento: validar un refresh es una búsqueda por índice único, sin bcrypt.
+ * Cada uso entrega un token nuevo de la misma familia y consume el anterior; presentar un token ya
+ * consumido se trata como robo y revoca la familia entera.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+    private final Duration expiration;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepositoryPort refreshTokenRepositoryPort,
+                               @Value("${jwt.refresh.expiration-ms:1209600000}") long expirationMs) {
+        this(refreshTokenRepositoryPort, expirationMs, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenRepositoryPort refreshTokenRepositoryPort, long expirationMs, Clock clock) {
+        this.refreshTokenRepositoryPort = refreshTokenRepositoryPort;
+        this.expiration = Duration.ofMillis(expirationMs);
+        this.clock = clock;
+    }
+
+    /**
+     * Emite el primer token de una familia nueva (login).
+     */
+    public String issue(UserId userId) {
+        return store(userId.id(), UUID.randomUUID(), UUID.randomUUID(), clock.instant());
+    }
+
+    /**
+     * Consume el token presentado y emite su reemplazo en una sola transacción: si falla la inserción del
+     * reemplazo, el token presentado no queda consumido y el cliente puede reintentar.
+     * La revocación de la familia por reutilización se confirma aunque se lance {@link BadCredentialsException}.
+     *
+     * @throws BadCredentialsException si el token no existe, expiró o ya fue usado (en cuyo caso se revoca la familia)
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        RefreshTokenDomain current = refreshTokenRepositoryPort.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        Instant now = clock.instant();
+        if (current.isConsumed()) {
+            revokeOnReuse(current, now);
+        }
+        if (current.isExpired(now)) {
+            log.debug("Refresh token {} expirado", current.getId());
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+
+        UUID nextId = UUID.randomUUID();
+        // el UPDATE condicional decide entre dos peticiones concurrentes con el mismo token
+        if (!refreshTokenRepositoryPort.markUsed(current.getId(), nextId, now)) {
+            revokeOnReuse(current, now);
+        }
+        String next = store(current.getUserId(), current.getFamilyId(), nextId, now);
+        return new Rotation(new UserId(current.getUserId()), current.getFamilyId(), next);
+    }
+
+    /**
+     * Revoca la familia del token presentado (logout). Un token desconocido se ignora.
+     */
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepositoryPort.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> revokeFamily(token.getFamilyId()));
+    }
+
+    public void revokeFamily(UUID familyId) {
+        refreshTokenRepositoryPort.revokeFamily(familyId, clock.instant());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-ms:86400000}", initialDelayString = "${jwt.refresh.purge-ms:86400000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepositoryPort.deleteExpiredBefore(clock.instant());
+        log.info("Refresh tokens expirados purgados: {}", deleted);
+    }
+
+    private void revokeOnReuse(RefreshTokenDomain token, Instant now) {
+        int revoked = refreshTokenRepositoryPort.revokeFamily(token.getFamilyId(), now);
+        log.warn("Reutilización de refresh token {} (usuario {}): familia {} revocada ({} tokens)",
+                token.getId(), token.getUserId(), token.getFamilyId(), revoked);
+        throw new BadCredentialsException("Refresh token reutilizado");
+    }
+
+    private String store(UUID userId, UUID familyId, UUID id, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepositoryPort.save(RefreshTokenDomain.builder()
+                .id(id)
+                .userId(userId)
+                .familyId(familyId)
+                .tokenHash(hash(raw))
+                .issuedAt(now)
+                .expiresAt(now.plus(expiration))
+                .build());
+        return raw;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Resultado de una rotación: el usuario dueño, la familia y el nuevo token en claro.
+     */
+    public record Rotation(UserId userId, UUID familyId, String refreshToken) {}
+}
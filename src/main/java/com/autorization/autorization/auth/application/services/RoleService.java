@@ -2,8 +2,11 @@ package com.autorization.autorization.auth.application.services;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateRoleRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateRoleRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
+import com.autorization.autorization.auth.application.dto.out.RoleSummaryResponse;
 import com.autorization.autorization.auth.application.services.mapper.RoleMapper;
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
 import com.autorization.autorization.auth.domain.exception.PermissionNotFoundException;
 import com.autorization.autorization.auth.domain.exception.RoleAlreadyExistsException;
 import com.autorization.autorization.auth.domain.exception.RoleNotFoundException;
@@ -16,13 +19,19 @@ import com.autorization.autorization.auth.domain.port.in.RoleUseCasePort;
 import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPort;
 import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
+import com.autorization.autorization.shared.application.stream.JsonArrayWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +50,8 @@ public class RoleService implements RoleUseCasePort {
 
     private final RoleRepositoryPort roleRepositoryPort;
     private final PermissionRepositoryPort permissionRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonMapper jsonMapper;
 
     /**
      * Crear un nuevo rol.
@@ -59,6 +70,7 @@ public class RoleService implements RoleUseCasePort {
             }
         }
         RoleDomain saved = roleRepositoryPort.save(domain);
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
         return RoleMapper.toResponse(saved);
     }
 
@@ -66,6 +78,7 @@ public class RoleService implements RoleUseCasePort {
      * Actualizar rol existente (parcial).
      */
     @Override
+    @Transactional
     public RoleResponse update(UUID id, UpdateRoleRequest request) {
         RoleId rid = new RoleId(id);
         RoleDomain existing = roleRepositoryPort.findById(rid)
@@ -74,6 +87,7 @@ public class RoleService implements RoleUseCasePort {
         RoleMapper.applyUpdate(existing, request);
 
         RoleDomain saved = roleRepositoryPort.save(existing);
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
         return RoleMapper.toResponse(saved);
     }
 
@@ -83,9 +97,10 @@ public class RoleService implements RoleUseCasePort {
     @Override
     public void deactivate(UUID id) {
         RoleId rid = new RoleId(id);
-        roleRepositoryPort.findById(rid)
-                .orElseThrow(() -> new RoleNotFoundException("Rol no encontrado"));
-        roleRepositoryPort.updateEnabled(rid, false);
+        if (roleRepositoryPort.updateEnabled(rid, false) == 0) {
+            throw new RoleNotFoundException("Rol no encontrado");
+        }
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
     }
 
     /**
@@ -94,9 +109,10 @@ public class RoleService implements RoleUseCasePort {
     @Override
     public void activate(UUID id) {
         RoleId rid = new RoleId(id);
-        roleRepositoryPort.findById(rid)
-                .orElseThrow(() -> new RoleNotFoundException("Rol no encontrado"));
-        roleRepositoryPort.updateEnabled(rid, true);
+        if (roleRepositoryPort.updateEnabled(rid, true) == 0) {
+            throw new RoleNotFoundException("Rol no encontrado");
+        }
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
     }
 
     @Override
@@ -105,9 +121,13 @@ public class RoleService implements RoleUseCasePort {
         return roleRepositoryPort.findById(rid).map(RoleMapper::toResponse);
     }
 
+    /**
+     * Listar todos los roles en streaming: filas sin permisos leídas con un cursor y escritas según llegan.
+     */
     @Override
-    public List<RoleResponse> findAll() {
-        return roleRepositoryPort.findAll().stream().map(RoleMapper::toResponse).collect(Collectors.toList());
+    public long streamAll(OutputStream out) throws IOException {
+        return JsonArrayWriter.<RoleSummaryResponse>write(out, jsonMapper,
+                writer -> roleRepositoryPort.streamAll(view -> writer.accept(RoleMapper.toSummaryResponse(view))));
     }
 
     @Transactional
@@ -123,9 +143,11 @@ public class RoleService implements RoleUseCasePort {
 
         role.addPermission(permission);
         roleRepositoryPort.save(role);
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
     }
 
     @Override
+    @Transactional
     public void removePermission(UUID roleId, UUID permissionId) {
         RoleId rid = new RoleId(roleId);
         PermissionId pid = new PermissionId(permissionId);
@@ -137,6 +159,36 @@ public class RoleService implements RoleUseCasePort {
 
         role.removePermission(permission);
         roleRepositoryPort.save(role);
+        eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
+    }
+
+    /**
+     * Añadir varios permisos a varios roles con un único INSERT ... SELECT, sin cargar roles ni permisos.
+     * Los ids que no existen y las asignaciones ya presentes se ignoran.
+     */
+    @Override
+    public BulkAssignmentResponse addPermissions(Collection<UUID> roleIds, Collection<UUID> permissionIds) {
+        List<RoleId> rids = roleIds.stream().distinct().map(RoleId::new).toList();
+        List<PermissionId> pids = permissionIds.stream().distinct().map(PermissionId::new).toList();
+        int changed = roleRepositoryPort.addPermissions(rids, pids);
+        if (changed > 0) {
+            eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
+        }
+        return new BulkAssignmentResponse(rids.size() * pids.size(), changed);
+    }
+
+    /**
+     * Quitar varios permisos a varios roles con un único DELETE, sin cargar roles ni permisos.
+     */
+    @Override
+    public BulkAssignmentResponse removePermissions(Collection<UUID> roleIds, Collection<UUID> permissionIds) {
+        List<RoleId> rids = roleIds.stream().distinct().map(RoleId::new).toList();
+        List<PermissionId> pids = permissionIds.stream().distinct().map(PermissionId::new).toList();
+        int changed = roleRepositoryPort.removePermissions(rids, pids);
+        if (changed > 0) {
+            eventPublisher.publishEvent(new AuthorizationModelChangedEvent("RoleService"));
+        }
+        return new BulkAssignmentResponse(rids.size() * pids.size(), changed);
     }
 
     @Override
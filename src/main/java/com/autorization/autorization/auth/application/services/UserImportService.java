@@ -0,0 +1,218 @@
+package com.autorization.autorization.auth.application.services;
+
+import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
+import com.autorization.autorization.auth.application.dto.out.UserImportLineResult;
+import com.autorization.autorization.auth.application.dto.out.UserImportLineResult.Result;
+import com.autorization.autorization.auth.application.dto.out.UserImportResponse;
+import com.autorization.autorization.auth.application.importer.UserImportFormat;
+import com.autorization.autorization.auth.application.importer.UserImportFormat.ImportLine;
+import com.autorization.autorization.auth.application.services.mapper.UserMapper;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
+import com.autorization.autorization.auth.domain.model.user.vo.UserPassword;
+import com.autorization.autorization.auth.domain.port.in.UserImportUseCasePort;
+import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de usuarios desde NDJSON o CSV.
+ *
+ * El fichero se lee y valida línea a línea según llega y se procesa en bloques de {@code users.import.chunk-size}:
+ * - una única consulta por bloque descarta los emails ya registrados (los repetidos en el propio fichero se
+ *   descartan antes, en memoria);
+ * - las contraseñas del bloque se hashean en paralelo en un pool propio y acotado ({@code users.import.hash-threads}),
+ *   separado del pool del login para que una importación no deje sin CPU a los inicios de sesión. Con la cola llena
+ *   el hilo del request hashea también, lo que frena la lectura en vez de acumular trabajo;
+ * - los usuarios nuevos del bloque se insertan con un único batch JDBC, en su propia transacción.
+ *
+ * Un error de base de datos aborta la importación; los bloques anteriores ya quedan insertados.
+ */
+@Service
+@Slf4j
+public class UserImportService implements UserImportUseCasePort {
+
+    private final UserRepositoryPort userRepositoryPort;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final int chunkSize;
+    private final ThreadPoolExecutor hashExecutor;
+
+    public UserImportService(UserRepositoryPort userRepositoryPort,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             JsonMapper jsonMapper,
+                             @Value("${users.import.chunk-size:500}") int chunkSize,
+                             @Value("${users.import.hash-threads:0}") int hashThreads) {
+        this.userRepositoryPort = userRepositoryPort;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.chunkSize = chunkSize;
+        int poolSize = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize),
+                task -> {
+                    Thread thread = new Thread(task, "user-import-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public UserImportResponse importUsers(InputStream in, UserImportFormat format) {
+        long started = System.nanoTime();
+        List<UserImportLineResult> results = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<Candidate> chunk = new ArrayList<>(chunkSize);
+        try {
+            UserImportFormat.RecordReader reader = format.open(
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), jsonMapper);
+            ImportLine line;
+            while ((line = reader.next()) != null) {
+                Candidate candidate = validate(line, results);
+                if (candidate == null) {
+                    continue;
+                }
+                if (!seen.add(candidate.email())) {
+                    results.add(candidate.result(Result.DUPLICATE, "Email repetido en el fichero"));
+                    continue;
+                }
+                chunk.add(candidate);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, results);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al leer el fichero de importación", e);
+        }
+
+        results.sort(Comparator.comparingInt(UserImportLineResult::line));
+        long elapsedNanos = System.nanoTime() - started;
+        int created = count(results, Result.CREATED);
+        int duplicated = count(results, Result.DUPLICATE);
+        int invalid = count(results, Result.INVALID);
+        double usersPerSecond = elapsedNanos > 0 ? Math.round(created * 10 * 1e9 / elapsedNanos) / 10.0 : 0;
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.info("Importación de usuarios ({}): {} líneas, {} creados, {} duplicados, {} inválidos en {} ms ({} usuarios/s)",
+                format, results.size(), created, duplicated, invalid, elapsedMs, usersPerSecond);
+        return new UserImportResponse(results.size(), created, duplicated, invalid, elapsedMs, usersPerSecond, results);
+    }
+
+    private Candidate validate(ImportLine line, List<UserImportLineResult> results) {
+        if (line.error() != null || line.request() == null) {
+            results.add(new UserImportLineResult(line.line(), null, Result.INVALID, null,
+                    line.error() != null ? line.error() : "Línea sin datos de usuario"));
+            return null;
+        }
+        CreateUserRequest request = line.request();
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+            results.add(new UserImportLineResult(line.line(), request.email(), Result.INVALID, null, message));
+            return null;
+        }
+        String email = request.email().trim().toLowerCase();
+        try {
+            UserDomain user = UserMapper.toDomain(request);
+            user.changeEmail(new UserEmail(email));
+            return new Candidate(line.line(), email, user);
+        } catch (RuntimeException e) {
+            results.add(new UserImportLineResult(line.line(), email, Result.INVALID, null, e.getMessage()));
+            return null;
+        }
+    }
+
+    private void importChunk(List<Candidate> chunk, List<UserImportLineResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> existing = userRepositoryPort.findExistingEmails(chunk.stream().map(Candidate::email).toList());
+        List<Candidate> fresh = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (existing.contains(candidate.email())) {
+                results.add(candidate.result(Result.DUPLICATE, "El email ya está en uso"));
+            } else {
+                fresh.add(candidate);
+            }
+        }
+        hashPasswords(fresh);
+
+        boolean[] inserted = userRepositoryPort.insertAll(fresh.stream().map(Candidate::user).toList());
+        for (int i = 0; i < fresh.size(); i++) {
+            Candidate candidate = fresh.get(i);
+            results.add(inserted[i]
+                    ? candidate.result(Result.CREATED, null)
+                    : candidate.result(Result.DUPLICATE, "El email ya está en uso"));
+        }
+    }
+
+    private void hashPasswords(List<Candidate> candidates) {
+        List<Future<String>> hashes = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String raw = candidate.user().getPassword().value();
+            hashes.add(hashExecutor.submit(() -> passwordEncoder.encode(raw)));
+        }
+        try {
+            for (int i = 0; i < candidates.size(); i++) {
+                candidates.get(i).user().changePassword(new UserPassword(hashes.get(i).get()));
+            }
+        } catch (InterruptedException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación de usuarios interrumpida", e);
+        } catch (ExecutionException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error al calcular el hash de la contraseña", e.getCause());
+        }
+    }
+
+    private static int count(List<UserImportLineResult> results, Result result) {
+        return (int) results.stream().filter(line -> line.result() == result).count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    private record Candidate(int line, String email, UserDomain user) {
+
+        UserImportLineResult result(Result result, String message) {
+            return new UserImportLineResult(line, email, result,
+                    result == Result.CREATED ? user.getUserId().id() : null, message);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.autorization.autorization.auth.application.services;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
+import com.autorization.autorization.auth.application.dto.out.BulkStatusResponse;
 import com.autorization.autorization.auth.application.dto.out.UserResponse;
+import com.autorization.autorization.auth.application.dto.out.UserSummaryResponse;
 import com.autorization.autorization.auth.application.dto.out.UserSecurityResponse;
 import com.autorization.autorization.auth.application.services.mapper.UserMapper;
 import com.autorization.autorization.auth.domain.exception.*;
@@ -17,16 +20,23 @@ import com.autorization.autorization.auth.domain.port.in.GetUserForAuthUseCase;
 import com.autorization.autorization.auth.domain.port.in.UserUseCasePort;
 import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
 import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import com.autorization.autorization.shared.domain.model.Status;
+import com.autorization.autorization.shared.application.stream.JsonArrayWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,6 +59,8 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
     private final UserRepositoryPort userRepositoryPort;
     private final RoleRepositoryPort roleRepositoryPort;
     private final PasswordEncoder passwordEncoder; // inyectado
+    private final TokenRevocationService tokenRevocationService;
+    private final JsonMapper jsonMapper;
 
     /**
      * Crear un nuevo usuario.
@@ -106,6 +118,7 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
      * @throws UserAlreadyExistsException si el nuevo email ya pertenece a otro usuario.
      */
     @Override
+    @Transactional
     public UserResponse update(UUID id, UpdateUserRequest request) {
         UserId uid = new UserId(id);
         UserDomain existing = userRepositoryPort.findById(uid)
@@ -144,61 +157,60 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
     }
 
     /**
-     * Desactivar un usuario (set enabled = false y status = INACTIVO).
-     * Mantiene otras flags de cuenta (accountNonExpired, etc.) según el estado actual.
+     * Desactivar un usuario (enabled = false y status = INACTIVO) con un único UPDATE.
+     * Revoca además todos los access tokens emitidos hasta el momento.
      *
      * @param id UUID del usuario a desactivar.
      * @throws UserNotFoundException si no existe el usuario.
      */
     @Override
+    @Transactional
     public void deactivate(UUID id) {
         UserId uid = new UserId(id);
-        UserDomain existing = userRepositoryPort.findById(uid)
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
-
-        // marcar como desactivado
-        if (existing.getStatus() != null) {
-            var s = existing.getStatus();
-            existing.changeStatus(new AccountStatus(
-                    false,
-                    s.accountNonExpired(),
-                    s.accountNonLocked(),
-                    s.credentialsNonExpired(),
-                    Status.INACTIVO
-            ));
-        } else {
-            existing.changeStatus(new com.autorization.autorization.auth.domain.model.user.vo.AccountStatus(false, true, true, true, Status.INACTIVO));
+        if (userRepositoryPort.updateEnabled(uid, false) == 0) {
+            throw new UserNotFoundException("Usuario no encontrado");
         }
-
-        userRepositoryPort.save(existing);
+        // los access tokens ya emitidos dejan de valer en el siguiente request
+        tokenRevocationService.revokeAllForUser(uid);
     }
 
     /**
-     * Activar un usuario (set enabled = true y status = ACTIVO).
+     * Activar un usuario (enabled = true y status = ACTIVO) con un único UPDATE.
      *
      * @param id UUID del usuario a activar.
      * @throws UserNotFoundException si no existe el usuario.
      */
     @Override
     public void activate(UUID id) {
-        UserId uid = new UserId(id);
-        UserDomain existing = userRepositoryPort.findById(uid)
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        if (userRepositoryPort.updateEnabled(new UserId(id), true) == 0) {
+            throw new UserNotFoundException("Usuario no encontrado");
+        }
+    }
 
-        if (existing.getStatus() != null) {
-            var s = existing.getStatus();
-            existing.changeStatus(new com.autorization.autorization.auth.domain.model.user.vo.AccountStatus(
-                    true,
-                    s.accountNonExpired(),
-                    s.accountNonLocked(),
-                    s.credentialsNonExpired(),
-                    Status.ACTIVO
-            ));
-        } else {
-            existing.changeStatus(new com.autorization.autorization.auth.domain.model.user.vo.AccountStatus(true, true, true, true, Status.ACTIVO));
+    /**
+     * Desactivar varios usuarios con un único UPDATE y revocar sus tokens.
+     * Los ids que no existen se ignoran; la respuesta indica cuántos se actualizaron.
+     */
+    @Override
+    @Transactional
+    public BulkStatusResponse deactivateAll(Collection<UUID> ids) {
+        List<UserId> uids = ids.stream().distinct().map(UserId::new).toList();
+        int updated = userRepositoryPort.updateEnabled(uids, false);
+        if (updated > 0) {
+            // el UPDATE no dice qué ids existían: solo esos reciben corte, en base de datos y en memoria
+            tokenRevocationService.revokeAllForUsers(userRepositoryPort.findExistingIds(uids));
         }
+        return new BulkStatusResponse(uids.size(), updated);
+    }
 
-        userRepositoryPort.save(existing);
+    /**
+     * Activar varios usuarios con un único UPDATE.
+     * Los ids que no existen se ignoran; la respuesta indica cuántos se actualizaron.
+     */
+    @Override
+    public BulkStatusResponse activateAll(Collection<UUID> ids) {
+        List<UserId> uids = ids.stream().distinct().map(UserId::new).toList();
+        return new BulkStatusResponse(uids.size(), userRepositoryPort.updateEnabled(uids, true));
     }
 
     /**
@@ -211,11 +223,12 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
     }
 
     /**
-     * Listar todos los usuarios (sin paginar).
+     * Listar todos los usuarios en streaming: filas sin roles leídas con un cursor y escritas según llegan.
      */
     @Override
-    public List<UserResponse> findAll() {
-        return userRepositoryPort.findAll().stream().map(UserMapper::toResponse).collect(Collectors.toList());
+    public long streamAll(OutputStream out) throws IOException {
+        return JsonArrayWriter.<UserSummaryResponse>write(out, jsonMapper,
+                writer -> userRepositoryPort.streamAll(view -> writer.accept(UserMapper.toSummaryResponse(view))));
     }
 
     /**
@@ -223,6 +236,7 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
      * @throws UserNotFoundException | RoleNotFoundException según corresponda.
      */
     @Override
+    @Transactional
     public void assignRole(UUID userId, UUID roleId) {
         UserId uid = new UserId(userId);
         RoleId rid = new RoleId(roleId);
@@ -241,6 +255,7 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
      * Revocar rol de usuario.
      */
     @Override
+    @Transactional
     public void revokeRole(UUID userId, UUID roleId) {
         UserId uid = new UserId(userId);
         RoleId rid = new RoleId(roleId);
@@ -254,6 +269,27 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
         userRepositoryPort.save(user);
     }
 
+    /**
+     * Asignar varios roles a varios usuarios con un único INSERT ... SELECT, sin cargar usuarios ni roles.
+     * Los ids que no existen y las asignaciones ya presentes se ignoran.
+     */
+    @Override
+    public BulkAssignmentResponse assignRoles(Collection<UUID> userIds, Collection<UUID> roleIds) {
+        List<UserId> uids = userIds.stream().distinct().map(UserId::new).toList();
+        List<RoleId> rids = roleIds.stream().distinct().map(RoleId::new).toList();
+        return new BulkAssignmentResponse(uids.size() * rids.size(), userRepositoryPort.assignRoles(uids, rids));
+    }
+
+    /**
+     * Revocar varios roles a varios usuarios con un único DELETE, sin cargar usuarios ni roles.
+     */
+    @Override
+    public BulkAssignmentResponse revokeRoles(Collection<UUID> userIds, Collection<UUID> roleIds) {
+        List<UserId> uids = userIds.stream().distinct().map(UserId::new).toList();
+        List<RoleId> rids = roleIds.stream().distinct().map(RoleId::new).toList();
+        return new BulkAssignmentResponse(uids.size() * rids.size(), userRepositoryPort.revokeRoles(uids, rids));
+    }
+
     /**
      * Buscar usuarios con paginación y filtros opcionales.
      * - email: filtro parcial por email o userId.
@@ -291,23 +327,21 @@ public class UserService implements UserUseCasePort, GetUserForAuthUseCase {
     @Override
     public UserSecurityResponse execute(String email) {
         UserEmail userEmail = new UserEmail(email);
-        return userRepositoryPort.findByEmail(userEmail)
+        // vista de autenticación: una sola consulta en lugar de recorrer roles y permisos lazy
+        return userRepositoryPort.findAuthViewByEmail(userEmail)
                 .map(u -> {
                     List<String> authorities = new ArrayList<>();
 
-                    u.getRoles().forEach(role -> {
-                        authorities.add("ROLE_" + role.getName().value());
-
-                        role.getPermissions().forEach(perm ->
-                                authorities.add(perm.getName().value())
-                        );
+                    u.roles().forEach(role -> {
+                        authorities.add("ROLE_" + role.name());
+                        authorities.addAll(role.permissions());
                     });
 
                     return new UserSecurityResponse(
-                            u.getEmail().value(),
-                            u.getPassword().value(),
+                            u.email().value(),
+                            u.password(),
                             authorities,
-                            u.getStatus().isEnabled()
+                            u.enabled()
                     );
                 })
                 .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
@@ -4,7 +4,9 @@ import com.autorization.autorization.auth.adapter.in.web.request.CreateRoleReque
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateRoleRequest;
 import com.autorization.autorization.auth.application.dto.out.PermissionResponse;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
+import com.autorization.autorization.auth.application.dto.out.RoleSummaryResponse;
 import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.RoleSummaryView;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
@@ -64,4 +66,14 @@ public class RoleMapper {
             throw new MappingException("Error mapeando RoleDomain a RoleResponse", e);
         }
     }
+
+    public static RoleSummaryResponse toSummaryResponse(RoleSummaryView view) {
+        try {
+            if (view == null) return null;
+            String status = view.status() == null ? null : view.status().name();
+            return new RoleSummaryResponse(view.roleId(), view.name(), view.description(), status);
+        } catch (Exception e) {
+            throw new MappingException("Error mapeando RoleSummaryView a RoleSummaryResponse", e);
+        }
+    }
 }
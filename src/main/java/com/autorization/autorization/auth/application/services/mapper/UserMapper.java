@@ -5,7 +5,9 @@ import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserReque
 import com.autorization.autorization.auth.application.dto.out.PermissionResponse;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
 import com.autorization.autorization.auth.application.dto.out.UserResponse;
+import com.autorization.autorization.auth.application.dto.out.UserSummaryResponse;
 import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.UserSummaryView;
 import com.autorization.autorization.auth.domain.model.user.vo.*;
 import com.autorization.autorization.auth.domain.model.role.RoleDomain;
 import com.autorization.autorization.auth.adapter.out.jpa.mapper.exception.MappingException;
@@ -97,6 +99,31 @@ public class UserMapper {
         }
     }
 
+    // Mapear UserSummaryView -> UserSummaryResponse (listado completo, sin roles)
+    public static UserSummaryResponse toSummaryResponse(UserSummaryView view) {
+        try {
+            if (view == null) return null;
+
+            String namesConcat = view.names() == null ? "" : (
+                    view.names().name() + " " + view.names().lastName() + (view.names().secondName() == null ? "" : " " + view.names().secondName())
+            );
+            AccountStatus status = view.status();
+
+            return new UserSummaryResponse(
+                    view.userId(),
+                    namesConcat.trim(),
+                    view.email(),
+                    status.isEnabled(),
+                    status.accountNonExpired(),
+                    status.accountNonLocked(),
+                    status.credentialsNonExpired(),
+                    status.status() == null ? null : status.status().name()
+            );
+        } catch (Exception e) {
+            throw new MappingException("Error mapeando UserSummaryView a UserSummaryResponse", e);
+        }
+    }
+
     private static RoleResponse roleToResponse(RoleDomain r) {
         try {
             if (r == null) return null;
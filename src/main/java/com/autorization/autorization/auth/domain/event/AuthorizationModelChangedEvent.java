@@ -0,0 +1,8 @@
+package com.autorization.autorization.auth.domain.event;
+
+/**
+ * Evento publicado cuando cambian roles o permisos (nombres, estado o asignaciones),
+ * para que las estructuras derivadas en memoria (catálogo de authorities, caches) se reconstruyan.
+ */
+public record AuthorizationModelChangedEvent(String source) {
+}
@@ -0,0 +1,15 @@
+package com.autorization.autorization.auth.domain.model.role;
+
+import com.autorization.autorization.shared.domain.model.Status;
+
+import java.util.UUID;
+
+/**
+ * Fila de un rol para listados completos: solo sus propias columnas, sin permisos.
+ */
+public record RoleSummaryView(
+        UUID roleId,
+        String name,
+        String description,
+        Status status
+) {}
@@ -0,0 +1,39 @@
+package com.autorization.autorization.auth.domain.model.token;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Refresh token opaco. Solo se guarda el hash SHA-256 del valor entregado al cliente.
+ *
+ * Todos los tokens obtenidos por rotación a partir del mismo login comparten {@code familyId}; si un token
+ * ya rotado o revocado se vuelve a presentar se revoca la familia completa.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenDomain {
+
+    private UUID id;
+    private UUID userId;
+    private UUID familyId;
+    private String tokenHash;
+    private Instant issuedAt;
+    private Instant expiresAt;
+    private Instant usedAt;
+    private UUID replacedBy;
+    private Instant revokedAt;
+
+    public boolean isConsumed() {
+        return usedAt != null || revokedAt != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
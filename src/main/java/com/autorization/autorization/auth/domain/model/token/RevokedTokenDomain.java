@@ -0,0 +1,10 @@
+package com.autorization.autorization.auth.domain.model.token;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Access token revocado por su {@code jti}. Basta con conservarlo hasta {@code expiresAt}:
+ * a partir de ahí el propio token ya no es válido.
+ */
+public record RevokedTokenDomain(String tokenId, UUID userId, Instant expiresAt, Instant revokedAt) {}
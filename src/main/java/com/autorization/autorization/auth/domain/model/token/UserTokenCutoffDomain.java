@@ -0,0 +1,9 @@
+package com.autorization.autorization.auth.domain.model.token;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Corte por usuario: todo access token emitido antes de {@code notBefore} se considera revocado.
+ */
+public record UserTokenCutoffDomain(UUID userId, Instant notBefore) {}
@@ -0,0 +1,64 @@
+package com.autorization.autorization.auth.domain.model.user;
+
+import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.shared.domain.model.Status;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Vista de solo lectura de un usuario para autenticar y emitir tokens: credenciales, estado y nombres de
+ * roles/permisos, sin el grafo completo de dominio (módulos, descripciones, estados de cada permiso...).
+ */
+public record UserAuthView(
+        UserId userId,
+        UserEmail email,
+        String password,
+        boolean enabled,
+        Status status,
+        List<RoleGrant> roles
+) {
+    public UserAuthView {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public static UserAuthView of(UserDomain user) {
+        List<RoleGrant> roles = user.getRoles() == null ? List.of() : user.getRoles().stream()
+                .map(r -> new RoleGrant(r.getRoleId().id(), r.getName().value(),
+                        r.getPermissions().stream().map(p -> p.getName().value()).toList()))
+                .toList();
+        return new UserAuthView(
+                user.getUserId(),
+                user.getEmail(),
+                user.getPassword() == null ? null : user.getPassword().value(),
+                user.getStatus() == null || user.getStatus().isEnabled(),
+                user.getStatus() == null ? null : user.getStatus().status(),
+                roles);
+    }
+
+    public List<String> roleIds() {
+        return roles.stream().map(r -> r.roleId().toString()).toList();
+    }
+
+    public List<String> roleNames() {
+        return roles.stream().map(RoleGrant::name).toList();
+    }
+
+    /**
+     * Nombres de permisos de todos los roles, sin repetir y en orden de aparición.
+     */
+    public List<String> permissionNames() {
+        Set<String> names = new LinkedHashSet<>();
+        roles.forEach(r -> names.addAll(r.permissions()));
+        return List.copyOf(names);
+    }
+
+    public record RoleGrant(UUID roleId, String name, List<String> permissions) {
+        public RoleGrant {
+            permissions = permissions == null ? List.of() : List.copyOf(permissions);
+        }
+    }
+}
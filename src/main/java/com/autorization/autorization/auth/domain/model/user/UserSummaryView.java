@@ -0,0 +1,16 @@
+package com.autorization.autorization.auth.domain.model.user;
+
+import com.autorization.autorization.auth.domain.model.user.vo.AccountStatus;
+import com.autorization.autorization.auth.domain.model.user.vo.UserNames;
+
+import java.util.UUID;
+
+/**
+ * Fila de un usuario para listados completos: solo sus propias columnas, sin roles ni contraseña.
+ */
+public record UserSummaryView(
+        UUID userId,
+        UserNames names,
+        String email,
+        AccountStatus status
+) {}
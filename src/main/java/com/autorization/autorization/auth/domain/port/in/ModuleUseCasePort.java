@@ -5,7 +5,8 @@ import com.autorization.autorization.auth.adapter.in.web.request.UpdateModuleReq
 import com.autorization.autorization.auth.application.dto.out.ModuleResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +16,10 @@ public interface ModuleUseCasePort {
     void deactivate(UUID id);
     void activate(UUID id);
     Optional<ModuleResponse> findById(UUID id);
-    List<ModuleResponse> findAll();
+    /**
+     * Escribe en {@code out} todos los módulos como un array JSON según se leen, sin cargarlos en memoria.
+     * No cierra {@code out}. Devuelve cuántos se escribieron.
+     */
+    long streamAll(OutputStream out) throws IOException;
     PaginatedResponse<ModuleResponse> search(String name, int page, int size);
 }
@@ -5,7 +5,8 @@ import com.autorization.autorization.auth.adapter.in.web.request.UpdatePermissio
 import com.autorization.autorization.auth.application.dto.out.PermissionResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +16,10 @@ public interface PermissionUseCasePort {
     void deactivate(UUID id);
     void activate(UUID id) ;
     Optional<PermissionResponse> findById(UUID id);
-    List<PermissionResponse> findAll();
+    /**
+     * Escribe en {@code out} todos los permisos como un array JSON según se leen, sin cargarlos en memoria.
+     * No cierra {@code out}. Devuelve cuántos se escribieron.
+     */
+    long streamAll(OutputStream out) throws IOException;
     PaginatedResponse<PermissionResponse> search(String name, int page, int size);
 }
@@ -2,10 +2,13 @@ package com.autorization.autorization.auth.domain.port.in;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateRoleRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateRoleRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,8 +18,14 @@ public interface RoleUseCasePort {
     void deactivate(UUID id);
     void activate(UUID id);
     Optional<RoleResponse> findById(UUID id);
-    List<RoleResponse> findAll();
+    /**
+     * Escribe en {@code out} todos los roles como un array JSON según se leen, sin cargarlos en memoria.
+     * No cierra {@code out}. Devuelve cuántos se escribieron.
+     */
+    long streamAll(OutputStream out) throws IOException;
     void addPermission(UUID roleId, UUID permissionId);
     void removePermission(UUID roleId, UUID permissionId);
+    BulkAssignmentResponse addPermissions(Collection<UUID> roleIds, Collection<UUID> permissionIds);
+    BulkAssignmentResponse removePermissions(Collection<UUID> roleIds, Collection<UUID> permissionIds);
     PaginatedResponse<RoleResponse> search(String name, int page, int size);
 }
@@ -0,0 +1,10 @@
+package com.autorization.autorization.auth.domain.port.in;
+
+import com.autorization.autorization.auth.application.dto.out.UserImportResponse;
+import com.autorization.autorization.auth.application.importer.UserImportFormat;
+
+import java.io.InputStream;
+
+public interface UserImportUseCasePort {
+    UserImportResponse importUsers(InputStream in, UserImportFormat format);
+}
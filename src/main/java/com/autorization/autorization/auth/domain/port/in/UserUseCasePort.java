@@ -2,11 +2,15 @@ package com.autorization.autorization.auth.domain.port.in;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
+import com.autorization.autorization.auth.application.dto.out.BulkStatusResponse;
 import com.autorization.autorization.auth.application.dto.out.UserResponse;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import com.autorization.autorization.shared.domain.model.Status;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,9 +19,17 @@ public interface UserUseCasePort {
     UserResponse update(UUID id, UpdateUserRequest user);
     void deactivate(UUID id);
     void activate(UUID id);
+    BulkStatusResponse deactivateAll(Collection<UUID> ids);
+    BulkStatusResponse activateAll(Collection<UUID> ids);
     Optional<UserResponse> findById(UUID id);
-    List<UserResponse> findAll();
+    /**
+     * Escribe en {@code out} todos los usuarios como un array JSON según se leen, sin cargarlos en memoria.
+     * No cierra {@code out}. Devuelve cuántos se escribieron.
+     */
+    long streamAll(OutputStream out) throws IOException;
     void assignRole(UUID userId, UUID roleId);
     void revokeRole(UUID userId, UUID roleId);
+    BulkAssignmentResponse assignRoles(Collection<UUID> userIds, Collection<UUID> roleIds);
+    BulkAssignmentResponse revokeRoles(Collection<UUID> userIds, Collection<UUID> roleIds);
     PaginatedResponse<UserResponse> search(String email, Status status, int page, int size);
 }
@@ -5,14 +5,20 @@ import com.autorization.autorization.auth.domain.model.module.vo.ModuleId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ModuleRepositoryPort {
     ModuleDomain save(ModuleDomain module);
     Optional<ModuleDomain> findById(ModuleId id);
-    List<ModuleDomain> findAll();
+    /**
+     * Recorre todos los módulos por nombre con un cursor JDBC. Devuelve cuántos se entregaron.
+     */
+    long streamAll(Consumer<ModuleDomain> consumer);
     void deleteById(ModuleId id);
-    void updateEnabled(ModuleId id, boolean enabled);
+    /**
+     * Cambia el estado con un único UPDATE y devuelve las filas actualizadas (0 si no existe).
+     */
+    int updateEnabled(ModuleId id, boolean enabled);
     Page<ModuleDomain> searchByName(String name, Pageable pageable);
 }
\ No newline at end of file
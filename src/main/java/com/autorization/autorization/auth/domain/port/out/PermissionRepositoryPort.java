@@ -8,13 +8,22 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PermissionRepositoryPort {
     PermissionDomain save(PermissionDomain permission);
     Optional<PermissionDomain> findById(PermissionId id);
     Optional<PermissionDomain> findByName(PermissionName name);
     List<PermissionDomain> findAll();
+    /**
+     * Recorre todos los permisos por nombre con un cursor JDBC; el módulo solo lleva su id.
+     * Devuelve cuántos se entregaron.
+     */
+    long streamAll(Consumer<PermissionDomain> consumer);
     void deleteById(PermissionId id);
-    void updateEnabled(PermissionId id, boolean enabled);
+    /**
+     * Cambia el estado con un único UPDATE y devuelve las filas actualizadas (0 si no existe).
+     */
+    int updateEnabled(PermissionId id, boolean enabled);
     Page<PermissionDomain> searchByName(String name, Pageable pageable);
 }
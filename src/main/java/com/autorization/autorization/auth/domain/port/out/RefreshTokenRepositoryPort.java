@@ -0,0 +1,22 @@
+package com.autorization.autorization.auth.domain.port.out;
+
+import com.autorization.autorization.auth.domain.model.token.RefreshTokenDomain;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepositoryPort {
+    RefreshTokenDomain save(RefreshTokenDomain token);
+    Optional<RefreshTokenDomain> findByTokenHash(String tokenHash);
+
+    /**
+     * Marca el token como usado solo si sigue vigente (UPDATE condicional).
+     *
+     * @return {@code false} si otro request ya lo había consumido o estaba revocado
+     */
+    boolean markUsed(UUID id, UUID replacedBy, Instant usedAt);
+
+    int revokeFamily(UUID familyId, Instant revokedAt);
+    int deleteExpiredBefore(Instant instant);
+}
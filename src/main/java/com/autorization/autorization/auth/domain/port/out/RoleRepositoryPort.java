@@ -2,21 +2,41 @@ package com.autorization.autorization.auth.domain.port.out;
 
 import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
 import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.RoleSummaryView;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface RoleRepositoryPort {
     RoleDomain save(RoleDomain domain);
     Optional<RoleDomain> findById(RoleId id);
     Optional<RoleDomain> findByName(RoleName name);
     List<RoleDomain> findAll();
+    /**
+     * Recorre todos los roles por nombre con un cursor JDBC, entregando a {@code consumer} solo sus columnas
+     * (sin permisos). Devuelve cuántos se entregaron.
+     */
+    long streamAll(Consumer<RoleSummaryView> consumer);
     boolean existsById(RoleId id);
     void deleteById(RoleId id);
-    void updateEnabled(RoleId id, boolean enabled);
+    /**
+     * Cambia el estado con un único UPDATE y devuelve las filas actualizadas (0 si no existe).
+     */
+    int updateEnabled(RoleId id, boolean enabled);
+    /**
+     * Añade cada permiso a cada rol con una sola sentencia, sin cargar los roles. Los ids que no existen y las
+     * asignaciones ya presentes se ignoran; devuelve las filas insertadas.
+     */
+    int addPermissions(Collection<RoleId> roleIds, Collection<PermissionId> permissionIds);
+    /**
+     * Quita cada permiso a cada rol con una sola sentencia; devuelve las filas borradas.
+     */
+    int removePermissions(Collection<RoleId> roleIds, Collection<PermissionId> permissionIds);
     Page<RoleDomain> searchByName(String name, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.autorization.autorization.auth.domain.port.out;
+
+import com.autorization.autorization.auth.domain.model.token.RevokedTokenDomain;
+import com.autorization.autorization.auth.domain.model.token.UserTokenCutoffDomain;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TokenRevocationRepositoryPort {
+    void saveRevokedToken(RevokedTokenDomain token);
+    void saveUserCutoff(UserTokenCutoffDomain cutoff);
+    /**
+     * Guarda el mismo corte para varios usuarios con un número de sentencias que no depende de cuántos sean.
+     */
+    void saveUserCutoffs(Collection<UUID> userIds, Instant notBefore);
+    List<RevokedTokenDomain> findRevokedTokensExpiringAfter(Instant instant);
+    List<UserTokenCutoffDomain> findUserCutoffsAfter(Instant instant);
+    int deleteRevokedTokensExpiredBefore(Instant instant);
+    int deleteUserCutoffsBefore(Instant instant);
+}
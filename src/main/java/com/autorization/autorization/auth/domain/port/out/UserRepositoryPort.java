@@ -1,21 +1,62 @@
 package com.autorization.autorization.auth.domain.port.out;
 
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.user.UserAuthView;
 import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.UserSummaryView;
 import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
 import com.autorization.autorization.auth.domain.model.user.vo.UserId;
 import com.autorization.autorization.shared.domain.model.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserRepositoryPort {
     UserDomain save(UserDomain user);
     Optional<UserDomain> findById(UserId id);
     Optional<UserDomain> findByEmail(UserEmail email);
-    List<UserDomain> findAll();
+    /**
+     * Recorre todos los usuarios por email con un cursor JDBC, entregando a {@code consumer} solo sus columnas
+     * (sin roles). Devuelve cuántos se entregaron.
+     */
+    long streamAll(Consumer<UserSummaryView> consumer);
     boolean existsById(UserId id);
-    void updateEnabled(UserId id, boolean enabled);
+    /**
+     * Activa o desactiva el usuario con un único UPDATE y devuelve las filas actualizadas (0 si no existe).
+     */
+    int updateEnabled(UserId id, boolean enabled);
+    /**
+     * Igual que {@link #updateEnabled(UserId, boolean)} para varios usuarios en una sola sentencia.
+     */
+    int updateEnabled(Collection<UserId> ids, boolean enabled);
+    /**
+     * Emails de la lista que ya están registrados, con una sola consulta.
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+    /**
+     * Ids de la lista que corresponden a usuarios existentes, con una sola consulta.
+     */
+    List<UserId> findExistingIds(Collection<UserId> ids);
+    /**
+     * Inserta usuarios nuevos (sin roles) en un único batch JDBC. Indica por cada usuario si se insertó: un email
+     * registrado por otra petición entre medias se ignora y devuelve false.
+     */
+    boolean[] insertAll(List<UserDomain> users);
+    /**
+     * Asigna cada rol a cada usuario con una sola sentencia, sin cargar los usuarios. Los ids que no existen y las
+     * asignaciones ya presentes se ignoran; devuelve las filas insertadas.
+     */
+    int assignRoles(Collection<UserId> userIds, Collection<RoleId> roleIds);
+    /**
+     * Quita cada rol a cada usuario con una sola sentencia; devuelve las filas borradas.
+     */
+    int revokeRoles(Collection<UserId> userIds, Collection<RoleId> roleIds);
     Page<UserDomain> searchByUsernameOrUserId(String email, Status status, Pageable pageable);
+    Optional<UserAuthView> findAuthViewByEmail(UserEmail email);
+    Optional<UserAuthView> findAuthViewById(UserId id);
 }
@@ -0,0 +1,49 @@
+package com.autorization.autorization.security.authority;
+
+import java.util.Collection;
+
+/**
+ * Authorities de un principal como bitset sobre los índices de una versión del {@link AuthorityCatalog}.
+ *
+ * {@code complete} indica que todas las authorities del principal estaban en el catálogo: en ese caso una
+ * authority desconocida para el catálogo es un "no" definitivo sin recorrer la colección de strings.
+ */
+public final class AuthorityBits {
+
+    private final long version;
+    private final long[] words;
+    private final boolean complete;
+
+    private AuthorityBits(long version, long[] words, boolean complete) {
+        this.version = version;
+        this.words = words;
+        this.complete = complete;
+    }
+
+    public static AuthorityBits of(AuthorityCatalog.Snapshot snapshot, Collection<String> authorities) {
+        long[] words = new long[(snapshot.size() + 63) >>> 6];
+        boolean complete = true;
+        for (String authority : authorities) {
+            int idx = snapshot.indexOf(authority);
+            if (idx < 0) {
+                complete = false;
+            } else {
+                words[idx >>> 6] |= 1L << idx;
+            }
+        }
+        return new AuthorityBits(snapshot.version(), words, complete);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public boolean complete() {
+        return complete;
+    }
+
+    public boolean get(int idx) {
+        int word = idx >>> 6;
+        return word < words.length && (words[word] & (1L << idx)) != 0;
+    }
+}
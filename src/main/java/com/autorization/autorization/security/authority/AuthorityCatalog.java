@@ -0,0 +1,98 @@
+package com.autorization.autorization.security.authority;
+
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPort;
+import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catálogo de authorities conocidas con un índice entero denso para cada una.
+ *
+ * Se indexan, por cada permiso, su nombre tal cual y con prefijo PERM_, y por cada rol su nombre con
+ * prefijo ROLE_. Cada reconstrucción genera una nueva versión inmutable; los {@link AuthorityBits}
+ * calculados con una versión anterior se ignoran (se vuelve a la comprobación por strings).
+ */
+@Component
+@Slf4j
+public class AuthorityCatalog {
+
+    private final PermissionRepositoryPort permissionRepositoryPort;
+    private final RoleRepositoryPort roleRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    public AuthorityCatalog(PermissionRepositoryPort permissionRepositoryPort,
+                            RoleRepositoryPort roleRepositoryPort,
+                            ApplicationEventPublisher eventPublisher) {
+        this.permissionRepositoryPort = permissionRepositoryPort;
+        this.roleRepositoryPort = roleRepositoryPort;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationModelChanged(AuthorizationModelChangedEvent event) {
+        log.debug("Cambio en el modelo de autorización ({}), reconstruyendo catálogo", event.source());
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        try {
+            Map<String, Integer> index = new HashMap<>();
+            for (PermissionDomain permission : permissionRepositoryPort.findAll()) {
+                String name = permission.getName().value();
+                index.putIfAbsent(name, index.size());
+                index.putIfAbsent(AuthoritySetRegistry.PERMISSION_PREFIX + name, index.size());
+            }
+            for (RoleDomain role : roleRepositoryPort.findAll()) {
+                if (role.getName() != null) {
+                    index.putIfAbsent(AuthoritySetRegistry.ROLE_PREFIX + role.getName().value(), index.size());
+                }
+            }
+
+            Snapshot rebuilt = new Snapshot(versions.incrementAndGet(), Map.copyOf(index));
+            this.snapshot = rebuilt;
+            log.info("Catálogo de authorities reconstruido: version={}, authorities={}", rebuilt.version(), index.size());
+            eventPublisher.publishEvent(new AuthorityCatalogRebuiltEvent(rebuilt.version(), index.size()));
+        } catch (Exception e) {
+            // sin catálogo las comprobaciones siguen funcionando por strings
+            log.error("No se pudo reconstruir el catálogo de authorities: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Vista inmutable del catálogo en una versión concreta.
+     */
+    public record Snapshot(long version, Map<String, Integer> index) {
+
+        public int indexOf(String authority) {
+            Integer idx = index.get(authority);
+            return idx == null ? -1 : idx;
+        }
+
+        public int size() {
+            return index.size();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.autorization.autorization.security.authority;
+
+/**
+ * Publicado tras reconstruir el catálogo: los índices de bit anteriores dejan de ser válidos.
+ */
+public record AuthorityCatalogRebuiltEvent(long version, int size) {
+}
@@ -0,0 +1,57 @@
+package com.autorization.autorization.security.authority;
+
+import com.autorization.autorization.security.service.AuthPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.function.Supplier;
+
+/**
+ * Comprobación de authorities de un {@link Authentication}: test de bit cuando el principal trae un
+ * {@link AuthorityBits} de la versión vigente del catálogo, recorrido de strings en caso contrario.
+ */
+public class AuthorityMatcher {
+
+    private final Supplier<AuthorityCatalog.Snapshot> catalog;
+
+    public AuthorityMatcher(Supplier<AuthorityCatalog.Snapshot> catalog) {
+        this.catalog = catalog;
+    }
+
+    public boolean hasAuthority(Authentication authentication, String authority) {
+        if (authentication == null) {
+            return false;
+        }
+        Boolean granted = test(authentication, authority);
+        if (granted != null) {
+            return granted;
+        }
+        for (GrantedAuthority candidate : authentication.getAuthorities()) {
+            if (authority.equals(candidate.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return resultado definitivo por bitset, o {@code null} si hay que recurrir a la comprobación por strings
+     */
+    public Boolean test(Authentication authentication, String authority) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthPrincipal principal)
+                || principal.authorityBits() == null) {
+            return null;
+        }
+        AuthorityBits bits = principal.authorityBits();
+        AuthorityCatalog.Snapshot snapshot = catalog.get();
+        if (snapshot == null || bits.version() != snapshot.version()) {
+            return null;
+        }
+        int idx = snapshot.indexOf(authority);
+        if (idx >= 0) {
+            return bits.get(idx);
+        }
+        return bits.complete() ? Boolean.FALSE : null;
+    }
+}
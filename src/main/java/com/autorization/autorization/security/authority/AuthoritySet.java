@@ -0,0 +1,11 @@
+package com.autorization.autorization.security.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Authorities canónicas de una combinación de roles/permisos junto con su bitset.
+ */
+public record AuthoritySet(Collection<GrantedAuthority> authorities, AuthorityBits bits) {
+}
@@ -0,0 +1,103 @@
+package com.autorization.autorization.security.authority;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de conjuntos de authorities canónicos.
+ *
+ * La mayoría de usuarios comparte unas pocas combinaciones de roles/permisos: cada combinación se
+ * normaliza (ROLE_ / PERM_) una sola vez y se guarda como una colección inmutable compartida, y cada
+ * authority individual se interna para que todas las combinaciones reutilicen la misma instancia.
+ * Si se alcanza el máximo de combinaciones se siguen resolviendo, pero sin registrarlas.
+ *
+ * Cada combinación lleva además su {@link AuthorityBits} sobre el {@link AuthorityCatalog} vigente; si el
+ * catálogo se reconstruye, el bitset se recalcula la próxima vez que se resuelve la combinación.
+ */
+@Component
+@Slf4j
+public class AuthoritySetRegistry {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+    public static final String PERMISSION_PREFIX = "PERM_";
+
+    private final int maxCombinations;
+    private final AuthorityCatalog authorityCatalog;
+    private final ConcurrentHashMap<CombinationKey, AuthoritySet> combinations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+    public AuthoritySetRegistry(@Value("${security.authorities.max-combinations:10000}") int maxCombinations,
+                                AuthorityCatalog authorityCatalog) {
+        this.maxCombinations = maxCombinations;
+        this.authorityCatalog = authorityCatalog;
+    }
+
+    /**
+     * Devuelve la colección inmutable y compartida de authorities para la combinación de roles y permisos,
+     * con su bitset calculado sobre la versión actual del catálogo.
+     */
+    public AuthoritySet resolve(Collection<String> roles, Collection<String> permissions) {
+        CombinationKey key = new CombinationKey(Set.copyOf(roles), Set.copyOf(permissions));
+        AuthorityCatalog.Snapshot catalog = authorityCatalog.snapshot();
+
+        AuthoritySet existing = combinations.get(key);
+        if (existing != null) {
+            if (existing.bits().version() == catalog.version()) {
+                return existing;
+            }
+            AuthoritySet refreshed = new AuthoritySet(existing.authorities(), bits(catalog, existing.authorities()));
+            combinations.replace(key, existing, refreshed);
+            return refreshed;
+        }
+
+        List<GrantedAuthority> authorities = build(key);
+        AuthoritySet built = new AuthoritySet(authorities, bits(catalog, authorities));
+        if (combinations.size() >= maxCombinations) {
+            log.debug("Registro de authorities lleno ({}), combinación no registrada", maxCombinations);
+            return built;
+        }
+        AuthoritySet previous = combinations.putIfAbsent(key, built);
+        return previous != null ? previous : built;
+    }
+
+    public int size() {
+        return combinations.size();
+    }
+
+    public void clear() {
+        combinations.clear();
+        authorities.clear();
+    }
+
+    private List<GrantedAuthority> build(CombinationKey key) {
+        // normalizar y evitar duplicados, manteniendo roles primero
+        Set<String> normalized = new LinkedHashSet<>();
+        key.roles().forEach(r -> normalized.add(r.startsWith(ROLE_PREFIX) ? r : ROLE_PREFIX + r));
+        key.permissions().forEach(p -> normalized.add(p.startsWith(PERMISSION_PREFIX) ? p : PERMISSION_PREFIX + p));
+
+        List<GrantedAuthority> result = new ArrayList<>(normalized.size());
+        normalized.forEach(a -> result.add(intern(a)));
+        return List.copyOf(result);
+    }
+
+    private AuthorityBits bits(AuthorityCatalog.Snapshot catalog, Collection<GrantedAuthority> authorities) {
+        return AuthorityBits.of(catalog, authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    private GrantedAuthority intern(String authority) {
+        return authorities.computeIfAbsent(authority, SimpleGrantedAuthority::new);
+    }
+
+    private record CombinationKey(Set<String> roles, Set<String> permissions) {
+    }
+}
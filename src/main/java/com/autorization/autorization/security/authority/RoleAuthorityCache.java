@@ -0,0 +1,133 @@
+package com.autorization.autorization.security.authority;
+
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
+import com.autorization.autorization.security.util.PermissionSetHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache en proceso de rol → (nombre, permisos) para resolver los tokens compactos.
+ *
+ * Un token compacto solo trae ids de roles y el hash del conjunto de permisos con el que se emitió.
+ * Si el hash calculado con la cache no coincide, los permisos cambiaron desde la emisión y el token se rechaza.
+ *
+ * Un cambio hecho en esta instancia vacía la cache ({@link AuthorizationModelChangedEvent}), así que cada rol se
+ * lee de la base de datos una sola vez por versión del modelo. Un cambio hecho en otra instancia solo se ve
+ * releyendo el rol: ante un hash distinto se relee, pero como mucho una vez cada
+ * {@code security.compact-token.role-revalidate-ms} por rol, para que repetir un token desactualizado no genere
+ * una lectura por request.
+ */
+@Component
+@Slf4j
+public class RoleAuthorityCache {
+
+    private final RoleRepositoryPort roleRepositoryPort;
+    private final long revalidateNanos;
+    private final ConcurrentHashMap<String, CachedRole> roles = new ConcurrentHashMap<>();
+
+    public RoleAuthorityCache(RoleRepositoryPort roleRepositoryPort,
+                              @Value("${security.compact-token.role-revalidate-ms:30000}") long revalidateMs) {
+        this.roleRepositoryPort = roleRepositoryPort;
+        this.revalidateNanos = TimeUnit.MILLISECONDS.toNanos(revalidateMs);
+    }
+
+    /**
+     * @return roles y permisos efectivos, o {@code null} si no corresponden al hash del token
+     */
+    public ResolvedRoles resolve(Collection<String> roleIds, String expectedPermissionSetHash) {
+        ResolvedRoles resolved = build(roleIds);
+        if (resolved != null && resolved.permissionSetHash().equals(expectedPermissionSetHash)) {
+            return resolved;
+        }
+
+        if (revalidate(roleIds)) {
+            resolved = build(roleIds);
+            if (resolved != null && resolved.permissionSetHash().equals(expectedPermissionSetHash)) {
+                return resolved;
+            }
+        }
+        log.debug("Token compacto con conjunto de permisos desactualizado para roles={}", roleIds);
+        return null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationModelChanged(AuthorizationModelChangedEvent event) {
+        roles.clear();
+    }
+
+    public int size() {
+        return roles.size();
+    }
+
+    /**
+     * Relee los roles cuya entrada tiene más de {@code revalidateNanos}; las recién cargadas ya reflejan la base de datos.
+     *
+     * @return si se releyó alguno
+     */
+    private boolean revalidate(Collection<String> roleIds) {
+        long now = System.nanoTime();
+        boolean reloaded = false;
+        for (String roleId : roleIds) {
+            CachedRole current = roles.get(roleId);
+            if (current == null || now - current.loadedAt() < revalidateNanos) {
+                continue;
+            }
+            // compute es atómico por clave: peticiones concurrentes con el mismo token no releen el rol dos veces
+            CachedRole updated = roles.compute(roleId, (id, cached) ->
+                    cached == null || now - cached.loadedAt() < revalidateNanos ? cached : load(id));
+            reloaded |= updated != current;
+        }
+        return reloaded;
+    }
+
+    private ResolvedRoles build(Collection<String> roleIds) {
+        List<String> names = new ArrayList<>(roleIds.size());
+        Set<String> permissions = new LinkedHashSet<>();
+        for (String roleId : roleIds) {
+            Optional<RoleAuthorities> role = roles.computeIfAbsent(roleId, this::load).authorities();
+            if (role.isEmpty()) {
+                return null;
+            }
+            names.add(role.get().name());
+            permissions.addAll(role.get().permissions());
+        }
+        return new ResolvedRoles(List.copyOf(names), List.copyOf(permissions), PermissionSetHash.of(permissions));
+    }
+
+    private CachedRole load(String roleId) {
+        return new CachedRole(roleRepositoryPort.findById(new RoleId(UUID.fromString(roleId))).map(RoleAuthorities::of),
+                System.nanoTime());
+    }
+
+    private record CachedRole(Optional<RoleAuthorities> authorities, long loadedAt) {
+    }
+
+    private record RoleAuthorities(String name, List<String> permissions) {
+
+        static RoleAuthorities of(RoleDomain role) {
+            return new RoleAuthorities(role.getName().value(),
+                    role.getPermissions().stream().map(p -> p.getName().value()).toList());
+        }
+    }
+
+    /**
+     * Roles y permisos efectivos de un token compacto, listos para {@link AuthoritySetRegistry}.
+     */
+    public record ResolvedRoles(List<String> roles, List<String> permissions, String permissionSetHash) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.autorization.autorization.security.cache;
+
+import com.autorization.autorization.security.service.AuthPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Autenticación ya resuelta para un token: principal y authorities listos para construir el
+ * UsernamePasswordAuthenticationToken del request sin volver a verificar ni decodificar el JWT.
+ * {@code tokenId} e {@code issuedAt} se conservan porque la revocación se comprueba en cada request, también en los hits.
+ * Sin principal ({@link #rejected(Instant)}) marca un token con firma válida pero rechazado, que se cachea igual
+ * hasta su 'exp' para no repetir la resolución en cada request.
+ */
+public record CachedAuthentication(
+        AuthPrincipal principal,
+        Collection<GrantedAuthority> authorities,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public CachedAuthentication {
+        authorities = authorities == null ? List.of() : List.copyOf(authorities);
+    }
+
+    public static CachedAuthentication rejected(Instant expiresAt) {
+        return new CachedAuthentication(null, List.of(), null, null, expiresAt);
+    }
+
+    public boolean isRejected() {
+        return principal == null;
+    }
+}
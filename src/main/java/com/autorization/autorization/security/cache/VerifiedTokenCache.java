@@ -0,0 +1,145 @@
+package com.autorization.autorization.security.cache;
+
+import com.autorization.autorization.security.authority.AuthorityCatalogRebuiltEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Cache acotada de autenticaciones ya verificadas, indexada por el SHA-256 del bearer token
+ * (nunca se guarda el token en claro).
+ *
+ * - Tamaño máximo configurable (jwt.cache.max-size).
+ * - Cada entrada expira como muy tarde en el 'exp' del propio token, y nunca después de jwt.cache.max-ttl-ms.
+ * - Los tokens rechazados tras verificar la firma ({@link CachedAuthentication#rejected}) también se cachean,
+ *   con la misma expiración: repetirlos no vuelve a consultar la base de datos.
+ * - Hits/misses/evictions se publican en Micrometer bajo el nombre 'jwt.verified-tokens'.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final Cache<TokenDigest, CachedAuthentication> cache;
+    private final MessageDigest digestPrototype;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.cache.max-ttl-ms:300000}") long maxTtlMs,
+                              MeterRegistry meterRegistry) {
+        Duration maxTtl = Duration.ofMillis(maxTtlMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        this.digestPrototype = newSha256();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Cache de tokens verificados inicializada: maxSize={}, maxTtl={}", maxSize, maxTtl);
+    }
+
+    /**
+     * Devuelve la autenticación cacheada para el token o la calcula con {@code loader}.
+     * Si el loader lanza excepción (token inválido) o devuelve null, no se cachea nada.
+     *
+     * @return la autenticación, o {@code null} si el token está rechazado
+     */
+    public CachedAuthentication get(String token, Function<String, CachedAuthentication> loader) {
+        CachedAuthentication cached = cache.get(digest(token), d -> loader.apply(token));
+        return cached == null || cached.isRejected() ? null : cached;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onAuthorityCatalogRebuilt(AuthorityCatalogRebuiltEvent event) {
+        // los principals cacheados llevan bitsets de la versión anterior del catálogo
+        invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private TokenDigest digest(String token) {
+        try {
+            // clonar el prototipo evita la búsqueda de provider de MessageDigest.getInstance en cada request
+            MessageDigest md = (MessageDigest) digestPrototype.clone();
+            return new TokenDigest(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (CloneNotSupportedException e) {
+            return new TokenDigest(newSha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static final class TokenDigest {
+        private final byte[] value;
+        private final int hash;
+
+        private TokenDigest(byte[] value) {
+            this.value = value;
+            this.hash = Arrays.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenDigest other && Arrays.equals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record TokenExpiry(Duration maxTtl) implements Expiry<TokenDigest, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, CachedAuthentication value, long currentTime) {
+            long ttl = maxTtl.toNanos();
+            if (value.expiresAt() != null) {
+                long untilExp = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+                ttl = Math.min(ttl, Math.max(0, untilExp));
+            }
+            return ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
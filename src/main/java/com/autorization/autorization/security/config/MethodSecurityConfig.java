@@ -0,0 +1,78 @@
+package com.autorization.autorization.security.config;
+
+import com.autorization.autorization.security.authority.AuthorityCatalog;
+import com.autorization.autorization.security.expression.BitsetMethodSecurityExpressionHandler;
+import com.autorization.autorization.security.expression.CompiledPreAuthorizeAuthorizationManager;
+import com.autorization.autorization.security.expression.PreAuthorizeExpressionCompiler;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+/**
+ * Seguridad de métodos.
+ *
+ * Los interceptores pre/post se registran a mano para que {@code @PreAuthorize} use las expresiones
+ * precompiladas ({@link CompiledPreAuthorizeAuthorizationManager}); el resto de anotaciones y las
+ * expresiones no compilables se evalúan con SpEL sobre el {@link BitsetMethodSecurityExpressionHandler}.
+ */
+@EnableMethodSecurity(prePostEnabled = false)
+@Configuration
+public class MethodSecurityConfig {
+
+    /** Paquetes cuyos controladores se escanean al arrancar para precompilar sus {@code @PreAuthorize}. */
+    public static final String[] PRE_AUTHORIZE_PACKAGES = {
+            "com.autorization.autorization.auth.adapter.in.web.controller.rest",
+            "com.autorization.autorization.audit.adapter.in.web.controller.rest"
+    };
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static BitsetMethodSecurityExpressionHandler methodSecurityExpressionHandler(ObjectProvider<AuthorityCatalog> authorityCatalog) {
+        // hasAuthority/hasRole por bitset cuando el principal lo trae, por strings en caso contrario
+        return new BitsetMethodSecurityExpressionHandler(authorityCatalog);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(BitsetMethodSecurityExpressionHandler expressionHandler) {
+        PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(expressionHandler);
+        PreAuthorizeExpressionCompiler compiler = new PreAuthorizeExpressionCompiler(expressionHandler.getAuthorityMatcher());
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+                new CompiledPreAuthorizeAuthorizationManager(compiler, spel, PRE_AUTHORIZE_PACKAGES));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAuthorizationMethodInterceptor(BitsetMethodSecurityExpressionHandler expressionHandler) {
+        PostAuthorizeAuthorizationManager manager = new PostAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(expressionHandler);
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(manager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAuthorizationMethodInterceptor(BitsetMethodSecurityExpressionHandler expressionHandler) {
+        PreFilterAuthorizationMethodInterceptor interceptor = new PreFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler);
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAuthorizationMethodInterceptor(BitsetMethodSecurityExpressionHandler expressionHandler) {
+        PostFilterAuthorizationMethodInterceptor interceptor = new PostFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler);
+        return interceptor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.autorization.autorization.security.config;
+
+import com.autorization.autorization.security.password.IterationTaggedPbkdf2PasswordEncoder;
+import com.autorization.autorization.security.password.LegacyPasswordEncoder;
+import com.autorization.autorization.security.password.PasswordHashCalibrator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Política de hash de contraseñas.
+ *
+ * Los hashes se guardan con prefijo {@code {id}} ({@link DelegatingPasswordEncoder}): {@code security.password.encoder}
+ * elige el algoritmo de los hashes nuevos y los demás ids siguen verificando. El coste se fija por configuración o,
+ * con -1, se calibra al arrancar para que una verificación tarde {@code security.password.target-ms}; así el
+ * presupuesto de CPU por login es conocido. Los hashes con otro algoritmo o un coste menor se re-hashean en el login.
+ *
+ * Argon2 solo está disponible si BouncyCastle está en el classpath.
+ */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+
+    private static final boolean ARGON2_AVAILABLE =
+            ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", PasswordEncoderConfig.class.getClassLoader());
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.encoder:bcrypt}") String encoderId,
+                                           @Value("${security.password.target-ms:250}") long targetMs,
+                                           @Value("${security.password.bcrypt.strength:-1}") int bcryptStrength,
+                                           @Value("${security.password.pbkdf2.iterations:-1}") int pbkdf2Iterations) {
+        String idForEncode = encoderId.trim().toLowerCase();
+        if (ARGON2.equals(idForEncode) && !ARGON2_AVAILABLE) {
+            throw new IllegalStateException("security.password.encoder=argon2 requiere BouncyCastle en el classpath");
+        }
+
+        // solo se calibra el algoritmo que codifica; los otros verifican leyendo el coste del propio hash
+        int strength = bcryptStrength > 0 ? bcryptStrength
+                : BCRYPT.equals(idForEncode) ? PasswordHashCalibrator.bcryptStrength(targetMs) : PasswordHashCalibrator.MIN_BCRYPT_STRENGTH;
+        int iterations = pbkdf2Iterations > 0 ? pbkdf2Iterations
+                : PBKDF2.equals(idForEncode) ? PasswordHashCalibrator.pbkdf2Iterations(targetMs) : PasswordHashCalibrator.MIN_PBKDF2_ITERATIONS;
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(strength));
+        encoders.put(PBKDF2, new IterationTaggedPbkdf2PasswordEncoder(iterations));
+        if (ARGON2_AVAILABLE) {
+            encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("security.password.encoder no soportado: " + encoderId);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // hashes anteriores al prefijo {id}: bcrypt sin prefijo o texto plano
+        delegating.setDefaultPasswordEncoderForMatches(new LegacyPasswordEncoder());
+
+        double measured = PasswordHashCalibrator.measure(encoders.get(idForEncode));
+        log.info("Hash de contraseñas: {} (bcrypt strength={}, pbkdf2 iteraciones={}), {} ms por verificación (objetivo {} ms)",
+                idForEncode, strength, iterations, String.format("%.1f", measured), targetMs);
+        return delegating;
+    }
+}
@@ -0,0 +1,47 @@
+package com.autorization.autorization.security.expression;
+
+import com.autorization.autorization.security.authority.AuthorityCatalog;
+import com.autorization.autorization.security.authority.AuthorityMatcher;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Handler de expresiones de método que envuelve el root estándar en un {@link BitsetMethodSecurityExpressionRoot}.
+ * El catálogo se obtiene de forma perezosa porque este handler es infraestructura y se crea antes que los repositorios.
+ */
+public class BitsetMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final AuthorityMatcher authorityMatcher;
+
+    public BitsetMethodSecurityExpressionHandler(ObjectProvider<AuthorityCatalog> authorityCatalog) {
+        this(new AuthorityMatcher(() -> {
+            AuthorityCatalog catalog = authorityCatalog.getIfAvailable();
+            return catalog != null ? catalog.snapshot() : null;
+        }));
+    }
+
+    public BitsetMethodSecurityExpressionHandler(AuthorityMatcher authorityMatcher) {
+        this.authorityMatcher = authorityMatcher;
+    }
+
+    public AuthorityMatcher getAuthorityMatcher() {
+        return authorityMatcher;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<? extends Authentication> authentication, MethodInvocation mi) {
+        EvaluationContext context = super.createEvaluationContext(authentication, mi);
+        if (context instanceof StandardEvaluationContext standard
+                && standard.getRootObject().getValue() instanceof MethodSecurityExpressionOperations root) {
+            standard.setRootObject(new BitsetMethodSecurityExpressionRoot(root, authorityMatcher));
+        }
+        return context;
+    }
+}
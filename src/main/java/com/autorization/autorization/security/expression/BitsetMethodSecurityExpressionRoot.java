@@ -0,0 +1,134 @@
+package com.autorization.autorization.security.expression;
+
+import com.autorization.autorization.security.authority.AuthorityMatcher;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Root de expresiones de seguridad que resuelve hasAuthority/hasRole (y sus variantes "any") con un test
+ * de bit sobre el {@code AuthorityBits} del principal. Si el principal no trae bitset, si fue calculado con
+ * otra versión del catálogo o si la authority no está catalogada y el bitset es incompleto, se delega en
+ * el root estándar de Spring (recorrido de strings). El resto de operaciones se delegan sin cambios.
+ */
+public class BitsetMethodSecurityExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private final MethodSecurityExpressionOperations delegate;
+    private final AuthorityMatcher authorityMatcher;
+
+    public BitsetMethodSecurityExpressionRoot(MethodSecurityExpressionOperations delegate,
+                                              AuthorityMatcher authorityMatcher) {
+        this.delegate = delegate;
+        this.authorityMatcher = authorityMatcher;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        Boolean granted = test(authority);
+        return granted != null ? granted : delegate.hasAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        for (String authority : authorities) {
+            if (hasAuthority(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        if (role.startsWith(AuthoritySetRegistry.ROLE_PREFIX)) {
+            // Spring decide qué hacer con roles ya prefijados
+            return delegate.hasRole(role);
+        }
+        Boolean granted = test(AuthoritySetRegistry.ROLE_PREFIX + role);
+        return granted != null ? granted : delegate.hasRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        for (String role : roles) {
+            if (hasRole(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Boolean test(String authority) {
+        return authorityMatcher.test(delegate.getAuthentication(), authority);
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+}
@@ -0,0 +1,116 @@
+package com.autorization.autorization.security.expression;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.MethodAuthorizationDeniedHandler;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * AuthorizationManager para {@code @PreAuthorize} que evalúa las expresiones precompiladas a predicados Java.
+ *
+ * Al arrancar se recorren los controladores de los paquetes indicados y se compila cada expresión con
+ * {@link PreAuthorizeExpressionCompiler}; los métodos que aparezcan después se compilan en la primera
+ * invocación. Las expresiones no soportadas se delegan en el {@link PreAuthorizeAuthorizationManager} de Spring.
+ */
+@Slf4j
+public class CompiledPreAuthorizeAuthorizationManager
+        implements AuthorizationManager<MethodInvocation>, MethodAuthorizationDeniedHandler {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    /** Marca los métodos cuya expresión se evalúa con SpEL. */
+    private static final Predicate<Authentication> SPEL = authentication -> false;
+
+    private final PreAuthorizeExpressionCompiler compiler;
+    private final PreAuthorizeAuthorizationManager fallback;
+    private final Map<Method, Predicate<Authentication>> compiled = new ConcurrentHashMap<>();
+
+    public CompiledPreAuthorizeAuthorizationManager(PreAuthorizeExpressionCompiler compiler,
+                                                    PreAuthorizeAuthorizationManager fallback,
+                                                    String... basePackages) {
+        this.compiler = compiler;
+        this.fallback = fallback;
+        precompile(basePackages);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication, MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Predicate<Authentication> predicate = compiled.get(method);
+        if (predicate == null) {
+            predicate = compiled.computeIfAbsent(method, m -> compile(m, targetClass(invocation)));
+        }
+        if (predicate == SPEL) {
+            return fallback.authorize(authentication, invocation);
+        }
+        return predicate.test(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    @Override
+    public Object handleDeniedInvocation(MethodInvocation invocation, AuthorizationResult result) {
+        return fallback.handleDeniedInvocation(invocation, result);
+    }
+
+    int compiledCount() {
+        return (int) compiled.values().stream().filter(p -> p != SPEL).count();
+    }
+
+    boolean isCompiled(Method method) {
+        Predicate<Authentication> predicate = compiled.get(method);
+        return predicate != null && predicate != SPEL;
+    }
+
+    private void precompile(String... basePackages) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Controller.class));
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), ClassUtils.getDefaultClassLoader());
+                ReflectionUtils.doWithMethods(type,
+                        method -> compiled.put(method, compile(method, type)),
+                        method -> AnnotatedElementUtils.hasAnnotation(method, PreAuthorize.class)
+                                || AnnotatedElementUtils.hasAnnotation(type, PreAuthorize.class));
+            }
+        }
+        log.info("@PreAuthorize precompilados: {} de {} métodos", compiledCount(), compiled.size());
+    }
+
+    private Predicate<Authentication> compile(Method method, Class<?> targetClass) {
+        PreAuthorize annotation = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+        if (annotation == null && targetClass != null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        if (annotation == null) {
+            return SPEL;
+        }
+        return compiler.compile(annotation.value()).orElseGet(() -> {
+            log.debug("@PreAuthorize no compilable en {}: se evalúa con SpEL", method);
+            return SPEL;
+        });
+    }
+
+    private static Class<?> targetClass(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        return target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+    }
+}
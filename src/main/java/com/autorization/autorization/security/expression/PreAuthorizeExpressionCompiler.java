@@ -0,0 +1,203 @@
+package com.autorization.autorization.security.expression;
+
+import com.autorization.autorization.security.authority.AuthorityMatcher;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Compila las expresiones de {@code @PreAuthorize} más comunes a predicados Java sobre las authorities.
+ *
+ * Gramática soportada:
+ * <pre>
+ *   expr   := term (('or' | '||') term)*
+ *   term   := factor (('and' | '&amp;&amp;') factor)*
+ *   factor := '(' expr ')' | call
+ *   call   := hasAuthority('x') | hasAnyAuthority('x', ...) | hasRole('x') | hasAnyRole('x', ...)
+ *           | permitAll | denyAll
+ * </pre>
+ * Cualquier otra construcción devuelve {@link Optional#empty()} y la expresión se evalúa con SpEL.
+ */
+public class PreAuthorizeExpressionCompiler {
+
+    private final AuthorityMatcher authorityMatcher;
+
+    public PreAuthorizeExpressionCompiler(AuthorityMatcher authorityMatcher) {
+        this.authorityMatcher = authorityMatcher;
+    }
+
+    public Optional<Predicate<Authentication>> compile(String expression) {
+        try {
+            Parser parser = new Parser(tokenize(expression));
+            Predicate<Authentication> predicate = parser.expression();
+            return parser.atEnd() ? Optional.of(predicate) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Predicate<Authentication> authority(String authority) {
+        return authentication -> authorityMatcher.hasAuthority(authentication, authority);
+    }
+
+    private Predicate<Authentication> anyAuthority(List<String> authorities) {
+        String[] values = authorities.toArray(String[]::new);
+        return authentication -> {
+            for (String authority : values) {
+                if (authorityMatcher.hasAuthority(authentication, authority)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static String role(String role) {
+        if (role.startsWith(AuthoritySetRegistry.ROLE_PREFIX)) {
+            // Spring trata los roles ya prefijados de forma particular: se deja a SpEL
+            throw new IllegalArgumentException("Rol con prefijo: " + role);
+        }
+        return AuthoritySetRegistry.ROLE_PREFIX + role;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')' || c == ',') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '\'') {
+                int end = expression.indexOf('\'', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Literal sin cerrar");
+                }
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            } else if (expression.startsWith("&&", i) || expression.startsWith("||", i)) {
+                tokens.add(expression.substring(i, i + 2));
+                i += 2;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < expression.length() && Character.isJavaIdentifierPart(expression.charAt(end))) {
+                    end++;
+                }
+                tokens.add(expression.substring(i, end));
+                i = end;
+            } else {
+                throw new IllegalArgumentException("Símbolo no soportado: " + c);
+            }
+        }
+        return tokens;
+    }
+
+    private final class Parser {
+
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean atEnd() {
+            return position == tokens.size();
+        }
+
+        Predicate<Authentication> expression() {
+            Predicate<Authentication> left = term();
+            while (accept("or") || accept("||")) {
+                left = left.or(term());
+            }
+            return left;
+        }
+
+        Predicate<Authentication> term() {
+            Predicate<Authentication> left = factor();
+            while (accept("and") || accept("&&")) {
+                left = left.and(factor());
+            }
+            return left;
+        }
+
+        Predicate<Authentication> factor() {
+            if (accept("(")) {
+                Predicate<Authentication> inner = expression();
+                expect(")");
+                return inner;
+            }
+            String name = next();
+            return switch (name) {
+                case "permitAll" -> {
+                    optionalParentheses();
+                    yield authentication -> true;
+                }
+                case "denyAll" -> {
+                    optionalParentheses();
+                    yield authentication -> false;
+                }
+                case "hasAuthority" -> authority(single());
+                case "hasRole" -> authority(role(single()));
+                case "hasAnyAuthority" -> anyAuthority(arguments());
+                case "hasAnyRole" -> anyAuthority(arguments().stream().map(PreAuthorizeExpressionCompiler::role).toList());
+                default -> throw new IllegalArgumentException("Función no soportada: " + name);
+            };
+        }
+
+        private void optionalParentheses() {
+            if (accept("(")) {
+                expect(")");
+            }
+        }
+
+        private String single() {
+            List<String> arguments = arguments();
+            if (arguments.size() != 1) {
+                throw new IllegalArgumentException("Se esperaba un único argumento");
+            }
+            return arguments.get(0);
+        }
+
+        private List<String> arguments() {
+            expect("(");
+            List<String> values = new ArrayList<>();
+            do {
+                String literal = next();
+                if (literal.length() < 2 || literal.charAt(0) != '\'') {
+                    throw new IllegalArgumentException("Se esperaba un literal: " + literal);
+                }
+                values.add(literal.substring(1, literal.length() - 1));
+            } while (accept(","));
+            expect(")");
+            return values;
+        }
+
+        private boolean accept(String token) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw new IllegalArgumentException("Se esperaba '" + token + "'");
+            }
+        }
+
+        private String next() {
+            if (atEnd()) {
+                throw new IllegalArgumentException("Fin inesperado de la expresión");
+            }
+            return tokens.get(position++);
+        }
+    }
+}
@@ -1,37 +1,46 @@
 package com.autorization.autorization.security.filter;
 
+import com.autorization.autorization.security.authority.AuthoritySet;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.authority.RoleAuthorityCache;
+import com.autorization.autorization.security.cache.CachedAuthentication;
+import com.autorization.autorization.security.cache.VerifiedTokenCache;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.service.AuthPrincipal;
 import com.autorization.autorization.security.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.autorization.autorization.security.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthoritySetRegistry authoritySetRegistry;
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                                   AuthoritySetRegistry authoritySetRegistry, RoleAuthorityCache roleAuthorityCache,
+                                   TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authoritySetRegistry = authoritySetRegistry;
+        this.roleAuthorityCache = roleAuthorityCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -45,57 +54,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                // obtener username (subject o claim 'email') de forma robusta
-                String username = jwtUtil.extractUsername(jwt);
-
-                if (username == null || username.isBlank()) {
-                    log.debug("Token válido pero no contiene subject ni claim 'email'");
-                } else if (jwtUtil.validateToken(jwt)) {
-                    // ahora extraer claims para roles/permisos
-                    Claims claims = jwtUtil.extractAllClaims(jwt);
-
-                    // Manejar listas de forma segura (convertir a String)
-                    Object rolesObj = claims.get("roles");
-                    List<String> roles = List.of();
-                    if (rolesObj instanceof List) {
-                        roles = ((List<?>) rolesObj).stream()
-                                .filter(Objects::nonNull)
-                                .map(Object::toString)
-                                .collect(Collectors.toList());
-                    }
-
-                    Object permsObj = claims.get("permissions");
-                    List<String> permissions = List.of();
-                    if (permsObj instanceof List) {
-                        permissions = ((List<?>) permsObj).stream()
-                                .filter(Objects::nonNull)
-                                .map(Object::toString)
-                                .collect(Collectors.toList());
-                    }
-
-                    // normalizar y evitar duplicados
-                    Set<String> normalized = roles.stream()
-                            .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
-                            .collect(Collectors.toSet());
-                    normalized.addAll(permissions.stream()
-                            .map(p -> p.startsWith("PERM_") ? p : "PERM_" + p)
-                            .collect(Collectors.toSet()));
-
-                    Collection<GrantedAuthority> authorities = new ArrayList<>();
-                    normalized.forEach(a -> authorities.add(new SimpleGrantedAuthority(a)));
-
-                    // extraer userId claim si existe
-                    String userIdClaim = null;
-                    try {
-                        Object uid = claims.get("userId");
-                        userIdClaim = uid == null ? null : uid.toString();
-                    } catch (Exception ignored) {}
-
-                    // crear principal con username y userId
-                    AuthPrincipal principal = new AuthPrincipal(username, userIdClaim);
+                // en estado estable el token ya está verificado: basta un lookup por su digest
+                CachedAuthentication cached = verifiedTokenCache.get(jwt, this::authenticate);
+
+                // la revocación puede llegar después de cachear el token: se comprueba siempre
+                if (cached != null && tokenRevocationService.isRevoked(
+                        cached.tokenId(), cached.principal().userId(), cached.issuedAt())) {
+                    log.debug("Token revocado para {}", cached.principal().username());
+                    cached = null;
+                }
 
+                if (cached != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            principal, null, authorities);
+                            cached.principal(), null, cached.authorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -106,4 +77,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private CachedAuthentication authenticate(String jwt) {
+        // un único parseo: firma, expiración y claims en una sola pasada
+        VerifiedToken token = jwtUtil.verify(jwt);
+        String username = token.subject();
+
+        if (username == null || username.isBlank()) {
+            log.debug("Token válido pero no contiene subject ni claim 'email'");
+            return null;
+        }
+
+        List<String> roles = token.roles();
+        List<String> permissions = token.permissions();
+        if (token.compact()) {
+            // token compacto: roles y permisos se resuelven desde la cache de roles
+            RoleAuthorityCache.ResolvedRoles resolved = roleAuthorityCache.resolve(token.roleIds(), token.permissionSetHash());
+            if (resolved == null) {
+                log.debug("Token compacto rechazado: los permisos de sus roles cambiaron desde la emisión");
+                // se cachea el rechazo hasta el 'exp': repetir el token no vuelve a resolver sus roles
+                return CachedAuthentication.rejected(token.expiresAt());
+            }
+            roles = resolved.roles();
+            permissions = resolved.permissions();
+        }
+
+        // colección compartida por todos los usuarios con la misma combinación de roles/permisos
+        AuthoritySet authorities = authoritySetRegistry.resolve(roles, permissions);
+
+        // crear principal con username, userId y el bitset de authorities
+        AuthPrincipal principal = new AuthPrincipal(username, token.userId(), authorities.bits());
+        return new CachedAuthentication(principal, authorities.authorities(), token.tokenId(), token.issuedAt(), token.expiresAt());
+    }
 }
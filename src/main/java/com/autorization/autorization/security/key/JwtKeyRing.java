@@ -0,0 +1,210 @@
+package com.autorization.autorization.security.key;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Anillo de claves asimétricas para firmar JWT (RS256 / ES256).
+ *
+ * - La clave activa firma los tokens nuevos y se identifica con el header {@code kid} (thumbprint RFC 7638).
+ * - Al rotar, la clave anterior deja de firmar pero sigue verificando y publicándose en el JWKS durante
+ *   la ventana de solapamiento (por defecto, la vida del token más 5 minutos).
+ * - La clave inicial se carga de {@code jwt.keys.private-key-pem}/{@code jwt.keys.public-key-pem} (PKCS#8 / X.509)
+ *   si se configuran, necesario con varias instancias; si no, se genera en memoria al arrancar. Las claves
+ *   configuradas no se rotan automáticamente: se rotan cambiando la configuración.
+ *
+ * Con {@code jwt.signing.algorithm=HS256} el anillo queda deshabilitado y se mantiene la firma HMAC con {@code jwt.secret}.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private final SignatureAlgorithm algorithm;
+    private final Duration overlap;
+    private final Clock clock;
+    private final boolean generatedKeys;
+    private final List<SigningKey> keys = new ArrayList<>();
+
+    private volatile SigningKey active;
+    private volatile List<SigningKey> published = List.of();
+
+    @Autowired
+    public JwtKeyRing(@Value("${jwt.signing.algorithm:HS256}") String algorithm,
+                      @Value("${jwt.keys.overlap-ms:-1}") long overlapMs,
+                      @Value("${jwt.expiration-ms:3600000}") long expirationMs,
+                      @Value("${jwt.keys.private-key-pem:}") String privateKeyPem,
+                      @Value("${jwt.keys.public-key-pem:}") String publicKeyPem) {
+        this(algorithm, overlapMs, expirationMs, privateKeyPem, publicKeyPem, Clock.systemUTC());
+    }
+
+    JwtKeyRing(String algorithm, long overlapMs, long expirationMs, String privateKeyPem, String publicKeyPem, Clock clock) {
+        this.algorithm = switch (algorithm.trim().toUpperCase()) {
+            case "HS256" -> null;
+            case "RS256" -> Jwts.SIG.RS256;
+            case "ES256" -> Jwts.SIG.ES256;
+            default -> throw new IllegalArgumentException("Algoritmo de firma JWT no soportado: " + algorithm);
+        };
+        // un token firmado con la clave anterior tiene que poder verificarse hasta que expire
+        this.overlap = Duration.ofMillis(overlapMs >= 0 ? overlapMs : expirationMs + Duration.ofMinutes(5).toMillis());
+        this.clock = clock;
+        this.generatedKeys = privateKeyPem.isBlank();
+
+        if (enabled()) {
+            KeyPair initial = privateKeyPem.isBlank()
+                    ? this.algorithm.keyPair().build()
+                    : new KeyPair(readPublicKey(publicKeyPem), readPrivateKey(privateKeyPem));
+            install(initial);
+        }
+    }
+
+    public boolean enabled() {
+        return algorithm != null;
+    }
+
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos.
+     */
+    public SigningKey active() {
+        SigningKey current = active;
+        if (current == null) {
+            throw new IllegalStateException("Firma asimétrica deshabilitada (jwt.signing.algorithm=HS256)");
+        }
+        return current;
+    }
+
+    /**
+     * Clave pública para verificar un token con el {@code kid} dado, si sigue vigente.
+     */
+    public Optional<PublicKey> verificationKey(String kid) {
+        Instant now = clock.instant();
+        for (SigningKey key : published) {
+            if (key.kid().equals(kid) && key.validAt(now)) {
+                return Optional.of(key.publicKey());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Genera una nueva clave activa; la anterior sigue verificando durante la ventana de solapamiento.
+     */
+    public synchronized SigningKey rotate() {
+        if (!enabled()) {
+            throw new IllegalStateException("Firma asimétrica deshabilitada (jwt.signing.algorithm=HS256)");
+        }
+        return install(algorithm.keyPair().build());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.rotation-ms:604800000}", initialDelayString = "${jwt.keys.rotation-ms:604800000}")
+    public void scheduledRotation() {
+        if (enabled() && generatedKeys) {
+            SigningKey key = rotate();
+            log.info("Rotación programada de clave JWT: nuevo kid={}", key.kid());
+        }
+    }
+
+    /**
+     * Documento JWKS (RFC 7517) con las claves públicas vigentes: la activa y las que están en solapamiento.
+     */
+    public Map<String, Object> jwks() {
+        Instant now = clock.instant();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : published) {
+            if (key.validAt(now)) {
+                jwks.add(key.jwk());
+            }
+        }
+        return Map.of("keys", jwks);
+    }
+
+    private synchronized SigningKey install(KeyPair keyPair) {
+        Instant now = clock.instant();
+        if (active != null) {
+            keys.set(keys.indexOf(active), active.retire(now.plus(overlap)));
+        }
+        // purgar claves cuya ventana de solapamiento ya terminó
+        keys.removeIf(key -> !key.validAt(now));
+
+        PublicJwk<?> jwk = Jwks.builder().key(keyPair.getPublic())
+                .algorithm(algorithm.getId())
+                .publicKeyUse("sig")
+                .idFromThumbprint()
+                .build();
+        Map<String, Object> json = new LinkedHashMap<>();
+        jwk.forEach(json::put);
+
+        SigningKey key = new SigningKey(jwk.getId(), keyPair.getPrivate(), keyPair.getPublic(), Map.copyOf(json), null);
+        keys.add(key);
+        active = key;
+        published = List.copyOf(keys);
+        log.info("Clave JWT activa: alg={}, kid={}, claves publicadas={}", algorithm.getId(), key.kid(), keys.size());
+        return key;
+    }
+
+    private PrivateKey readPrivateKey(String pem) {
+        try {
+            return KeyFactory.getInstance(keyFamily()).generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("jwt.keys.private-key-pem inválida", e);
+        }
+    }
+
+    private PublicKey readPublicKey(String pem) {
+        try {
+            return KeyFactory.getInstance(keyFamily()).generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("jwt.keys.public-key-pem inválida", e);
+        }
+    }
+
+    private String keyFamily() {
+        return algorithm == Jwts.SIG.ES256 ? "EC" : "RSA";
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END)[^-]*-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * Clave del anillo. {@code retiredAt} es null mientras está activa; después marca el fin del solapamiento.
+     */
+    public record SigningKey(String kid, PrivateKey privateKey, PublicKey publicKey,
+                             Map<String, Object> jwk, Instant retiredAt) {
+
+        boolean validAt(Instant instant) {
+            return retiredAt == null || instant.isBefore(retiredAt);
+        }
+
+        SigningKey retire(Instant until) {
+            return new SigningKey(kid, privateKey, publicKey, jwk, until);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.autorization.autorization.security.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PBKDF2-HMAC-SHA256 que guarda las iteraciones en el hash ({@code i<n>$<hash>}).
+ *
+ * {@code Pbkdf2PasswordEncoder} no las incluye, así que sin este prefijo no se podría verificar un hash antiguo
+ * tras cambiar la política ni detectar que hay que re-hashearlo.
+ */
+public class IterationTaggedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+    private final int iterations;
+    private final PasswordEncoder current;
+    private final Map<Integer, PasswordEncoder> byIterations = new ConcurrentHashMap<>();
+
+    public IterationTaggedPbkdf2PasswordEncoder(int iterations) {
+        this.iterations = iterations;
+        this.current = PasswordHashCalibrator.pbkdf2(iterations);
+        byIterations.put(iterations, current);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return "i" + iterations + "$" + current.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        int stored = iterationsOf(encodedPassword);
+        if (stored <= 0) {
+            return false;
+        }
+        return byIterations.computeIfAbsent(stored, PasswordHashCalibrator::pbkdf2)
+                .matches(rawPassword, encodedPassword.substring(encodedPassword.indexOf('$') + 1));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return iterationsOf(encodedPassword) < iterations;
+    }
+
+    private static int iterationsOf(String encodedPassword) {
+        int separator = encodedPassword == null ? -1 : encodedPassword.indexOf('$');
+        if (separator < 2 || encodedPassword.charAt(0) != 'i') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword, 1, separator, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.autorization.autorization.security.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Verificación de contraseñas guardadas antes de usar el prefijo {@code {id}}: hashes bcrypt sin prefijo
+ * y contraseñas en texto plano de la migración inicial. Solo verifica; al coincidir, el login las re-hashea
+ * con la política actual porque {@code upgradeEncoding} de la delegación siempre es true para ellas.
+ */
+public class LegacyPasswordEncoder implements PasswordEncoder {
+
+    // la strength no importa para verificar: se lee del propio hash
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        throw new UnsupportedOperationException("El formato heredado solo se usa para verificar");
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (isBcrypt(encodedPassword)) {
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+        // texto plano: comparación en tiempo constante
+        return MessageDigest.isEqual(
+                rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return true;
+    }
+
+    private static boolean isBcrypt(String encoded) {
+        return encoded.startsWith("$2a$") || encoded.startsWith("$2b$") || encoded.startsWith("$2y$");
+    }
+}
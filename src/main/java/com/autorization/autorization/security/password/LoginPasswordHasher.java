@@ -0,0 +1,139 @@
+package com.autorization.autorization.security.password;
+
+import com.autorization.autorization.shared.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta el hash de contraseñas del login en un pool propio y acotado, fuera de los hilos de Tomcat.
+ *
+ * - Tantos hilos como núcleos (o {@code security.password.executor.threads}): más no aumenta el throughput
+ *   de un trabajo 100% CPU.
+ * - Cola limitada a {@code security.password.executor.queue-capacity}; con la cola llena, o si la espera supera
+ *   {@code security.password.executor.max-wait-ms}, se responde 503 de inmediato en vez de acumular requests.
+ *
+ * Así una avalancha de logins satura este pool pero no deja sin hilos al resto de endpoints.
+ * Métricas: {@code auth.login.hash.wait} (espera en cola), {@code auth.login.hash.time} (hash),
+ * {@code auth.login.hash.rejected} y {@code auth.login.hash.queue}.
+ */
+@Component
+@Slf4j
+public class LoginPasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    public LoginPasswordHasher(PasswordEncoder passwordEncoder,
+                               MeterRegistry meterRegistry,
+                               @Value("${security.password.executor.threads:0}") int threads,
+                               @Value("${security.password.executor.queue-capacity:64}") int queueCapacity,
+                               @Value("${security.password.executor.max-wait-ms:2000}") long maxWaitMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWaitMs = maxWaitMs;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("auth.login.hash.wait")
+                .description("Tiempo en cola antes de empezar el hash de la contraseña")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.login.hash.time")
+                .description("Tiempo de CPU de verificar o generar el hash de la contraseña")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.login.hash.rejected")
+                .description("Logins rechazados con 503 por saturación del pool de hash")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hashes de contraseña esperando en cola")
+                .register(meterRegistry);
+        log.info("Pool de hash de contraseñas: {} hilos, cola {}, espera máxima {} ms", poolSize, queueCapacity, maxWaitMs);
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Solo inspecciona el formato del hash: no consume CPU y no pasa por el pool.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return work.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Login rechazado: pool de hash saturado ({} en cola)", executor.getQueue().size());
+            throw new ServiceOverloadedException("Demasiados inicios de sesión simultáneos, reintente en unos segundos", e);
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Login rechazado: el hash de la contraseña superó {} ms de espera", maxWaitMs);
+            throw new ServiceOverloadedException("Demasiados inicios de sesión simultáneos, reintente en unos segundos", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Inicio de sesión interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error al calcular el hash de la contraseña", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,67 @@
+package com.autorization.autorization.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Calcula el coste de hash que cabe en un tiempo objetivo por verificación en la máquina actual.
+ *
+ * Se mide un coste bajo (el mejor de varios intentos, para descartar el calentamiento de la JIT) y se extrapola:
+ * bcrypt dobla el tiempo por cada punto de strength, PBKDF2 escala lineal con las iteraciones.
+ * Los resultados se acotan a los mínimos recomendados aunque superen el objetivo.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    public static final int MIN_BCRYPT_STRENGTH = 10;
+    public static final int MAX_BCRYPT_STRENGTH = 16;
+    public static final int MIN_PBKDF2_ITERATIONS = 310_000;
+
+    private static final int BCRYPT_PROBE_STRENGTH = 6;
+    private static final int PBKDF2_PROBE_ITERATIONS = 20_000;
+    private static final int PROBE_RUNS = 5;
+    private static final String PROBE_PASSWORD = "calibration-password";
+
+    private PasswordHashCalibrator() {
+    }
+
+    public static int bcryptStrength(long targetMillis) {
+        double probe = bestOfRuns(new BCryptPasswordEncoder(BCRYPT_PROBE_STRENGTH));
+        int strength = BCRYPT_PROBE_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH && probe * (1L << (strength + 1 - BCRYPT_PROBE_STRENGTH)) <= targetMillis) {
+            strength++;
+        }
+        return Math.max(strength, MIN_BCRYPT_STRENGTH);
+    }
+
+    public static int pbkdf2Iterations(long targetMillis) {
+        double probe = bestOfRuns(pbkdf2(PBKDF2_PROBE_ITERATIONS));
+        long iterations = (long) (PBKDF2_PROBE_ITERATIONS * (targetMillis / Math.max(probe, 0.001)));
+        return (int) Math.min(Math.max(iterations, MIN_PBKDF2_ITERATIONS), 10_000_000L);
+    }
+
+    /**
+     * Tiempo en milisegundos de una verificación con el encoder dado (mejor de varios intentos).
+     */
+    public static double measure(PasswordEncoder encoder) {
+        return bestOfRuns(encoder);
+    }
+
+    public static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static double bestOfRuns(PasswordEncoder encoder) {
+        String encoded = encoder.encode(PROBE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long start = System.nanoTime();
+            encoder.matches(PROBE_PASSWORD, encoded);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.autorization.autorization.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre strings, sin borrado: para purgar se construye uno nuevo.
+ *
+ * Las k posiciones salen de doble hashing sobre {@link String#hashCode()} (cacheado por la propia String)
+ * mezclado con el finalizador de MurmurHash3, así que una consulta negativa no recorre el string ni reserva memoria.
+ * Admite escrituras concurrentes con lecturas; un lector puede no ver una inserción en curso.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long mask;
+    private final int hashes;
+    private final int capacity;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        this.capacity = Math.max(expectedInsertions, 64);
+        double optimalBits = -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        // potencia de dos para indexar con una máscara
+        long bits = Long.highestOneBit((long) Math.ceil(optimalBits) - 1) << 1;
+        this.words = new AtomicLongArray((int) Math.max(1, bits >>> 6));
+        this.mask = bits - 1;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void put(String value) {
+        long hash = mix(value.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + (long) i * h2) & mask;
+            int index = (int) (bit >>> 6);
+            long flag = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+            } while ((current & flag) == 0 && !words.compareAndSet(index, current, current | flag));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = mix(value.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + (long) i * h2) & mask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,222 @@
+package com.autorization.autorization.security.revocation;
+
+import com.autorization.autorization.auth.domain.model.token.RevokedTokenDomain;
+import com.autorization.autorization.auth.domain.model.token.UserTokenCutoffDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.port.out.TokenRevocationRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocación de access tokens antes de su expiración.
+ *
+ * - Por token: el claim {@code jti} se guarda en {@code revoked_tokens} hasta que el token expira.
+ * - Por usuario: un corte {@code not_before} en {@code user_token_cutoffs} invalida todo token con {@code iat} anterior
+ *   (desactivar un usuario, cambio de credenciales...).
+ *
+ * Ambos se persisten y se replican en memoria: un filtro de Bloom delante de cada conjunto exacto resuelve el caso
+ * normal (token no revocado) con unas pocas lecturas de memoria y sin tocar los mapas. La memoria se recarga desde
+ * base de datos periódicamente ({@code security.revocation.refresh-ms}), lo que además propaga las revocaciones
+ * hechas en otras instancias. Dentro de una transacción, la memoria solo se actualiza al confirmarse: un rollback
+ * no deja en memoria revocaciones que la base de datos no tiene.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenRevocationRepositoryPort tokenRevocationRepositoryPort;
+    private final int expectedEntries;
+    private final Duration tokenLifetime;
+    private final Clock clock;
+
+    private volatile State state;
+
+    @Autowired
+    public TokenRevocationService(TokenRevocationRepositoryPort tokenRevocationRepositoryPort,
+                                  @Value("${security.revocation.expected-entries:100000}") int expectedEntries,
+                                  @Value("${jwt.expiration-ms:3600000}") long expirationMs) {
+        this(tokenRevocationRepositoryPort, expectedEntries, expirationMs, Clock.systemUTC());
+    }
+
+    TokenRevocationService(TokenRevocationRepositoryPort tokenRevocationRepositoryPort, int expectedEntries,
+                           long expirationMs, Clock clock) {
+        this.tokenRevocationRepositoryPort = tokenRevocationRepositoryPort;
+        this.expectedEntries = expectedEntries;
+        this.tokenLifetime = Duration.ofMillis(expirationMs);
+        this.clock = clock;
+        this.state = new State(expectedEntries, expectedEntries);
+    }
+
+    /**
+     * @param tokenId  claim {@code jti}; null en tokens emitidos antes de existir el claim
+     * @param userId   claim {@code userId}
+     * @param issuedAt claim {@code iat}
+     */
+    public boolean isRevoked(String tokenId, String userId, Instant issuedAt) {
+        State current = state;
+        if (tokenId != null && current.tokenFilter.mightContain(tokenId) && current.tokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (userId != null && current.userFilter.mightContain(userId)) {
+            Instant notBefore = current.cutoffs.get(userId);
+            // iat tiene precisión de segundos: un token del mismo segundo que el corte se da por revocado
+            return notBefore != null && (issuedAt == null || issuedAt.isBefore(notBefore));
+        }
+        return false;
+    }
+
+    /**
+     * Revoca un access token concreto hasta su expiración.
+     */
+    public void revokeToken(String tokenId, UUID userId, Instant expiresAt) {
+        Instant now = clock.instant();
+        tokenRevocationRepositoryPort.saveRevokedToken(new RevokedTokenDomain(tokenId, userId, expiresAt, now));
+        afterCommit(() -> rememberToken(tokenId, expiresAt));
+        log.info("Token {} revocado (usuario {})", tokenId, userId);
+    }
+
+    /**
+     * Revoca todos los access tokens emitidos hasta ahora para el usuario.
+     */
+    public void revokeAllForUser(UserId userId) {
+        Instant now = clock.instant();
+        tokenRevocationRepositoryPort.saveUserCutoff(new UserTokenCutoffDomain(userId.id(), now));
+        afterCommit(() -> rememberCutoff(userId.id().toString(), now));
+        log.info("Tokens del usuario {} revocados hasta {}", userId.id(), now);
+    }
+
+    /**
+     * Revoca todos los access tokens emitidos hasta ahora para cada uno de los usuarios.
+     *
+     * @param userIds usuarios existentes: cada id recibe un corte también en memoria
+     */
+    public void revokeAllForUsers(Collection<UserId> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        List<UUID> ids = userIds.stream().map(UserId::id).distinct().toList();
+        tokenRevocationRepositoryPort.saveUserCutoffs(ids, now);
+        afterCommit(() -> ids.forEach(id -> rememberCutoff(id.toString(), now)));
+        log.info("Tokens de {} usuarios revocados hasta {}", ids.size(), now);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Reconstruye los filtros desde base de datos, descartando entradas que ya no pueden afectar a ningún token vigente.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-ms:30000}", initialDelayString = "${security.revocation.refresh-ms:30000}")
+    public void reload() {
+        try {
+            Instant now = clock.instant();
+            List<RevokedTokenDomain> tokens = tokenRevocationRepositoryPort.findRevokedTokensExpiringAfter(now);
+            List<UserTokenCutoffDomain> cutoffs = tokenRevocationRepositoryPort.findUserCutoffsAfter(now.minus(tokenLifetime));
+            synchronized (this) {
+                State previous = state;
+                State next = new State(Math.max(expectedEntries, 2 * tokens.size()), Math.max(expectedEntries, 2 * cutoffs.size()));
+                tokens.forEach(t -> next.addToken(t.tokenId(), t.expiresAt()));
+                cutoffs.forEach(c -> next.addCutoff(c.userId().toString(), c.notBefore()));
+                // lo revocado en esta instancia durante la consulta sigue en la memoria anterior
+                previous.copyValidInto(next, now, now.minus(tokenLifetime));
+                state = next;
+            }
+            log.debug("Revocaciones cargadas: {} tokens, {} usuarios", tokens.size(), cutoffs.size());
+        } catch (Exception e) {
+            log.warn("No se pudieron recargar las revocaciones de tokens: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-ms:3600000}", initialDelayString = "${security.revocation.purge-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        int tokens = tokenRevocationRepositoryPort.deleteRevokedTokensExpiredBefore(now);
+        int cutoffs = tokenRevocationRepositoryPort.deleteUserCutoffsBefore(now.minus(tokenLifetime));
+        log.info("Revocaciones purgadas: {} tokens, {} cortes de usuario", tokens, cutoffs);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private synchronized void rememberToken(String tokenId, Instant expiresAt) {
+        if (state.tokens.size() >= state.tokenFilter.capacity()) {
+            State grown = new State(state.tokenFilter.capacity() * 2, state.userFilter.capacity());
+            state.copyValidInto(grown, clock.instant(), clock.instant().minus(tokenLifetime));
+            state = grown;
+        }
+        state.addToken(tokenId, expiresAt);
+    }
+
+    private synchronized void rememberCutoff(String userId, Instant notBefore) {
+        if (state.cutoffs.size() >= state.userFilter.capacity()) {
+            State grown = new State(state.tokenFilter.capacity(), state.userFilter.capacity() * 2);
+            state.copyValidInto(grown, clock.instant(), clock.instant().minus(tokenLifetime));
+            state = grown;
+        }
+        state.addCutoff(userId, notBefore);
+    }
+
+    private static final class State {
+
+        final BloomFilter tokenFilter;
+        final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+        final BloomFilter userFilter;
+        final Map<String, Instant> cutoffs = new ConcurrentHashMap<>();
+
+        State(int expectedTokens, int expectedUsers) {
+            this.tokenFilter = new BloomFilter(expectedTokens, FALSE_POSITIVE_RATE);
+            this.userFilter = new BloomFilter(expectedUsers, FALSE_POSITIVE_RATE);
+        }
+
+        // primero el filtro: un lector que lo vea marcado encontrará la entrada o, como mucho, la verá un instante tarde
+        void addToken(String tokenId, Instant expiresAt) {
+            tokenFilter.put(tokenId);
+            tokens.put(tokenId, expiresAt);
+        }
+
+        void addCutoff(String userId, Instant notBefore) {
+            userFilter.put(userId);
+            cutoffs.merge(userId, notBefore, (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        void copyValidInto(State target, Instant now, Instant cutoffHorizon) {
+            tokens.forEach((id, expiresAt) -> {
+                if (expiresAt.isAfter(now)) target.addToken(id, expiresAt);
+            });
+            cutoffs.forEach((userId, notBefore) -> {
+                if (notBefore.isAfter(cutoffHorizon)) target.addCutoff(userId, notBefore);
+            });
+        }
+    }
+}
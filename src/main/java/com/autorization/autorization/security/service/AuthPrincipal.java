@@ -1,5 +1,14 @@
 package com.autorization.autorization.security.service;
 
-public record AuthPrincipal(String username, String userId) {
-}
+import com.autorization.autorization.security.authority.AuthorityBits;
+
+/**
+ * Principal autenticado por JWT. {@code authorityBits} es opcional y permite resolver
+ * hasAuthority/hasRole con un test de bit en lugar de recorrer las authorities.
+ */
+public record AuthPrincipal(String username, String userId, AuthorityBits authorityBits) {
 
+    public AuthPrincipal(String username, String userId) {
+        this(username, userId, null);
+    }
+}
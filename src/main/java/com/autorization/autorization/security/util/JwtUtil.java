@@ -1,67 +1,147 @@
 package com.autorization.autorization.security.util;
 
+import com.autorization.autorization.auth.domain.model.user.UserAuthView;
 import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.security.key.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
-
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    private final Key key;
+    // claims del formato compacto
+    static final String ROLE_IDS_CLAIM = "rid";
+    static final String PERMISSION_SET_HASH_CLAIM = "psh";
+
+    private final SecretKey key;
     private final long expirationMs;
+    private final TokenFormat defaultFormat;
+    private final JwtKeyRing keyRing;
+    // con firma asimétrica, los tokens HMAC emitidos antes del cambio se aceptan hasta que expiran
+    private final Instant hmacAcceptedUntil;
+    // JwtParser es inmutable y thread-safe: se construye una sola vez y se reutiliza en cada request
+    private final JwtParser parser;
+
+    public JwtUtil(String secret, long expirationMs) {
+        this(secret, expirationMs, TokenFormat.FULL, null);
+    }
 
+    @Autowired
     public JwtUtil(@Value("${jwt.secret}") String secret,
-                   @Value("${jwt.expiration-ms:3600000}") long expirationMs) {
+                   @Value("${jwt.expiration-ms:3600000}") long expirationMs,
+                   @Value("${jwt.format:FULL}") TokenFormat defaultFormat,
+                   JwtKeyRing keyRing) {
         // Usa Keys.hmacShaKeyFor directamente con el secret codificado
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.defaultFormat = defaultFormat;
+        this.keyRing = keyRing != null && keyRing.enabled() ? keyRing : null;
+        this.hmacAcceptedUntil = Instant.now().plusMillis(Math.max(expirationMs, 0));
+        this.parser = Jwts.parser()
+                .keyLocator(new SigningKeyLocator())
+                .build();
     }
 
     public String generateToken(UserDomain user) {
+        return generateToken(user, defaultFormat);
+    }
+
+    public String generateToken(UserDomain user, TokenFormat format) {
+        return generateToken(UserAuthView.of(user), format);
+    }
+
+    public String generateToken(UserAuthView user) {
+        return generateToken(user, defaultFormat);
+    }
+
+    public String generateToken(UserAuthView user, TokenFormat format) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
-        String email = user.getEmail().value();
+        String email = user.email().value();
 
-        // Mapeo limpio de roles y permisos
-        List<String> roles = user.getRoles().stream()
-                .map(r -> r.getName().value())
-                .collect(Collectors.toList());
+        List<String> permissions = user.permissionNames();
 
-        List<String> permissions = user.getRoles().stream()
-                .flatMap(r -> r.getPermissions().stream())
-                .map(p -> p.getName().value())
-                .distinct()
-                .collect(Collectors.toList());
+        if (format == TokenFormat.COMPACT) {
+            // ids de roles + hash del conjunto de permisos: tamaño constante aunque haya cientos de permisos
+            return sign(Jwts.builder()
+                    .setSubject(email)
+                    .claim(ROLE_IDS_CLAIM, user.roleIds())
+                    .claim(PERMISSION_SET_HASH_CLAIM, PermissionSetHash.of(permissions))
+                    .claim("userId", user.userId().id())
+                    .setId(UUID.randomUUID().toString())
+                    .setIssuedAt(now)
+                    .setExpiration(exp))
+                    .compact();
+        }
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .setSubject(email) // El email VA en el sub
-                .claim("roles", roles)
+                .claim("roles", user.roleNames())
                 .claim("permissions", permissions)
-                .claim("userId", user.getUserId().id())
-                .claim("email",user.getEmail().value())
+                .claim("userId", user.userId().id())
+                .claim("email", email)
+                .setId(UUID.randomUUID().toString()) // jti: clave de revocación individual
                 .setIssuedAt(now)
-                .setExpiration(exp)
-                .signWith(key)
+                .setExpiration(exp))
                 .compact();
     }
 
+    // con anillo de claves: clave privada activa y su kid en el header; si no, HMAC con jwt.secret
+    private JwtBuilder sign(JwtBuilder builder) {
+        if (keyRing == null) {
+            return builder.signWith(key);
+        }
+        JwtKeyRing.SigningKey signingKey = keyRing.active();
+        return builder.header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.privateKey(), keyRing.algorithm());
+    }
+
+    /**
+     * Verifica firma y expiración en un único parseo y devuelve los claims ya tipados.
+     * Lanza {@link io.jsonwebtoken.JwtException} si el token es inválido o ha expirado.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+
+        Object uid = claims.get("userId");
+        Object permissionSetHash = claims.get(PERMISSION_SET_HASH_CLAIM);
+        Date iat = claims.getIssuedAt();
+        Date exp = claims.getExpiration();
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                uid == null ? null : uid.toString(),
+                claims.getId(),
+                toStringList(claims.get("roles")),
+                toStringList(claims.get("permissions")),
+                toStringList(claims.get(ROLE_IDS_CLAIM)),
+                permissionSetHash == null ? null : permissionSetHash.toString(),
+                iat == null ? null : iat.toInstant(),
+                exp == null ? null : exp.toInstant()
+        );
+    }
+
     // Método robusto sin reflexión
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String extractUsername(String token) {
@@ -77,4 +157,38 @@ public class JwtUtil {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resuelve la clave de verificación a partir del header: por {@code kid} en el anillo de claves,
+     * o el secreto HMAC para tokens sin {@code kid}.
+     */
+    private final class SigningKeyLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(ProtectedHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (keyRing != null && Instant.now().isAfter(hmacAcceptedUntil)) {
+                    throw new JwtException("Token HMAC no aceptado con firma asimétrica");
+                }
+                return key;
+            }
+            if (keyRing == null) {
+                throw new JwtException("kid no esperado con firma HMAC");
+            }
+            return keyRing.verificationKey(kid)
+                    .orElseThrow(() -> new JwtException("kid desconocido o retirado: " + kid));
+        }
+    }
+
+    // Manejar listas de forma segura (convertir a String)
+    private static List<String> toStringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.autorization.autorization.security.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Hash de contenido de un conjunto de permisos: SHA-256 de los nombres ordenados y sin duplicados,
+ * truncado a 96 bits y codificado en base64url. Independiente del orden y de la instancia que lo calcule.
+ */
+public final class PermissionSetHash {
+
+    private static final int LENGTH_BYTES = 12;
+
+    private PermissionSetHash() {
+    }
+
+    public static String of(Collection<String> permissionNames) {
+        MessageDigest digest = sha256();
+        for (String name : new TreeSet<>(permissionNames)) {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            // separador que no puede aparecer en un nombre
+            digest.update((byte) 0);
+        }
+        byte[] hash = Arrays.copyOf(digest.digest(), LENGTH_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
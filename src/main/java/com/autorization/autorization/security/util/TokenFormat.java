@@ -0,0 +1,12 @@
+package com.autorization.autorization.security.util;
+
+/**
+ * Formato de los claims de autorización del JWT.
+ *
+ * - FULL: nombres de roles y permisos completos (autocontenido, para consumidores externos).
+ * - COMPACT: ids de roles y hash del conjunto efectivo de permisos; solo este servicio puede resolverlo.
+ */
+public enum TokenFormat {
+    FULL,
+    COMPACT
+}
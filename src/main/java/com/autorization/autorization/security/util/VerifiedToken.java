@@ -0,0 +1,34 @@
+package com.autorization.autorization.security.util;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resultado inmutable de verificar un JWT una sola vez: firma validada, expiración comprobada
+ * y claims ya convertidos a tipos simples para que el filtro no vuelva a tocar el token.
+ *
+ * En tokens compactos {@code roles}/{@code permissions} vienen vacíos y se informan
+ * {@code roleIds} y {@code permissionSetHash}, que se resuelven contra el modelo de roles.
+ * {@code tokenId} (claim {@code jti}) e {@code issuedAt} se usan para comprobar revocaciones.
+ */
+public record VerifiedToken(
+        String subject,
+        String userId,
+        String tokenId,
+        List<String> roles,
+        List<String> permissions,
+        List<String> roleIds,
+        String permissionSetHash,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+        permissions = permissions == null ? List.of() : List.copyOf(permissions);
+        roleIds = roleIds == null ? List.of() : List.copyOf(roleIds);
+    }
+
+    public boolean compact() {
+        return permissionSetHash != null;
+    }
+}
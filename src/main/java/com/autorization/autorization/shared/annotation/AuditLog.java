@@ -5,10 +5,30 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Audita la llamada al método. Los argumentos se guardan como JSON ({@code {"parametro": valor, ...}})
+ * según la política de captura de la anotación.
+ */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface AuditLog {
     String module();
 
     String action();
+
+    /**
+     * Propiedades de los argumentos que se capturan, a cualquier profundidad; vacío = todas.
+     */
+    String[] fields() default {};
+
+    /**
+     * Propiedades cuyo valor se sustituye por {@code "***"}, además de las de {@code audit.capture.redact}.
+     */
+    String[] redact() default {};
+
+    /**
+     * Tamaño máximo en bytes (UTF-8) de los argumentos capturados: -1 usa {@code audit.capture.max-bytes}
+     * y 0 no los captura.
+     */
+    int maxBytes() default -1;
 }
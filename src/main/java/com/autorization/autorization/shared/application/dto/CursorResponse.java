@@ -0,0 +1,15 @@
+package com.autorization.autorization.shared.application.dto;
+
+import java.util.List;
+
+/**
+ * Página de un listado por cursor. {@code nextCursor} es null en la última página; {@code approximateTotal}
+ * solo se rellena si se pide y es una estimación del planificador, no un conteo.
+ */
+public record CursorResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext,
+        Long approximateTotal
+) {}
@@ -0,0 +1,43 @@
+package com.autorization.autorization.shared.application.stream;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Escribe un array JSON elemento a elemento según los entrega un recorrido con cursor, sin construir la lista
+ * en memoria: solo el buffer del generador (unos KB) queda entre la base de datos y el cliente.
+ */
+public final class JsonArrayWriter {
+
+    private JsonArrayWriter() {
+    }
+
+    /**
+     * Abre el array, pasa a {@code source} un consumer que serializa cada elemento recibido y cierra el array.
+     * No cierra {@code out}. Devuelve lo que devuelva {@code source} (el número de elementos recorridos).
+     *
+     * @throws IOException si el cliente corta la descarga; el recorrido se aborta y libera la conexión
+     */
+    public static <T> long write(OutputStream out, JsonMapper jsonMapper, ToLongFunction<Consumer<T>> source)
+            throws IOException {
+        try (JsonGenerator generator = jsonMapper.writer()
+                // si el recorrido falla a mitad, el array queda sin cerrar: el cliente ve un JSON truncado, no uno válido
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .without(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+                .createGenerator(out)) {
+            generator.writeStartArray();
+            long written = source.applyAsLong(generator::writePOJO);
+            generator.writeEndArray();
+            return written;
+        } catch (JacksonIOException e) {
+            throw e.getCause();
+        }
+    }
+}
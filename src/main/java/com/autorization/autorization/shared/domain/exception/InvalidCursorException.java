@@ -0,0 +1,14 @@
+package com.autorization.autorization.shared.domain.exception;
+
+/**
+ * El token de continuación de un listado paginado por cursor no es válido (400).
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
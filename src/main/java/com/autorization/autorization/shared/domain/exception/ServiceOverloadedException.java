@@ -0,0 +1,14 @@
+package com.autorization.autorization.shared.domain.exception;
+
+/**
+ * El servicio no tiene capacidad para atender la petición ahora; el cliente debe reintentar más tarde (503).
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
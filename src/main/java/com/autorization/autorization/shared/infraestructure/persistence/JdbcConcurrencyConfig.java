@@ -0,0 +1,37 @@
+package com.autorization.autorization.shared.infraestructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource en un {@link ConnectionLimitingDataSource} cuando
+ * {@code persistence.jdbc.connection-limit.enabled=true} (por defecto, cuando se activan los hilos virtuales).
+ */
+@Configuration
+@Slf4j
+public class JdbcConcurrencyConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || !environment.getProperty("persistence.jdbc.connection-limit.enabled", Boolean.class,
+                        environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false))) {
+                    return bean;
+                }
+                int permits = environment.getProperty("persistence.jdbc.connection-limit.permits", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long timeoutMs = environment.getProperty("persistence.jdbc.connection-limit.acquire-timeout-ms", Long.class, 30_000L);
+                log.info("Límite de conexiones JDBC concurrentes en '{}': {} (espera máxima {} ms)", beanName, permits, timeoutMs);
+                return new ConnectionLimitingDataSource(dataSource, permits, timeoutMs);
+            }
+        };
+    }
+}
@@ -2,10 +2,13 @@ package com.autorization.autorization.shared.infraestructure.web;
 
 import com.autorization.autorization.auth.adapter.out.jpa.mapper.exception.MappingException;
 import com.autorization.autorization.shared.domain.exception.ErrorResponse;
+import com.autorization.autorization.shared.domain.exception.InvalidCursorException;
 import com.autorization.autorization.shared.domain.exception.PersistenceException;
+import com.autorization.autorization.shared.domain.exception.ServiceOverloadedException;
 import com.autorization.autorization.auth.domain.exception.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -79,6 +82,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(dto);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        log.info("Cursor inválido: {}", ex.getMessage());
+        ErrorResponse dto = ErrorResponse.of(ex.getMessage(), ex.getClass().getSimpleName());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(dto);
+    }
+
     @ExceptionHandler({UserNotFoundException.class, RoleNotFoundException.class, PermissionNotFoundException.class, ModuleNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleNotFound(RuntimeException ex) {
         log.info("No encontrado: {}", ex.getMessage());
@@ -107,6 +117,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(dto);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(ServiceOverloadedException ex) {
+        log.warn("Servicio saturado: {}", ex.getMessage());
+        ErrorResponse dto = ErrorResponse.of(ex.getMessage(), ex.getClass().getSimpleName());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(dto);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
         ensureLogControl();
@@ -0,0 +1,108 @@
+package com.autorization.autorization.audit.adapter.in.aop;
+
+import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.shared.annotation.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditArgumentCapturerTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private SimpleMeterRegistry meterRegistry;
+    private AuditArgumentCapturer capturer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        capturer = new AuditArgumentCapturer(jsonMapper, 256, new String[]{"password", "token"}, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should capture every argument by parameter name and redact sensitive fields")
+    void shouldCaptureArgumentsAndRedact() throws Exception {
+        UUID id = UUID.randomUUID();
+        Object[] args = {id, new UpdateUserRequest("Ana", "Pérez", null, "ana@test.com", "s3cr3t-pass"), new MockHttpServletRequest()};
+
+        JsonNode details = jsonMapper.readTree(capture("update", args, null));
+
+        assertEquals(id.toString(), details.get("id").asString());
+        assertEquals("Ana", details.get("request").get("name").asString());
+        assertEquals(AuditArgumentCapturer.REDACTED, details.get("request").get("password").asString());
+        assertFalse(details.has("httpRequest"));
+    }
+
+    @Test
+    @DisplayName("should keep only the fields allowed by the annotation")
+    void shouldApplyFieldAllowList() throws Exception {
+        Object[] args = {new CreateUserRequest("Ana", "Pérez", null, "ana@test.com", "s3cr3t-pass")};
+
+        JsonNode request = jsonMapper.readTree(capture("create", args, null)).get("request");
+
+        assertEquals("ana@test.com", request.get("email").asString());
+        assertFalse(request.has("password"));
+        assertFalse(request.has("lastName"));
+        assertFalse(request.has("secondName"));
+    }
+
+    @Test
+    @DisplayName("should stop serialising at the byte limit and mark the capture as truncated")
+    void shouldTruncateAtByteLimit() throws Exception {
+        Object[] args = {new UpdateUserRequest("ñ".repeat(1_000_000), "Pérez", null, "ana@test.com", null)};
+
+        String details = capture("bulk", args, "fallo");
+
+        String captured = details.substring(0, details.indexOf(AuditArgumentCapturer.TRUNCATED));
+        assertTrue(captured.getBytes(StandardCharsets.UTF_8).length <= 64);
+        assertTrue(details.endsWith(" | Error: fallo"));
+        assertEquals(1.0, meterRegistry.get("audit.capture.truncated").counter().count());
+    }
+
+    @Test
+    @DisplayName("should not capture arguments when the policy limit is zero")
+    void shouldSkipArgumentsWhenDisabled() throws Exception {
+        assertEquals("{}", capture("disabled", new Object[]{new UpdateUserRequest("Ana", null, null, null, null)}, null));
+        assertEquals(1, meterRegistry.get("audit.capture").timer().count());
+    }
+
+    private String capture(String methodName, Object[] args, String error) {
+        Method method = Arrays.stream(Audited.class.getDeclaredMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        return capturer.capture(method, method.getAnnotation(AuditLog.class), args, error);
+    }
+
+    @SuppressWarnings("unused")
+    static class Audited {
+
+        @AuditLog(module = "USUARIOS", action = "ACTUALIZAR_USUARIO")
+        void update(UUID id, UpdateUserRequest request, HttpServletRequest httpRequest) {
+        }
+
+        @AuditLog(module = "USUARIOS", action = "CREAR_USUARIO", fields = {"name", "email"})
+        void create(CreateUserRequest request) {
+        }
+
+        @AuditLog(module = "USUARIOS", action = "CARGA", maxBytes = 64)
+        void bulk(UpdateUserRequest request) {
+        }
+
+        @AuditLog(module = "USUARIOS", action = "SIN_ARGUMENTOS", maxBytes = 0)
+        void disabled(UpdateUserRequest request) {
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.autorization.autorization.audit.adapter.in.aop;
+
+import com.autorization.autorization.audit.application.export.AuditExportFormat;
+import com.autorization.autorization.audit.application.writer.AuditEventEnricher;
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.audit.domain.port.in.AuditUseCasePort;
+import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.shared.annotation.AuditLog;
+import com.autorization.autorization.shared.application.dto.CursorResponse;
+import com.autorization.autorization.shared.application.dto.PaginatedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste en el hilo del request de auditar una llamada (PUT /api/users/{id} autenticado, detrás de un proxy).
+ *
+ * - inline: lo que hacía el aspecto antes, todo en el request: usuario, IP a partir de las cabeceras,
+ *   serialización de argumentos, {@code LocalDateTime.now()} y construcción del {@link ActivityLogDomain}.
+ * - deferred: el aspecto actual, que solo captura un {@link AuditEvent} con referencias.
+ * - enrich: lo que el escritor de auditoría hace después con ese evento, fuera del request.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.autorization.autorization.audit.adapter.in.aop.AuditAspectBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditAspectBenchmark {
+
+    private final Sink sink = new Sink();
+    private AuditArgumentCapturer capturer;
+    private AuditLogAspect aspect;
+    private AuditEventEnricher enricher;
+    private Method method;
+    private AuditLog policy;
+    private Object[] args;
+    private List<AuditEvent> captured;
+
+    @Setup
+    public void setup() throws Exception {
+        capturer = new AuditArgumentCapturer(JsonMapper.builder().build(), 2048, new String[]{"password"}, new SimpleMeterRegistry());
+        aspect = new AuditLogAspect(sink, capturer);
+        enricher = new AuditEventEnricher();
+        method = Audited.class.getDeclaredMethod("update", UUID.class, UpdateUserRequest.class);
+        policy = method.getAnnotation(AuditLog.class);
+        args = new Object[]{UUID.randomUUID(), new UpdateUserRequest("Ana", "Pérez", null, "ana@test.com", "s3cr3t-pass")};
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/users/1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ana@test.com", null, List.of()));
+
+        aspect.record(method, policy, args, "SUCCESS", null);
+        captured = List.of(sink.event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public ActivityLogDomain inline() {
+        return ActivityLogDomain.builder()
+                .userId(legacyCurrentUser())
+                .module(policy.module())
+                .action(policy.action())
+                .details(capturer.capture(method, policy, args, null))
+                .ipAddress(legacyClientIp())
+                .status("SUCCESS")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public AuditEvent deferred() {
+        aspect.record(method, policy, args, "SUCCESS", null);
+        return sink.event;
+    }
+
+    @Benchmark
+    public List<ActivityLogDomain> enrich() {
+        return enricher.enrich(captured);
+    }
+
+    private static String legacyCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "ANONYMOUS";
+    }
+
+    private static String legacyClientIp() {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
+        String ip = request.getHeader("X-Forwarded-For");
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("Proxy-Client-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("WL-Proxy-Client-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getRemoteAddr();
+        }
+        return ip;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuditAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    static class Audited {
+        @AuditLog(module = "USUARIOS", action = "ACTUALIZAR_USUARIO")
+        public void update(UUID id, UpdateUserRequest request) {
+        }
+    }
+
+    /**
+     * Caso de uso que solo se queda con el último evento, para medir la captura sin el buffer del escritor.
+     */
+    private static final class Sink implements AuditUseCasePort {
+
+        private AuditEvent event;
+
+        @Override
+        public void logActivity(AuditEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public PaginatedResponse<ActivityLogDomain> retrieveLogs(String module, LocalDate date, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CursorResponse<ActivityLogDomain> scrollLogs(String module, LocalDate date, String cursor, int size,
+                                                            boolean ascending, boolean approximateCount) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long exportLogs(String module, LocalDate from, LocalDate to, AuditExportFormat format, boolean gzip,
+                               OutputStream out) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.autorization.autorization.audit.adapter.in.aop;
+
+import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.shared.annotation.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de capturar los argumentos de una llamada auditada (PUT /api/users/{id}).
+ *
+ * - legacy: lo que hacía el aspecto antes, {@code writeValueAsString(args[0])} con su propio ObjectMapper,
+ *   sin límite ni redacción (aquí sobre el body, como en un POST).
+ * - capture: {@link AuditArgumentCapturer} con la política por defecto (2 KB, redacción de password).
+ *
+ * {@code bodyChars} simula un body normal y uno enorme: con el límite, el segundo cuesta lo mismo que el primero.
+ * Añadir {@code -prof gc} a las opciones para ver los bytes asignados por operación.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.autorization.autorization.audit.adapter.in.aop.AuditCaptureBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditCaptureBenchmark {
+
+    @Param({"32", "1000000"})
+    private int bodyChars;
+
+    private ObjectMapper legacyMapper;
+    private AuditArgumentCapturer capturer;
+    private Method method;
+    private AuditLog policy;
+    private UpdateUserRequest request;
+    private Object[] args;
+
+    @Setup
+    public void setup() throws Exception {
+        legacyMapper = new ObjectMapper();
+        capturer = new AuditArgumentCapturer(JsonMapper.builder().build(), 2048, new String[]{"password"}, new SimpleMeterRegistry());
+        method = Audited.class.getDeclaredMethod("update", UUID.class, UpdateUserRequest.class);
+        policy = method.getAnnotation(AuditLog.class);
+        request = new UpdateUserRequest("x".repeat(bodyChars), "Pérez", null, "ana@test.com", "s3cr3t-pass");
+        args = new Object[]{UUID.randomUUID(), request};
+    }
+
+    @Benchmark
+    public String legacy() throws Exception {
+        return legacyMapper.writeValueAsString(request);
+    }
+
+    @Benchmark
+    public String capture() {
+        return capturer.capture(method, policy, args, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuditCaptureBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    static class Audited {
+        @AuditLog(module = "USUARIOS", action = "ACTUALIZAR_USUARIO")
+        public void update(UUID id, UpdateUserRequest request) {
+        }
+    }
+}
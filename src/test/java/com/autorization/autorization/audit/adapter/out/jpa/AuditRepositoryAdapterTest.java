@@ -0,0 +1,184 @@
+package com.autorization.autorization.audit.adapter.out.jpa;
+
+import com.autorization.autorization.audit.adapter.out.jpa.mapper.AuditMapper;
+import com.autorization.autorization.audit.adapter.out.jpa.repository.AuditLogJPARepository;
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserción en lote y consulta de eventos de auditoría, contra H2 en modo PostgreSQL (ON CONFLICT).
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:audit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Import({AuditRepositoryAdapter.class, AuditMapper.class})
+class AuditRepositoryAdapterTest {
+
+    @Autowired
+    private AuditRepositoryAdapter auditRepositoryAdapter;
+
+    @Autowired
+    private AuditLogJPARepository repository;
+
+    @Test
+    @DisplayName("should insert every event of the batch")
+    void shouldInsertBatch() {
+        List<ActivityLogDomain> events = events();
+
+        auditRepositoryAdapter.saveAll(events);
+
+        assertEquals(50, repository.count());
+        assertTrue(repository.findAll().stream().allMatch(log -> log.getId() != null && log.getModule().equals("USERS")));
+    }
+
+    @Test
+    @DisplayName("should ignore events already inserted when a batch is shipped again")
+    void shouldIgnoreDuplicateEvents() {
+        List<ActivityLogDomain> events = events();
+        events.forEach(event -> event.setId(UUID.randomUUID()));
+
+        auditRepositoryAdapter.saveAll(events);
+        auditRepositoryAdapter.saveAll(events);
+
+        assertEquals(50, repository.count());
+    }
+
+    @Test
+    @DisplayName("should query a day as the half-open range [start, next day)")
+    void shouldQueryHalfOpenDay() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        List<ActivityLogDomain> events = List.of(
+                event("USERS", day.atStartOfDay()),
+                event("USERS", day.atTime(23, 59, 59, 500_000_000)),
+                event("ROLES", day.atTime(12, 0)),
+                event("USERS", day.plusDays(1).atStartOfDay()));
+        auditRepositoryAdapter.saveAll(events);
+
+        Page<ActivityLogDomain> all = auditRepositoryAdapter.findLogs(null, day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay(), PageRequest.of(0, 10));
+        Page<ActivityLogDomain> users = auditRepositoryAdapter.findLogs("USERS", day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay(), PageRequest.of(0, 10));
+
+        assertEquals(3, all.getTotalElements());
+        assertEquals(2, users.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("should walk a day by keyset without repeating or skipping events that share a timestamp")
+    void shouldScrollByKeyset() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        List<ActivityLogDomain> events = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // de dos en dos con el mismo timestamp: el id desempata
+            ActivityLogDomain event = event("USERS", day.atTime(10, i / 2));
+            event.setId(UUID.randomUUID());
+            events.add(event);
+        }
+        events.add(event("USERS", day.plusDays(1).atStartOfDay()));
+        auditRepositoryAdapter.saveAll(events);
+
+        for (boolean ascending : new boolean[]{false, true}) {
+            List<ActivityLogDomain> seen = new ArrayList<>();
+            AuditCursor cursor = null;
+            Slice<ActivityLogDomain> slice;
+            do {
+                slice = auditRepositoryAdapter.findLogsAfter(null, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                        cursor, ascending, 3);
+                seen.addAll(slice.getContent());
+                cursor = slice.getContent().isEmpty() ? null : AuditCursor.after(slice.getContent().getLast(), ascending);
+            } while (slice.hasNext());
+
+            assertEquals(7, seen.size());
+            assertEquals(7, seen.stream().map(ActivityLogDomain::getId).distinct().count());
+            Comparator<ActivityLogDomain> byTimestamp = Comparator.comparing(ActivityLogDomain::getTimestamp);
+            List<ActivityLogDomain> sorted = new ArrayList<>(seen);
+            sorted.sort(ascending ? byTimestamp : byTimestamp.reversed());
+            assertEquals(sorted.stream().map(ActivityLogDomain::getTimestamp).toList(),
+                    seen.stream().map(ActivityLogDomain::getTimestamp).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("should filter the keyset scroll by module")
+    void shouldScrollByModule() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        auditRepositoryAdapter.saveAll(List.of(
+                event("USERS", day.atTime(9, 0)),
+                event("ROLES", day.atTime(10, 0)),
+                event("USERS", day.atTime(11, 0))));
+
+        Slice<ActivityLogDomain> slice = auditRepositoryAdapter.findLogsAfter("USERS", day.atStartOfDay(),
+                day.plusDays(1).atStartOfDay(), null, false, 10);
+
+        assertEquals(List.of(day.atTime(11, 0), day.atTime(9, 0)),
+                slice.getContent().stream().map(ActivityLogDomain::getTimestamp).toList());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    @DisplayName("should stream the range in timestamp order without loading it as a page")
+    void shouldStreamRange() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        auditRepositoryAdapter.saveAll(List.of(
+                event("USERS", day.atTime(12, 0)),
+                event("ROLES", day.atTime(9, 0)),
+                event("USERS", day.atTime(8, 0)),
+                event("USERS", day.plusDays(1).atStartOfDay())));
+        List<ActivityLogDomain> streamed = new ArrayList<>();
+
+        long count = auditRepositoryAdapter.streamLogs("USERS", day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                streamed::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(day.atTime(8, 0), day.atTime(12, 0)),
+                streamed.stream().map(ActivityLogDomain::getTimestamp).toList());
+        assertTrue(streamed.stream().allMatch(event -> event.getId() != null && "user@test.com".equals(event.getUserId())));
+    }
+
+    private static ActivityLogDomain event(String module, LocalDateTime timestamp) {
+        return ActivityLogDomain.builder()
+                .userId("user@test.com")
+                .module(module)
+                .action("UPDATE")
+                .status("SUCCESS")
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static List<ActivityLogDomain> events() {
+        List<ActivityLogDomain> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(ActivityLogDomain.builder()
+                    .userId("user@test.com")
+                    .module("USERS")
+                    .action("UPDATE_" + i)
+                    .details("{}")
+                    .ipAddress("127.0.0.1")
+                    .status("SUCCESS")
+                    .timestamp(LocalDateTime.now())
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,115 @@
+package com.autorization.autorization.audit.adapter.out.jpa.partition;
+
+import com.autorization.autorization.audit.adapter.out.jpa.partition.ActivityLogPartitionManager.PartitionBound;
+import com.autorization.autorization.audit.adapter.out.jpa.partition.ActivityLogPartitionManager.RetentionAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ActivityLogPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Test
+    @DisplayName("should name and bound daily and monthly partitions")
+    void shouldComputePartitionRanges() {
+        assertEquals(TODAY, PartitionInterval.DAY.start(TODAY));
+        assertEquals(TODAY.plusDays(1), PartitionInterval.DAY.next(TODAY));
+        assertEquals("activity_logs_p20261018", PartitionInterval.DAY.partitionName("activity_logs", TODAY));
+
+        LocalDate month = PartitionInterval.MONTH.start(TODAY);
+        assertEquals(LocalDate.of(2026, 10, 1), month);
+        assertEquals(LocalDate.of(2026, 11, 1), PartitionInterval.MONTH.next(month));
+        assertEquals("activity_logs_p202610", PartitionInterval.MONTH.partitionName("activity_logs", month));
+    }
+
+    @Test
+    @DisplayName("should read the upper bound of range, legacy and default partitions")
+    void shouldParsePartitionBounds() {
+        PartitionBound day = PartitionBound.parse("activity_logs_p20261018",
+                "FOR VALUES FROM ('2026-10-18 00:00:00') TO ('2026-10-19 00:00:00')");
+        PartitionBound legacy = PartitionBound.parse("activity_logs_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2026-01-01 00:00:00')");
+        PartitionBound defaultPartition = PartitionBound.parse("activity_logs_default", "DEFAULT");
+
+        assertEquals(Optional.of(LocalDateTime.of(2026, 10, 19, 0, 0)), day.upperBound());
+        assertEquals(Optional.of(LocalDateTime.of(2026, 1, 1, 0, 0)), legacy.upperBound());
+        assertTrue(defaultPartition.upperBound().isEmpty());
+    }
+
+    @Test
+    @DisplayName("should expire only the partitions that end before the retention cutoff")
+    void shouldSelectExpiredPartitions() {
+        ActivityLogPartitionManager manager = manager(30);
+        LocalDateTime cutoff = TODAY.minusDays(30).atStartOfDay();
+
+        List<String> expired = manager.expiredPartitions(List.of(
+                new PartitionBound("activity_logs_legacy", Optional.of(cutoff.minusDays(60))),
+                new PartitionBound("activity_logs_p20260917", Optional.of(cutoff)),
+                new PartitionBound("activity_logs_p20260918", Optional.of(cutoff.plusDays(1))),
+                new PartitionBound("activity_logs_default", Optional.empty())));
+
+        assertEquals(List.of("activity_logs_legacy", "activity_logs_p20260917"), expired);
+    }
+
+    @Test
+    @DisplayName("should keep every partition when retention is disabled")
+    void shouldKeepPartitionsWithoutRetention() {
+        ActivityLogPartitionManager manager = manager(0);
+
+        assertTrue(manager.expiredPartitions(List.of(
+                new PartitionBound("activity_logs_legacy", Optional.of(LocalDateTime.of(2000, 1, 1, 0, 0))))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should end the legacy partition after its newest event, not at today")
+    void shouldBoundLegacyPartitionAfterNewestEvent() {
+        DataSource dataSource = h2("legacy_bound");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE activity_logs (id uuid PRIMARY KEY, timestamp timestamp(6) NOT NULL)");
+        assertEquals(TODAY, manager(dataSource, PartitionInterval.DAY).legacyUpperBound(TODAY));
+
+        insert(jdbcTemplate, TODAY.minusDays(3).atTime(8, 0));
+        assertEquals(TODAY, manager(dataSource, PartitionInterval.DAY).legacyUpperBound(TODAY));
+
+        insert(jdbcTemplate, TODAY.atTime(10, 0));
+        insert(jdbcTemplate, TODAY.plusDays(1).atTime(23, 59));
+        assertEquals(TODAY.plusDays(2), manager(dataSource, PartitionInterval.DAY).legacyUpperBound(TODAY));
+        assertEquals(LocalDate.of(2026, 11, 1),
+                manager(dataSource, PartitionInterval.MONTH).legacyUpperBound(LocalDate.of(2026, 10, 1)));
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO activity_logs (id, timestamp) VALUES (?, ?)", UUID.randomUUID(), timestamp);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static ActivityLogPartitionManager manager(DataSource dataSource, PartitionInterval interval) {
+        return new ActivityLogPartitionManager(dataSource, false, interval, 7, 0, RetentionAction.DROP, clock());
+    }
+
+    private static ActivityLogPartitionManager manager(int retentionDays) {
+        return new ActivityLogPartitionManager(mock(DataSource.class), false, PartitionInterval.DAY, 7,
+                retentionDays, RetentionAction.DROP, clock());
+    }
+
+    private static Clock clock() {
+        return Clock.fixed(TODAY.atTime(10, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+}
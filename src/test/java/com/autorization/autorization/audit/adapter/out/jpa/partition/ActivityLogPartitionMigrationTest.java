@@ -0,0 +1,115 @@
+package com.autorization.autorization.audit.adapter.out.jpa.partition;
+
+import com.autorization.autorization.audit.adapter.out.jpa.partition.ActivityLogPartitionManager.RetentionAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migración de una {@code activity_logs} sin particionar y movimiento de filas desde la partición DEFAULT.
+ * Necesita un PostgreSQL real (el particionado declarativo no existe en H2): se ejecuta solo si se define
+ * {@code TEST_POSTGRES_URL} (y opcionalmente {@code TEST_POSTGRES_USER} / {@code TEST_POSTGRES_PASSWORD}).
+ * Borra las tablas {@code activity_logs*} del esquema actual.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class ActivityLogPartitionMigrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(System.getenv("TEST_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"),
+                System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dropTables();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dropTables();
+    }
+
+    @Test
+    @DisplayName("should migrate a legacy table holding events from today and later")
+    void shouldMigrateLegacyTableWithTodayRows() {
+        jdbcTemplate.execute("CREATE TABLE activity_logs (id uuid PRIMARY KEY, user_id varchar(255), "
+                + "module varchar(255) NOT NULL, action varchar(255) NOT NULL, details text, ip_address varchar(255), "
+                + "status varchar(255) NOT NULL, timestamp timestamp(6) NOT NULL)");
+        insert(TODAY.minusDays(1).atTime(9, 0));
+        insert(TODAY.atTime(10, 0));
+        insert(TODAY.plusDays(1).atTime(23, 59));
+
+        manager(TODAY);
+
+        assertEquals("p", jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE relname = 'activity_logs'", String.class));
+        assertEquals(3, count("activity_logs"));
+        assertEquals(3, count("activity_logs_legacy"));
+        assertEquals("FOR VALUES FROM (MINVALUE) TO ('" + TODAY.plusDays(2) + " 00:00:00')",
+                jdbcTemplate.queryForObject("SELECT pg_get_expr(relpartbound, oid) FROM pg_class WHERE relname = 'activity_logs_legacy'", String.class));
+        assertTrue(exists(PartitionInterval.DAY.partitionName("activity_logs", TODAY.plusDays(2))));
+        assertFalse(exists(PartitionInterval.DAY.partitionName("activity_logs", TODAY)));
+
+        // el mantenimiento no intenta crear particiones que solapen la legacy
+        manager(TODAY, 3).maintain();
+        assertTrue(exists(PartitionInterval.DAY.partitionName("activity_logs", TODAY.plusDays(5))));
+    }
+
+    @Test
+    @DisplayName("should move rows from the DEFAULT partition into a partition created for their range")
+    void shouldMoveDefaultRowsIntoNewPartition() {
+        manager(TODAY);
+        LocalDateTime outOfRange = TODAY.plusDays(10).atTime(12, 0);
+        insert(outOfRange);
+        assertEquals(1, count("activity_logs_default"));
+
+        manager(TODAY.plusDays(8));
+
+        String partition = PartitionInterval.DAY.partitionName("activity_logs", TODAY.plusDays(10));
+        assertEquals(0, count("activity_logs_default"));
+        assertEquals(1, count(partition));
+        assertEquals(1, count("activity_logs"));
+    }
+
+    private ActivityLogPartitionManager manager(LocalDate today) {
+        return manager(today, 2);
+    }
+
+    private ActivityLogPartitionManager manager(LocalDate today, int premake) {
+        Clock clock = Clock.fixed(today.atTime(10, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new ActivityLogPartitionManager(dataSource, true, PartitionInterval.DAY, premake, 0, RetentionAction.DROP, clock);
+    }
+
+    private void insert(LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO activity_logs (id, module, action, status, timestamp) VALUES (?, 'AUTH', 'LOGIN', 'OK', ?)",
+                UUID.randomUUID(), timestamp);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS activity_logs CASCADE");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS activity_logs_legacy CASCADE");
+    }
+}
@@ -0,0 +1,163 @@
+package com.autorization.autorization.audit.adapter.out.spool;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort.SpoolBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedAuditSpoolTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("should read back every field of the appended events")
+    void shouldRoundTripEvents() {
+        MappedAuditSpool spool = spool(1 << 20);
+        ActivityLogDomain event = event("CREATE");
+        event.setIpAddress(null);
+
+        assertEquals(1, spool.append(List.of(event)));
+        SpoolBatch batch = spool.poll(10);
+
+        assertEquals(1, batch.events().size());
+        ActivityLogDomain read = batch.events().get(0);
+        assertNotNull(event.getId());
+        assertEquals(event.getId(), read.getId());
+        assertEquals(event.getTimestamp(), read.getTimestamp());
+        assertEquals("user@test.com", read.getUserId());
+        assertEquals("USERS", read.getModule());
+        assertEquals("CREATE", read.getAction());
+        assertEquals("{\"name\":\"ñandú\"}", read.getDetails());
+        assertNull(read.getIpAddress());
+        assertEquals("SUCCESS", read.getStatus());
+    }
+
+    @Test
+    @DisplayName("should deliver the same events again after a rewind")
+    void shouldRedeliverAfterRewind() {
+        MappedAuditSpool spool = spool(1 << 20);
+        spool.append(events(5));
+
+        assertEquals(5, spool.poll(10).events().size());
+        assertTrue(spool.poll(10).isEmpty());
+        spool.rewind();
+
+        assertEquals(5, spool.poll(10).events().size());
+    }
+
+    @Test
+    @DisplayName("should resume from the checkpoint after a restart")
+    void shouldResumeFromCheckpointAfterRestart() {
+        MappedAuditSpool spool = spool(1 << 20);
+        List<ActivityLogDomain> events = events(10);
+        spool.append(events);
+        spool.commit(spool.poll(4));
+        spool.poll(3);
+
+        MappedAuditSpool restarted = spool(1 << 20);
+        SpoolBatch batch = restarted.poll(100);
+
+        assertEquals(events.subList(4, 10).stream().map(ActivityLogDomain::getId).toList(),
+                batch.events().stream().map(ActivityLogDomain::getId).toList());
+        assertEquals(1, restarted.append(List.of(event("AFTER_RESTART"))));
+        assertEquals("AFTER_RESTART", restarted.poll(100).events().get(0).getAction());
+    }
+
+    @Test
+    @DisplayName("should roll over segments and delete the ones fully shipped")
+    void shouldRollAndDeleteShippedSegments() throws IOException {
+        MappedAuditSpool spool = spool(1 << 20);
+        spool.append(events(200));
+        assertTrue(spool.segmentCount() > 1);
+
+        List<ActivityLogDomain> read = new ArrayList<>();
+        SpoolBatch batch;
+        while (!(batch = spool.poll(50)).isEmpty()) {
+            read.addAll(batch.events());
+            spool.commit(batch);
+        }
+
+        assertEquals(200, read.size());
+        assertEquals(1, spool.segmentCount());
+        assertEquals(1, segmentFiles().size());
+    }
+
+    @Test
+    @DisplayName("should stop appending when the spool reaches its maximum size")
+    void shouldRejectWhenFull() {
+        MappedAuditSpool spool = spool(2 * SEGMENT_SIZE);
+
+        int appended = spool.append(events(1_000));
+
+        assertTrue(appended > 0 && appended < 1_000);
+        assertEquals(appended, spool.poll(10_000).events().size());
+    }
+
+    @Test
+    @DisplayName("should discard a torn record left by a crash and keep appending after the last valid one")
+    void shouldDiscardTornRecord() throws IOException {
+        MappedAuditSpool spool = spool(1 << 20);
+        spool.append(events(3));
+        SpoolBatch written = spool.poll(10);
+        spool.rewind();
+        // simula una caída a mitad de escritura: longitud escrita, payload con crc que no coincide
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(100).putInt(12345).putInt(7).flip(), written.offset());
+        }
+
+        MappedAuditSpool restarted = spool(1 << 20);
+        restarted.append(List.of(event("AFTER_CRASH")));
+        List<ActivityLogDomain> read = restarted.poll(100).events();
+
+        assertEquals(4, read.size());
+        assertEquals("AFTER_CRASH", read.get(3).getAction());
+    }
+
+    private MappedAuditSpool spool(long maxBytes) {
+        return new MappedAuditSpool(directory.toString(), SEGMENT_SIZE, maxBytes, false, new SimpleMeterRegistry());
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".spool")).sorted().toList();
+        }
+    }
+
+    private static List<ActivityLogDomain> events(int count) {
+        List<ActivityLogDomain> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(event("UPDATE_" + i));
+        }
+        return events;
+    }
+
+    private static ActivityLogDomain event(String action) {
+        return ActivityLogDomain.builder()
+                .userId("user@test.com")
+                .module("USERS")
+                .action(action)
+                .details("{\"name\":\"ñandú\"}")
+                .ipAddress("127.0.0.1")
+                .status("SUCCESS")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
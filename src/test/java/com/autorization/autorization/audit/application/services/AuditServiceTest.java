@@ -0,0 +1,176 @@
+package com.autorization.autorization.audit.application.services;
+
+import com.autorization.autorization.audit.application.export.AuditExportFormat;
+import com.autorization.autorization.audit.application.writer.AuditLogWriter;
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditCursor;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.audit.domain.port.out.AuditRepositoryPort;
+import com.autorization.autorization.shared.application.dto.CursorResponse;
+import com.autorization.autorization.shared.application.dto.PaginatedResponse;
+import com.autorization.autorization.shared.domain.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock
+    private AuditRepositoryPort auditRepositoryPort;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Spy
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @InjectMocks
+    private AuditService auditService;
+
+    @Test
+    @DisplayName("should query a whole day as [start of day, start of next day)")
+    void shouldQueryHalfOpenDay() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        Pageable pageable = PageRequest.of(0, 10);
+        ActivityLogDomain log = ActivityLogDomain.builder().module("USERS").build();
+        given(auditRepositoryPort.findLogs("USERS", day.atStartOfDay(), day.plusDays(1).atStartOfDay(), pageable))
+                .willReturn(new PageImpl<>(List.of(log), pageable, 1));
+
+        PaginatedResponse<ActivityLogDomain> response = auditService.retrieveLogs("USERS", day, pageable);
+
+        assertEquals(1, response.totalElements());
+    }
+
+    @Test
+    @DisplayName("should hand the event to the audit writer instead of inserting it")
+    void shouldEnqueueActivity() {
+        AuditEvent event = new AuditEvent("USERS", "CREAR_USUARIO", "SUCCESS", System.nanoTime(), null, null, () -> "{}");
+
+        auditService.logActivity(event);
+
+        then(auditLogWriter).should().enqueue(event);
+        then(auditRepositoryPort).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("should return a cursor to the last event and continue from it in the cursor's direction")
+    void shouldScrollWithCursor() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        ActivityLogDomain last = ActivityLogDomain.builder().id(UUID.randomUUID()).timestamp(day.atTime(9, 30)).build();
+        given(auditRepositoryPort.findLogsAfter("USERS", start, end, null, true, 1))
+                .willReturn(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), true));
+
+        CursorResponse<ActivityLogDomain> first = auditService.scrollLogs("USERS", day, null, 1, true, false);
+
+        assertTrue(first.hasNext());
+        assertNull(first.approximateTotal());
+        AuditCursor cursor = AuditCursor.decode(first.nextCursor());
+        assertEquals(new AuditCursor(last.getTimestamp(), last.getId(), true), cursor);
+
+        given(auditRepositoryPort.findLogsAfter("USERS", start, end, cursor, true, 1))
+                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+        given(auditRepositoryPort.estimateLogs("USERS", start, end)).willReturn(OptionalLong.of(42));
+
+        // el sentido lo fija el cursor aunque la petición diga desc
+        CursorResponse<ActivityLogDomain> second = auditService.scrollLogs("USERS", day, first.nextCursor(), 1, false, true);
+
+        assertFalse(second.hasNext());
+        assertNull(second.nextCursor());
+        assertEquals(42L, second.approximateTotal());
+    }
+
+    @Test
+    @DisplayName("should reject a tampered cursor without querying")
+    void shouldRejectInvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> auditService.scrollLogs(null, null, "bm8tZXMtdW4tY3Vyc29y", 10, false, false));
+
+        then(auditRepositoryPort).should(never())
+                .findLogsAfter(any(), any(), any(), any(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should export the inclusive day range as CSV with quoted fields")
+    void shouldExportCsv() throws Exception {
+        LocalDate from = LocalDate.of(2026, 10, 1);
+        LocalDate to = LocalDate.of(2026, 10, 31);
+        UUID id = UUID.randomUUID();
+        givenStreamedEvents(from, to, ActivityLogDomain.builder().id(id).userId("user@test.com").module("USERS")
+                .action("UPDATE").status("SUCCESS").details("{\"name\":\"a,b\"}").timestamp(from.atTime(8, 0)).build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = auditService.exportLogs("USERS", from, to, AuditExportFormat.CSV, false, out);
+
+        assertEquals(1, exported);
+        assertEquals("id,timestamp,user_id,module,action,status,ip_address,details\r\n"
+                        + id + ",2026-10-01T08:00,user@test.com,USERS,UPDATE,SUCCESS,,\"{\"\"name\"\":\"\"a,b\"\"}\"\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("should export one JSON object per line through gzip")
+    void shouldExportGzippedNdjson() throws Exception {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        givenStreamedEvents(day, day,
+                ActivityLogDomain.builder().module("USERS").action("CREATE").timestamp(day.atTime(9, 0)).build(),
+                ActivityLogDomain.builder().module("ROLES").action("DELETE").timestamp(day.atTime(10, 0)).build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = auditService.exportLogs(null, day, null, AuditExportFormat.NDJSON, true, out);
+
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, exported);
+        assertEquals(2, lines.size());
+        assertTrue(ndjson.endsWith("\n"));
+        JsonNode second = jsonMapper.readTree(lines.get(1));
+        assertEquals("DELETE", second.get("action").asString());
+        assertEquals("2026-10-18T10:00:00", second.get("timestamp").asString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenStreamedEvents(LocalDate from, LocalDate to, ActivityLogDomain... events) {
+        given(auditRepositoryPort.streamLogs(any(), eq(from.atStartOfDay()), eq(to.plusDays(1).atStartOfDay()), any()))
+                .willAnswer(invocation -> {
+                    Consumer<ActivityLogDomain> consumer = invocation.getArgument(3);
+                    List.of(events).forEach(consumer);
+                    return (long) events.length;
+                });
+    }
+}
@@ -0,0 +1,66 @@
+package com.autorization.autorization.audit.application.writer;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.audit.domain.model.AuditEvent.ClientAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventEnricherTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final AuditEventEnricher enricher = new AuditEventEnricher(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("should resolve user, details and a timestamp from the capture instant")
+    void shouldEnrichCapturedEvent() {
+        long capturedAt = System.nanoTime() - TimeUnit.SECONDS.toNanos(5);
+        AuditEvent event = new AuditEvent("USUARIOS", "CREAR_USUARIO", "SUCCESS", capturedAt,
+                new UsernamePasswordAuthenticationToken("ana@test.com", null, List.of()), null, () -> "{\"id\":1}");
+
+        ActivityLogDomain log = enricher.enrich(List.of(event)).getFirst();
+
+        assertEquals("ana@test.com", log.getUserId());
+        assertEquals("{\"id\":1}", log.getDetails());
+        assertEquals("USUARIOS", log.getModule());
+        assertEquals("CREAR_USUARIO", log.getAction());
+        assertEquals(AuditEventEnricher.UNKNOWN, log.getIpAddress());
+        LocalDateTime expected = LocalDateTime.ofInstant(NOW.minusSeconds(5), ZoneOffset.UTC);
+        assertTrue(!log.getTimestamp().isAfter(expected) && log.getTimestamp().isAfter(expected.minusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("should keep the event as anonymous without details when capture fails")
+    void shouldTolerateFailingDetails() {
+        AuditEvent event = new AuditEvent("USUARIOS", "LOGIN", "FAILURE", System.nanoTime(), null, null, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        ActivityLogDomain log = enricher.enrich(List.of(event)).getFirst();
+
+        assertEquals(AuditEventEnricher.ANONYMOUS, log.getUserId());
+        assertNull(log.getDetails());
+        assertEquals("FAILURE", log.getStatus());
+    }
+
+    @Test
+    @DisplayName("should take the first valid client address without brackets or port")
+    void shouldNormalizeClientIp() {
+        assertEquals("203.0.113.7", AuditEventEnricher.clientIp(new ClientAddress(" 203.0.113.7 , 10.0.0.1", "10.0.0.2", null, "10.0.0.3")));
+        assertEquals("10.0.0.2", AuditEventEnricher.clientIp(new ClientAddress("unknown", "10.0.0.2:8080", null, "10.0.0.3")));
+        assertEquals("2001:db8::1", AuditEventEnricher.clientIp(new ClientAddress(null, "", "[2001:db8::1]:443", "10.0.0.3")));
+        assertEquals("0:0:0:0:0:0:0:1", AuditEventEnricher.clientIp(new ClientAddress(null, null, null, "0:0:0:0:0:0:0:1")));
+        assertEquals(AuditEventEnricher.UNKNOWN, AuditEventEnricher.clientIp(new ClientAddress(null, null, null, null)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.autorization.autorization.audit.application.writer;
+
+import com.autorization.autorization.audit.domain.model.AuditEvent;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditSpoolPort auditSpoolPort;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        // los tests que bloquean al escritor lo sustituyen por su propio stub
+        lenient().when(auditSpoolPort.append(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("should spool a batch as soon as batch-size events are pending")
+    void shouldFlushWhenBatchIsFull() {
+        writer = writer(16, 3, 60_000, AuditLogWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(event("a"));
+        writer.enqueue(event("b"));
+        writer.enqueue(event("c"));
+
+        then(auditSpoolPort).should(timeout(2_000)).append(argThat(batch -> batch.size() == 3));
+    }
+
+    @Test
+    @DisplayName("should spool a partial batch when the flush interval elapses")
+    void shouldFlushPartialBatchOnInterval() {
+        writer = writer(16, 100, 50, AuditLogWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(event("a"));
+
+        then(auditSpoolPort).should(timeout(2_000)).append(argThat(batch -> batch.size() == 1));
+        writer.shutdown();
+        assertEquals(1.0, meterRegistry.counter("audit.events.spooled").count());
+    }
+
+    @Test
+    @DisplayName("should drop and count events when the buffer is full")
+    void shouldDropOnOverflow() throws Exception {
+        writer = writer(2, 1, 60_000, AuditLogWriter.OverflowPolicy.DROP);
+        blockWriter();
+
+        writer.enqueue(event("b"));
+        writer.enqueue(event("c"));
+        writer.enqueue(event("d"));
+
+        assertEquals(1.0, meterRegistry.counter("audit.events.dropped", "reason", "overflow").count());
+    }
+
+    @Test
+    @DisplayName("should spool on the caller thread when the buffer is full with CALLER_RUNS")
+    void shouldWriteOnCallerThreadWithCallerRuns() throws Exception {
+        writer = writer(2, 1, 60_000, AuditLogWriter.OverflowPolicy.CALLER_RUNS);
+        blockWriter();
+
+        writer.enqueue(event("b"));
+        writer.enqueue(event("c"));
+        writer.enqueue(event("d"));
+
+        then(auditSpoolPort).should().append(argThat(batch -> batch.size() == 1 && batch.getFirst().getAction().equals("d")));
+        assertEquals(0.0, meterRegistry.counter("audit.events.dropped", "reason", "overflow").count());
+    }
+
+    @Test
+    @DisplayName("should flush pending events on shutdown")
+    void shouldFlushOnShutdown() {
+        writer = writer(16, 100, 60_000, AuditLogWriter.OverflowPolicy.DROP);
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(event("e" + i));
+        }
+
+        writer.shutdown();
+
+        // el escritor puede haber tomado ya parte de los eventos: se comprueba el total, no un único lote
+        assertEquals(5.0, meterRegistry.counter("audit.events.spooled").count());
+        assertEquals(0, writer.pending());
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, long flushIntervalMs, AuditLogWriter.OverflowPolicy policy) {
+        return new AuditLogWriter(auditSpoolPort, new AuditEventEnricher(), meterRegistry, capacity, batchSize, flushIntervalMs, policy, 10, 5_000);
+    }
+
+    /**
+     * Deja al hilo escritor bloqueado insertando un primer evento, para poder llenar el buffer.
+     */
+    private void blockWriter() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("audit-writer")) {
+                writing.countDown();
+                release.await();
+            }
+            return invocation.<List<?>>getArgument(0).size();
+        }).given(auditSpoolPort).append(anyList());
+        writer.enqueue(event("a"));
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+    }
+
+    private static AuditEvent event(String action) {
+        return new AuditEvent("USERS", action, "SUCCESS", System.nanoTime(), null, null, () -> "{}");
+    }
+
+    @Test
+    @DisplayName("should count events that do not fit in the spool as dropped")
+    void shouldCountSpoolFullAsDropped() {
+        given(auditSpoolPort.append(anyList())).willReturn(1);
+        writer = writer(16, 2, 60_000, AuditLogWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(event("a"));
+        writer.enqueue(event("b"));
+
+        then(auditSpoolPort).should(timeout(2_000)).append(argThat(batch -> batch.size() == 2));
+        writer.shutdown();
+        assertEquals(1.0, meterRegistry.counter("audit.events.dropped", "reason", "spool_full").count());
+    }
+}
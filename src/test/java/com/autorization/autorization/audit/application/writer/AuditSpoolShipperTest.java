@@ -0,0 +1,75 @@
+package com.autorization.autorization.audit.application.writer;
+
+import com.autorization.autorization.audit.domain.model.ActivityLogDomain;
+import com.autorization.autorization.audit.domain.port.out.AuditRepositoryPort;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort;
+import com.autorization.autorization.audit.domain.port.out.AuditSpoolPort.SpoolBatch;
+import com.autorization.autorization.shared.domain.exception.PersistenceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class AuditSpoolShipperTest {
+
+    @Mock
+    private AuditSpoolPort auditSpoolPort;
+
+    @Mock
+    private AuditRepositoryPort auditRepositoryPort;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditSpoolShipper shipper;
+
+    @BeforeEach
+    void setUp() {
+        shipper = new AuditSpoolShipper(auditSpoolPort, auditRepositoryPort, meterRegistry, 200, 2, 60_000, 120_000);
+    }
+
+    @Test
+    @DisplayName("should insert spooled batches and advance the checkpoint until the spool is drained")
+    void shouldShipAndCommit() {
+        SpoolBatch full = new SpoolBatch(List.of(new ActivityLogDomain(), new ActivityLogDomain()), 0, 100);
+        SpoolBatch partial = new SpoolBatch(List.of(new ActivityLogDomain()), 0, 150);
+        given(auditSpoolPort.poll(2)).willReturn(full, partial);
+
+        shipper.ship();
+
+        then(auditRepositoryPort).should().saveAll(full.events());
+        then(auditSpoolPort).should().commit(full);
+        then(auditSpoolPort).should().commit(partial);
+        assertEquals(3.0, meterRegistry.counter("audit.events.shipped").count());
+    }
+
+    @Test
+    @DisplayName("should keep the batch in the spool and back off when the database fails")
+    void shouldRewindAndBackOffOnFailure() {
+        SpoolBatch batch = new SpoolBatch(List.of(new ActivityLogDomain()), 0, 50);
+        given(auditSpoolPort.poll(2)).willReturn(batch);
+        willThrow(new PersistenceException("base de datos caída")).given(auditRepositoryPort).saveAll(batch.events());
+
+        shipper.ship();
+        shipper.ship();
+
+        then(auditSpoolPort).should(never()).commit(any());
+        then(auditSpoolPort).should().rewind();
+        // el segundo intento espera a que pase el retardo de reintento
+        then(auditSpoolPort).should(times(1)).poll(anyInt());
+        assertEquals(1.0, meterRegistry.counter("audit.spool.ship.failures").count());
+    }
+}
@@ -1,9 +1,15 @@
 package com.autorization.autorization.auth.adapter.in.web.controller.rest;
 
 import com.autorization.autorization.auth.adapter.in.web.request.LoginRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.RefreshTokenRequest;
 import com.autorization.autorization.auth.application.dto.out.AuthResponse;
 import com.autorization.autorization.auth.application.services.AuthService;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.authority.RoleAuthorityCache;
+import com.autorization.autorization.security.cache.VerifiedTokenCache;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.util.JwtUtil;
+import com.autorization.autorization.shared.domain.exception.ServiceOverloadedException;
 import com.autorization.autorization.shared.infraestructure.logging.LogControlService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +41,18 @@ class AuthControllerTest {
     @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private AuthoritySetRegistry authoritySetRegistry;
+
+    @MockitoBean
+    private RoleAuthorityCache roleAuthorityCache;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockitoBean
     private LogControlService logControlService;
 
@@ -55,4 +74,35 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("jwt-token"));
     }
+
+    @Test
+    @DisplayName("given a refresh token when refresh then returns a new token pair")
+    @WithMockUser
+    void shouldRefreshToken() throws Exception {
+        given(authService.refresh(any(RefreshTokenRequest.class)))
+                .willReturn(new AuthResponse("new-jwt", "next-refresh"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("old-refresh"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-jwt"))
+                .andExpect(jsonPath("$.refreshToken").value("next-refresh"));
+    }
+
+    @Test
+    @DisplayName("given a saturated login pool when login then returns 503 with Retry-After")
+    @WithMockUser
+    void shouldReturnServiceUnavailableWhenLoginPoolIsSaturated() throws Exception {
+        given(authService.login(any(LoginRequest.class)))
+                .willThrow(new ServiceOverloadedException("Demasiados inicios de sesión simultáneos"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("test@test.com", "password"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
 }
@@ -0,0 +1,66 @@
+package com.autorization.autorization.auth.adapter.in.web.controller.rest;
+
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.authority.RoleAuthorityCache;
+import com.autorization.autorization.security.cache.VerifiedTokenCache;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
+import com.autorization.autorization.security.key.JwtKeyRing;
+import com.autorization.autorization.security.util.JwtUtil;
+import com.autorization.autorization.shared.infraestructure.logging.LogControlService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JwksController.class)
+class JwksControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtKeyRing jwtKeyRing;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private AuthoritySetRegistry authoritySetRegistry;
+
+    @MockitoBean
+    private RoleAuthorityCache roleAuthorityCache;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private LogControlService logControlService;
+
+    @Test
+    @DisplayName("should publish current public keys with cache headers")
+    @WithMockUser
+    void shouldPublishJwks() throws Exception {
+        given(jwtKeyRing.jwks()).willReturn(Map.of("keys", List.of(Map.of("kty", "EC", "kid", "k1", "alg", "ES256"))));
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("k1"))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"));
+    }
+}
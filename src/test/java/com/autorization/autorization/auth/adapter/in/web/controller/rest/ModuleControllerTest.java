@@ -4,6 +4,10 @@ import com.autorization.autorization.auth.adapter.in.web.request.CreateModuleReq
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateModuleRequest;
 import com.autorization.autorization.auth.application.dto.out.ModuleResponse;
 import com.autorization.autorization.auth.domain.port.in.ModuleUseCasePort;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.authority.RoleAuthorityCache;
+import com.autorization.autorization.security.cache.VerifiedTokenCache;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.util.JwtUtil;
 import com.autorization.autorization.shared.infraestructure.logging.LogControlService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,6 +42,18 @@ class ModuleControllerTest {
     @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private AuthoritySetRegistry authoritySetRegistry;
+
+    @MockitoBean
+    private RoleAuthorityCache roleAuthorityCache;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockitoBean
     private LogControlService logControlService;
 
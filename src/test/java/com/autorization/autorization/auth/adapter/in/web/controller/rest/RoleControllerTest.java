@@ -4,6 +4,10 @@ import com.autorization.autorization.auth.adapter.in.web.request.CreateRoleReque
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateRoleRequest;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
 import com.autorization.autorization.auth.domain.port.in.RoleUseCasePort;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.authority.RoleAuthorityCache;
+import com.autorization.autorization.security.cache.VerifiedTokenCache;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.util.JwtUtil;
 import com.autorization.autorization.shared.infraestructure.logging.LogControlService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,6 +43,18 @@ class RoleControllerTest {
     @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private AuthoritySetRegistry authoritySetRegistry;
+
+    @MockitoBean
+    private RoleAuthorityCache roleAuthorityCache;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockitoBean
     private LogControlService logControlService;
 
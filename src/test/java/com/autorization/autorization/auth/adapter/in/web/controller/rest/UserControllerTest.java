@@ -2,8 +2,16 @@ package com.autorization.autorization.auth.adapter.in.web.controller.rest;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.auth.application.dto.out.UserImportLineResult;
+import com.autorization.autorization.auth.application.dto.out.UserImportResponse;
 import com.autorization.autorization.auth.application.dto.out.UserResponse;
+import com.autorization.autorization.auth.application.importer.UserImportFormat;
+import com.autorization.autorization.auth.domain.port.in.UserImportUseCasePort;
 import com.autorization.autorization.auth.domain.port.in.UserUseCasePort;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.authority.RoleAuthorityCache;
+import com.autorization.autorization.security.cache.VerifiedTokenCache;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.util.JwtUtil;
 import com.autorization.autorization.shared.infraestructure.logging.LogControlService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,8 +23,13 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -24,7 +37,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -36,9 +51,24 @@ class UserControllerTest {
         @MockitoBean
         private UserUseCasePort userUseCasePort;
 
+        @MockitoBean
+        private UserImportUseCasePort userImportUseCasePort;
+
         @MockitoBean
         private JwtUtil jwtUtil;
 
+        @MockitoBean
+        private VerifiedTokenCache verifiedTokenCache;
+
+        @MockitoBean
+        private AuthoritySetRegistry authoritySetRegistry;
+
+        @MockitoBean
+        private RoleAuthorityCache roleAuthorityCache;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
         @MockitoBean
         private LogControlService logControlService;
 
@@ -118,4 +148,47 @@ class UserControllerTest {
                                 .with(csrf()))
                                 .andExpect(status().isNoContent());
         }
-}
\ No newline at end of file
+
+        @Test
+        @DisplayName("Given a CSV body, When import users, Then returns 200 OK with the per-line report")
+        @WithMockUser(username = "admin", authorities = { "WRITE_PRIVILEGES" })
+        void shouldImportUsersFromCsv() throws Exception {
+                // Given
+                UserImportResponse response = new UserImportResponse(1, 1, 0, 0, 5, 200.0, List.of(
+                                new UserImportLineResult(2, "john.doe@example.com", UserImportLineResult.Result.CREATED,
+                                                UUID.randomUUID(), null)));
+                given(userImportUseCasePort.importUsers(any(InputStream.class), eq(UserImportFormat.CSV))).willReturn(response);
+
+                // When & Then
+                mockMvc.perform(post("/api/users/import")
+                                .with(csrf())
+                                .contentType("text/csv")
+                                .content("name,lastName,email,password\nJohn,Doe,john.doe@example.com,pass1234567\n"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.created").value(1))
+                                .andExpect(jsonPath("$.lines[0].result").value("CREATED"));
+        }
+
+        @Test
+        @DisplayName("Given users, When find all, Then streams the JSON array written by the use case")
+        @WithMockUser(username = "admin", authorities = { "READ_PRIVILEGES" })
+        void shouldStreamAllUsers() throws Exception {
+                // Given
+                given(userUseCasePort.streamAll(any(OutputStream.class))).willAnswer(invocation -> {
+                        invocation.<OutputStream>getArgument(0).write(
+                                        "[{\"email\":\"john.doe@example.com\"}]".getBytes(StandardCharsets.UTF_8));
+                        return 1L;
+                });
+
+                // When
+                MvcResult result = mockMvc.perform(get("/api/users"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+        }
+}
@@ -0,0 +1,140 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Module;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Permission;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Role;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.shared.infraestructure.persistence.AuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.audited;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asignación masiva de roles a usuarios y de permisos a roles con una sola sentencia, contra H2 en modo
+ * PostgreSQL (ON CONFLICT).
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:assignments;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Import({UserRepositoryAdapter.class, RoleRepositoryAdapter.class, AuditingConfig.class})
+class BulkAssignmentQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private RoleRepositoryAdapter roleRepositoryAdapter;
+
+    private UserId john;
+    private UserId jane;
+    private RoleId admin;
+    private RoleId auditor;
+    private PermissionId read;
+    private PermissionId write;
+
+    @BeforeEach
+    void setUp() {
+        Module module = entityManager.persist(audited(Module.builder()
+                .moduleId(UUID.randomUUID()).name("Seguridad").path("/security").icon("lock").build()));
+        Permission readPermission = entityManager.persist(audited(Permission.builder()
+                .permissionId(UUID.randomUUID()).name("READ").module(module).build()));
+        read = new PermissionId(readPermission.getPermissionId());
+        write = new PermissionId(entityManager.persist(audited(Permission.builder()
+                .permissionId(UUID.randomUUID()).name("WRITE").module(module).build())).getPermissionId());
+
+        Role adminRole = entityManager.persist(audited(Role.builder()
+                .roleId(UUID.randomUUID()).name("ADMIN").permissions(new HashSet<>(Set.of(readPermission))).build()));
+        admin = new RoleId(adminRole.getRoleId());
+        auditor = new RoleId(entityManager.persist(audited(Role.builder()
+                .roleId(UUID.randomUUID()).name("AUDITOR").build())).getRoleId());
+
+        john = new UserId(persistUser("john@example.com", Set.of(adminRole)));
+        jane = new UserId(persistUser("jane@example.com", Set.of()));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should insert only the missing user_roles pairs and ignore unknown ids")
+    void shouldAssignMissingRoles() {
+        int inserted = userRepositoryAdapter.assignRoles(
+                List.of(john, jane, new UserId(UUID.randomUUID())), List.of(admin, auditor));
+
+        // john ya tenía ADMIN
+        assertEquals(3, inserted);
+        assertEquals(Set.of(admin.id(), auditor.id()), roleIds(john));
+        assertEquals(Set.of(admin.id(), auditor.id()), roleIds(jane));
+        assertEquals(0, userRepositoryAdapter.assignRoles(List.of(john, jane), List.of(admin, auditor)));
+    }
+
+    @Test
+    @DisplayName("should delete only the requested user_roles pairs")
+    void shouldRevokeRoles() {
+        userRepositoryAdapter.assignRoles(List.of(john, jane), List.of(auditor));
+
+        int deleted = userRepositoryAdapter.revokeRoles(List.of(john, jane), List.of(admin));
+
+        assertEquals(1, deleted);
+        assertEquals(Set.of(auditor.id()), roleIds(john));
+        assertEquals(Set.of(auditor.id()), roleIds(jane));
+    }
+
+    @Test
+    @DisplayName("should add and remove role_permissions pairs in bulk")
+    void shouldAddAndRemovePermissions() {
+        assertEquals(3, roleRepositoryAdapter.addPermissions(List.of(admin, auditor), List.of(read, write)));
+        assertEquals(Set.of(read.id(), write.id()), permissionIds(auditor));
+
+        assertEquals(2, roleRepositoryAdapter.removePermissions(List.of(admin, auditor), List.of(write)));
+        assertEquals(Set.of(read.id()), permissionIds(admin));
+        assertEquals(Set.of(read.id()), permissionIds(auditor));
+    }
+
+    @Test
+    @DisplayName("should not touch the database when a list is empty")
+    void shouldSkipEmptyLists() {
+        assertEquals(0, userRepositoryAdapter.assignRoles(List.of(john), List.of()));
+        assertEquals(0, roleRepositoryAdapter.removePermissions(List.of(), List.of(read)));
+    }
+
+    private UUID persistUser(String email, Set<Role> roles) {
+        return entityManager.persist(audited(User.builder()
+                .userId(UUID.randomUUID()).name("Test").lastName("User").email(email).password("encoded-password")
+                .isEnabled(true).accountNonExpired(true).accountNonLocked(true).credentialsNonExpired(true)
+                .roles(new HashSet<>(roles)).build())).getUserId();
+    }
+
+    private Set<UUID> roleIds(UserId userId) {
+        Set<UUID> ids = new HashSet<>();
+        entityManager.find(User.class, userId.id()).getRoles().forEach(role -> ids.add(role.getRoleId()));
+        return ids;
+    }
+
+    private Set<UUID> permissionIds(RoleId roleId) {
+        Set<UUID> ids = new HashSet<>();
+        entityManager.find(Role.class, roleId.id()).getPermissions().forEach(permission -> ids.add(permission.getPermissionId()));
+        return ids;
+    }
+}
@@ -0,0 +1,45 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.shared.domain.model.Maintenance;
+import com.autorization.autorization.shared.domain.model.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Utilidades comunes de los tests de adaptadores JPA contra H2: columnas de auditoría de los fixtures y
+ * estadísticas de Hibernate para contar sentencias.
+ */
+final class JpaTestSupport {
+
+    /** Propiedad para {@code @DataJpaTest(properties = ...)} en los tests que cuentan sentencias. */
+    static final String STATISTICS = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    private JpaTestSupport() {
+    }
+
+    /**
+     * Rellena las columnas de auditoría obligatorias de una entidad de fixture.
+     */
+    static <T extends Maintenance> T audited(T entity) {
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUsuReg("test");
+        entity.setStatus(Status.ACTIVO);
+        return entity;
+    }
+
+    /**
+     * Escribe y descarta los fixtures del contexto de persistencia y devuelve las estadísticas a cero, para que
+     * el test solo cuente sus propias sentencias.
+     */
+    static Statistics resetStatistics(TestEntityManager entityManager) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
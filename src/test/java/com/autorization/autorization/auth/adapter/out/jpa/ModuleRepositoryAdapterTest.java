@@ -8,6 +8,7 @@ import com.autorization.autorization.auth.domain.model.module.vo.ModuleId;
 import com.autorization.autorization.auth.domain.model.module.vo.ModuleName;
 import com.autorization.autorization.auth.domain.model.module.vo.ModulePath;
 import com.autorization.autorization.shared.domain.model.Status;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +30,9 @@ class ModuleRepositoryAdapterTest {
     @Mock
     private ModuleRepository moduleRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ModuleRepositoryAdapter adapter;
 
@@ -42,15 +46,7 @@ class ModuleRepositoryAdapterTest {
                 new ModulePath("/users"),
                 new ModuleIcon("icon"),
                 Status.ACTIVO);
-        Module entity = new Module();
-        entity.setModuleId(domain.getModuleId().id());
-        entity.setName("Users");
-        entity.setPath("/users");
-        entity.setIcon("icon");
-        entity.setStatus(Status.ACTIVO);
-
-        given(moduleRepository.findById(any(UUID.class))).willReturn(Optional.empty());
-        given(moduleRepository.save(any(Module.class))).willReturn(entity);
+        given(entityManager.find(Module.class, domain.getModuleId().id())).willReturn(null);
 
         // When
         ModuleDomain saved = adapter.save(domain);
@@ -58,7 +54,7 @@ class ModuleRepositoryAdapterTest {
         // Then
         assertNotNull(saved);
         assertEquals("Users", saved.getName().name());
-        then(moduleRepository).should().save(any(Module.class));
+        then(entityManager).should().persist(any(Module.class));
     }
 
     @Test
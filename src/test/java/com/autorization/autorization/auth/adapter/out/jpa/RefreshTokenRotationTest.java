@@ -0,0 +1,75 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.repository.RefreshTokenRepository;
+import com.autorization.autorization.auth.application.services.RefreshTokenService;
+import com.autorization.autorization.auth.domain.model.token.RefreshTokenDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.shared.domain.exception.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+
+/**
+ * Rotación de refresh tokens contra H2 con transacciones reales (el test no abre la suya): el UPDATE que consume
+ * el token y el INSERT del reemplazo se confirman o se deshacen juntos.
+ */
+@DataJpaTest
+@Import({RefreshTokenService.class, RefreshTokenRepositoryAdapter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoSpyBean
+    private RefreshTokenRepositoryAdapter refreshTokenRepositoryAdapter;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should keep the presented token usable when storing its replacement fails")
+    void shouldRollBackConsumptionWhenSaveFails() {
+        String raw = refreshTokenService.issue(new UserId(UUID.randomUUID()));
+        willThrow(new PersistenceException("base de datos caída"))
+                .willCallRealMethod()
+                .given(refreshTokenRepositoryAdapter).save(any(RefreshTokenDomain.class));
+
+        assertThrows(PersistenceException.class, () -> refreshTokenService.rotate(raw));
+
+        // el reintento no se confunde con una reutilización: el token sigue sin consumir y la familia intacta
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(raw);
+        assertNotNull(rotation.refreshToken());
+        assertNotNull(refreshTokenService.rotate(rotation.refreshToken()).refreshToken());
+    }
+
+    @Test
+    @DisplayName("should commit the family revocation when a consumed token is presented again")
+    void shouldCommitRevocationOnReuse() {
+        String raw = refreshTokenService.issue(new UserId(UUID.randomUUID()));
+        String next = refreshTokenService.rotate(raw).refreshToken();
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(raw));
+
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(token -> token.getRevokedAt() != null));
+        assertNotNull(next);
+    }
+}
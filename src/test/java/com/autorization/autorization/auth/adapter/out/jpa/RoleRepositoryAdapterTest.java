@@ -9,6 +9,7 @@ import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
 import com.autorization.autorization.shared.domain.model.Status;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +35,9 @@ class RoleRepositoryAdapterTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private RoleRepositoryAdapter adapter;
 
@@ -43,15 +47,7 @@ class RoleRepositoryAdapterTest {
         // Given
         RoleDomain domain = new RoleDomain(new RoleId(UUID.randomUUID()), new RoleName("ADMIN"),
                 new RoleDescription("Desc"), new HashSet<>(), Status.ACTIVO);
-        Role entity = new Role();
-        entity.setRoleId(domain.getRoleId().id());
-        entity.setName("ADMIN");
-        entity.setDescription("Desc");
-        entity.setStatus(Status.ACTIVO);
-        entity.setPermissions(new HashSet<>());
-
-        given(roleRepository.findById(any(UUID.class))).willReturn(Optional.empty());
-        given(roleRepository.save(any(Role.class))).willReturn(entity);
+        given(entityManager.find(Role.class, domain.getRoleId().id())).willReturn(null);
 
         // When
         RoleDomain saved = adapter.save(domain);
@@ -59,8 +55,7 @@ class RoleRepositoryAdapterTest {
         // Then
         assertNotNull(saved);
         assertEquals("ADMIN", saved.getName().value());
-        then(roleRepository).should().findById(domain.getRoleId().id());
-        then(roleRepository).should().save(any(Role.class));
+        then(entityManager).should().persist(any(Role.class));
     }
 
     @Test
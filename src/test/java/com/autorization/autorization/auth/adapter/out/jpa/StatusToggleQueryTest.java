@@ -0,0 +1,134 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Role;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.UserTokenCutoff;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.shared.domain.model.Status;
+import com.autorization.autorization.shared.infraestructure.persistence.AuditingConfig;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.audited;
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.resetStatistics;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sentencias SQL de la activación/desactivación de usuarios y roles y del corte de tokens por lotes, contra H2.
+ */
+@DataJpaTest(properties = JpaTestSupport.STATISTICS)
+@Import({UserRepositoryAdapter.class, RoleRepositoryAdapter.class, TokenRevocationRepositoryAdapter.class, AuditingConfig.class})
+class StatusToggleQueryTest {
+
+    private static final int USERS = 1000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private RoleRepositoryAdapter roleRepositoryAdapter;
+
+    @Autowired
+    private TokenRevocationRepositoryAdapter tokenRevocationRepositoryAdapter;
+
+    private Statistics statistics;
+    private UUID roleId;
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        roleId = entityManager.persist(audited(Role.builder().roleId(UUID.randomUUID()).name("ADMIN").build())).getRoleId();
+        for (int i = 0; i < USERS; i++) {
+            UUID id = UUID.randomUUID();
+            entityManager.persist(audited(User.builder()
+                    .userId(id).name("User" + i).lastName("Test").email("user" + i + "@example.com").password("encoded-password")
+                    .isEnabled(true).accountNonExpired(true).accountNonLocked(true).credentialsNonExpired(true).build()));
+            userIds.add(id);
+        }
+        statistics = resetStatistics(entityManager);
+    }
+
+    @Test
+    @DisplayName("should deactivate a user with a single UPDATE and no prior SELECT")
+    void shouldDeactivateUserWithOneStatement() {
+        int updated = userRepositoryAdapter.updateEnabled(new UserId(userIds.getFirst()), false);
+
+        assertEquals(1, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        User user = entityManager.find(User.class, userIds.getFirst());
+        assertFalse(user.isEnabled());
+        assertEquals(Status.INACTIVO, user.getStatus());
+        assertNotNull(user.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("should report zero rows for an unknown id")
+    void shouldReportMissingRow() {
+        assertEquals(0, userRepositoryAdapter.updateEnabled(new UserId(UUID.randomUUID()), false));
+        assertEquals(0, roleRepositoryAdapter.updateEnabled(new RoleId(UUID.randomUUID()), false));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("should toggle a role with a single UPDATE")
+    void shouldToggleRoleWithOneStatement() {
+        assertEquals(1, roleRepositoryAdapter.updateEnabled(new RoleId(roleId), false));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Status.INACTIVO, entityManager.find(Role.class, roleId).getStatus());
+    }
+
+    @Test
+    @DisplayName("should deactivate a thousand users with a single UPDATE")
+    void shouldDeactivateThousandUsersWithOneStatement() {
+        List<UserId> ids = userIds.stream().map(UserId::new).toList();
+
+        int updated = userRepositoryAdapter.updateEnabled(ids, false);
+
+        assertEquals(USERS, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Status.INACTIVO, entityManager.find(User.class, userIds.getLast()).getStatus());
+    }
+
+    @Test
+    @DisplayName("should return only the ids of existing users with one query")
+    void shouldFindExistingIds() {
+        UserId missing = new UserId(UUID.randomUUID());
+
+        List<UserId> existing = userRepositoryAdapter.findExistingIds(List.of(new UserId(userIds.getFirst()), missing));
+
+        assertEquals(List.of(new UserId(userIds.getFirst())), existing);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("should replace the token cutoffs of a thousand users with two statements")
+    void shouldSaveThousandCutoffsWithTwoStatements() {
+        Instant notBefore = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<UUID> ids = new ArrayList<>(userIds);
+        ids.add(UUID.randomUUID()); // inexistente: no genera corte
+
+        tokenRevocationRepositoryAdapter.saveUserCutoffs(ids, notBefore);
+        tokenRevocationRepositoryAdapter.saveUserCutoffs(ids, notBefore.plusSeconds(1));
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(notBefore.plusSeconds(1), entityManager.find(UserTokenCutoff.class, userIds.getFirst()).getNotBefore());
+        assertNull(entityManager.find(UserTokenCutoff.class, ids.getLast()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Module;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Permission;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Role;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.domain.model.module.ModuleDomain;
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.role.RoleSummaryView;
+import com.autorization.autorization.auth.domain.model.user.UserSummaryView;
+import com.autorization.autorization.shared.domain.model.Status;
+import com.autorization.autorization.shared.infraestructure.persistence.AuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.audited;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recorrido con cursor JDBC de los listados completos (solo columnas propias, sin relaciones), contra H2.
+ */
+@DataJpaTest(properties = "auth.stream.fetch-size=2")
+@Import({UserRepositoryAdapter.class, RoleRepositoryAdapter.class, PermissionRepositoryAdapter.class,
+        ModuleRepositoryAdapter.class, AuditingConfig.class})
+class StreamAllQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private RoleRepositoryAdapter roleRepositoryAdapter;
+
+    @Autowired
+    private PermissionRepositoryAdapter permissionRepositoryAdapter;
+
+    @Autowired
+    private ModuleRepositoryAdapter moduleRepositoryAdapter;
+
+    private UUID moduleId;
+
+    @BeforeEach
+    void setUp() {
+        Module module = entityManager.persist(audited(Module.builder()
+                .moduleId(UUID.randomUUID()).name("Seguridad").path("/security").icon("lock").build()));
+        moduleId = module.getModuleId();
+        entityManager.persist(audited(Module.builder()
+                .moduleId(UUID.randomUUID()).name("Auditoría").path("/audit").icon("list").build()));
+        Permission write = entityManager.persist(audited(Permission.builder()
+                .permissionId(UUID.randomUUID()).name("WRITE").description("Escritura").module(module).build()));
+        Permission read = entityManager.persist(audited(Permission.builder()
+                .permissionId(UUID.randomUUID()).name("READ").module(module).build()));
+
+        Role admin = entityManager.persist(audited(Role.builder()
+                .roleId(UUID.randomUUID()).name("ADMIN").description("Administrador")
+                .permissions(new HashSet<>(Set.of(read, write))).build()));
+        entityManager.persist(audited(Role.builder().roleId(UUID.randomUUID()).name("AUDITOR").build()));
+
+        for (String email : List.of("carla@example.com", "ana@example.com", "bruno@example.com")) {
+            entityManager.persist(audited(User.builder()
+                    .userId(UUID.randomUUID()).name("Test").lastName("User").email(email).password("encoded-password")
+                    .isEnabled(!email.startsWith("bruno")).accountNonExpired(true).accountNonLocked(true)
+                    .credentialsNonExpired(true).roles(new HashSet<>(Set.of(admin))).build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should stream every user ordered by email across several fetches")
+    void shouldStreamUsers() {
+        List<UserSummaryView> users = new ArrayList<>();
+
+        long count = userRepositoryAdapter.streamAll(users::add);
+
+        assertEquals(3, count);
+        assertEquals(List.of("ana@example.com", "bruno@example.com", "carla@example.com"),
+                users.stream().map(UserSummaryView::email).toList());
+        assertEquals("User", users.getFirst().names().lastName());
+        assertFalse(users.get(1).status().isEnabled());
+        assertEquals(Status.ACTIVO, users.get(1).status().status());
+    }
+
+    @Test
+    @DisplayName("should stream roles without their permissions")
+    void shouldStreamRoles() {
+        List<RoleSummaryView> roles = new ArrayList<>();
+
+        roleRepositoryAdapter.streamAll(roles::add);
+
+        assertEquals(List.of("ADMIN", "AUDITOR"), roles.stream().map(RoleSummaryView::name).toList());
+        assertEquals("Administrador", roles.getFirst().description());
+        assertNull(roles.get(1).description());
+    }
+
+    @Test
+    @DisplayName("should stream permissions with only the module id")
+    void shouldStreamPermissions() {
+        List<PermissionDomain> permissions = new ArrayList<>();
+
+        permissionRepositoryAdapter.streamAll(permissions::add);
+
+        assertEquals(List.of("READ", "WRITE"), permissions.stream().map(p -> p.getName().value()).toList());
+        assertEquals(moduleId, permissions.getFirst().getModule().id());
+        assertNull(permissions.getFirst().getModule().name());
+        assertEquals("Escritura", permissions.get(1).getDescription().description());
+    }
+
+    @Test
+    @DisplayName("should stream modules ordered by name")
+    void shouldStreamModules() {
+        List<ModuleDomain> modules = new ArrayList<>();
+
+        long count = moduleRepositoryAdapter.streamAll(modules::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of("Auditoría", "Seguridad"), modules.stream().map(m -> m.getName().name()).toList());
+        assertEquals("/security", modules.get(1).getPath().url());
+        assertEquals(Status.ACTIVO, modules.get(1).getStatus());
+    }
+}
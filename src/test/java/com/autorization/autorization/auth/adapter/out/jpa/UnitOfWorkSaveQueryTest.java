@@ -0,0 +1,185 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Module;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Permission;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Role;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.adapter.out.jpa.mapper.PermissionJPAMapper;
+import com.autorization.autorization.auth.domain.model.module.ModuleDomain;
+import com.autorization.autorization.auth.domain.model.module.vo.ModuleId;
+import com.autorization.autorization.auth.domain.model.module.vo.ModuleName;
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.*;
+import com.autorization.autorization.shared.domain.model.Status;
+import com.autorization.autorization.shared.infraestructure.persistence.AuditingConfig;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.audited;
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.resetStatistics;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sentencias SQL de los save de los adaptadores cuando el servicio ya cargó la entidad en la misma transacción
+ * (cada test es una transacción, como los casos de uso), contra H2.
+ */
+@DataJpaTest(properties = JpaTestSupport.STATISTICS)
+@Import({UserRepositoryAdapter.class, RoleRepositoryAdapter.class, ModuleRepositoryAdapter.class, AuditingConfig.class})
+class UnitOfWorkSaveQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private RoleRepositoryAdapter roleRepositoryAdapter;
+
+    @Autowired
+    private ModuleRepositoryAdapter moduleRepositoryAdapter;
+
+    private Statistics statistics;
+    private UUID moduleId;
+    private UUID userId;
+    private UUID assignedRoleId;
+    private UUID freeRoleId;
+    private UUID freePermissionId;
+
+    @BeforeEach
+    void setUp() {
+        Module module = entityManager.persist(audited(Module.builder()
+                .moduleId(UUID.randomUUID()).name("Seguridad").path("/security").icon("lock").build()));
+        moduleId = module.getModuleId();
+        Permission read = entityManager.persist(audited(Permission.builder()
+                .permissionId(UUID.randomUUID()).name("READ").module(module).build()));
+        Permission write = entityManager.persist(audited(Permission.builder()
+                .permissionId(UUID.randomUUID()).name("WRITE").module(module).build()));
+        freePermissionId = write.getPermissionId();
+
+        Role assigned = entityManager.persist(audited(Role.builder()
+                .roleId(UUID.randomUUID()).name("ADMIN").permissions(new HashSet<>(Set.of(read))).build()));
+        assignedRoleId = assigned.getRoleId();
+        freeRoleId = entityManager.persist(audited(Role.builder()
+                .roleId(UUID.randomUUID()).name("AUDITOR").build())).getRoleId();
+
+        userId = UUID.randomUUID();
+        entityManager.persist(audited(User.builder()
+                .userId(userId).name("John").lastName("Doe").email("john@example.com").password("encoded-password")
+                .isEnabled(true).accountNonExpired(true).accountNonLocked(true).credentialsNonExpired(true)
+                .roles(new HashSet<>(Set.of(assigned))).build()));
+        statistics = resetStatistics(entityManager);
+    }
+
+    @Test
+    @DisplayName("should update a user loaded in the same transaction with a single UPDATE")
+    void shouldUpdateLoadedUserWithOneStatement() {
+        UserDomain user = userRepositoryAdapter.findById(new UserId(userId)).orElseThrow();
+        user.changeNames(new UserNames("Johnny", "Doe", null));
+        statistics.clear();
+
+        userRepositoryAdapter.save(user);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        entityManager.clear();
+        assertEquals("Johnny", entityManager.find(User.class, userId).getName());
+    }
+
+    @Test
+    @DisplayName("should not issue any statement when nothing changed")
+    void shouldSkipUnchangedUser() {
+        UserDomain user = userRepositoryAdapter.findById(new UserId(userId)).orElseThrow();
+        statistics.clear();
+
+        userRepositoryAdapter.save(user);
+        entityManager.flush();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("should insert only the new user_roles row when a role is assigned")
+    void shouldInsertOnlyAssignedRoleRow() {
+        UserDomain user = userRepositoryAdapter.findById(new UserId(userId)).orElseThrow();
+        RoleDomain role = roleRepositoryAdapter.findById(new RoleId(freeRoleId)).orElseThrow();
+        user.addRole(role);
+        statistics.clear();
+
+        userRepositoryAdapter.save(user);
+        entityManager.flush();
+
+        // ni SELECT previo ni borrado y reinserción de la colección
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        entityManager.clear();
+        assertEquals(Set.of(assignedRoleId, freeRoleId), roleIds(entityManager.find(User.class, userId)));
+    }
+
+    @Test
+    @DisplayName("should insert only the new role_permissions row when a permission is added")
+    void shouldInsertOnlyAddedPermissionRow() {
+        RoleDomain role = roleRepositoryAdapter.findById(new RoleId(assignedRoleId)).orElseThrow();
+        PermissionDomain read = role.getPermissions().iterator().next();
+        role.removePermission(read);
+        role.addPermission(PermissionJPAMapper.toDomain(entityManager.find(Permission.class, freePermissionId)));
+        statistics.clear();
+
+        roleRepositoryAdapter.save(role);
+        entityManager.flush();
+
+        // DELETE de la fila quitada + INSERT de la añadida
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+    }
+
+    @Test
+    @DisplayName("should update a module loaded in the same transaction with a single UPDATE")
+    void shouldUpdateLoadedModuleWithOneStatement() {
+        ModuleDomain module = moduleRepositoryAdapter.findById(new ModuleId(moduleId)).orElseThrow();
+        module.updateName(new ModuleName("Seguridad y accesos"));
+        statistics.clear();
+
+        moduleRepositoryAdapter.save(module);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("should insert a new user with one lookup and no merge")
+    void shouldInsertNewUser() {
+        RoleDomain role = roleRepositoryAdapter.findById(new RoleId(freeRoleId)).orElseThrow();
+        UserDomain user = new UserDomain(new UserId(UUID.randomUUID()), new UserNames("Jane", "Doe", null),
+                new UserEmail("jane@example.com"), new UserPassword("encoded-password"),
+                new AccountStatus(true, true, true, true, Status.ACTIVO), new HashSet<>(Set.of(role)));
+        statistics.clear();
+
+        userRepositoryAdapter.save(user);
+        entityManager.flush();
+
+        // SELECT por id + INSERT del usuario + INSERT en user_roles
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    private static Set<UUID> roleIds(User user) {
+        Set<UUID> ids = new HashSet<>();
+        user.getRoles().forEach(role -> ids.add(role.getRoleId()));
+        return ids;
+    }
+}
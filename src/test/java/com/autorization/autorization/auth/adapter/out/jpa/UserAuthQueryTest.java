@@ -0,0 +1,110 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Module;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Permission;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.Role;
+import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.domain.model.user.UserAuthView;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.shared.infraestructure.persistence.AuditingConfig;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.audited;
+import static com.autorization.autorization.auth.adapter.out.jpa.JpaTestSupport.resetStatistics;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Número de sentencias SQL de la carga de usuario para autenticación, contra H2.
+ */
+@DataJpaTest(properties = JpaTestSupport.STATISTICS)
+@Import({UserRepositoryAdapter.class, AuditingConfig.class})
+class UserAuthQueryTest {
+
+    private static final int ROLES = 3;
+    private static final int PERMISSIONS_PER_ROLE = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        Module module = entityManager.persist(audited(Module.builder()
+                .moduleId(UUID.randomUUID()).name("Seguridad").path("/security").build()));
+
+        Set<Role> roles = new HashSet<>();
+        for (int r = 0; r < ROLES; r++) {
+            Set<Permission> permissions = new HashSet<>();
+            for (int p = 0; p < PERMISSIONS_PER_ROLE; p++) {
+                permissions.add(entityManager.persist(audited(Permission.builder()
+                        .permissionId(UUID.randomUUID()).name("PERM_" + r + "_" + p).module(module).build())));
+            }
+            roles.add(entityManager.persist(audited(Role.builder()
+                    .roleId(UUID.randomUUID()).name("ROLE" + r).permissions(permissions).build())));
+        }
+
+        userId = UUID.randomUUID();
+        entityManager.persist(audited(User.builder()
+                .userId(userId).name("John").lastName("Doe").email("john@example.com").password("encoded-password")
+                .isEnabled(true).accountNonExpired(true).accountNonLocked(true).credentialsNonExpired(true)
+                .roles(roles).build()));
+        entityManager.persist(audited(User.builder()
+                .userId(UUID.randomUUID()).name("Jane").lastName("Doe").email("jane@example.com").password("encoded-password")
+                .isEnabled(false).build()));
+        statistics = resetStatistics(entityManager);
+    }
+
+    @Test
+    @DisplayName("should load user, roles and permission names with a single statement")
+    void shouldLoadAuthViewWithSingleStatement() {
+        UserAuthView view = userRepositoryAdapter.findAuthViewByEmail(new UserEmail("john@example.com")).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(userId, view.userId().id());
+        assertEquals("encoded-password", view.password());
+        assertTrue(view.enabled());
+        assertEquals(ROLES, view.roles().size());
+        assertEquals(ROLES * PERMISSIONS_PER_ROLE, view.permissionNames().size());
+        view.roles().forEach(role -> assertEquals(PERMISSIONS_PER_ROLE, role.permissions().size()));
+    }
+
+    @Test
+    @DisplayName("should load by id and users without roles with a single statement")
+    void shouldLoadByIdAndWithoutRoles() {
+        assertEquals(ROLES, userRepositoryAdapter.findAuthViewById(new UserId(userId)).orElseThrow().roles().size());
+        UserAuthView withoutRoles = userRepositoryAdapter.findAuthViewByEmail(new UserEmail("jane@example.com")).orElseThrow();
+        assertTrue(userRepositoryAdapter.findAuthViewByEmail(new UserEmail("nobody@example.com")).isEmpty());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertTrue(withoutRoles.roles().isEmpty());
+        assertFalse(withoutRoles.enabled());
+    }
+
+    @Test
+    @DisplayName("should need one statement per lazy association when loading the full domain graph")
+    void shouldShowLazyTraversalOfFullGraph() {
+        UserDomain user = userRepositoryAdapter.findByEmail(new UserEmail("john@example.com")).orElseThrow();
+
+        assertEquals(ROLES, user.getRoles().size());
+        // usuario + colección de roles + permisos de cada rol: lo que evita la vista de autenticación
+        assertTrue(statistics.getPrepareStatementCount() >= 2 + ROLES);
+    }
+}
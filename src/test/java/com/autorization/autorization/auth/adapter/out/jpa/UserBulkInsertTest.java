@@ -0,0 +1,91 @@
+package com.autorization.autorization.auth.adapter.out.jpa;
+
+import com.autorization.autorization.auth.adapter.out.jpa.entity.User;
+import com.autorization.autorization.auth.adapter.out.jpa.repository.UserRepository;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.*;
+import com.autorization.autorization.shared.domain.model.Status;
+import com.autorization.autorization.shared.infraestructure.persistence.AuditingConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserción en lote de usuarios importados y comprobación de emails existentes, contra H2 en modo PostgreSQL (ON CONFLICT).
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:users;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Import({UserRepositoryAdapter.class, AuditingConfig.class})
+class UserBulkInsertTest {
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("should insert every user of the batch with audit columns")
+    void shouldInsertBatch() {
+        List<UserDomain> users = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            users.add(user("user" + i + "@example.com"));
+        }
+
+        boolean[] inserted = userRepositoryAdapter.insertAll(users);
+
+        assertEquals(1000, inserted.length);
+        for (boolean row : inserted) {
+            assertTrue(row);
+        }
+        assertEquals(1000, userRepository.count());
+        User stored = userRepository.findById(users.getFirst().getUserId().id()).orElseThrow();
+        assertEquals("user0@example.com", stored.getEmail());
+        assertEquals("system", stored.getUsuReg());
+        assertNotNull(stored.getCreatedAt());
+        assertEquals(Status.ACTIVO, stored.getStatus());
+        assertTrue(stored.isEnabled());
+    }
+
+    @Test
+    @DisplayName("should skip an email registered after the duplicate check without failing the batch")
+    void shouldSkipConflictingEmail() {
+        userRepositoryAdapter.insertAll(List.of(user("ana@example.com")));
+
+        boolean[] inserted = userRepositoryAdapter.insertAll(List.of(user("ana@example.com"), user("luis@example.com")));
+
+        assertFalse(inserted[0]);
+        assertTrue(inserted[1]);
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("should return only the emails already registered")
+    void shouldFindExistingEmails() {
+        userRepositoryAdapter.insertAll(List.of(user("ana@example.com")));
+
+        Set<String> existing = userRepositoryAdapter.findExistingEmails(List.of("ana@example.com", "luis@example.com"));
+
+        assertEquals(Set.of("ana@example.com"), existing);
+    }
+
+    private static UserDomain user(String email) {
+        return new UserDomain(new UserId(UUID.randomUUID()), new UserNames("Test", "User", null), new UserEmail(email),
+                new UserPassword("encoded-password"), new AccountStatus(true, true, true, true, Status.ACTIVO), new HashSet<>());
+    }
+}
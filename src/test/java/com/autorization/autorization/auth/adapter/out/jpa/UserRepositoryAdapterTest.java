@@ -7,6 +7,7 @@ import com.autorization.autorization.auth.domain.model.user.UserDomain;
 import com.autorization.autorization.auth.domain.model.user.vo.*;
 import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
 import com.autorization.autorization.shared.domain.model.Status;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,9 @@ class UserRepositoryAdapterTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private UserRepositoryAdapter userRepositoryAdapter;
 
@@ -47,8 +51,7 @@ class UserRepositoryAdapterTest {
                 new AccountStatus(true, true, true, true, Status.ACTIVO),
                 new HashSet<>());
 
-        given(userRepository.findById(domain.getUserId().id())).willReturn(Optional.empty());
-        given(userRepository.save(any(User.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(entityManager.find(User.class, domain.getUserId().id())).willReturn(null);
 
         // When
         UserDomain saved = userRepositoryAdapter.save(domain);
@@ -56,7 +59,7 @@ class UserRepositoryAdapterTest {
         // Then
         assertNotNull(saved);
         assertEquals(domain.getUserId().id(), saved.getUserId().id());
-        verify(userRepository).save(any(User.class));
+        verify(entityManager).persist(any(User.class));
     }
 
     @Test
@@ -1,11 +1,16 @@
 package com.autorization.autorization.auth.application.services;
 
 import com.autorization.autorization.auth.adapter.in.web.request.LoginRequest;
+import com.autorization.autorization.auth.adapter.in.web.request.RefreshTokenRequest;
 import com.autorization.autorization.auth.application.dto.out.AuthResponse;
+import com.autorization.autorization.auth.domain.model.user.UserAuthView;
 import com.autorization.autorization.auth.domain.model.user.UserDomain;
 import com.autorization.autorization.auth.domain.model.user.vo.*;
 import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
+import com.autorization.autorization.security.password.LoginPasswordHasher;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.security.util.JwtUtil;
+import com.autorization.autorization.security.util.VerifiedToken;
 import com.autorization.autorization.shared.domain.model.Status;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,9 +20,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
@@ -36,7 +43,13 @@ class AuthServiceTest {
     private UserRepositoryPort userRepositoryPort;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private LoginPasswordHasher passwordHasher;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
 
     @InjectMocks
     private AuthService authService;
@@ -45,16 +58,70 @@ class AuthServiceTest {
     @DisplayName("should login successfully")
     void shouldLoginSuccessfully() {
         LoginRequest request = new LoginRequest("test@test.com", "password123");
-        UserDomain user = createUser("test@test.com", "encodedPassword", Status.ACTIVO);
+        UserAuthView user = createUser("test@test.com", "encodedPassword", Status.ACTIVO);
 
-        given(userRepositoryPort.findByEmail(any(UserEmail.class))).willReturn(Optional.of(user));
-        given(passwordEncoder.matches(anyString(), anyString())).willReturn(true);
-        given(jwtUtil.generateToken(any(UserDomain.class))).willReturn("jwt-token");
+        given(userRepositoryPort.findAuthViewByEmail(any(UserEmail.class))).willReturn(Optional.of(user));
+        given(passwordHasher.matches(anyString(), anyString())).willReturn(true);
+        given(jwtUtil.generateToken(any(UserAuthView.class))).willReturn("jwt-token");
+        given(refreshTokenService.issue(user.userId())).willReturn("refresh-token");
 
         AuthResponse response = authService.login(request);
 
         assertNotNull(response);
         assertEquals("jwt-token", response.token());
+        assertEquals("refresh-token", response.refreshToken());
+    }
+
+    @Test
+    @DisplayName("should rehash the password on login when the stored hash is below the current policy")
+    void shouldRehashOutdatedPasswordOnLogin() {
+        LoginRequest request = new LoginRequest("test@test.com", "password123");
+        UserAuthView view = createUser("test@test.com", "$2a$04$legacy-bcrypt-hash", Status.ACTIVO);
+        UserDomain domain = new UserDomain(view.userId(), new UserNames("Test", "User", null), view.email(),
+                new UserPassword(view.password()), new AccountStatus(true, true, true, true, Status.ACTIVO), new HashSet<>());
+
+        given(userRepositoryPort.findAuthViewByEmail(any(UserEmail.class))).willReturn(Optional.of(view));
+        given(passwordHasher.matches("password123", view.password())).willReturn(true);
+        given(passwordHasher.upgradeEncoding(view.password())).willReturn(true);
+        given(passwordHasher.encode("password123")).willReturn("{bcrypt}$2a$12$new-hash");
+        given(userRepositoryPort.findById(view.userId())).willReturn(Optional.of(domain));
+        given(jwtUtil.generateToken(view)).willReturn("jwt-token");
+
+        authService.login(request);
+
+        then(userRepositoryPort).should().save(domain);
+        assertEquals("{bcrypt}$2a$12$new-hash", domain.getPassword().value());
+    }
+
+    @Test
+    @DisplayName("should exchange refresh token without checking the password")
+    void shouldRefreshWithoutPasswordCheck() {
+        UserAuthView user = createUser("test@test.com", "encodedPassword", Status.ACTIVO);
+        var rotation = new RefreshTokenService.Rotation(user.userId(), UUID.randomUUID(), "next-refresh");
+
+        given(refreshTokenService.rotate("old-refresh")).willReturn(rotation);
+        given(userRepositoryPort.findAuthViewById(user.userId())).willReturn(Optional.of(user));
+        given(jwtUtil.generateToken(user)).willReturn("jwt-token");
+
+        AuthResponse response = authService.refresh(new RefreshTokenRequest("old-refresh"));
+
+        assertEquals("jwt-token", response.token());
+        assertEquals("next-refresh", response.refreshToken());
+        then(passwordHasher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("should revoke the family when refreshing a disabled account")
+    void shouldRevokeFamilyWhenRefreshingDisabledAccount() {
+        UserAuthView user = createUser("test@test.com", "encodedPassword", Status.INACTIVO);
+        var rotation = new RefreshTokenService.Rotation(user.userId(), UUID.randomUUID(), "next-refresh");
+
+        given(refreshTokenService.rotate("old-refresh")).willReturn(rotation);
+        given(userRepositoryPort.findAuthViewById(user.userId())).willReturn(Optional.of(user));
+
+        assertThrows(DisabledException.class, () -> authService.refresh(new RefreshTokenRequest("old-refresh")));
+        then(refreshTokenService).should().revokeFamily(rotation.familyId());
+        then(jwtUtil).shouldHaveNoInteractions();
     }
 
     @Test
@@ -62,7 +129,7 @@ class AuthServiceTest {
     void shouldThrowBadCredentialsWhenUserNotFound() {
         LoginRequest request = new LoginRequest("test@test.com", "password");
 
-        given(userRepositoryPort.findByEmail(any(UserEmail.class))).willReturn(Optional.empty());
+        given(userRepositoryPort.findAuthViewByEmail(any(UserEmail.class))).willReturn(Optional.empty());
 
         assertThrows(BadCredentialsException.class, () -> authService.login(request));
     }
@@ -71,10 +138,10 @@ class AuthServiceTest {
     @DisplayName("should throw BadCredentials when password does not match")
     void shouldThrowBadCredentialsWhenPasswordMismatch() {
         LoginRequest request = new LoginRequest("test@test.com", "wrong");
-        UserDomain user = createUser("test@test.com", "encodedPassword", Status.ACTIVO);
+        UserAuthView user = createUser("test@test.com", "encodedPassword", Status.ACTIVO);
 
-        given(userRepositoryPort.findByEmail(any(UserEmail.class))).willReturn(Optional.of(user));
-        given(passwordEncoder.matches(anyString(), anyString())).willReturn(false);
+        given(userRepositoryPort.findAuthViewByEmail(any(UserEmail.class))).willReturn(Optional.of(user));
+        given(passwordHasher.matches(anyString(), anyString())).willReturn(false);
 
         assertThrows(BadCredentialsException.class, () -> authService.login(request));
     }
@@ -83,21 +150,35 @@ class AuthServiceTest {
     @DisplayName("should throw DisabledException when account is inactive")
     void shouldThrowDisabledException() {
         LoginRequest request = new LoginRequest("test@test.com", "password");
-        UserDomain user = createUser("test@test.com", "encodedPassword", Status.INACTIVO);
+        UserAuthView user = createUser("test@test.com", "encodedPassword", Status.INACTIVO);
 
-        given(userRepositoryPort.findByEmail(any(UserEmail.class))).willReturn(Optional.of(user));
-        given(passwordEncoder.matches(anyString(), anyString())).willReturn(true);
+        given(userRepositoryPort.findAuthViewByEmail(any(UserEmail.class))).willReturn(Optional.of(user));
+        given(passwordHasher.matches(anyString(), anyString())).willReturn(true);
 
         assertThrows(DisabledException.class, () -> authService.login(request));
     }
 
-    private UserDomain createUser(String email, String password, Status status) {
-        return new UserDomain(
+    @Test
+    @DisplayName("should revoke access token jti and refresh family on logout")
+    void shouldRevokeOnLogout() {
+        UUID userId = UUID.randomUUID();
+        Instant exp = Instant.now().plusSeconds(60);
+        given(jwtUtil.verify("access")).willReturn(new VerifiedToken("test@test.com", userId.toString(), "jti-1",
+                List.of(), List.of(), List.of(), null, Instant.now(), exp));
+
+        authService.logout("access", "refresh");
+
+        then(tokenRevocationService).should().revokeToken("jti-1", userId, exp);
+        then(refreshTokenService).should().revoke("refresh");
+    }
+
+    private UserAuthView createUser(String email, String password, Status status) {
+        return UserAuthView.of(new UserDomain(
                 new UserId(UUID.randomUUID()),
                 new UserNames("Test", "User", null),
                 new UserEmail(email),
                 new UserPassword(password),
                 new AccountStatus(status == Status.ACTIVO, true, true, true, status),
-                new HashSet<>());
+                new HashSet<>()));
     }
 }
@@ -81,13 +81,12 @@ class ModuleServiceTest {
     @DisplayName("should deactivate module")
     void shouldDeactivateModule() {
         UUID id = UUID.randomUUID();
-        ModuleDomain existing = createDomain(id, "Users");
 
-        given(moduleRepositoryPort.findById(any(ModuleId.class))).willReturn(Optional.of(existing));
+        given(moduleRepositoryPort.updateEnabled(any(ModuleId.class), eq(false))).willReturn(1);
 
         moduleService.deactivate(id);
 
-        then(moduleRepositoryPort).should().updateEnabled(any(ModuleId.class), eq(false));
+        then(moduleRepositoryPort).should().updateEnabled(new ModuleId(id), false);
     }
 
     // Helper to match boolean
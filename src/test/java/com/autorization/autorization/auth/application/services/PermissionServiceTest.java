@@ -3,6 +3,7 @@ package com.autorization.autorization.auth.application.services;
 import com.autorization.autorization.auth.adapter.in.web.request.CreatePermissionRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdatePermissionRequest;
 import com.autorization.autorization.auth.application.dto.out.PermissionResponse;
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
 import com.autorization.autorization.auth.domain.exception.PermissionAlreadyExistsException;
 
 import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
@@ -22,6 +23,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.util.Optional;
@@ -39,6 +41,9 @@ class PermissionServiceTest {
     @Mock
     private PermissionRepositoryPort permissionRepositoryPort;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PermissionService permissionService;
 
@@ -90,13 +95,13 @@ class PermissionServiceTest {
     @DisplayName("should deactivate permission")
     void shouldDeactivatePermission() {
         UUID id = UUID.randomUUID();
-        PermissionDomain existing = createDomain(id, "READ");
 
-        given(permissionRepositoryPort.findById(any(PermissionId.class))).willReturn(Optional.of(existing));
+        given(permissionRepositoryPort.updateEnabled(any(PermissionId.class), eq(false))).willReturn(1);
 
         permissionService.deactivate(id);
 
-        then(permissionRepositoryPort).should().updateEnabled(any(PermissionId.class), eq(false));
+        then(permissionRepositoryPort).should().updateEnabled(new PermissionId(id), false);
+        then(eventPublisher).should().publishEvent(any(AuthorizationModelChangedEvent.class));
     }
 
     // Helper to match boolean
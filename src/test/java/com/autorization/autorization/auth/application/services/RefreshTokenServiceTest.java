@@ -0,0 +1,129 @@
+package com.autorization.autorization.auth.application.services;
+
+import com.autorization.autorization.auth.domain.model.token.RefreshTokenDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.port.out.RefreshTokenRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepositoryPort,
+                Duration.ofDays(14).toMillis(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("should store only the hash of the issued token")
+    void shouldStoreOnlyHash() {
+        UserId userId = new UserId(UUID.randomUUID());
+
+        String raw = refreshTokenService.issue(userId);
+
+        ArgumentCaptor<RefreshTokenDomain> captor = ArgumentCaptor.forClass(RefreshTokenDomain.class);
+        then(refreshTokenRepositoryPort).should().save(captor.capture());
+        RefreshTokenDomain stored = captor.getValue();
+        assertEquals(RefreshTokenService.hash(raw), stored.getTokenHash());
+        assertNotEquals(raw, stored.getTokenHash());
+        assertEquals(userId.id(), stored.getUserId());
+        assertEquals(NOW.plus(Duration.ofDays(14)), stored.getExpiresAt());
+    }
+
+    @Test
+    @DisplayName("should rotate a valid token within the same family")
+    void shouldRotateWithinFamily() {
+        RefreshTokenDomain current = token(null, null, NOW.plusSeconds(60));
+        given(refreshTokenRepositoryPort.findByTokenHash(RefreshTokenService.hash("raw"))).willReturn(Optional.of(current));
+        given(refreshTokenRepositoryPort.markUsed(eq(current.getId()), any(UUID.class), eq(NOW))).willReturn(true);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        ArgumentCaptor<RefreshTokenDomain> captor = ArgumentCaptor.forClass(RefreshTokenDomain.class);
+        then(refreshTokenRepositoryPort).should().save(captor.capture());
+        assertEquals(current.getFamilyId(), captor.getValue().getFamilyId());
+        assertEquals(RefreshTokenService.hash(rotation.refreshToken()), captor.getValue().getTokenHash());
+        assertEquals(current.getUserId(), rotation.userId().id());
+        then(refreshTokenRepositoryPort).should(never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("should revoke the whole family when a used token is presented again")
+    void shouldRevokeFamilyOnReuse() {
+        RefreshTokenDomain used = token(NOW.minusSeconds(5), null, NOW.plusSeconds(60));
+        given(refreshTokenRepositoryPort.findByTokenHash(anyString())).willReturn(Optional.of(used));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("raw"));
+
+        then(refreshTokenRepositoryPort).should().revokeFamily(used.getFamilyId(), NOW);
+        then(refreshTokenRepositoryPort).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("should revoke the family when a concurrent request already consumed the token")
+    void shouldRevokeFamilyWhenConditionalUpdateLoses() {
+        RefreshTokenDomain current = token(null, null, NOW.plusSeconds(60));
+        given(refreshTokenRepositoryPort.findByTokenHash(anyString())).willReturn(Optional.of(current));
+        given(refreshTokenRepositoryPort.markUsed(eq(current.getId()), any(UUID.class), eq(NOW))).willReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("raw"));
+
+        then(refreshTokenRepositoryPort).should().revokeFamily(current.getFamilyId(), NOW);
+        then(refreshTokenRepositoryPort).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("should reject unknown and expired tokens")
+    void shouldRejectUnknownAndExpired() {
+        given(refreshTokenRepositoryPort.findByTokenHash(RefreshTokenService.hash("unknown"))).willReturn(Optional.empty());
+        given(refreshTokenRepositoryPort.findByTokenHash(RefreshTokenService.hash("expired")))
+                .willReturn(Optional.of(token(null, null, NOW)));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("expired"));
+        then(refreshTokenRepositoryPort).should(never()).markUsed(any(), any(), any());
+        then(refreshTokenRepositoryPort).should(never()).revokeFamily(any(), any());
+    }
+
+    private static RefreshTokenDomain token(Instant usedAt, Instant revokedAt, Instant expiresAt) {
+        return RefreshTokenDomain.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .familyId(UUID.randomUUID())
+                .tokenHash("hash")
+                .issuedAt(NOW.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .usedAt(usedAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
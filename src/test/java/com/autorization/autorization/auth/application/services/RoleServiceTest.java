@@ -2,9 +2,12 @@ package com.autorization.autorization.auth.application.services;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateRoleRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateRoleRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
 import com.autorization.autorization.auth.application.dto.out.RoleResponse;
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
 import com.autorization.autorization.auth.domain.exception.RoleAlreadyExistsException;
 import com.autorization.autorization.auth.domain.exception.RoleNotFoundException;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
 import com.autorization.autorization.auth.domain.model.role.RoleDomain;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
 import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
@@ -18,9 +21,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,6 +44,9 @@ class RoleServiceTest {
     @Mock
     private PermissionRepositoryPort permissionRepositoryPort;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -60,6 +68,7 @@ class RoleServiceTest {
         assertNotNull(response);
         assertEquals("ADMIN", response.name());
         then(roleRepositoryPort).should().save(any(RoleDomain.class));
+        then(eventPublisher).should().publishEvent(any(AuthorizationModelChangedEvent.class));
     }
 
     @Test
@@ -136,16 +145,59 @@ class RoleServiceTest {
     void shouldDeactivateRole() {
         // Given
         UUID id = UUID.randomUUID();
-        RoleDomain role = new RoleDomain(new RoleId(id), new RoleName("ADMIN"), new RoleDescription("Desc"),
-                new HashSet<>(), Status.ACTIVO);
 
-        given(roleRepositoryPort.findById(any(RoleId.class))).willReturn(Optional.of(role));
+        given(roleRepositoryPort.updateEnabled(any(RoleId.class), booleanThat(b -> !b))).willReturn(1);
 
         // When
         roleService.deactivate(id);
 
         // Then
-        then(roleRepositoryPort).should().updateEnabled(any(RoleId.class), booleanThat(b -> !b));
+        then(roleRepositoryPort).should(never()).findById(any(RoleId.class));
+        then(eventPublisher).should().publishEvent(any(AuthorizationModelChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("should throw when deactivating a role that updates no rows")
+    void shouldThrowWhenDeactivatingMissingRole() {
+        // Given
+        given(roleRepositoryPort.updateEnabled(any(RoleId.class), booleanThat(b -> !b))).willReturn(0);
+
+        // When / Then
+        assertThrows(RoleNotFoundException.class, () -> roleService.deactivate(UUID.randomUUID()));
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("should add permissions in bulk and notify the authorization model change")
+    void shouldAddPermissionsInBulk() {
+        // Given
+        UUID role = UUID.randomUUID();
+        UUID read = UUID.randomUUID();
+        UUID write = UUID.randomUUID();
+        given(roleRepositoryPort.addPermissions(List.of(new RoleId(role)), List.of(new PermissionId(read), new PermissionId(write))))
+                .willReturn(2);
+
+        // When
+        BulkAssignmentResponse response = roleService.addPermissions(List.of(role, role), List.of(read, write, read));
+
+        // Then
+        assertEquals(new BulkAssignmentResponse(2, 2), response);
+        then(roleRepositoryPort).should(never()).findById(any(RoleId.class));
+        then(eventPublisher).should().publishEvent(any(AuthorizationModelChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("should not notify a change when no role permission was removed")
+    void shouldSkipEventWhenNothingRemoved() {
+        // Given
+        given(roleRepositoryPort.removePermissions(any(), any())).willReturn(0);
+
+        // When
+        BulkAssignmentResponse response = roleService.removePermissions(List.of(UUID.randomUUID()), List.of(UUID.randomUUID()));
+
+        // Then
+        assertEquals(new BulkAssignmentResponse(1, 0), response);
+        then(eventPublisher).shouldHaveNoInteractions();
     }
 
     // Helper needed for boolean matcher if ArgumentMatchers.eq(false) is ambiguous
@@ -0,0 +1,158 @@
+package com.autorization.autorization.auth.application.services;
+
+import com.autorization.autorization.auth.application.dto.out.UserImportLineResult;
+import com.autorization.autorization.auth.application.dto.out.UserImportLineResult.Result;
+import com.autorization.autorization.auth.application.dto.out.UserImportResponse;
+import com.autorization.autorization.auth.application.importer.UserImportFormat;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepositoryPort userRepositoryPort;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(userRepositoryPort, passwordEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(), JsonMapper.builder().build(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given an NDJSON file, When importUsers, Then reports every line and checks duplicates once per chunk")
+    void shouldImportNdjsonByChunks() {
+        // Given
+        String file = """
+                {"name":"Ana","lastName":"Pérez","email":"Ana@Test.com","password":"password-1"}
+                {"name":"Luis","lastName":"Gómez","email":"luis@test.com","password":"password-2"}
+                not json
+
+                {"name":"Eva","lastName":"Ruiz","email":"eva@test.com","password":"short"}
+                {"name":"Ana","lastName":"Otra","email":"ana@test.com","password":"password-3"}
+                {"name":"Juan","lastName":"Díaz","email":"juan@test.com","password":"password-4"}
+                """;
+        given(userRepositoryPort.findExistingEmails(List.of("ana@test.com", "luis@test.com"))).willReturn(Set.of("luis@test.com"));
+        given(userRepositoryPort.findExistingEmails(List.of("juan@test.com"))).willReturn(Set.of());
+        given(passwordEncoder.encode(anyString())).willAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        given(userRepositoryPort.insertAll(anyList())).willAnswer(invocation -> {
+            boolean[] inserted = new boolean[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(inserted, true);
+            return inserted;
+        });
+
+        // When
+        UserImportResponse response = userImportService.importUsers(stream(file), UserImportFormat.NDJSON);
+
+        // Then
+        assertEquals(List.of(1, 2, 3, 5, 6, 7), response.lines().stream().map(UserImportLineResult::line).toList());
+        assertEquals(List.of(Result.CREATED, Result.DUPLICATE, Result.INVALID, Result.INVALID, Result.DUPLICATE, Result.CREATED),
+                response.lines().stream().map(UserImportLineResult::result).toList());
+        assertEquals(2, response.created());
+        assertEquals(2, response.duplicated());
+        assertEquals(2, response.invalid());
+        assertNotNull(response.lines().getFirst().userId());
+        assertEquals("ana@test.com", response.lines().getFirst().email());
+        assertEquals("El email ya está en uso", response.lines().get(1).message());
+        assertEquals("Email repetido en el fichero", response.lines().get(4).message());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserDomain>> inserted = ArgumentCaptor.forClass(List.class);
+        then(userRepositoryPort).should(times(2)).insertAll(inserted.capture());
+        assertEquals("hash:password-1", inserted.getAllValues().getFirst().getFirst().getPassword().value());
+        assertEquals("juan@test.com", inserted.getAllValues().getLast().getFirst().getEmail().value());
+    }
+
+    @Test
+    @DisplayName("Given a CSV file with quoted values, When importUsers, Then maps columns by header name")
+    void shouldImportCsvByHeader() {
+        // Given
+        String file = "email,password,lastName,name,secondName\r\n"
+                + "ana@test.com,password-1,\"Pérez, de la Vega\",Ana,\r\n"
+                + "luis@test.com,password-2,Gómez,,\r\n";
+        given(userRepositoryPort.findExistingEmails(List.of("ana@test.com"))).willReturn(Set.of());
+        given(passwordEncoder.encode(anyString())).willReturn("encoded-password");
+        given(userRepositoryPort.insertAll(anyList())).willReturn(new boolean[]{true});
+
+        // When
+        UserImportResponse response = userImportService.importUsers(stream(file), UserImportFormat.CSV);
+
+        // Then
+        assertEquals(1, response.created());
+        assertEquals(Result.INVALID, response.lines().get(1).result());
+        assertEquals(3, response.lines().get(1).line());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserDomain>> inserted = ArgumentCaptor.forClass(List.class);
+        then(userRepositoryPort).should().insertAll(inserted.capture());
+        assertEquals("Pérez, de la Vega", inserted.getValue().getFirst().getNames().lastName());
+    }
+
+    @Test
+    @DisplayName("Given a CSV header without email, When importUsers, Then reports the header and imports nothing")
+    void shouldRejectCsvWithoutRequiredColumn() {
+        UserImportResponse response = userImportService.importUsers(
+                stream("name,lastName,password\nAna,Pérez,password-1\n"), UserImportFormat.CSV);
+
+        assertEquals(1, response.total());
+        assertEquals(Result.INVALID, response.lines().getFirst().result());
+        assertTrue(response.lines().getFirst().message().contains("email"));
+        then(userRepositoryPort).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Given an email registered concurrently, When the batch skips it, Then the line is reported as duplicate")
+    void shouldReportRowSkippedByInsert() {
+        // Given
+        given(userRepositoryPort.findExistingEmails(anyList())).willReturn(Set.of());
+        given(passwordEncoder.encode(anyString())).willReturn("encoded-password");
+        given(userRepositoryPort.insertAll(anyList())).willReturn(new boolean[]{false});
+
+        // When
+        UserImportResponse response = userImportService.importUsers(
+                stream("{\"name\":\"Ana\",\"lastName\":\"Pérez\",\"email\":\"ana@test.com\",\"password\":\"password-1\"}"),
+                UserImportFormat.NDJSON);
+
+        // Then
+        assertEquals(0, response.created());
+        assertEquals(Result.DUPLICATE, response.lines().getFirst().result());
+        assertNull(response.lines().getFirst().userId());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
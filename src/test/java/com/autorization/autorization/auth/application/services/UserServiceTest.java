@@ -2,14 +2,23 @@ package com.autorization.autorization.auth.application.services;
 
 import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
 import com.autorization.autorization.auth.adapter.in.web.request.UpdateUserRequest;
+import com.autorization.autorization.auth.application.dto.out.BulkAssignmentResponse;
+import com.autorization.autorization.auth.application.dto.out.BulkStatusResponse;
 import com.autorization.autorization.auth.application.dto.out.UserResponse;
 import com.autorization.autorization.auth.domain.exception.UserAlreadyExistsException;
 import com.autorization.autorization.auth.domain.exception.UserNotFoundException;
+import com.autorization.autorization.auth.application.dto.out.UserSecurityResponse;
+import com.autorization.autorization.auth.domain.model.user.UserAuthView;
 import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.UserSummaryView;
+import com.autorization.autorization.auth.domain.model.user.vo.AccountStatus;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
 import com.autorization.autorization.auth.domain.model.user.vo.UserEmail;
 import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.model.user.vo.UserNames;
 import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
 import com.autorization.autorization.auth.domain.port.out.UserRepositoryPort;
+import com.autorization.autorization.security.revocation.TokenRevocationService;
 import com.autorization.autorization.shared.application.dto.PaginatedResponse;
 import com.autorization.autorization.shared.domain.model.Status;
 import org.junit.jupiter.api.DisplayName;
@@ -18,18 +27,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,6 +65,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+
     @InjectMocks
     private UserService userService;
 
@@ -164,4 +185,118 @@ class UserServiceTest {
         assertEquals(1, response.content().size());
         assertEquals("john@example.com", response.content().get(0).email());
     }
+
+    @Test
+    @DisplayName("Given active user, When deactivate, Then a single status update is issued and its tokens are revoked")
+    void shouldRevokeTokensWhenDeactivating() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        given(userRepositoryPort.updateEnabled(new UserId(userId), false)).willReturn(1);
+
+        // When
+        userService.deactivate(userId);
+
+        // Then
+        verify(userRepositoryPort, never()).findById(any(UserId.class));
+        verify(userRepositoryPort, never()).save(any(UserDomain.class));
+        then(tokenRevocationService).should().revokeAllForUser(new UserId(userId));
+    }
+
+    @Test
+    @DisplayName("Given unknown user, When deactivate, Then throws UserNotFoundException without revoking tokens")
+    void shouldThrowWhenDeactivatingUnknownUser() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        given(userRepositoryPort.updateEnabled(new UserId(userId), false)).willReturn(0);
+
+        // When / Then
+        assertThrows(UserNotFoundException.class, () -> userService.deactivate(userId));
+        then(tokenRevocationService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Given ids with duplicates, When deactivateAll, Then one bulk update and one bulk revocation of the existing users are issued")
+    void shouldDeactivateUsersInBulk() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<UserId> ids = List.of(new UserId(first), new UserId(second));
+        given(userRepositoryPort.updateEnabled(ids, false)).willReturn(1);
+        given(userRepositoryPort.findExistingIds(ids)).willReturn(List.of(new UserId(first)));
+
+        // When
+        BulkStatusResponse response = userService.deactivateAll(List.of(first, second, first));
+
+        // Then
+        assertEquals(new BulkStatusResponse(2, 1), response);
+        then(tokenRevocationService).should().revokeAllForUsers(List.of(new UserId(first)));
+    }
+
+    @Test
+    @DisplayName("Given ids with duplicates, When assignRoles, Then one bulk insert over the distinct pairs is issued")
+    void shouldAssignRolesInBulk() {
+        // Given
+        UUID user = UUID.randomUUID();
+        UUID admin = UUID.randomUUID();
+        UUID auditor = UUID.randomUUID();
+        List<UserId> userIds = List.of(new UserId(user));
+        List<RoleId> roleIds = List.of(new RoleId(admin), new RoleId(auditor));
+        given(userRepositoryPort.assignRoles(userIds, roleIds)).willReturn(1);
+
+        // When
+        BulkAssignmentResponse response = userService.assignRoles(List.of(user, user), List.of(admin, auditor, admin));
+
+        // Then
+        assertEquals(new BulkAssignmentResponse(2, 1), response);
+        then(userRepositoryPort).should(never()).findById(any(UserId.class));
+        then(userRepositoryPort).should(never()).save(any(UserDomain.class));
+    }
+
+    @Test
+    @DisplayName("Given streamed rows, When streamAll, Then writes them as one JSON array without roles")
+    void shouldStreamUsersAsJsonArray() throws IOException {
+        // Given
+        UUID id = UUID.randomUUID();
+        given(userRepositoryPort.streamAll(any())).willAnswer(invocation -> {
+            Consumer<UserSummaryView> consumer = invocation.getArgument(0);
+            consumer.accept(new UserSummaryView(id, new UserNames("John", "Doe", null), "john@example.com",
+                    new AccountStatus(true, true, true, true, Status.ACTIVO)));
+            consumer.accept(new UserSummaryView(UUID.randomUUID(), new UserNames("Jane", "Roe", "Smith"), "jane@example.com",
+                    new AccountStatus(false, true, true, true, Status.INACTIVO)));
+            return 2L;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = userService.streamAll(out);
+
+        // Then
+        assertEquals(2, written);
+        JsonNode array = jsonMapper.readTree(out.toByteArray());
+        assertEquals(2, array.size());
+        assertEquals(id.toString(), array.get(0).get("id").asString());
+        assertEquals("John Doe", array.get(0).get("names").asString());
+        assertEquals("Jane Roe Smith", array.get(1).get("names").asString());
+        assertEquals("INACTIVO", array.get(1).get("status").asString());
+        assertFalse(array.get(0).has("roles"));
+    }
+
+    @Test
+    @DisplayName("Given existing email, When execute, Then builds authorities from the auth view")
+    void shouldBuildSecurityResponseFromAuthView() {
+        // Given
+        UserAuthView view = new UserAuthView(new UserId(UUID.randomUUID()), new UserEmail("john@example.com"),
+                "encodedPass", true, Status.ACTIVO,
+                List.of(new UserAuthView.RoleGrant(UUID.randomUUID(), "ADMIN", List.of("READ", "WRITE"))));
+        given(userRepositoryPort.findAuthViewByEmail(new UserEmail("john@example.com"))).willReturn(Optional.of(view));
+
+        // When
+        UserSecurityResponse response = userService.execute("john@example.com");
+
+        // Then
+        assertEquals(List.of("ROLE_ADMIN", "READ", "WRITE"), response.authorities());
+        assertEquals("encodedPass", response.password());
+        assertTrue(response.enabled());
+        verify(userRepositoryPort, never()).findByEmail(any(UserEmail.class));
+    }
 }
@@ -0,0 +1,92 @@
+package com.autorization.autorization.security.authority;
+
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionName;
+import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPort;
+import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class AuthoritySetRegistryTest {
+
+    private final PermissionRepositoryPort permissionRepositoryPort = mock(PermissionRepositoryPort.class);
+    private final AuthorityCatalog catalog = new AuthorityCatalog(permissionRepositoryPort,
+            mock(RoleRepositoryPort.class), mock(ApplicationEventPublisher.class));
+
+    @Test
+    @DisplayName("should normalize prefixes and share the same collection for equal combinations")
+    void shouldShareCanonicalCollection() {
+        AuthoritySetRegistry registry = new AuthoritySetRegistry(100, catalog);
+
+        Collection<GrantedAuthority> first = registry.resolve(List.of("ADMIN", "USER"), List.of("READ", "WRITE")).authorities();
+        Collection<GrantedAuthority> second = registry.resolve(List.of("USER", "ROLE_ADMIN"), List.of("WRITE", "READ", "READ")).authorities();
+
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER", "PERM_READ", "PERM_WRITE").stream().sorted().toList(),
+                first.stream().map(GrantedAuthority::getAuthority).sorted().toList());
+        assertEquals(2, registry.size());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+
+        Collection<GrantedAuthority> again = registry.resolve(List.of("USER", "ADMIN"), List.of("WRITE", "READ")).authorities();
+        assertSame(first, again);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    @DisplayName("should reuse authority instances across combinations")
+    void shouldInternAuthorities() {
+        AuthoritySetRegistry registry = new AuthoritySetRegistry(100, catalog);
+
+        GrantedAuthority a = registry.resolve(List.of("ADMIN"), List.of()).authorities().iterator().next();
+        GrantedAuthority b = registry.resolve(List.of("ADMIN"), List.of("READ")).authorities().iterator().next();
+
+        assertSame(a, b);
+    }
+
+    @Test
+    @DisplayName("should still resolve combinations when registry is full")
+    void shouldResolveWithoutRegisteringWhenFull() {
+        AuthoritySetRegistry registry = new AuthoritySetRegistry(1, catalog);
+
+        registry.resolve(List.of("ADMIN"), List.of());
+        Collection<GrantedAuthority> extra = registry.resolve(List.of("USER"), List.of()).authorities();
+
+        assertEquals(1, registry.size());
+        assertEquals("ROLE_USER", extra.iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("should recompute bits when the catalog is rebuilt")
+    void shouldRecomputeBitsAfterCatalogRebuild() {
+        AuthoritySetRegistry registry = new AuthoritySetRegistry(100, catalog);
+        AuthoritySet before = registry.resolve(List.of(), List.of("READ"));
+        assertFalse(before.bits().complete());
+
+        List<PermissionDomain> permissions = List.of(permission("READ"), permission("WRITE"));
+        given(permissionRepositoryPort.findAll()).willReturn(permissions);
+        catalog.rebuild();
+
+        AuthoritySet after = registry.resolve(List.of(), List.of("READ"));
+        AuthorityCatalog.Snapshot snapshot = catalog.snapshot();
+        assertSame(before.authorities(), after.authorities());
+        assertEquals(snapshot.version(), after.bits().version());
+        assertTrue(after.bits().complete());
+        assertTrue(after.bits().get(snapshot.indexOf("PERM_READ")));
+        assertFalse(after.bits().get(snapshot.indexOf("PERM_WRITE")));
+        assertFalse(after.bits().get(snapshot.indexOf("READ")));
+    }
+
+    private PermissionDomain permission(String name) {
+        PermissionDomain permission = mock(PermissionDomain.class);
+        given(permission.getName()).willReturn(new PermissionName(name));
+        return permission;
+    }
+}
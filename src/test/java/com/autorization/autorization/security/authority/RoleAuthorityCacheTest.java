@@ -0,0 +1,130 @@
+package com.autorization.autorization.security.authority;
+
+import com.autorization.autorization.auth.domain.event.AuthorizationModelChangedEvent;
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionDescription;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionName;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
+import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
+import com.autorization.autorization.security.util.PermissionSetHash;
+import com.autorization.autorization.shared.domain.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class RoleAuthorityCacheTest {
+
+    @Mock
+    private RoleRepositoryPort roleRepositoryPort;
+
+    private RoleAuthorityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RoleAuthorityCache(roleRepositoryPort, 60_000);
+    }
+
+    @Test
+    @DisplayName("should resolve compact roles from cache when hash matches")
+    void shouldResolveFromCache() {
+        UUID id = UUID.randomUUID();
+        given(roleRepositoryPort.findById(any(RoleId.class))).willReturn(Optional.of(role(id, "ADMIN", "READ", "WRITE")));
+        String hash = PermissionSetHash.of(List.of("WRITE", "READ"));
+
+        RoleAuthorityCache.ResolvedRoles first = cache.resolve(List.of(id.toString()), hash);
+        RoleAuthorityCache.ResolvedRoles second = cache.resolve(List.of(id.toString()), hash);
+
+        assertEquals(List.of("ADMIN"), first.roles());
+        assertEquals(Set.of("READ", "WRITE"), Set.copyOf(second.permissions()));
+        then(roleRepositoryPort).should(times(1)).findById(any(RoleId.class));
+    }
+
+    @Test
+    @DisplayName("should reject token without reloading roles that were just loaded")
+    void shouldRejectStaleHash() {
+        UUID id = UUID.randomUUID();
+        given(roleRepositoryPort.findById(any(RoleId.class))).willReturn(Optional.of(role(id, "ADMIN", "READ")));
+        String staleHash = PermissionSetHash.of(List.of("READ", "WRITE"));
+
+        assertNull(cache.resolve(List.of(id.toString()), staleHash));
+        assertNull(cache.resolve(List.of(id.toString()), staleHash));
+
+        then(roleRepositoryPort).should(times(1)).findById(any(RoleId.class));
+    }
+
+    @Test
+    @DisplayName("should reload a role once the revalidation interval has passed")
+    void shouldRevalidateAfterInterval() {
+        RoleAuthorityCache eager = new RoleAuthorityCache(roleRepositoryPort, 0);
+        UUID id = UUID.randomUUID();
+        given(roleRepositoryPort.findById(any(RoleId.class)))
+                .willReturn(Optional.of(role(id, "ADMIN", "READ")))
+                .willReturn(Optional.of(role(id, "ADMIN", "READ", "WRITE")));
+        eager.resolve(List.of(id.toString()), PermissionSetHash.of(List.of("READ")));
+
+        // el permiso WRITE se añadió en otra instancia
+        RoleAuthorityCache.ResolvedRoles resolved = eager.resolve(List.of(id.toString()), PermissionSetHash.of(List.of("READ", "WRITE")));
+
+        assertNotNull(resolved);
+        assertEquals(Set.of("READ", "WRITE"), Set.copyOf(resolved.permissions()));
+        then(roleRepositoryPort).should(times(2)).findById(any(RoleId.class));
+    }
+
+    @Test
+    @DisplayName("should load roles again after the authorization model changes")
+    void shouldReloadOncePerModelVersion() {
+        UUID id = UUID.randomUUID();
+        given(roleRepositoryPort.findById(any(RoleId.class)))
+                .willReturn(Optional.of(role(id, "ADMIN", "READ")))
+                .willReturn(Optional.of(role(id, "ADMIN", "READ", "WRITE")));
+        String newHash = PermissionSetHash.of(List.of("READ", "WRITE"));
+        assertNull(cache.resolve(List.of(id.toString()), newHash));
+
+        cache.onAuthorizationModelChanged(new AuthorizationModelChangedEvent("RoleService"));
+
+        assertNotNull(cache.resolve(List.of(id.toString()), newHash));
+        assertNotNull(cache.resolve(List.of(id.toString()), newHash));
+        then(roleRepositoryPort).should(times(2)).findById(any(RoleId.class));
+    }
+
+    @Test
+    @DisplayName("should drop cached roles when authorization model changes")
+    void shouldClearOnModelChange() {
+        UUID id = UUID.randomUUID();
+        given(roleRepositoryPort.findById(any(RoleId.class))).willReturn(Optional.of(role(id, "ADMIN", "READ")));
+        cache.resolve(List.of(id.toString()), PermissionSetHash.of(List.of("READ")));
+
+        cache.onAuthorizationModelChanged(new AuthorizationModelChangedEvent("RoleService"));
+
+        assertEquals(0, cache.size());
+    }
+
+    private RoleDomain role(UUID id, String name, String... permissions) {
+        Set<PermissionDomain> domainPermissions = new HashSet<>();
+        for (String permission : permissions) {
+            domainPermissions.add(new PermissionDomain(new PermissionId(UUID.randomUUID()), new PermissionName(permission),
+                    new PermissionDescription("p"), null, Status.ACTIVO));
+        }
+        return new RoleDomain(new RoleId(id), new RoleName(name), new RoleDescription("d"), domainPermissions, Status.ACTIVO);
+    }
+}
@@ -0,0 +1,73 @@
+package com.autorization.autorization.security.cache;
+
+import com.autorization.autorization.security.service.AuthPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100, 60_000, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("should load once and serve later calls from cache")
+    void shouldServeRepeatedTokenFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        CachedAuthentication auth = authentication(Instant.now().plusSeconds(60));
+
+        CachedAuthentication first = cache.get("token-a", t -> { loads.incrementAndGet(); return auth; });
+        CachedAuthentication second = cache.get("token-a", t -> { loads.incrementAndGet(); return auth; });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("should not cache invalid tokens")
+    void shouldNotCacheWhenLoaderFails() {
+        assertThrows(IllegalStateException.class,
+                () -> cache.get("bad", t -> { throw new IllegalStateException("firma inválida"); }));
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("bad", t -> { loads.incrementAndGet(); return null; });
+
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("should not keep entries beyond token expiration")
+    void shouldExpireWithToken() {
+        AtomicInteger loads = new AtomicInteger();
+        CachedAuthentication expired = authentication(Instant.now().minusSeconds(1));
+
+        cache.get("token-b", t -> { loads.incrementAndGet(); return expired; });
+        cache.get("token-b", t -> { loads.incrementAndGet(); return expired; });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("should cache rejected tokens until expiration and return null for them")
+    void shouldCacheRejectedToken() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("stale", t -> { loads.incrementAndGet(); return CachedAuthentication.rejected(Instant.now().plusSeconds(60)); }));
+        assertNull(cache.get("stale", t -> { loads.incrementAndGet(); return CachedAuthentication.rejected(Instant.now().plusSeconds(60)); }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    private CachedAuthentication authentication(Instant exp) {
+        return new CachedAuthentication(new AuthPrincipal("test@test.com", "1"), List.of(), null, null, exp);
+    }
+}
@@ -0,0 +1,49 @@
+package com.autorization.autorization.security.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig({MethodSecurityConfig.class, MethodSecurityConfigTest.Guarded.class})
+class MethodSecurityConfigTest {
+
+    @Autowired
+    private Guarded guarded;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should grant compiled and SpEL expressions to an admin")
+    void shouldGrantAdmin() {
+        assertEquals("ok", guarded.compiled());
+        assertEquals("ok", guarded.spel("user"));
+    }
+
+    @Test
+    @WithMockUser(username = "other", authorities = "READ")
+    @DisplayName("should deny compiled and SpEL expressions when authorities do not match")
+    void shouldDenyOthers() {
+        assertThrows(AccessDeniedException.class, guarded::compiled);
+        assertThrows(AccessDeniedException.class, () -> guarded.spel("user"));
+    }
+
+    @Component
+    static class Guarded {
+
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        public String compiled() {
+            return "ok";
+        }
+
+        @PreAuthorize("hasRole('ADMIN') and #name == 'user'")
+        public String spel(String name) {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.autorization.autorization.security.config;
+
+import com.autorization.autorization.security.password.PasswordHashCalibrator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderConfigTest {
+
+    private final PasswordEncoderConfig config = new PasswordEncoderConfig();
+
+    @Test
+    @DisplayName("should encode with the configured id and not ask to upgrade current hashes")
+    void shouldEncodeWithPolicyId() {
+        PasswordEncoder encoder = config.passwordEncoder("bcrypt", 50, 4, -1);
+
+        String encoded = encoder.encode("password123");
+
+        assertTrue(encoded.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(encoder.matches("password123", encoded));
+        assertFalse(encoder.matches("wrong", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    @DisplayName("should verify legacy unprefixed bcrypt and plaintext and flag them for upgrade")
+    void shouldVerifyLegacyFormats() {
+        PasswordEncoder encoder = config.passwordEncoder("bcrypt", 50, 4, -1);
+        String legacyBcrypt = new BCryptPasswordEncoder(4).encode("password123");
+
+        assertTrue(encoder.matches("password123", legacyBcrypt));
+        assertTrue(encoder.matches("password123", "password123"));
+        assertFalse(encoder.matches("password124", "password123"));
+        assertTrue(encoder.upgradeEncoding(legacyBcrypt));
+        assertTrue(encoder.upgradeEncoding("password123"));
+    }
+
+    @Test
+    @DisplayName("should flag hashes weaker than the policy or from another algorithm")
+    void shouldFlagWeakerOrForeignHashes() {
+        PasswordEncoder weak = config.passwordEncoder("bcrypt", 50, 4, 1_000);
+        PasswordEncoder strong = config.passwordEncoder("bcrypt", 50, 5, 2_000);
+        PasswordEncoder pbkdf2 = config.passwordEncoder("pbkdf2", 50, 4, 1_000);
+
+        String weakBcrypt = weak.encode("password123");
+        String weakPbkdf2 = pbkdf2.encode("password123");
+
+        assertTrue(weakPbkdf2.startsWith("{pbkdf2}i1000$"));
+        assertTrue(strong.matches("password123", weakBcrypt));
+        assertTrue(strong.upgradeEncoding(weakBcrypt));
+        // otro algoritmo: verifica, pero se migra al de la política
+        assertTrue(strong.matches("password123", weakPbkdf2));
+        assertTrue(strong.upgradeEncoding(weakPbkdf2));
+        assertTrue(config.passwordEncoder("pbkdf2", 50, 4, 2_000).upgradeEncoding(weakPbkdf2));
+        assertFalse(pbkdf2.upgradeEncoding(weakPbkdf2));
+    }
+
+    @Test
+    @DisplayName("should reject argon2 without BouncyCastle and unknown ids")
+    void shouldRejectUnavailableEncoders() {
+        assertThrows(IllegalStateException.class, () -> config.passwordEncoder("argon2", 50, 4, 1_000));
+        assertThrows(IllegalArgumentException.class, () -> config.passwordEncoder("md5", 50, 4, 1_000));
+    }
+
+    @Test
+    @DisplayName("should never calibrate below the recommended minimum cost")
+    void shouldClampCalibration() {
+        assertEquals(PasswordHashCalibrator.MIN_BCRYPT_STRENGTH, PasswordHashCalibrator.bcryptStrength(1));
+        assertEquals(PasswordHashCalibrator.MIN_PBKDF2_ITERATIONS, PasswordHashCalibrator.pbkdf2Iterations(1));
+        assertEquals(PasswordHashCalibrator.MAX_BCRYPT_STRENGTH, PasswordHashCalibrator.bcryptStrength(Long.MAX_VALUE / 4));
+    }
+}
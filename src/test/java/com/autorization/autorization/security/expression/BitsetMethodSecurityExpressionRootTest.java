@@ -0,0 +1,87 @@
+package com.autorization.autorization.security.expression;
+
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
+import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPort;
+import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
+import com.autorization.autorization.security.authority.AuthorityCatalog;
+import com.autorization.autorization.security.authority.AuthorityMatcher;
+import com.autorization.autorization.security.authority.AuthoritySet;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.service.AuthPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+class BitsetMethodSecurityExpressionRootTest {
+
+    private final RoleRepositoryPort roleRepositoryPort = mock(RoleRepositoryPort.class);
+    private final AuthorityCatalog catalog = new AuthorityCatalog(mock(PermissionRepositoryPort.class),
+            roleRepositoryPort, mock(ApplicationEventPublisher.class));
+    private final AuthoritySetRegistry registry = new AuthoritySetRegistry(100, catalog);
+    private final MethodSecurityExpressionOperations delegate = mock(MethodSecurityExpressionOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        RoleDomain admin = mock(RoleDomain.class);
+        given(admin.getName()).willReturn(new RoleName("ADMIN"));
+        RoleDomain user = mock(RoleDomain.class);
+        given(user.getName()).willReturn(new RoleName("USER"));
+        given(roleRepositoryPort.findAll()).willReturn(List.of(admin, user));
+        catalog.rebuild();
+    }
+
+    @Test
+    @DisplayName("should answer catalogued authorities from the bitset without delegating")
+    void shouldAnswerFromBits() {
+        BitsetMethodSecurityExpressionRoot root = rootFor(registry.resolve(List.of("ADMIN"), List.of()));
+
+        assertTrue(root.hasRole("ADMIN"));
+        assertFalse(root.hasRole("USER"));
+        assertTrue(root.hasAnyRole("USER", "ADMIN"));
+        assertTrue(root.hasAuthority("ROLE_ADMIN"));
+        // authority no catalogada y bitset completo: "no" definitivo
+        assertFalse(root.hasAuthority("WRITE_PRIVILEGES"));
+        then(delegate).should(never()).hasAuthority(anyString());
+        then(delegate).should(never()).hasRole(anyString());
+    }
+
+    @Test
+    @DisplayName("should fall back to string checks when bits are stale or incomplete")
+    void shouldDelegateWhenBitsCannotDecide() {
+        AuthoritySet incomplete = registry.resolve(List.of("ADMIN"), List.of("READ"));
+        BitsetMethodSecurityExpressionRoot root = rootFor(incomplete);
+        given(delegate.hasAuthority("WRITE_PRIVILEGES")).willReturn(false);
+
+        assertFalse(root.hasAuthority("WRITE_PRIVILEGES"));
+        then(delegate).should().hasAuthority("WRITE_PRIVILEGES");
+
+        catalog.rebuild();
+        given(delegate.hasRole("ADMIN")).willReturn(true);
+
+        assertTrue(root.hasRole("ADMIN"));
+        then(delegate).should().hasRole("ADMIN");
+    }
+
+    private BitsetMethodSecurityExpressionRoot rootFor(AuthoritySet authorities) {
+        AuthPrincipal principal = new AuthPrincipal("admin@test.com", "1", authorities.bits());
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, authorities.authorities().stream()
+                .map(a -> new SimpleGrantedAuthority(a.getAuthority())).toList());
+        given(delegate.getAuthentication()).willReturn(authentication);
+        return new BitsetMethodSecurityExpressionRoot(delegate, new AuthorityMatcher(catalog::snapshot));
+    }
+}
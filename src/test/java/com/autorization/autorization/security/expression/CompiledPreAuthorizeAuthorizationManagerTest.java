@@ -0,0 +1,109 @@
+package com.autorization.autorization.security.expression;
+
+import com.autorization.autorization.auth.adapter.in.web.controller.rest.UserController;
+import com.autorization.autorization.auth.adapter.in.web.request.CreateUserRequest;
+import com.autorization.autorization.security.authority.AuthorityMatcher;
+import com.autorization.autorization.security.config.MethodSecurityConfig;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CompiledPreAuthorizeAuthorizationManagerTest {
+
+    private final PreAuthorizeAuthorizationManager spel = spelManager();
+    private final PreAuthorizeExpressionCompiler compiler = new PreAuthorizeExpressionCompiler(new AuthorityMatcher(() -> null));
+    private final CompiledPreAuthorizeAuthorizationManager manager =
+            new CompiledPreAuthorizeAuthorizationManager(compiler, spel, MethodSecurityConfig.PRE_AUTHORIZE_PACKAGES);
+
+    @Test
+    @DisplayName("should precompile every @PreAuthorize found in the controller packages")
+    void shouldPrecompileControllerExpressions() throws Exception {
+        List<Method> annotated = preAuthorizeMethods();
+
+        assertFalse(annotated.isEmpty());
+        for (Method method : annotated) {
+            assertTrue(manager.isCompiled(method), method.toString());
+        }
+        assertEquals(annotated.size(), manager.compiledCount());
+        assertTrue(manager.isCompiled(UserController.class.getMethod("create", CreateUserRequest.class)));
+        assertTrue(manager.isCompiled(UserController.class.getMethod("findAll")));
+    }
+
+    @Test
+    @DisplayName("should take the same decisions as the SpEL manager")
+    void shouldMatchSpelDecisions() throws Exception {
+        MethodInvocation create = new SimpleMethodInvocation(mock(UserController.class),
+                UserController.class.getMethod("create", CreateUserRequest.class));
+
+        for (Authentication authentication : List.of(
+                user("ROLE_ADMIN"), user("WRITE_PRIVILEGES"), user("PERM_WRITE_PRIVILEGES"), user("ROLE_USER"),
+                new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")))) {
+            assertEquals(spel.authorize(() -> authentication, create).isGranted(),
+                    manager.authorize(() -> authentication, create).isGranted(), authentication.getAuthorities().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("should compile common forms and reject unsupported ones")
+    void shouldCompileSupportedExpressionsOnly() {
+        assertTrue(compiler.compile("hasAuthority('READ') or hasRole('ADMIN')").orElseThrow().test(user("ROLE_ADMIN")));
+        assertTrue(compiler.compile("hasAnyRole('USER', 'ADMIN') and (hasAuthority('A') || permitAll())")
+                .orElseThrow().test(user("ROLE_USER")));
+        assertFalse(compiler.compile("hasRole('ADMIN') and hasAuthority('READ')").orElseThrow().test(user("ROLE_ADMIN")));
+
+        assertTrue(compiler.compile("isAuthenticated()").isEmpty());
+        assertTrue(compiler.compile("hasRole('ROLE_ADMIN')").isEmpty());
+        assertTrue(compiler.compile("#id == authentication.name").isEmpty());
+        assertTrue(compiler.compile("hasRole('ADMIN') or").isEmpty());
+    }
+
+    private static Authentication user(String... authorities) {
+        return new UsernamePasswordAuthenticationToken("user@test.com", null, AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    /**
+     * Métodos con @PreAuthorize de los controladores, buscados por reflexión, independiente del manager.
+     */
+    private static List<Method> preAuthorizeMethods() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Controller.class));
+        List<Method> methods = new ArrayList<>();
+        for (String basePackage : MethodSecurityConfig.PRE_AUTHORIZE_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), ClassUtils.getDefaultClassLoader());
+                for (Method method : type.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(PreAuthorize.class)) {
+                        methods.add(method);
+                    }
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static PreAuthorizeAuthorizationManager spelManager() {
+        PreAuthorizeAuthorizationManager manager = new PreAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(new DefaultMethodSecurityExpressionHandler());
+        return manager;
+    }
+}
@@ -0,0 +1,123 @@
+package com.autorization.autorization.security.expression;
+
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionDescription;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionName;
+import com.autorization.autorization.auth.domain.port.out.PermissionRepositoryPort;
+import com.autorization.autorization.auth.domain.port.out.RoleRepositoryPort;
+import com.autorization.autorization.security.authority.AuthorityCatalog;
+import com.autorization.autorization.security.authority.AuthorityMatcher;
+import com.autorization.autorization.security.authority.AuthoritySet;
+import com.autorization.autorization.security.authority.AuthoritySetRegistry;
+import com.autorization.autorization.security.service.AuthPrincipal;
+import com.autorization.autorization.shared.domain.model.Status;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latencia de decisión de {@code @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")}
+ * para un usuario con 60 permisos que no es ADMIN (caso peor: se evalúan las dos ramas).
+ *
+ * - spel: PreAuthorizeAuthorizationManager por defecto (SpEL + recorrido de strings).
+ * - spelBitset: PreAuthorizeAuthorizationManager con BitsetMethodSecurityExpressionHandler.
+ * - compiled: CompiledPreAuthorizeAuthorizationManager (predicado Java + bitset).
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.autorization.autorization.security.expression.PreAuthorizeBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreAuthorizeBenchmark {
+
+    private PreAuthorizeAuthorizationManager spel;
+    private PreAuthorizeAuthorizationManager spelBitset;
+    private CompiledPreAuthorizeAuthorizationManager compiled;
+    private MethodInvocation invocation;
+    private Authentication authentication;
+
+    @Setup
+    public void setup() throws Exception {
+        List<PermissionDomain> permissions = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            String name = "PERMISSION_" + i;
+            names.add(name);
+            permissions.add(new PermissionDomain(new PermissionId(UUID.randomUUID()), new PermissionName(name),
+                    new PermissionDescription("benchmark"), null, Status.ACTIVO));
+        }
+        PermissionRepositoryPort permissionRepositoryPort = mock(PermissionRepositoryPort.class);
+        when(permissionRepositoryPort.findAll()).thenReturn(permissions);
+        AuthorityCatalog catalog = new AuthorityCatalog(permissionRepositoryPort, mock(RoleRepositoryPort.class),
+                mock(ApplicationEventPublisher.class));
+        catalog.rebuild();
+
+        AuthoritySet authorities = new AuthoritySetRegistry(100, catalog).resolve(List.of("USER"), names);
+        authentication = new UsernamePasswordAuthenticationToken(
+                new AuthPrincipal("bench@test.com", "1", authorities.bits()), null, authorities.authorities());
+
+        spel = new PreAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(new DefaultMethodSecurityExpressionHandler());
+
+        AuthorityMatcher matcher = new AuthorityMatcher(catalog::snapshot);
+        spelBitset = new PreAuthorizeAuthorizationManager();
+        spelBitset.setExpressionHandler(new BitsetMethodSecurityExpressionHandler(matcher));
+
+        compiled = new CompiledPreAuthorizeAuthorizationManager(new PreAuthorizeExpressionCompiler(matcher), spel);
+
+        invocation = new SimpleMethodInvocation(new Guarded(), Guarded.class.getMethod("create"));
+    }
+
+    @Benchmark
+    public AuthorizationResult spel() {
+        return spel.authorize(() -> authentication, invocation);
+    }
+
+    @Benchmark
+    public AuthorizationResult spelBitset() {
+        return spelBitset.authorize(() -> authentication, invocation);
+    }
+
+    @Benchmark
+    public AuthorizationResult compiled() {
+        return compiled.authorize(() -> authentication, invocation);
+    }
+
+    public static class Guarded {
+
+        @PreAuthorize("hasAuthority('WRITE_PRIVILEGES') or hasRole('ADMIN')")
+        public String create() {
+            return "ok";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PreAuthorizeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,151 @@
+package com.autorization.autorization.security.key;
+
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionDescription;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionName;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.*;
+import com.autorization.autorization.security.util.JwtUtil;
+import com.autorization.autorization.security.util.TokenFormat;
+import com.autorization.autorization.shared.domain.model.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-0123456789";
+
+    @Test
+    @DisplayName("should keep verifying and publishing the previous key only during the overlap window")
+    void shouldHonourOverlapWindowOnRotation() {
+        MutableClock clock = new MutableClock();
+        JwtKeyRing ring = new JwtKeyRing("ES256", 60_000, 3_600_000, "", "", clock);
+        JwtKeyRing.SigningKey first = ring.active();
+
+        JwtKeyRing.SigningKey second = ring.rotate();
+
+        assertNotEquals(first.kid(), second.kid());
+        assertSame(second, ring.active());
+        assertTrue(ring.verificationKey(first.kid()).isPresent());
+        assertEquals(2, keys(ring).size());
+
+        clock.advance(Duration.ofSeconds(61));
+
+        assertTrue(ring.verificationKey(first.kid()).isEmpty());
+        assertTrue(ring.verificationKey(second.kid()).isPresent());
+        assertEquals(List.of(second.kid()), keys(ring).stream().map(k -> k.get("kid")).toList());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RS256", "ES256"})
+    @DisplayName("should sign with kid and let downstream services verify using only the JWKS document")
+    void shouldVerifyDownstreamWithJwks(String algorithm) throws Exception {
+        JwtKeyRing ring = new JwtKeyRing(algorithm, -1, 3_600_000, "", "", Clock.systemUTC());
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000L, TokenFormat.FULL, ring);
+
+        String token = jwtUtil.generateToken(createUser());
+        assertEquals("test@test.com", jwtUtil.verify(token).subject());
+
+        // un servicio externo solo conoce el JSON publicado en /.well-known/jwks.json
+        String json = new ObjectMapper().writeValueAsString(ring.jwks());
+        JwkSet jwks = Jwks.setParser().build().parse(json);
+        String subject = Jwts.parser()
+                .keyLocator(header -> keyFor(jwks, ((ProtectedHeader) header).getKeyId()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+
+        assertEquals("test@test.com", subject);
+        assertEquals(algorithm, jwks.getKeys().iterator().next().getAlgorithm());
+    }
+
+    @Test
+    @DisplayName("should reject tokens whose kid was never published")
+    void shouldRejectUnknownKid() {
+        JwtKeyRing ring = new JwtKeyRing("RS256", -1, 3_600_000, "", "", Clock.systemUTC());
+        JwtKeyRing other = new JwtKeyRing("RS256", -1, 3_600_000, "", "", Clock.systemUTC());
+        JwtUtil verifier = new JwtUtil(SECRET, 60_000L, TokenFormat.FULL, ring);
+        String foreign = new JwtUtil(SECRET, 60_000L, TokenFormat.FULL, other).generateToken(createUser());
+
+        assertThrows(JwtException.class, () -> verifier.verify(foreign));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> keys(JwtKeyRing ring) {
+        return (List<Map<String, Object>>) ring.jwks().get("keys");
+    }
+
+    private static Key keyFor(JwkSet jwks, String kid) {
+        return jwks.getKeys().stream()
+                .filter(jwk -> kid.equals(jwk.getId()))
+                .map(Jwk::toKey)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static UserDomain createUser() {
+        PermissionDomain permission = new PermissionDomain(new PermissionId(UUID.randomUUID()),
+                new PermissionName("WRITE_PRIVILEGES"), new PermissionDescription("write"), null, Status.ACTIVO);
+        RoleDomain role = new RoleDomain(new RoleId(UUID.randomUUID()), new RoleName("ADMIN"),
+                new RoleDescription("admin"), Set.of(permission), Status.ACTIVO);
+        return new UserDomain(
+                new UserId(UUID.randomUUID()),
+                new UserNames("Test", "User", null),
+                new UserEmail("test@test.com"),
+                new UserPassword("password123"),
+                new AccountStatus(true, true, true, true, Status.ACTIVO),
+                Set.of(role));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
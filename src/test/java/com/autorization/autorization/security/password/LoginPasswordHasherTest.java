@@ -0,0 +1,110 @@
+package com.autorization.autorization.security.password;
+
+import com.autorization.autorization.shared.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginPasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LoginPasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should hash on the pool and record wait and hash time")
+    void shouldHashOnPoolAndRecordMetrics() {
+        hasher = new LoginPasswordHasher(new PlainEncoder(null), meterRegistry, 1, 1, 1_000);
+
+        assertTrue(hasher.matches("secret", "secret"));
+        assertEquals("secret", hasher.encode("secret"));
+
+        assertEquals(2, meterRegistry.timer("auth.login.hash.wait").count());
+        assertEquals(2, meterRegistry.timer("auth.login.hash.time").count());
+    }
+
+    @Test
+    @DisplayName("should reject immediately with 503 when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        hasher = new LoginPasswordHasher(new PlainEncoder(release), meterRegistry, 1, 1, 10_000);
+
+        // uno ocupa el único hilo y otro la única plaza de la cola
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hasher.matches("a", "a"));
+        awaitQueued(0, running);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hasher.matches("b", "b"));
+        awaitQueued(1, queued);
+
+        long start = System.nanoTime();
+        assertThrows(ServiceOverloadedException.class, () -> hasher.matches("c", "c"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertEquals(1.0, meterRegistry.counter("auth.login.hash.rejected").count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("should give up with 503 when the wait exceeds the limit")
+    void shouldRejectWhenWaitExceedsLimit() {
+        hasher = new LoginPasswordHasher(new PlainEncoder(release), meterRegistry, 1, 4, 50);
+
+        assertThrows(ServiceOverloadedException.class, () -> hasher.matches("a", "a"));
+        assertEquals(1.0, meterRegistry.counter("auth.login.hash.rejected").count());
+    }
+
+    private void awaitQueued(int expectedQueue, CompletableFuture<?> submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.login.hash.queue").gauge().value() < expectedQueue
+                || (expectedQueue == 0 && meterRegistry.timer("auth.login.hash.wait").count() == 0)) {
+            assertFalse(submitted.isDone());
+            assertTrue(System.nanoTime() < deadline, "la tarea no llegó al pool");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * "Hash" identidad que opcionalmente se bloquea hasta liberar el latch, para simular un pool ocupado.
+     */
+    private record PlainEncoder(CountDownLatch latch) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+        private void await() {
+            if (latch == null) {
+                return;
+            }
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.autorization.autorization.security.password;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de CPU de una verificación de contraseña (lo que consume cada login) según algoritmo y coste,
+ * para elegir {@code security.password.target-ms} y dimensionar la capacidad de login por núcleo.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.autorization.autorization.security.password.PasswordHashBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashBenchmark {
+
+    @Param({"bcrypt-10", "bcrypt-12", "pbkdf2-310000", "pbkdf2-600000"})
+    private String policy;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        String[] parts = policy.split("-");
+        int cost = Integer.parseInt(parts[1]);
+        encoder = parts[0].equals("bcrypt") ? new BCryptPasswordEncoder(cost) : new IterationTaggedPbkdf2PasswordEncoder(cost);
+        encoded = encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("benchmark-password", encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package com.autorization.autorization.security.revocation;
+
+import com.autorization.autorization.auth.domain.model.token.RevokedTokenDomain;
+import com.autorization.autorization.auth.domain.model.token.UserTokenCutoffDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.UserId;
+import com.autorization.autorization.auth.domain.port.out.TokenRevocationRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00.500Z");
+
+    @Mock
+    private TokenRevocationRepositoryPort tokenRevocationRepositoryPort;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(tokenRevocationRepositoryPort, 64, 3_600_000L,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("should reject a revoked jti and keep accepting other tokens")
+    void shouldRejectRevokedJti() {
+        UUID userId = UUID.randomUUID();
+
+        tokenRevocationService.revokeToken("jti-1", userId, NOW.plusSeconds(60));
+
+        then(tokenRevocationRepositoryPort).should().saveRevokedToken(any(RevokedTokenDomain.class));
+        assertTrue(tokenRevocationService.isRevoked("jti-1", userId.toString(), NOW.minusSeconds(1)));
+        assertFalse(tokenRevocationService.isRevoked("jti-2", userId.toString(), NOW.minusSeconds(1)));
+        assertFalse(tokenRevocationService.isRevoked(null, userId.toString(), NOW.minusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("should reject tokens issued before the user cutoff only")
+    void shouldApplyUserCutoff() {
+        UserId userId = new UserId(UUID.randomUUID());
+        String uid = userId.id().toString();
+
+        tokenRevocationService.revokeAllForUser(userId);
+
+        then(tokenRevocationRepositoryPort).should().saveUserCutoff(new UserTokenCutoffDomain(userId.id(), NOW));
+        // iat viene truncado a segundos: el token del mismo segundo, anterior al corte, queda revocado
+        assertTrue(tokenRevocationService.isRevoked("a", uid, Instant.parse("2026-01-01T12:00:00Z")));
+        assertTrue(tokenRevocationService.isRevoked("b", uid, null));
+        assertFalse(tokenRevocationService.isRevoked("c", uid, Instant.parse("2026-01-01T12:00:01Z")));
+        assertFalse(tokenRevocationService.isRevoked("d", UUID.randomUUID().toString(), NOW.minusSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("should apply bulk cutoffs in memory only after the transaction commits")
+    void shouldApplyCutoffsAfterCommit() {
+        UserId committed = new UserId(UUID.randomUUID());
+        UserId rolledBack = new UserId(UUID.randomUUID());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revokeAllForUsers(List.of(committed));
+            assertFalse(tokenRevocationService.isRevoked("a", committed.id().toString(), NOW.minusSeconds(1)));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revokeAllForUsers(List.of(rolledBack));
+        } finally {
+            // rollback: no se invoca afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        then(tokenRevocationRepositoryPort).should().saveUserCutoffs(List.of(committed.id()), NOW);
+        assertTrue(tokenRevocationService.isRevoked("a", committed.id().toString(), NOW.minusSeconds(1)));
+        assertFalse(tokenRevocationService.isRevoked("b", rolledBack.id().toString(), NOW.minusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("should load revocations persisted by other instances on reload")
+    void shouldLoadPersistedRevocations() {
+        UUID userId = UUID.randomUUID();
+        given(tokenRevocationRepositoryPort.findRevokedTokensExpiringAfter(NOW))
+                .willReturn(List.of(new RevokedTokenDomain("jti-db", userId, NOW.plusSeconds(30), NOW)));
+        given(tokenRevocationRepositoryPort.findUserCutoffsAfter(NOW.minusSeconds(3600)))
+                .willReturn(List.of(new UserTokenCutoffDomain(userId, NOW)));
+
+        tokenRevocationService.reload();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-db", null, null));
+        assertTrue(tokenRevocationService.isRevoked(null, userId.toString(), NOW.minusSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("should keep every revocation when growing past the expected size")
+    void shouldGrowBeyondExpectedEntries() {
+        List<String> ids = IntStream.range(0, 500).mapToObj(i -> "jti-" + i).toList();
+
+        ids.forEach(id -> tokenRevocationService.revokeToken(id, null, NOW.plusSeconds(60)));
+
+        ids.forEach(id -> assertTrue(tokenRevocationService.isRevoked(id, null, null), id));
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> tokenRevocationService.isRevoked("other-" + i, null, null))
+                .count();
+        assertEquals(0, falsePositives);
+    }
+}
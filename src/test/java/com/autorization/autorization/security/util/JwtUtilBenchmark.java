@@ -0,0 +1,114 @@
+package com.autorization.autorization.security.util;
+
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionDescription;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionName;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.*;
+import com.autorization.autorization.shared.domain.model.Status;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de verificar el JWT de un request autenticado.
+ *
+ * - legacyThreeParses: lo que hacía el filtro antes (3 parseos por request, cada uno
+ *   construyendo un JwtParser nuevo: extractUsername + validateToken + extractAllClaims).
+ * - singleVerify: JwtUtil.verify con el parser construido una sola vez (1 parseo por request).
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.autorization.autorization.security.util.JwtUtilBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtil jwtUtil;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwtUtil.generateToken(sampleUser(3, 20));
+    }
+
+    @Benchmark
+    public void legacyThreeParses(Blackhole bh) {
+        bh.consume(legacyParse().getSubject());
+        bh.consume(legacyParse().getExpiration());
+        Claims claims = legacyParse();
+        bh.consume(claims.get("roles"));
+        bh.consume(claims.get("permissions"));
+        bh.consume(claims.get("userId"));
+    }
+
+    @Benchmark
+    public VerifiedToken singleVerify() {
+        return jwtUtil.verify(token);
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static UserDomain sampleUser(int roleCount, int permissionsPerRole) {
+        Set<RoleDomain> roles = new HashSet<>();
+        for (int r = 0; r < roleCount; r++) {
+            Set<PermissionDomain> permissions = new HashSet<>();
+            for (int p = 0; p < permissionsPerRole; p++) {
+                permissions.add(new PermissionDomain(
+                        new PermissionId(UUID.randomUUID()),
+                        new PermissionName("PERMISSION_" + r + "_" + p),
+                        new PermissionDescription("benchmark"),
+                        null,
+                        Status.ACTIVO));
+            }
+            roles.add(new RoleDomain(new RoleId(UUID.randomUUID()), new RoleName("ROLE" + r),
+                    new RoleDescription("benchmark"), permissions, Status.ACTIVO));
+        }
+        return new UserDomain(
+                new UserId(UUID.randomUUID()),
+                new UserNames("Bench", "User", null),
+                new UserEmail("bench@test.com"),
+                new UserPassword("benchmarkPassword"),
+                new AccountStatus(true, true, true, true, Status.ACTIVO),
+                roles);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.autorization.autorization.security.util;
+
+import com.autorization.autorization.auth.domain.model.permission.PermissionDomain;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionDescription;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionId;
+import com.autorization.autorization.auth.domain.model.permission.vo.PermissionName;
+import com.autorization.autorization.auth.domain.model.role.RoleDomain;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleDescription;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleId;
+import com.autorization.autorization.auth.domain.model.role.vo.RoleName;
+import com.autorization.autorization.auth.domain.model.user.UserDomain;
+import com.autorization.autorization.auth.domain.model.user.vo.*;
+import com.autorization.autorization.shared.domain.model.Status;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-0123456789";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000L);
+
+    @Test
+    @DisplayName("should verify token once and expose typed claims")
+    void shouldVerifyTokenAndExposeClaims() {
+        UserDomain user = createUser();
+
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        assertEquals("test@test.com", token.subject());
+        assertEquals(user.getUserId().id().toString(), token.userId());
+        assertEquals(List.of("ADMIN"), token.roles());
+        assertEquals(List.of("WRITE_PRIVILEGES"), token.permissions());
+        assertTrue(token.expiresAt().isAfter(Instant.now()));
+        assertThrows(UnsupportedOperationException.class, () -> token.roles().add("OTHER"));
+    }
+
+    @Test
+    @DisplayName("should give every token its own jti and issued-at")
+    void shouldGiveEveryTokenItsOwnJti() {
+        UserDomain user = createUser();
+
+        VerifiedToken first = jwtUtil.verify(jwtUtil.generateToken(user));
+        VerifiedToken second = jwtUtil.verify(jwtUtil.generateToken(user, TokenFormat.COMPACT));
+
+        assertNotNull(first.tokenId());
+        assertNotNull(second.tokenId());
+        assertNotEquals(first.tokenId(), second.tokenId());
+        assertNotNull(first.issuedAt());
+    }
+
+    @Test
+    @DisplayName("should reject token signed with another key")
+    void shouldRejectTokenWithInvalidSignature() {
+        JwtUtil other = new JwtUtil("other-secret-other-secret-other-secret-other-secret-0123", 60_000L);
+        String token = other.generateToken(createUser());
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("should reject expired token")
+    void shouldRejectExpiredToken() {
+        JwtUtil expiring = new JwtUtil(SECRET, -1_000L);
+        String token = expiring.generateToken(createUser());
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("should issue compact token with role ids and permission set hash")
+    void shouldIssueCompactToken() {
+        UserDomain user = createUser();
+        RoleDomain role = user.getRoles().iterator().next();
+
+        String compact = jwtUtil.generateToken(user, TokenFormat.COMPACT);
+        VerifiedToken token = jwtUtil.verify(compact);
+
+        assertTrue(token.compact());
+        assertEquals("test@test.com", token.subject());
+        assertEquals(List.of(role.getRoleId().id().toString()), token.roleIds());
+        assertEquals(PermissionSetHash.of(List.of("WRITE_PRIVILEGES")), token.permissionSetHash());
+        assertTrue(token.roles().isEmpty());
+        assertTrue(token.permissions().isEmpty());
+        assertFalse(jwtUtil.verify(jwtUtil.generateToken(user)).compact());
+    }
+
+    @Test
+    @DisplayName("should keep compact token size constant as permissions grow")
+    void shouldKeepCompactTokenSmall() {
+        Set<PermissionDomain> permissions = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            permissions.add(new PermissionDomain(new PermissionId(UUID.randomUUID()),
+                    new PermissionName("PERMISSION_" + i), new PermissionDescription("p"), null, Status.ACTIVO));
+        }
+        UserDomain admin = createUser(Set.of(new RoleDomain(new RoleId(UUID.randomUUID()), new RoleName("ADMIN"),
+                new RoleDescription("admin"), permissions, Status.ACTIVO)));
+
+        int full = jwtUtil.generateToken(admin, TokenFormat.FULL).length();
+        int compact = jwtUtil.generateToken(admin, TokenFormat.COMPACT).length();
+
+        assertTrue(full > 3_000, "full=" + full);
+        assertTrue(compact < 400, "compact=" + compact);
+    }
+
+    private UserDomain createUser() {
+        PermissionDomain permission = new PermissionDomain(new PermissionId(UUID.randomUUID()),
+                new PermissionName("WRITE_PRIVILEGES"), new PermissionDescription("write"), null, Status.ACTIVO);
+        RoleDomain role = new RoleDomain(new RoleId(UUID.randomUUID()), new RoleName("ADMIN"),
+                new RoleDescription("admin"), Set.of(permission), Status.ACTIVO);
+        return createUser(Set.of(role));
+    }
+
+    private UserDomain createUser(Set<RoleDomain> roles) {
+        return new UserDomain(
+                new UserId(UUID.randomUUID()),
+                new UserNames("Test", "User", null),
+                new UserEmail("test@test.com"),
+                new UserPassword("password123"),
+                new AccountStatus(true, true, true, true, Status.ACTIVO),
+                roles);
+    }
+}
@@ -0,0 +1,183 @@
+package com.autorization.autorization.shared.infraestructure.async;
+
+import com.autorization.autorization.shared.infraestructure.persistence.ConnectionLimitingDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga: 5.000 clientes concurrentes contra el modelo de ejecución del servicio.
+ *
+ * Cada request bloquea {@value #IO_MS} ms fuera de la base de datos (lectura del cliente, servicios externos)
+ * y luego hace una consulta de {@value #QUERY_MS} ms con una conexión de un pool de {@value #POOL_SIZE}
+ * que, como Hikari, falla si no consigue conexión en {@value #POOL_TIMEOUT_MS} ms. Modos:
+ *
+ * - platform: pool de 200 hilos con cola sin límite (conector de Tomcat por defecto).
+ * - virtual: un hilo virtual por request y {@link ConnectionLimitingDataSource} delante del pool.
+ * - virtual-sin-semaforo: un hilo virtual por request atacando el pool directamente.
+ *
+ * Se mide throughput de requests correctos, latencia p50/p99, errores de conexión, pico de hilos de plataforma y pico de heap.
+ * No necesita base de datos: la latencia de E/S y de las consultas se simula con sleep.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.autorization.autorization.shared.infraestructure.async.VirtualThreadLoadBenchmark"
+ */
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 5_000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final long IO_MS = 100;
+    private static final long QUERY_MS = 2;
+    private static final long POOL_TIMEOUT_MS = 250;
+    private static final long SEMAPHORE_TIMEOUT_MS = 30_000;
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = args.length > 0 ? args : new String[]{"platform", "virtual", "virtual-sin-semaforo"};
+        System.out.printf("%d clientes x %d requests, E/S %d ms, consulta %d ms, pool JDBC %d%n",
+                CLIENTS, REQUESTS_PER_CLIENT, IO_MS, QUERY_MS, POOL_SIZE);
+        for (String mode : modes) {
+            run(mode);
+        }
+    }
+
+    private static void run(String mode) throws Exception {
+        DataSource pool = new SimulatedPool(POOL_SIZE, POOL_TIMEOUT_MS);
+        DataSource dataSource = switch (mode) {
+            case "platform", "virtual-sin-semaforo" -> pool;
+            case "virtual" -> new ConnectionLimitingDataSource(pool, POOL_SIZE, SEMAPHORE_TIMEOUT_MS);
+            default -> throw new IllegalArgumentException("Modo desconocido: " + mode);
+        };
+        ExecutorService server = mode.equals("platform")
+                ? new ThreadPoolExecutor(TOMCAT_MAX_THREADS, TOMCAT_MAX_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>())
+                : Executors.newVirtualThreadPerTaskExecutor();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+
+        long start = System.nanoTime();
+        // los clientes son hilos virtuales en todos los modos: solo cambia cómo se ejecuta el lado servidor
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.execute(() -> {
+                    try {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long sent = System.nanoTime();
+                            Future<Boolean> response = server.submit(() -> handle(dataSource));
+                            if (!response.get()) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        long elapsed = System.nanoTime() - start;
+        sampler.shutdownNow();
+        server.shutdown();
+        server.awaitTermination(1, TimeUnit.MINUTES);
+
+        long[] measured = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(measured);
+        System.out.printf("%-22s %8.0f req/s  p50 %6d ms  p99 %6d ms  errores %6d  hilos plataforma (pico) %4d  heap (pico) %4d MB%n",
+                mode,
+                (completed.get() - errors.get()) / (elapsed / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(percentile(measured, 0.50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(measured, 0.99)),
+                errors.get(),
+                threads.getPeakThreadCount(),
+                peakHeap.get() / (1024 * 1024));
+    }
+
+    private static boolean handle(DataSource dataSource) throws InterruptedException {
+        Thread.sleep(IO_MS);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(0);
+            Thread.sleep(QUERY_MS);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+    }
+
+    /**
+     * Pool de conexiones simulado: como Hikari, no es justo y falla si no hay conexión libre en el tiempo máximo.
+     */
+    private static final class SimulatedPool extends AbstractDataSource {
+
+        private final Semaphore connections;
+        private final long timeoutMs;
+
+        SimulatedPool(int size, long timeoutMs) {
+            this.connections = new Semaphore(size);
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                if (!connections.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("Connection is not available, request timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException(e);
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, methodArgs) -> {
+                        if ("close".equals(method.getName())) {
+                            connections.release();
+                        }
+                        return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
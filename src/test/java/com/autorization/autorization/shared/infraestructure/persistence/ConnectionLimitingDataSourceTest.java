@@ -0,0 +1,117 @@
+package com.autorization.autorization.shared.infraestructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 2, 50);
+    }
+
+    @Test
+    @DisplayName("should time out when every permit is borrowed")
+    void shouldTimeOutWhenPermitsAreExhausted() throws SQLException {
+        given(target.getConnection()).willReturn(connection);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.availablePermits());
+        then(target).should(times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("should release the permit once even if close is called twice")
+    void shouldReleasePermitOnceOnClose() throws SQLException {
+        given(target.getConnection()).willReturn(connection);
+
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        assertEquals(2, dataSource.availablePermits());
+        then(connection).should(times(2)).close();
+    }
+
+    @Test
+    @DisplayName("should release the permit on abort and not again on a later close")
+    void shouldReleasePermitOnAbort() throws SQLException {
+        given(target.getConnection()).willReturn(connection);
+        Executor executor = Runnable::run;
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        first.abort(executor);
+
+        assertEquals(1, dataSource.availablePermits());
+        assertNotNull(dataSource.getConnection());
+        first.close();
+        assertEquals(0, dataSource.availablePermits());
+        then(connection).should().abort(executor);
+    }
+
+    @Test
+    @DisplayName("should release the permit when the target pool fails")
+    void shouldReleasePermitWhenTargetFails() throws SQLException {
+        given(target.getConnection()).willThrow(new SQLException("pool caído"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("should delegate other calls to the real connection")
+    void shouldDelegateToConnection() throws SQLException {
+        given(target.getConnection()).willReturn(connection);
+        given(connection.getAutoCommit()).willReturn(false);
+
+        Connection borrowed = dataSource.getConnection();
+
+        assertFalse(borrowed.getAutoCommit());
+        assertSame(borrowed, borrowed.unwrap(Connection.class));
+    }
+
+    @Test
+    @DisplayName("should compare the proxy by its own identity")
+    void shouldUseProxyIdentityForEquality() throws SQLException {
+        given(target.getConnection()).willReturn(connection);
+
+        Connection borrowed = dataSource.getConnection();
+        Connection other = dataSource.getConnection();
+
+        assertEquals(borrowed, borrowed);
+        assertNotEquals(borrowed, other);
+        assertNotEquals(borrowed, connection);
+        assertEquals(System.identityHashCode(borrowed), borrowed.hashCode());
+        assertTrue(Set.of(borrowed, other).contains(borrowed));
+    }
+}